@@ -1,16 +1,41 @@
 package dev.jasper.game;
 
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.tools.AutoPlayer;
+import dev.jasper.game.tools.GhostRecorder;
+import dev.jasper.game.tools.LatencyProbe;
+import dev.jasper.game.tools.ResourceTracker;
+import dev.jasper.game.tools.SimulationRunner;
 
 public class AndroidLauncher extends AndroidApplication {
+	private static final String LATENCY_PROBE_EXTRA = "latencyProbe";
+	private static final String THREADED_SIMULATION_EXTRA = "threadedSimulation";
+	private static final String AUTOPLAY_EXTRA = "autoPlay";
+	private static final String GHOST_DIRECTORY = "ghosts";
+
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
+		// Diagnostic mode that logs input-to-photon latency for a few frame-rate caps
+		if (getIntent().getBooleanExtra(LATENCY_PROBE_EXTRA, false)) {
+			LatencyProbe.enable();
+		}
+		// Runs physics on its own thread, overlapping it with drawing
+		SimulationRunner.setThreaded(getIntent().getBooleanExtra(THREADED_SIMULATION_EXTRA, false));
+		// Soak test mode: a bot plays and restarts the game, and memory and frame times are logged
+		AutoPlayer.setEnabled(getIntent().getBooleanExtra(AUTOPLAY_EXTRA, false));
+		// Keeps the best run in the ghosts folder and shows it as a ghost in later ones
+		GhostRecorder.setDirectory(GHOST_DIRECTORY);
+		// Debug builds log resources that outlive their screen, and everything left undisposed when the game closes
+		if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+			ResourceTracker.enable();
+		}
 		initialize(new BobIsMelting(), config);
 	}
 }
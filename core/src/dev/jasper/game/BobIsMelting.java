@@ -1,9 +1,19 @@
 package dev.jasper.game;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.TimeUtils;
 import dev.jasper.game.screens.PlayScreen;
+import dev.jasper.game.screens.ReplayScreen;
+import dev.jasper.game.tools.AutoPlayer;
+import dev.jasper.game.tools.GameEvents;
+import dev.jasper.game.tools.GameLog;
 import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.LevelManager;
+import dev.jasper.game.tools.RenderQueue;
+import dev.jasper.game.tools.ResourceTracker;
+import dev.jasper.game.tools.SoakMonitor;
 
 /**
  * Main game loop.
@@ -29,8 +39,15 @@ public final class BobIsMelting extends Game {
      * SpriteBatch allows for efficient rendering of sprites.
      * This is used in the game to draw 2D bitmaps that can be composed into complex scenes.
      */
+    private static final String[] LEVELS = {"mainNew"};
     private SpriteBatch batch;
+    private RenderQueue renderQueue;
+    private LevelManager levelManager;
     private GameStateManager gameStateManager;
+    private GameStateManager nextGameStateManager;
+    private boolean nextGamePrepared;
+    private SoakMonitor soakMonitor;
+    private String pendingTransition;
 
     /**
      * Returns the GameStateManager instance used in the game.
@@ -46,9 +63,21 @@ public final class BobIsMelting extends Game {
      */
     @Override
     public void create() {
-        batch = new SpriteBatch();
-        gameStateManager = new GameStateManager();
-        setScreen(new PlayScreen(this));
+        batch = ResourceTracker.track(new SpriteBatch(), "SpriteBatch");
+        renderQueue = new RenderQueue();
+        levelManager = new LevelManager(LEVELS);
+        // What exists by now lives as long as the game, so later reports leave it out
+        ResourceTracker.report("startup");
+        gameStateManager = new GameStateManager(levelManager.loadFirstLevel(), levelManager.getAtlas());
+        if (AutoPlayer.isEnabled()) {
+            soakMonitor = new SoakMonitor();
+            soakMonitor.gameStarted();
+        }
+        if (ReplayScreen.isEnabled()) {
+            setScreen(new ReplayScreen(this));
+        } else {
+            setScreen(new PlayScreen(this));
+        }
     }
 
     /**
@@ -56,7 +85,27 @@ public final class BobIsMelting extends Game {
      */
     @Override
     public void dispose() {
+        // Game only hides the current screen, so it is disposed of here, along with a next game set up in advance
+        if (getScreen() != null) {
+            getScreen().dispose();
+        }
+        if (nextGameStateManager != null) {
+            nextGameStateManager.dispose();
+        }
         getBatch().dispose();
+        ResourceTracker.disposed(getBatch());
+        levelManager.dispose();
+        ResourceTracker.reportLeaks();
+        GameLog.flushNow();
+    }
+
+    /**
+     * Returns the LevelManager that loads the levels of the game.
+     *
+     * @return the LevelManager instance used in the game.
+     */
+    public LevelManager getLevelManager() {
+        return levelManager;
     }
 
     /**
@@ -64,7 +113,41 @@ public final class BobIsMelting extends Game {
      */
     @Override
     public void render() {
+        final long frameStart = TimeUtils.nanoTime();
         super.render();
+        // Only frames of a game being played are reported, as the world of a finished game is gone.
+        // The simulation may be stepping the world on its own thread, so the count comes from the last finished tick
+        if (soakMonitor != null && getScreen() instanceof PlayScreen) {
+            soakMonitor.frame(TimeUtils.nanoTime() - frameStart, ((PlayScreen) getScreen()).getBodyCount());
+        }
+        // A screen disposes of itself after setting the next one, so what it left behind shows up only now
+        if (pendingTransition != null) {
+            ResourceTracker.report(pendingTransition);
+            pendingTransition = null;
+        }
+        // Hand this frame's log messages to the background writer
+        GameLog.flush();
+    }
+
+    /**
+     * Sets the current screen and reports the transition to the installed GameEventRecorder.
+     *
+     * @param screen The new screen, may be null.
+     */
+    @Override
+    public void setScreen(final Screen screen) {
+        GameEvents.getRecorder().screenChanged(getScreenName(getScreen()), getScreenName(screen));
+        if (ResourceTracker.isEnabled()) {
+            pendingTransition = getScreenName(getScreen()) + " -> " + getScreenName(screen);
+        }
+        super.setScreen(screen);
+    }
+
+    private static String getScreenName(final Screen screen) {
+        if (screen == null) {
+            return "none";
+        }
+        return screen.getClass().getSimpleName();
     }
 
     /**
@@ -77,12 +160,45 @@ public final class BobIsMelting extends Game {
         return batch;
     }
 
+    /**
+     * Sets up the next game a little at a time. Called once per frame while no game is being played.
+     * Once the next level has loaded, its world and characters are created,
+     * and then its ground is created a chunk per frame.
+     */
+    public void prepareNextGame() {
+        if (nextGameStateManager == null) {
+            if (levelManager.update()) {
+                nextGameStateManager = new GameStateManager(levelManager.advance(), levelManager.getAtlas());
+            }
+        } else if (!nextGamePrepared) {
+            nextGamePrepared = nextGameStateManager.prepare();
+        }
+    }
+
+    /**
+     * Returns the RenderQueue every layer of a frame is queued in before it is drawn through the batch.
+     *
+     * @return the RenderQueue instance used in the game.
+     */
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
     /**
      * Starts a new game.
-     * This method resets the GameStateManager instance and sets the screen to a new PlayScreen instance.
+     * This method switches to the GameStateManager set up by prepareNextGame, or creates it right away
+     * if the player did not wait for it, and sets the screen to a new PlayScreen instance.
      */
     public void startNewGame() {
-        gameStateManager = new GameStateManager();
+        if (nextGameStateManager == null) {
+            nextGameStateManager = new GameStateManager(levelManager.advance(), levelManager.getAtlas());
+        }
+        gameStateManager = nextGameStateManager;
+        nextGameStateManager = null;
+        nextGamePrepared = false;
+        if (soakMonitor != null) {
+            soakMonitor.gameStarted();
+        }
         setScreen(new PlayScreen(this));
     }
 
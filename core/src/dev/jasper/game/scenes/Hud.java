@@ -1,6 +1,6 @@
 package dev.jasper.game.scenes;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -13,7 +13,10 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import dev.jasper.game.BobIsMelting;
 import dev.jasper.game.tools.FormatUtils;
+import dev.jasper.game.tools.GameLog;
 import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.RenderQueue;
+import dev.jasper.game.tools.ResourceTracker;
 
 
 /**
@@ -27,9 +30,11 @@ import dev.jasper.game.tools.GameStateManager;
 public final class Hud implements Disposable {
     private static final int TABLE_PAD_TOP = 10;
     private final Stage stage;
+    private final BitmapFont font;
     private final Label timeLabel;
     private final Label healthLabel;
     private final GameStateManager gameStateManager;
+    private final RenderQueue.Drawable drawable;
 
     /**
      * Constructs a Hud instance with the specified GameStateManager and SpriteBatch.
@@ -40,25 +45,25 @@ public final class Hud implements Disposable {
     public Hud(final GameStateManager gameStateManager, final SpriteBatch sb) {
         this.gameStateManager = gameStateManager;
         Viewport viewport = new FitViewport(BobIsMelting.V_WIDTH, BobIsMelting.V_HEIGHT, new OrthographicCamera());
-        stage = new Stage(viewport, sb);
+        stage = ResourceTracker.track(new Stage(viewport, sb), "Stage");
+        // Every label shares one font, as each BitmapFont loads its own texture
+        font = ResourceTracker.track(new BitmapFont(), "BitmapFont");
+        final Label.LabelStyle labelStyle = new Label.LabelStyle(font, Color.WHITE);
 
         Table table = new Table();
         table.top();
         table.setFillParent(true);
-        Label timeTitleLabel = new Label("TIME ELAPSED", new Label.LabelStyle(new BitmapFont(), Color.WHITE));
-        Gdx.app.log("Testing!", gameStateManager.getWorldTimer().toString());
-        Gdx.app.log("Testing!", gameStateManager.getBobsHealth().toString());
+        Label timeTitleLabel = new Label("TIME ELAPSED", labelStyle);
+        GameLog.debug("Hud", "time {}, health {}", gameStateManager.getWorldTimer(), gameStateManager.getBobsHealth());
 //        timeLabel = new Label(String.format("%03d", gameStateManager.getWorldTimer()),
 //                new Label.LabelStyle(new BitmapFont(), Color.WHITE));
-        timeLabel = new Label(FormatUtils.formatToDigits(3, gameStateManager.getWorldTimer()),
-                new Label.LabelStyle(new BitmapFont(), Color.WHITE));
+        timeLabel = new Label(FormatUtils.formatToDigits(3, gameStateManager.getWorldTimer()), labelStyle);
 
         // Health as a temp name for now
-        Label healthTitleLabel = new Label("BOB'S HEALTH", new Label.LabelStyle(new BitmapFont(), Color.WHITE));
+        Label healthTitleLabel = new Label("BOB'S HEALTH", labelStyle);
 //        healthLabel = new Label(String.format("%02d", gameStateManager.getBobsHealth()),
 //                new Label.LabelStyle(new BitmapFont(), Color.WHITE));
-        healthLabel = new Label(FormatUtils.formatToDigits(2, gameStateManager.getBobsHealth()),
-                new Label.LabelStyle(new BitmapFont(), Color.WHITE));
+        healthLabel = new Label(FormatUtils.formatToDigits(2, gameStateManager.getBobsHealth()), labelStyle);
 
         table.add(healthTitleLabel).expandX().padTop(TABLE_PAD_TOP);
         table.add(timeTitleLabel).expandX().padTop(TABLE_PAD_TOP);
@@ -67,6 +72,7 @@ public final class Hud implements Disposable {
         table.add(healthLabel).expandX();
         table.add(timeLabel).expandX();
         getStage().addActor(table);
+        drawable = batch -> stage.getRoot().draw(batch, 1);
     }
 
     /**
@@ -89,8 +95,40 @@ public final class Hud implements Disposable {
     public void update(final float dt) {
 //        timeLabel.setText(String.format("%03d", gameStateManager.getWorldTimer()));
 //        healthLabel.setText(String.format("%02d", gameStateManager.getBobsHealth()));
-        timeLabel.setText(FormatUtils.formatToDigits(3, gameStateManager.getWorldTimer()));
-        healthLabel.setText(FormatUtils.formatToDigits(2, gameStateManager.getBobsHealth()));
+        update(gameStateManager.getWorldTimer(), gameStateManager.getBobsHealth());
+    }
+
+    /**
+     * Shows the given time count and health, for when the game is simulated on another thread.
+     *
+     * @param worldTimer The world timer.
+     * @param bobsHealth Bob's health.
+     */
+    public void update(final int worldTimer, final int bobsHealth) {
+        timeLabel.setText(FormatUtils.formatToDigits(3, worldTimer));
+        healthLabel.setText(FormatUtils.formatToDigits(2, bobsHealth));
+    }
+
+    /**
+     * Queues the HUD for drawing on top of the game world.
+     *
+     * @param renderQueue The RenderQueue the frame is drawn through.
+     */
+    public void submit(final RenderQueue renderQueue) {
+        final Camera camera = stage.getCamera();
+        camera.update();
+        renderQueue.setViewport(RenderQueue.View.SCREEN, stage.getViewport());
+        renderQueue.submit(RenderQueue.RenderLayer.HUD, RenderQueue.BlendMode.NORMAL, null, drawable);
+    }
+
+    /**
+     * Fits the HUD to a new screen size.
+     *
+     * @param width  The new width of the screen in pixels.
+     * @param height The new height of the screen in pixels.
+     */
+    public void resize(final int width, final int height) {
+        stage.getViewport().update(width, height, true);
     }
 
     /**
@@ -99,5 +137,8 @@ public final class Hud implements Disposable {
     @Override
     public void dispose() {
         getStage().dispose();
+        ResourceTracker.disposed(stage);
+        font.dispose();
+        ResourceTracker.disposed(font);
     }
 }
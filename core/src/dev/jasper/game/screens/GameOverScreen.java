@@ -12,7 +12,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.tools.AutoPlayer;
 import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.ResourceTracker;
 
 /**
  * The GameOverScreen class represents the game over screen in the game.
@@ -25,6 +27,7 @@ import dev.jasper.game.tools.GameStateManager;
 public final class GameOverScreen implements Screen {
     private static final int TABLE_PAD_TOP = 10;
     private final Stage stage;
+    private final BitmapFont bitmapFont;
 
     private final BobIsMelting game;
 
@@ -37,9 +40,10 @@ public final class GameOverScreen implements Screen {
     public GameOverScreen(final BobIsMelting game) {
         this.game = game;
         Viewport viewport = new FitViewport(BobIsMelting.V_WIDTH, BobIsMelting.V_HEIGHT, new OrthographicCamera());
-        stage = new Stage(viewport, game.getBatch());
+        stage = ResourceTracker.track(new Stage(viewport, game.getBatch()), "Stage");
 
-        Label.LabelStyle font = new Label.LabelStyle(new BitmapFont(), Color.WHITE);
+        bitmapFont = ResourceTracker.track(new BitmapFont(), "BitmapFont");
+        Label.LabelStyle font = new Label.LabelStyle(bitmapFont, Color.WHITE);
 
         Table table = new Table();
         table.center();
@@ -68,9 +72,12 @@ public final class GameOverScreen implements Screen {
 
     @Override
     public void render(final float delta) {
-        if (Gdx.input.justTouched()) {
+        game.prepareNextGame();
+        // The AutoPlayer plays on without anyone to touch the screen
+        if (Gdx.input.justTouched() || AutoPlayer.isEnabled()) {
             game.startNewGame();
             dispose();
+            return;
         }
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -100,5 +107,8 @@ public final class GameOverScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
+        ResourceTracker.disposed(stage);
+        bitmapFont.dispose();
+        ResourceTracker.disposed(bitmapFont);
     }
 }
@@ -2,18 +2,37 @@ package dev.jasper.game.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.controllers.Controllers;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import dev.jasper.game.BobIsMelting;
 import dev.jasper.game.scenes.Hud;
+import dev.jasper.game.tools.AutoPlayer;
+import dev.jasper.game.tools.GameEvents;
 import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.GamepadInput;
+import dev.jasper.game.tools.GhostPlayer;
+import dev.jasper.game.tools.GhostRecorder;
 import dev.jasper.game.tools.InputHandler;
+import dev.jasper.game.tools.InputQueue;
+import dev.jasper.game.tools.LatencyProbe;
+import dev.jasper.game.tools.LevelData;
+import dev.jasper.game.tools.NetClient;
+import dev.jasper.game.tools.ParallaxBackground;
+import dev.jasper.game.tools.RenderQueue;
+import dev.jasper.game.tools.ReplayWriter;
+import dev.jasper.game.tools.ResourceTracker;
+import dev.jasper.game.tools.RunRecorder;
+import dev.jasper.game.tools.SimulationRunner;
 
 /**
  * The PlayScreen class represents the main game screen where the gameplay happens.
@@ -30,14 +49,30 @@ public class PlayScreen implements Screen {
      * This value is used when updating the Box2D world's state.
      */
     protected static final int POSITION_ITERATIONS = 2;
+    /**
+     * The margin around the camera, in meters, within which entities are still drawn and animated.
+     */
+    private static final float CULLING_MARGIN = 32 / BobIsMelting.PPM;
     private final BobIsMelting game;
     private final GameStateManager gameStateManager;
+    private final InputQueue inputQueue;
+    private final GamepadInput gamepadInput;
     private final InputHandler inputHandler;
+    private final SimulationRunner simulationRunner;
+    private final NetClient netClient;
+    private final GhostRecorder ghostRecorder;
+    private final GhostPlayer ghostPlayer;
+    private final RunRecorder runRecorder;
+    private final boolean latencyProbed;
     private final OrthographicCamera gameCam;
     private final Viewport gamePort;
     private final Hud hud;
     private final OrthogonalTiledMapRenderer renderer;
+    private final Array<RenderQueue.Drawable> mapLayers;
+    private final ParallaxBackground background;
     private final Box2DDebugRenderer b2dr;
+    private float tickAccumulator;
+    private boolean disposed;
 
     /**
      * Constructs a PlayScreen instance.
@@ -60,15 +95,77 @@ public class PlayScreen implements Screen {
         hud = new Hud(gameStateManager, game.getBatch());
 
 //        this.gameStateManager = new GameStateManager();
-        inputHandler = new InputHandler(gameStateManager.getKid());
-        renderer = new OrthogonalTiledMapRenderer(gameStateManager.getMap(), 1 / BobIsMelting.PPM);
+        inputQueue = new InputQueue();
+        gamepadInput = new GamepadInput(inputQueue);
+        inputHandler = new InputHandler(gameStateManager.getKid(), inputQueue);
+        if (ReplayWriter.isEnabled()) {
+            gameStateManager.setReplayWriter(ReplayWriter.create());
+        }
+        if (AutoPlayer.isEnabled()) {
+            inputHandler.setAutoPlayer(new AutoPlayer(gameStateManager, inputQueue));
+        }
+        if (NetClient.isEnabled()) {
+            netClient = new NetClient(gameStateManager, inputHandler, inputQueue, NetClient.getTransport());
+        } else {
+            netClient = null;
+        }
+        // A co-op game re-runs ticks when the server corrects it, so only games played alone race the best run
+        if (GhostRecorder.isEnabled() && netClient == null) {
+            ghostPlayer = GhostPlayer.open(game.getLevelManager().getAtlas());
+        } else {
+            ghostPlayer = null;
+        }
+        // Neither the autoplayer's runs nor the latency probe's synthetic jumps may replace the player's best ghost
+        if (GhostRecorder.isEnabled() && netClient == null && !AutoPlayer.isEnabled()
+                && !LatencyProbe.get().isEnabled()) {
+            ghostRecorder = new GhostRecorder();
+            gameStateManager.setGhostRecorder(ghostRecorder);
+        } else {
+            ghostRecorder = null;
+        }
+        // Recorded runs are checked by playing them again, so the game must play out the same from its input
+        if (RunRecorder.isEnabled() && netClient == null) {
+            gameStateManager.makeVerifiable();
+            runRecorder = new RunRecorder(game.getLevelManager().getCurrentIndex(), gameStateManager.getSeed());
+            inputHandler.setRunRecorder(runRecorder);
+        } else {
+            runRecorder = null;
+        }
+        // Runs and replays are recorded on request, so they take precedence over measuring latency
+        latencyProbed = runRecorder == null && !ReplayWriter.isEnabled();
+        // A co-op game is ticked by the NetClient, which needs the packets in step with the simulation
+        if (SimulationRunner.isThreaded() && netClient == null) {
+            simulationRunner = new SimulationRunner(gameStateManager, inputHandler);
+        } else {
+            simulationRunner = null;
+        }
+        // Share the game's batch, so the map is drawn in the same pass as everything else
+        renderer = ResourceTracker.track(
+                new OrthogonalTiledMapRenderer(gameStateManager.getMap(), 1 / BobIsMelting.PPM, game.getBatch()),
+                "OrthogonalTiledMapRenderer");
+        // The backdrop layers are baked once per level and scroll behind the map,
+        // so only the foreground is drawn as tiles
+        background = gameStateManager.getBackground(game.getBatch());
+        mapLayers = new Array<>();
+        for (TiledMapTileLayer layer : gameStateManager.getMap().getLayers().getByType(TiledMapTileLayer.class)) {
+            if (layer.isVisible() && !ParallaxBackground.isBackdropLayer(layer.getName())) {
+                mapLayers.add(batch -> renderer.renderTileLayer(layer));
+            }
+        }
+        // Load the next level while this one is played, so starting it later does not stall
+        game.getLevelManager().preloadNextLevel();
 
-        b2dr = new Box2DDebugRenderer();
+        b2dr = ResourceTracker.track(new Box2DDebugRenderer(), "Box2DDebugRenderer");
     }
 
+    /**
+     * Starts recording keyboard and gamepad events for the player.
+     */
     @Override
     public void show() {
-
+        inputQueue.clear();
+        Gdx.input.setInputProcessor(inputQueue);
+        Controllers.addListener(gamepadInput);
     }
 
     /**
@@ -78,65 +175,143 @@ public class PlayScreen implements Screen {
      */
     @Override
     public void render(final float delta) {
+        GameEvents.getRecorder().beginFrame();
+        LatencyProbe.get().frameStarted();
         update(delta);
 
         // Clear the screen
         Gdx.gl.glClearColor(1, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Render game map
-        renderer.render();
+        // Queue the map, the game world and the HUD, then draw them all through the one batch
+        final RenderQueue renderQueue = game.getRenderQueue();
+        renderQueue.setViewport(RenderQueue.View.WORLD, gamePort);
+        // The renderer is not begun as a whole, so animated tiles are moved on here
+        AnimatedTiledMapTile.updateAnimationBaseTime();
+        background.submit(renderQueue, gameCam);
+        for (RenderQueue.Drawable mapLayer : mapLayers) {
+            renderQueue.submit(RenderQueue.RenderLayer.MAP, RenderQueue.BlendMode.NORMAL, null, mapLayer);
+        }
+        // Submitted first, so the ghost is drawn behind the live Kid
+        if (ghostPlayer != null) {
+            ghostPlayer.submit(renderQueue, gameCam);
+        }
+        if (simulationRunner != null) {
+            simulationRunner.submit(renderQueue);
+        } else {
+            gameStateManager.submit(renderQueue);
+        }
+        hud.submit(renderQueue);
+        renderQueue.flush(game.getBatch());
+        LatencyProbe.get().frameSubmitted();
 
         // Render Box2DDebugLines
 //        b2dr.render(gameStateManager.getWorld(), gameCam.combined);
+        GameEvents.getRecorder().endFrame();
 
-        game.getBatch().setProjectionMatrix(gameCam.combined);
-        game.getBatch().begin();
-        gameStateManager.draw(game.getBatch());
-        game.getBatch().end();
-
-        // Set our batch to draw what the HUD camera sees
-        game.getBatch().setProjectionMatrix(hud.getStage().getCamera().combined);
-        hud.getStage().draw();
-
-        if (gameStateManager.isGameOver()) {
+        if (isGameOver()) {
             game.setScreen(new GameOverScreen(game));
             dispose();
         }
     }
 
+    private boolean isGameOver() {
+        if (simulationRunner != null) {
+            return simulationRunner.isGameOver();
+        }
+        return gameStateManager.isGameOver();
+    }
+
+    /**
+     * Returns the number of Box2D bodies in the game, as of the last tick the screen shows.
+     *
+     * @return The number of bodies in the world.
+     */
+    public int getBodyCount() {
+        if (simulationRunner != null) {
+            return simulationRunner.getBodyCount();
+        }
+        return gameStateManager.getBodyCount();
+    }
+
     /**
      * Takes in a delta time to update the game world's state.
      *
      * @param dt - delta time
      */
     public void update(final float dt) {
-        // Handle user input first
-        inputHandler.handleInput();
+        game.getLevelManager().update();
 
-        hud.update(dt);
-        gameStateManager.update(dt);
+        // Run the simulation in fixed ticks, each applying the input that happened during it
+        if (latencyProbed) {
+            LatencyProbe.get().injectInput(inputQueue);
+        }
+        final int ticks;
+        if (simulationRunner != null) {
+            ticks = simulationRunner.update(dt);
+            hud.update(simulationRunner.getWorldTimer(), simulationRunner.getBobsHealth());
+        } else {
+            ticks = runTicks(dt);
+            hud.update(dt);
+        }
+        // The ghost moves on with the ticks shown, so it races the live run tick for tick
+        if (ghostPlayer != null) {
+            ghostPlayer.update(ticks);
+        }
 
         // Avoid camera go over boundary
-        MapProperties prop = gameStateManager.getMap().getProperties();
-        int mapWidth = prop.get("width", Integer.class);
-        int tilePixelWidth = prop.get("tilewidth", Integer.class);
-        float mapPixelWidth = mapWidth * tilePixelWidth / BobIsMelting.PPM;
+        final LevelData level = gameStateManager.getLevel();
+        final int tilePixelWidth = level.getTileWidth();
+        final float mapPixelWidth = level.getPixelWidth() / BobIsMelting.PPM;
 
         // The right boundary of the map (x + width)
         final float cameraHalfWidth = gamePort.getCamera().viewportWidth * .5f;
 
-        gameCam.position.x = gameStateManager.getKid().getB2body().getPosition().x;
+        if (simulationRunner != null) {
+            gameCam.position.x = simulationRunner.getCameraX();
+        } else {
+            gameCam.position.x = gameStateManager.getKid().getBodyX();
+        }
         gameCam.position.x = MathUtils.clamp(gameCam.position.x,
                 cameraHalfWidth + tilePixelWidth / BobIsMelting.PPM,
                 mapPixelWidth - cameraHalfWidth - tilePixelWidth / BobIsMelting.PPM);
 
         // Update our gameCam with correct coordinates after changes
         gameCam.update();
+        // Only draw and animate entities the camera can see
+        final float viewX = gameCam.position.x - cameraHalfWidth - CULLING_MARGIN;
+        final float viewY = gameCam.position.y - gameCam.viewportHeight * .5f - CULLING_MARGIN;
+        final float viewWidth = gameCam.viewportWidth + 2 * CULLING_MARGIN;
+        final float viewHeight = gameCam.viewportHeight + 2 * CULLING_MARGIN;
+        if (simulationRunner != null) {
+            simulationRunner.setViewBounds(viewX, viewY, viewWidth, viewHeight);
+        } else {
+            gameStateManager.setViewBounds(viewX, viewY, viewWidth, viewHeight);
+        }
         // Tell the renderer to draw only what our camera can see in our game world.
         renderer.setView(gameCam);
     }
 
+    private int runTicks(final float dt) {
+        final long frameTime = TimeUtils.nanoTime();
+        int ticks = 0;
+        tickAccumulator = Math.min(tickAccumulator + dt,
+                GameStateManager.MAX_TICKS_PER_FRAME * GameStateManager.TIME_STEP);
+        while (tickAccumulator >= GameStateManager.TIME_STEP && !gameStateManager.isGameOver()) {
+            tickAccumulator -= GameStateManager.TIME_STEP;
+            // The tick ended as long before this frame as simulated time is still left to catch up on
+            final long tickEndNanos = frameTime - (long) (tickAccumulator * GameStateManager.NANOS_PER_SECOND);
+            if (netClient != null) {
+                netClient.runTick(tickEndNanos);
+            } else {
+                inputHandler.handleInput(tickEndNanos);
+                gameStateManager.update(GameStateManager.TIME_STEP);
+            }
+            ticks++;
+        }
+        return ticks;
+    }
+
     /**
      * Resizes the game viewport based on the new width and height.
      *
@@ -146,6 +321,7 @@ public class PlayScreen implements Screen {
     @Override
     public void resize(final int width, final int height) {
         gamePort.update(width, height);
+        hud.resize(width, height);
     }
 
     @Override
@@ -158,19 +334,47 @@ public class PlayScreen implements Screen {
 
     }
 
+    /**
+     * Stops recording input for the player.
+     */
     @Override
     public void hide() {
-
+        if (Gdx.input.getInputProcessor() == inputQueue) {
+            Gdx.input.setInputProcessor(null);
+        }
+        Controllers.removeListener(gamepadInput);
     }
 
     /**
      * Disposes of all the resources used in the game.
+     * The screen disposes of itself once the game is over, and the game disposes of its current screen
+     * when it closes, so any later call does nothing.
      */
     @Override
     public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        // The simulation thread must be done with the world before it is disposed
+        if (simulationRunner != null) {
+            simulationRunner.dispose();
+        }
+        // Only finished runs can be the best one, not ones left halfway when the game closes
+        if (ghostRecorder != null && isGameOver()) {
+            ghostRecorder.saveIfBest();
+        }
+        if (runRecorder != null && isGameOver()) {
+            runRecorder.save(gameStateManager);
+        }
         gameStateManager.dispose();
+        if (ghostPlayer != null) {
+            ghostPlayer.dispose();
+        }
         renderer.dispose();
+        ResourceTracker.disposed(renderer);
         b2dr.dispose();
+        ResourceTracker.disposed(b2dr);
         hud.dispose();
     }
 }
@@ -0,0 +1,178 @@
+package dev.jasper.game.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.scenes.Hud;
+import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.LevelData;
+import dev.jasper.game.tools.ParallaxBackground;
+import dev.jasper.game.tools.RenderQueue;
+import dev.jasper.game.tools.ReplayPlayer;
+import dev.jasper.game.tools.ReplayReader;
+import dev.jasper.game.tools.ResourceTracker;
+
+/**
+ * The ReplayScreen class plays back a recorded game the way PlayScreen shows a live one,
+ * with the camera following the first Kid, but without running physics.
+ * Space pauses and resumes, and the left and right arrows jump back and forward by ten seconds.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ReplayScreen implements Screen {
+    private static final float CULLING_MARGIN = 32 / BobIsMelting.PPM;
+    private static final int SEEK_SECONDS = 10;
+    private static ReplayReader replay;
+    private final BobIsMelting game;
+    private final GameStateManager gameStateManager;
+    private final ReplayPlayer replayPlayer;
+    private final OrthographicCamera gameCam;
+    private final Viewport gamePort;
+    private final Hud hud;
+    private final OrthogonalTiledMapRenderer renderer;
+    private final Array<RenderQueue.Drawable> mapLayers;
+    private final ParallaxBackground background;
+
+    /**
+     * Constructs a ReplayScreen that plays the replay set by setReplay in the game's current GameStateManager.
+     *
+     * @param gameInstance The main game instance.
+     */
+    public ReplayScreen(final BobIsMelting gameInstance) {
+        this.game = gameInstance;
+        this.gameStateManager = gameInstance.getGameStateManager();
+        gameCam = new OrthographicCamera();
+        gamePort = new FitViewport(BobIsMelting.V_WIDTH / BobIsMelting.PPM,
+                BobIsMelting.V_HEIGHT / BobIsMelting.PPM, gameCam);
+        gameCam.position.set(gamePort.getWorldWidth() / 2, gamePort.getWorldHeight() / 2, 0);
+        hud = new Hud(gameStateManager, game.getBatch());
+        replayPlayer = new ReplayPlayer(gameStateManager, replay);
+        renderer = ResourceTracker.track(
+                new OrthogonalTiledMapRenderer(gameStateManager.getMap(), 1 / BobIsMelting.PPM, game.getBatch()),
+                "OrthogonalTiledMapRenderer");
+        background = gameStateManager.getBackground(game.getBatch());
+        mapLayers = new Array<>();
+        for (TiledMapTileLayer layer : gameStateManager.getMap().getLayers().getByType(TiledMapTileLayer.class)) {
+            if (layer.isVisible() && !ParallaxBackground.isBackdropLayer(layer.getName())) {
+                mapLayers.add(batch -> renderer.renderTileLayer(layer));
+            }
+        }
+    }
+
+    /**
+     * Sets the replay the game plays back instead of starting a game.
+     *
+     * @param reader The replay, or null to play the game.
+     */
+    public static void setReplay(final ReplayReader reader) {
+        replay = reader;
+    }
+
+    /**
+     * Returns whether the game plays back a replay instead of starting a game.
+     *
+     * @return true if a replay is set.
+     */
+    public static boolean isEnabled() {
+        return replay != null;
+    }
+
+    @Override
+    public void show() {
+
+    }
+
+    /**
+     * Plays the replay on and draws the frame shown.
+     *
+     * @param delta The time difference between the current and the last frame.
+     */
+    @Override
+    public void render(final float delta) {
+        update(delta);
+
+        Gdx.gl.glClearColor(1, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        final RenderQueue renderQueue = game.getRenderQueue();
+        renderQueue.setViewport(RenderQueue.View.WORLD, gamePort);
+        // The renderer is not begun as a whole, so animated tiles are moved on here
+        AnimatedTiledMapTile.updateAnimationBaseTime();
+        background.submit(renderQueue, gameCam);
+        for (RenderQueue.Drawable mapLayer : mapLayers) {
+            renderQueue.submit(RenderQueue.RenderLayer.MAP, RenderQueue.BlendMode.NORMAL, null, mapLayer);
+        }
+        gameStateManager.submit(renderQueue);
+        hud.submit(renderQueue);
+        renderQueue.flush(game.getBatch());
+    }
+
+    private void update(final float dt) {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            replayPlayer.setPaused(!replayPlayer.isPaused());
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
+            replayPlayer.seekSecond(replayPlayer.getSecond() - SEEK_SECONDS);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
+            replayPlayer.seekSecond(replayPlayer.getSecond() + SEEK_SECONDS);
+        }
+        replayPlayer.update(dt);
+        hud.update(dt);
+
+        final LevelData level = gameStateManager.getLevel();
+        final float tileWidth = level.getTileWidth() / BobIsMelting.PPM;
+        final float mapWidth = level.getPixelWidth() / BobIsMelting.PPM;
+        final float cameraHalfWidth = gameCam.viewportWidth * .5f;
+        gameCam.position.x = MathUtils.clamp(gameStateManager.getKid().getBodyX(),
+                cameraHalfWidth + tileWidth, mapWidth - cameraHalfWidth - tileWidth);
+        gameCam.update();
+        gameStateManager.setViewBounds(gameCam.position.x - cameraHalfWidth - CULLING_MARGIN,
+                gameCam.position.y - gameCam.viewportHeight * .5f - CULLING_MARGIN,
+                gameCam.viewportWidth + 2 * CULLING_MARGIN, gameCam.viewportHeight + 2 * CULLING_MARGIN);
+        renderer.setView(gameCam);
+    }
+
+    @Override
+    public void resize(final int width, final int height) {
+        gamePort.update(width, height);
+        hud.resize(width, height);
+    }
+
+    @Override
+    public void pause() {
+
+    }
+
+    @Override
+    public void resume() {
+
+    }
+
+    @Override
+    public void hide() {
+
+    }
+
+    /**
+     * Disposes of the game played back into and the resources used to draw it.
+     */
+    @Override
+    public void dispose() {
+        gameStateManager.dispose();
+        renderer.dispose();
+        ResourceTracker.disposed(renderer);
+        hud.dispose();
+    }
+}
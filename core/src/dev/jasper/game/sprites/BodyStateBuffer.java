@@ -0,0 +1,137 @@
+package dev.jasper.game.sprites;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The BodyStateBuffer class keeps a Java-side copy of the position, velocity and awake flag
+ * of every dynamic body in the game, stored in flat arrays indexed by a slot per body.
+ * Each call into Box2D goes through JNI, so the copies are refreshed in one pass right after
+ * each physics step, and gameplay and rendering read from them for the rest of the step.
+ * The copies go stale once an impulse is applied, until the next sync.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class BodyStateBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FIELDS_PER_BODY = 4;
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int VELOCITY_X = 2;
+    private static final int VELOCITY_Y = 3;
+    private final Array<Body> bodies;
+    private float[] values;
+    private boolean[] awake;
+
+    /**
+     * Constructs an empty BodyStateBuffer.
+     */
+    public BodyStateBuffer() {
+        bodies = new Array<>(INITIAL_CAPACITY);
+        values = new float[INITIAL_CAPACITY * FIELDS_PER_BODY];
+        awake = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a body to the buffer and copies its current state.
+     *
+     * @param body The dynamic body to keep a copy of.
+     * @return The slot the state of the body is read from.
+     */
+    public int add(final Body body) {
+        final int slot = bodies.size;
+        if (slot == awake.length) {
+            final boolean[] grownAwake = new boolean[slot * 2];
+            System.arraycopy(awake, 0, grownAwake, 0, slot);
+            awake = grownAwake;
+            final float[] grownValues = new float[slot * 2 * FIELDS_PER_BODY];
+            System.arraycopy(values, 0, grownValues, 0, slot * FIELDS_PER_BODY);
+            values = grownValues;
+        }
+        bodies.add(body);
+        copy(slot);
+        return slot;
+    }
+
+    /**
+     * Copies the state of every body in the buffer. Called once after each physics step.
+     */
+    public void sync() {
+        for (int slot = 0; slot < bodies.size; slot++) {
+            copy(slot);
+        }
+    }
+
+    private void copy(final int slot) {
+        final Body body = bodies.get(slot);
+        final int offset = slot * FIELDS_PER_BODY;
+        final Vector2 position = body.getPosition();
+        values[offset + X] = position.x;
+        values[offset + Y] = position.y;
+        final Vector2 velocity = body.getLinearVelocity();
+        values[offset + VELOCITY_X] = velocity.x;
+        values[offset + VELOCITY_Y] = velocity.y;
+        awake[slot] = body.isAwake();
+    }
+
+    /**
+     * Returns the number of bodies in the buffer.
+     *
+     * @return The number of bodies in the buffer.
+     */
+    public int size() {
+        return bodies.size;
+    }
+
+    /**
+     * Returns the x-coordinate of a body at the last sync.
+     *
+     * @param slot The slot of the body.
+     * @return The x-coordinate of the body in meters.
+     */
+    public float getX(final int slot) {
+        return values[slot * FIELDS_PER_BODY + X];
+    }
+
+    /**
+     * Returns the y-coordinate of a body at the last sync.
+     *
+     * @param slot The slot of the body.
+     * @return The y-coordinate of the body in meters.
+     */
+    public float getY(final int slot) {
+        return values[slot * FIELDS_PER_BODY + Y];
+    }
+
+    /**
+     * Returns the horizontal velocity of a body at the last sync.
+     *
+     * @param slot The slot of the body.
+     * @return The horizontal velocity of the body in meters per second.
+     */
+    public float getVelocityX(final int slot) {
+        return values[slot * FIELDS_PER_BODY + VELOCITY_X];
+    }
+
+    /**
+     * Returns the vertical velocity of a body at the last sync.
+     *
+     * @param slot The slot of the body.
+     * @return The vertical velocity of the body in meters per second.
+     */
+    public float getVelocityY(final int slot) {
+        return values[slot * FIELDS_PER_BODY + VELOCITY_Y];
+    }
+
+    /**
+     * Returns whether a body was awake at the last sync.
+     *
+     * @param slot The slot of the body.
+     * @return true if the body was awake.
+     */
+    public boolean isAwake(final int slot) {
+        return awake[slot];
+    }
+}
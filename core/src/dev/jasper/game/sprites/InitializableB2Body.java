@@ -29,6 +29,13 @@ public interface InitializableB2Body {
      */
     FixtureDef getFixtureDef();
 
+    /**
+     * Sets the shape of the FixtureDef, taken from the ShapeCache. Called right before the body is created.
+     *
+     * @param shapeCache The ShapeCache the shape is taken from.
+     */
+    void defineShape(ShapeCache shapeCache);
+
     /**
      * Returns the Body of the Box2D body.
      *
@@ -0,0 +1,114 @@
+package dev.jasper.game.sprites;
+
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.NumberUtils;
+import dev.jasper.game.tools.ResourceTracker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ShapeCache class hands out the native Box2D shapes fixtures are created from, keyed by their geometry,
+ * so bodies of the same size created together share one shape.
+ * Box2D copies a shape into every fixture made from it, so the shapes are only needed while bodies are created:
+ * whoever creates bodies clears the cache once they are done, which disposes of every native shape it holds.
+ * Every shape the cache creates and disposes is counted, so tests can check that none are leaked.
+ * The count is shared by caches on every thread, so it is kept atomically.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ShapeCache implements Disposable {
+    private static final int HIGH_BITS_SHIFT = 32;
+    private static final long LOW_BITS_MASK = 0xFFFFFFFFL;
+    private static final AtomicInteger LIVE_SHAPE_COUNT = new AtomicInteger();
+    private final IntMap<CircleShape> circles;
+    private final LongMap<PolygonShape> boxes;
+
+    /**
+     * Constructs an empty ShapeCache.
+     */
+    public ShapeCache() {
+        this.circles = new IntMap<>();
+        this.boxes = new LongMap<>();
+    }
+
+    /**
+     * Returns the number of shapes created by any ShapeCache that have not been disposed of yet.
+     *
+     * @return The number of live native shapes.
+     */
+    public static int getLiveShapeCount() {
+        return LIVE_SHAPE_COUNT.get();
+    }
+
+    /**
+     * Returns a circle of the given radius, creating it if the cache does not hold one yet.
+     *
+     * @param radius The radius in meters.
+     * @return The circle, which stays valid until the cache is cleared.
+     */
+    public CircleShape circle(final float radius) {
+        final int key = NumberUtils.floatToIntBits(radius);
+        CircleShape shape = circles.get(key);
+        if (shape == null) {
+            shape = ResourceTracker.track(new CircleShape(), "Shape");
+            shape.setRadius(radius);
+            circles.put(key, shape);
+            LIVE_SHAPE_COUNT.incrementAndGet();
+        }
+        return shape;
+    }
+
+    /**
+     * Returns a box centered on the body with the given half extents, creating it if the cache does not hold one yet.
+     *
+     * @param halfWidth  Half the width of the box in meters.
+     * @param halfHeight Half the height of the box in meters.
+     * @return The box, which stays valid until the cache is cleared.
+     */
+    public PolygonShape box(final float halfWidth, final float halfHeight) {
+        final long key = (long) NumberUtils.floatToIntBits(halfWidth) << HIGH_BITS_SHIFT
+                | NumberUtils.floatToIntBits(halfHeight) & LOW_BITS_MASK;
+        PolygonShape shape = boxes.get(key);
+        if (shape == null) {
+            shape = ResourceTracker.track(new PolygonShape(), "Shape");
+            shape.setAsBox(halfWidth, halfHeight);
+            boxes.put(key, shape);
+            LIVE_SHAPE_COUNT.incrementAndGet();
+        }
+        return shape;
+    }
+
+    /**
+     * Disposes of every shape in the cache. Called once the bodies that needed them have been created.
+     */
+    public void clear() {
+        for (CircleShape shape : circles.values()) {
+            release(shape);
+        }
+        circles.clear();
+        for (PolygonShape shape : boxes.values()) {
+            release(shape);
+        }
+        boxes.clear();
+    }
+
+    private static void release(final Shape shape) {
+        shape.dispose();
+        ResourceTracker.disposed(shape);
+        LIVE_SHAPE_COUNT.decrementAndGet();
+    }
+
+    /**
+     * Disposes of every shape in the cache.
+     */
+    @Override
+    public void dispose() {
+        clear();
+    }
+}
@@ -5,7 +5,6 @@ import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
-import com.badlogic.gdx.physics.box2d.PolygonShape;
 import dev.jasper.game.BobIsMelting;
 
 /**
@@ -19,6 +18,8 @@ import dev.jasper.game.BobIsMelting;
 public abstract class TileB2Body implements InitializableB2Body {
     private final BodyDef bodyDef;
     private final FixtureDef fixtureDef;
+    private final float halfWidth;
+    private final float halfHeight;
     private Body b2body;
     private Fixture fixture;
 
@@ -32,8 +33,8 @@ public abstract class TileB2Body implements InitializableB2Body {
         final float positionX = bounds.getX() + bounds.getWidth() / 2;
         final float positionY = bounds.getY() + bounds.getHeight() / 2;
 
-        final PolygonShape shape = new PolygonShape();
-        shape.setAsBox(bounds.getWidth() / 2 / BobIsMelting.PPM, bounds.getHeight() / 2 / BobIsMelting.PPM);
+        halfWidth = bounds.getWidth() / 2 / BobIsMelting.PPM;
+        halfHeight = bounds.getHeight() / 2 / BobIsMelting.PPM;
 
         bodyDef = new BodyDef();
         getBodyDef().position.set(positionX / BobIsMelting.PPM,
@@ -42,7 +43,11 @@ public abstract class TileB2Body implements InitializableB2Body {
 
         fixtureDef = new FixtureDef();
         getFixtureDef().filter.categoryBits = collisionCategory;
-        getFixtureDef().shape = shape;
+    }
+
+    @Override
+    public final void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.box(halfWidth, halfHeight);
     }
 
     @Override
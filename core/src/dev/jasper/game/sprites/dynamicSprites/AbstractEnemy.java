@@ -1,6 +1,6 @@
 package dev.jasper.game.sprites.dynamicSprites;
 
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import dev.jasper.game.EntityCollisionCategory;
 
@@ -17,14 +17,18 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
     private static final short MASK_BITS = EntityCollisionCategory.GROUND_BIT | EntityCollisionCategory.OBJECT_BIT
             | EntityCollisionCategory.KID_BIT | EntityCollisionCategory.KID_CARRY_SNOWBALL_BIT
             | EntityCollisionCategory.ENEMY_BOUNDARY_BIT;
+    private static final float JUMP_REACH = .04f;
+    private static final float GROUNDED_VELOCITY = .01f;
     private final float maxRunVelocity;
     private final float defaultRunVelocity;
     private final float defaultJumpVelocity;
     private final float chanceToJump;
     private final float decideSpecialMovementDuration;
+    private final RandomXS128 random;
 
     private float decideSpecialMovementTimer;
     private Vector2 currentVelocity;
+    private DetailLevel detailLevel;
 
     /**
      * Constructs an AbstractEnemy with the specified parameters.
@@ -35,10 +39,12 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
      * @param chanceToJump                  The chance for the enemy to jump.
      * @param decideSpecialMovementDuration The duration to decide the special movement of the enemy.
      * @param maxRunVelocity                The maximum running velocity of the enemy.
+     * @param random                        The random number generator of the game the enemy is in.
      */
     public AbstractEnemy(final float defaultRunVelocity, final Vector2 currentVelocity,
                          final float defaultJumpVelocity, final float chanceToJump,
-                         final float decideSpecialMovementDuration, final float maxRunVelocity) {
+                         final float decideSpecialMovementDuration, final float maxRunVelocity,
+                         final RandomXS128 random) {
         super(COLLISION_CATEGORY, MASK_BITS);
 
         this.defaultRunVelocity = defaultRunVelocity;
@@ -48,6 +54,8 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
         this.decideSpecialMovementTimer = 0;
         this.decideSpecialMovementDuration = decideSpecialMovementDuration;
         this.maxRunVelocity = maxRunVelocity;
+        this.random = random;
+        this.detailLevel = DetailLevel.FULL;
     }
 
     /**
@@ -91,58 +99,155 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
      */
     @Override
     public State getState() {
-        if (getB2body().getLinearVelocity().x != 0) {
+        if (getVelocityX() != 0) {
             return State.RUNNING;
         } else {
             return State.STANDING;
         }
     }
 
+    /**
+     * Returns the level of detail the enemy is currently simulated at.
+     *
+     * @return detailLevel - the current level of detail
+     */
+    public DetailLevel getDetailLevel() {
+        return detailLevel;
+    }
+
+    /**
+     * Sets the level of detail the enemy is simulated at.
+     * Frozen enemies are taken out of the simulation, so they neither move nor fall
+     * while the ground around them is streamed out. Enemies returning to the full level are woken up
+     * so that they move again right away.
+     *
+     * @param newDetailLevel - the new level of detail
+     */
+    public void setDetailLevel(final DetailLevel newDetailLevel) {
+        if (newDetailLevel == detailLevel) {
+            return;
+        }
+        if (detailLevel == DetailLevel.FROZEN) {
+            getB2body().setActive(true);
+        }
+        if (newDetailLevel == DetailLevel.FULL) {
+            getB2body().setAwake(true);
+        } else if (newDetailLevel == DetailLevel.FROZEN) {
+            getB2body().setActive(false);
+        }
+        this.detailLevel = newDetailLevel;
+    }
+
     /**
      * Updates the state of the enemy sprite and body.
      * This method is called periodically to update the state of the enemy in the game.
      * It increments the state timer and the special movement decision timer,
-     * applies any special movement, and updates the enemy's position.
+     * and keeps the enemy running. Special movements are decided by the EnemyAiScheduler.
+     * Frozen enemies are not updated at all. The sprite position and animation frame are only updated
+     * while the enemy is in view, whatever its level of detail, so an enemy on screen is never drawn out of place.
      *
      * @param dt The time delta, representing the amount of time passed since the last update.
      */
     public void update(final float dt) {
+        if (detailLevel == DetailLevel.FROZEN) {
+            return;
+        }
         setStateTimer(getStateTimer() + dt);
         setDecideSpecialMovementTimer(getDecideSpecialMovementTimer() + dt);
 
-        applySpecialMovement();
-
         run();
 
-        final float xPositionOffset = getB2body().getPosition().x - getWidth() / 2;
-        final float yPositionOffset = getB2body().getPosition().y - getHeight() / 3;
+        if (!isInView()) {
+            return;
+        }
+        final float xPositionOffset = getBodyX() - getWidth() / 2;
+        final float yPositionOffset = getBodyY() - getHeight() / 3;
         setPosition(xPositionOffset, yPositionOffset);
         setRegion(getFrame(dt));
     }
 
+    /**
+     * Steers the enemy towards a point, and makes it jump once there if asked to.
+     * Only the direction the enemy runs in changes, so an idle enemy stays idle until it next decides to move.
+     *
+     * @param targetX      The x-coordinate to head for, in meters.
+     * @param jumpAtTarget true to jump on reaching the target, if the enemy is on the ground.
+     */
+    public final void pursue(final float targetX, final boolean jumpAtTarget) {
+        final float speed = Math.abs(getCurrentVelocity().x);
+        if (speed == 0) {
+            return;
+        }
+        final float distance = targetX - getBodyX();
+        if (distance < 0) {
+            getCurrentVelocity().x = -speed;
+        } else {
+            getCurrentVelocity().x = speed;
+        }
+        if (jumpAtTarget && Math.abs(distance) < JUMP_REACH) {
+            jumpIfOnGround();
+        }
+    }
+
+    /**
+     * Makes the enemy jump, unless it is already in the air.
+     */
+    public final void jumpIfOnGround() {
+        if (Math.abs(getVelocityY()) < GROUNDED_VELOCITY) {
+            jump();
+        }
+    }
+
+    /**
+     * Returns the direction the enemy runs in.
+     *
+     * @return 1 if the enemy runs right, -1 if it runs left, and 0 if it is idle.
+     */
+    public final int getRunDirection() {
+        return (int) Math.signum(getCurrentVelocity().x);
+    }
+
     protected final float getDecideSpecialMovementTimer() {
         return decideSpecialMovementTimer;
     }
 
-    protected final void applySpecialMovement() {
+    /**
+     * Returns how far the enemy is towards its next special movement decision.
+     *
+     * @return The time since the last decision, as a multiple of the time between decisions.
+     */
+    public final float getDecisionProgress() {
+        return getDecideSpecialMovementTimer() / getDecideSpecialMovementDuration();
+    }
+
+    /**
+     * Decides the enemy's next special movement: it either jumps and runs on, or stands idle.
+     * Called by the EnemyAiScheduler once the decision is due and the frame has time for it.
+     */
+    public final void decideSpecialMovement() {
 //        // Half the time the enemy will not apply special movemen
 //        if (MathUtils.randomBoolean(.5f)) {
 //            return;
 //        }
-        if (getDecideSpecialMovementTimer() >= getDecideSpecialMovementDuration()) {
-            if (MathUtils.randomBoolean(getChanceToJump())) {
-                jump();
-                setCurrentVelocity(new Vector2(getDefaultRunVelocity(), 0));
-            } else {
-                idle();
-            }
-            setDecideSpecialMovementTimer(0);
+        if (random.nextFloat() < getChanceToJump()) {
+            jump();
+            setCurrentVelocity(new Vector2(getDefaultRunVelocity(), 0));
+        } else {
+            idle();
         }
+        setDecideSpecialMovementTimer(0);
     }
 
     protected final void run() {
-        if (Math.abs(getB2body().getLinearVelocity().x) <= getMaxRunVelocity()) {
-            getB2body().applyLinearImpulse(getCurrentVelocity(), getB2body().getWorldCenter(), true);
+        // An idle enemy has nothing to apply, and waking it would keep Box2D from putting it to sleep
+        if (getCurrentVelocity().isZero()) {
+            return;
+        }
+        // The body is a circle, so its position is also its center of mass
+        if (Math.abs(getVelocityX()) <= getMaxRunVelocity()) {
+            // Box2D drops impulses on sleeping bodies that are not woken, which would leave the enemy stuck
+            getB2body().applyLinearImpulse(getCurrentVelocity().x, getCurrentVelocity().y, getBodyX(), getBodyY(),
+                    true);
         }
     }
 
@@ -155,7 +260,7 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
     }
 
     private void jump() {
-        getB2body().applyLinearImpulse(new Vector2(0, getDefaultJumpVelocity()), getB2body().getWorldCenter(), true);
+        getB2body().applyLinearImpulse(0, getDefaultJumpVelocity(), getBodyX(), getBodyY(), true);
     }
 
     protected final float getDefaultRunVelocity() {
@@ -177,4 +282,9 @@ public abstract class AbstractEnemy extends DynamicB2BodySprite {
     protected final void setDecideSpecialMovementTimer(final float decideSpecialMovementTimer) {
         this.decideSpecialMovementTimer = decideSpecialMovementTimer;
     }
+
+    /**
+     * Represents how much simulation work an enemy receives, based on its distance to the player.
+     */
+    public enum DetailLevel { FULL, REDUCED, FROZEN }
 }
@@ -1,5 +1,6 @@
 package dev.jasper.game.sprites.dynamicSprites;
 
+import com.badlogic.gdx.graphics.g2d.Sprite;
 
 /**
  * AbstractPlayer is an abstract class that extends DynamicB2BodySprite
@@ -29,4 +30,11 @@ public abstract class AbstractPlayer extends DynamicB2BodySprite implements Snow
      */
     public abstract boolean getIsInvincibleToEnemy();
 
+    /**
+     * Returns the sprite of the snowball the player carries, which is drawn over the player.
+     *
+     * @return Sprite - the carried snowball, or null if the player is not carrying one.
+     */
+    public abstract Sprite getCarriedSnowballSprite();
+
 }
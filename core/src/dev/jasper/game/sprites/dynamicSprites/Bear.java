@@ -3,11 +3,11 @@ package dev.jasper.game.sprites.dynamicSprites;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.utils.Array;
 import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.ShapeCache;
 
 /**
  * Represents a Bear enemy in the game.
@@ -29,9 +29,9 @@ public final class Bear extends AbstractEnemy {
     private Animation<TextureRegion> idleAnimation;
     private Animation<TextureRegion> walkAnimation;
 
-    private Bear(final float x, final float y, final float specialMovementDuration) {
+    private Bear(final float x, final float y, final float specialMovementDuration, final RandomXS128 random) {
         super(DEFAULT_RUN_VELOCITY, new Vector2(DEFAULT_RUN_VELOCITY, 0), DEFAULT_JUMP_VELOCITY, CHANCE_TO_JUMP,
-                specialMovementDuration, MAX_RUN_VELOCITY);
+                specialMovementDuration, MAX_RUN_VELOCITY, random);
         this.positionX = x;
         this.positionY = y;
     }
@@ -39,18 +39,19 @@ public final class Bear extends AbstractEnemy {
     /**
      * Factory method to create a new Bear.
      *
-     * @param atlas The TextureAtlas containing the Bear's textures.
-     * @param x     The x-coordinate of the Bear's position.
-     * @param y     The y-coordinate of the Bear's position.
+     * @param atlas  The TextureAtlas containing the Bear's textures.
+     * @param x      The x-coordinate of the Bear's position.
+     * @param y      The y-coordinate of the Bear's position.
+     * @param random The random number generator of the game.
      * @return A new Bear.
      */
-    public static Bear enemyFactory(final TextureAtlas atlas, final float x, final float y) {
-        final float specialMovementDuration = MathUtils.random(MAX_DECIDE_SPECIAL_MOVEMENT_DURATION)
+    public static Bear enemyFactory(final TextureAtlas atlas, final float x, final float y,
+                                    final RandomXS128 random) {
+        final float specialMovementDuration = random.nextFloat() * MAX_DECIDE_SPECIAL_MOVEMENT_DURATION
                 + MIN_DECIDE_SPECIAL_MOVEMENT_DURATION;
-        final Bear bear = new Bear(x, y, specialMovementDuration);
+        final Bear bear = new Bear(x, y, specialMovementDuration, random);
         bear.defineDefaultSprite(atlas);
         bear.defineBodyDefPosition();
-        bear.defineShape();
         return bear;
     }
 
@@ -99,10 +100,8 @@ public final class Bear extends AbstractEnemy {
     }
 
     @Override
-    protected void defineShape() {
-        CircleShape shape = new CircleShape();
-        shape.setRadius(BEAR_SPHERE_RADIUS / BobIsMelting.PPM);
-        getFixtureDef().shape = shape;
+    public void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.circle(BEAR_SPHERE_RADIUS / BobIsMelting.PPM);
     }
 
     @Override
@@ -3,11 +3,11 @@ package dev.jasper.game.sprites.dynamicSprites;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.utils.Array;
 import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.ShapeCache;
 
 /**
  * The Chicken class represents a specific type of enemy in the game.
@@ -30,9 +30,9 @@ public final class Chicken extends AbstractEnemy {
     private Animation<TextureRegion> idleAnimation;
     private Animation<TextureRegion> walkAnimation;
 
-    private Chicken(final float x, final float y, final float specialMovementDuration) {
+    private Chicken(final float x, final float y, final float specialMovementDuration, final RandomXS128 random) {
         super(DEFAULT_RUN_VELOCITY, new Vector2(DEFAULT_RUN_VELOCITY, 0), DEFAULT_JUMP_VELOCITY, CHANCE_TO_JUMP,
-                specialMovementDuration, MAX_RUN_VELOCITY);
+                specialMovementDuration, MAX_RUN_VELOCITY, random);
         this.positionX = x;
         this.positionY = y;
     }
@@ -40,18 +40,19 @@ public final class Chicken extends AbstractEnemy {
     /**
      * Factory method to create a new Chicken.
      *
-     * @param atlas The TextureAtlas containing the Bear's textures.
-     * @param x     The x-coordinate of the Bear's position.
-     * @param y     The y-coordinate of the Bear's position.
+     * @param atlas  The TextureAtlas containing the Bear's textures.
+     * @param x      The x-coordinate of the Bear's position.
+     * @param y      The y-coordinate of the Bear's position.
+     * @param random The random number generator of the game.
      * @return A new Bear.
      */
-    public static Chicken enemyFactory(final TextureAtlas atlas, final float x, final float y) {
-        final float specialMovementDuration = MathUtils.random(MAX_DECIDE_SPECIAL_MOVEMENT_DURATION)
+    public static Chicken enemyFactory(final TextureAtlas atlas, final float x, final float y,
+                                       final RandomXS128 random) {
+        final float specialMovementDuration = random.nextFloat() * MAX_DECIDE_SPECIAL_MOVEMENT_DURATION
                 + MIN_DECIDE_SPECIAL_MOVEMENT_DURATION;
-        final Chicken chicken = new Chicken(x, y, specialMovementDuration);
+        final Chicken chicken = new Chicken(x, y, specialMovementDuration, random);
         chicken.defineDefaultSprite(atlas);
         chicken.defineBodyDefPosition();
-        chicken.defineShape();
         return chicken;
     }
 
@@ -100,10 +101,8 @@ public final class Chicken extends AbstractEnemy {
     }
 
     @Override
-    protected void defineShape() {
-        CircleShape shape = new CircleShape();
-        shape.setRadius(CHICKEN_SPHERE_RADIUS / BobIsMelting.PPM);
-        getFixtureDef().shape = shape;
+    public void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.circle(CHICKEN_SPHERE_RADIUS / BobIsMelting.PPM);
     }
 
     @Override
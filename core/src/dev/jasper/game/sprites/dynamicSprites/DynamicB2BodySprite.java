@@ -7,6 +7,7 @@ import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
+import dev.jasper.game.sprites.BodyStateBuffer;
 import dev.jasper.game.sprites.InitializableB2Body;
 
 /**
@@ -24,10 +25,13 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
     private final FixtureDef fixtureDef;
     private Body b2body;
     private Fixture fixture;
+    private BodyStateBuffer bodyStates;
+    private int bodySlot;
     private State currentState;
     private State previousState;
     private float stateTimer;
     private boolean isRunningRight;
+    private boolean inView;
 
     /**
      * Constructor for the DynamicEntitySprite class.
@@ -42,7 +46,7 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
         previousState = State.STANDING;
         stateTimer = 0;
         isRunningRight = true;
-
+        inView = true;
 
         bodyDef = new BodyDef();
         getBodyDef().type = BodyDef.BodyType.DynamicBody;
@@ -82,6 +86,62 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
         this.b2body = b2body;
     }
 
+    /**
+     * Sets where the state of the body is read from. Called once the body is created.
+     *
+     * @param buffer The BodyStateBuffer holding the state of the body.
+     * @param slot   The slot of the body in the buffer.
+     */
+    public final void setBodyState(final BodyStateBuffer buffer, final int slot) {
+        this.bodyStates = buffer;
+        this.bodySlot = slot;
+    }
+
+    /**
+     * Returns the x-coordinate of the body at the end of the last physics step.
+     *
+     * @return The x-coordinate of the body in meters.
+     */
+    public final float getBodyX() {
+        return bodyStates.getX(bodySlot);
+    }
+
+    /**
+     * Returns the y-coordinate of the body at the end of the last physics step.
+     *
+     * @return The y-coordinate of the body in meters.
+     */
+    public final float getBodyY() {
+        return bodyStates.getY(bodySlot);
+    }
+
+    /**
+     * Returns the horizontal velocity of the body at the end of the last physics step.
+     *
+     * @return The horizontal velocity of the body in meters per second.
+     */
+    public final float getVelocityX() {
+        return bodyStates.getVelocityX(bodySlot);
+    }
+
+    /**
+     * Returns the vertical velocity of the body at the end of the last physics step.
+     *
+     * @return The vertical velocity of the body in meters per second.
+     */
+    public final float getVelocityY() {
+        return bodyStates.getVelocityY(bodySlot);
+    }
+
+    /**
+     * Returns whether the body was awake at the end of the last physics step.
+     *
+     * @return true if the body was awake.
+     */
+    public final boolean isBodyAwake() {
+        return bodyStates.isAwake(bodySlot);
+    }
+
     protected final TextureRegion getFrame(final float dt) {
         this.currentState = getState();
         TextureRegion region;
@@ -116,11 +176,12 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
      * @return The current state of the Kid character.
      */
     public State getState() {
-        if (getB2body().getLinearVelocity().y > 0) {
+        final float velocityY = getVelocityY();
+        if (velocityY > 0) {
             return State.JUMPING;
-        } else if (getB2body().getLinearVelocity().y < 0) {
+        } else if (velocityY < 0) {
             return State.FALLING;
-        } else if (getB2body().getLinearVelocity().x != 0) {
+        } else if (getVelocityX() != 0) {
             return State.RUNNING;
         } else {
             return State.STANDING;
@@ -134,8 +195,9 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
     protected abstract TextureRegion getIdleFrame(float stateTime);
 
     private void matchSpriteRegionToBodyDirection(final TextureRegion region) {
-        final boolean bodyRunningToLeft = getB2body().getLinearVelocity().x < 0 || !isRunningRight;
-        final boolean bodyRunningToRight = getB2body().getLinearVelocity().x > 0 || isRunningRight;
+        final float velocityX = getVelocityX();
+        final boolean bodyRunningToLeft = velocityX < 0 || !isRunningRight;
+        final boolean bodyRunningToRight = velocityX > 0 || isRunningRight;
         final boolean spriteFacingRight = !region.isFlipX();
         final boolean spriteFacingLeft = region.isFlipX();
         if (bodyRunningToLeft && spriteFacingRight) {
@@ -147,6 +209,25 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
         }
     }
 
+    /**
+     * Returns whether the sprite was inside the camera bounds at its last visibility check.
+     * Sprites outside the camera bounds skip their animation and sprite vertex updates.
+     *
+     * @return true if the sprite is inside the camera bounds, false otherwise.
+     */
+    public final boolean isInView() {
+        return inView;
+    }
+
+    /**
+     * Sets whether the sprite is inside the camera bounds.
+     *
+     * @param inView - true if the sprite is inside the camera bounds, false otherwise.
+     */
+    public final void setInView(final boolean inView) {
+        this.inView = inView;
+    }
+
     protected final float getStateTimer() {
         return stateTimer;
     }
@@ -157,8 +238,6 @@ public abstract class DynamicB2BodySprite extends Sprite implements Initializabl
 
     protected abstract void defineDefaultSprite(TextureAtlas atlas);
 
-    protected abstract void defineShape();
-
     protected abstract void defineBodyDefPosition();
 
     /**
@@ -5,11 +5,11 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.utils.Array;
 import dev.jasper.game.BobIsMelting;
 import dev.jasper.game.EntityCollisionCategory;
+import dev.jasper.game.sprites.ShapeCache;
 
 
 /**
@@ -33,8 +33,9 @@ public final class Kid extends AbstractPlayer {
     private static final float ALPHA_INVINCIBLE = .2f;
     private static final float ALPHA_NORMAL = 1f;
     private static final int KID_SHAPE_RADIUS = 7;
-    private static Kid kidSingleton;
+    private static final int PLAYER_SPACING = 16;
     private final float flickerInterval = ALPHA_INVINCIBLE;
+    private final int player;
     private TextureRegion kidIdle;
     private Animation<TextureRegion> kidRun;
     private TextureRegion kidJump;
@@ -44,30 +45,26 @@ public final class Kid extends AbstractPlayer {
     private boolean isCarryingSnowball;
     private Sprite snowballSprite;
 
-    private Kid() {
+    private Kid(final int player) {
         super(COLLISION_CATEGORY, MASK_BITS);
+        this.player = player;
         isInvincibleToEnemy = false;
         isCarryingSnowball = false;
     }
 
     /**
-     * Create a singleton instance of the Kid class.
-     * This method ensures that only one instance of the Kid class is created throughout the application.
-     * If an instance already exists, it returns the existing instance. Otherwise, it creates a new instance.
+     * Factory method to create a new Kid.
+     * Every player of a game has a Kid of their own, and each one spawns a little to the right of the one before.
      *
-     * @param atlas The TextureAtlas object that contains the textures for the Kid character.
-     * @return The singleton instance of the Kid class.
+     * @param atlas  The TextureAtlas object that contains the textures for the Kid character.
+     * @param player The index of the player the Kid belongs to, 0 for the first.
+     * @return A new Kid.
      */
-    public static Kid getInstance(final TextureAtlas atlas) {
-        if (kidSingleton != null) {
-            return kidSingleton;
-        }
-        kidSingleton = new Kid();
-        kidSingleton.defineDefaultSprite(atlas);
-        kidSingleton.defineBodyDefPosition();
-        kidSingleton.defineShape();
-
-        return kidSingleton;
+    public static Kid kidFactory(final TextureAtlas atlas, final int player) {
+        final Kid kid = new Kid(player);
+        kid.defineDefaultSprite(atlas);
+        kid.defineBodyDefPosition();
+        return kid;
     }
 
     /**
@@ -127,15 +124,14 @@ public final class Kid extends AbstractPlayer {
     }
 
     @Override
-    protected void defineShape() {
-        CircleShape shape = new CircleShape();
-        shape.setRadius(KID_SHAPE_RADIUS / BobIsMelting.PPM);
-        getFixtureDef().shape = shape;
+    public void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.circle(KID_SHAPE_RADIUS / BobIsMelting.PPM);
     }
 
     @Override
     protected void defineBodyDefPosition() {
-        getBodyDef().position.set(SPAWN_POSITION_X / BobIsMelting.PPM, SPAWN_POSITION_Y / BobIsMelting.PPM);
+        getBodyDef().position.set((SPAWN_POSITION_X + player * PLAYER_SPACING) / BobIsMelting.PPM,
+                SPAWN_POSITION_Y / BobIsMelting.PPM);
     }
 
     /**
@@ -144,19 +140,47 @@ public final class Kid extends AbstractPlayer {
      * @param dt a float that represents delta time, the amount of time since the last frame was rendered.
      */
     public void update(final float dt) {
-        final float xPositionOffset = getB2body().getPosition().x - getWidth() / 2;
-        final float yPositionOffset = getB2body().getPosition().y - getHeight() / 4;
+        final float xPositionOffset = getBodyX() - getWidth() / 2;
+        final float yPositionOffset = getBodyY() - getHeight() / 4;
         setPosition(xPositionOffset, yPositionOffset);
         setRegion(getFrame(dt));
         updateCollisionState(dt);
 
         if (isCarryingSnowball) {
-            snowballSprite.setPosition(getB2body().getPosition().x - snowballSprite.getWidth() / 2,
-                    getB2body().getPosition().y + snowballSprite.getHeight() / 2);
+            snowballSprite.setPosition(getBodyX() - snowballSprite.getWidth() / 2,
+                    getBodyY() + snowballSprite.getHeight() / 2);
             snowballSprite.setRegion(snowballSprite);
         }
     }
 
+    /**
+     * Shows the Kid as recorded in an earlier run, without a body: at a position, in a state and facing a way.
+     * Used for a ghost, a Kid that never enters the world, so update is never called on it.
+     *
+     * @param bodyX       The x-coordinate the body was at, in meters.
+     * @param bodyY       The y-coordinate the body was at, in meters.
+     * @param state       The state the Kid was in.
+     * @param facingRight Whether the Kid faced right.
+     * @param stateTime   How long the Kid had been in the state, in seconds.
+     */
+    public void pose(final float bodyX, final float bodyY, final State state, final boolean facingRight,
+                     final float stateTime) {
+        setPosition(bodyX - getWidth() / 2, bodyY - getHeight() / 4);
+        switch (state) {
+            case JUMPING:
+                setRegion(kidJump);
+                break;
+            case RUNNING:
+                setRegion(kidRun.getKeyFrame(stateTime, true));
+                break;
+            default:
+                setRegion(kidIdle);
+                break;
+        }
+        // The regions of a ghost are never flipped themselves, so the sprite is flipped instead
+        setFlip(!facingRight, false);
+    }
+
     private void updateCollisionState(final float dt) {
         if (isInvincibleToEnemy) {
             invincibleToEnemyTimer += dt;
@@ -262,6 +286,14 @@ public final class Kid extends AbstractPlayer {
         isCarryingSnowball = carryingSnowball;
     }
 
+    @Override
+    public Sprite getCarriedSnowballSprite() {
+        if (getIsCarryingSnowball()) {
+            return snowballSprite;
+        }
+        return null;
+    }
+
     @Override
     public void draw(final Batch batch) {
         super.draw(batch);
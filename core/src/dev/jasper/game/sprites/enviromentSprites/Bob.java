@@ -2,15 +2,15 @@ package dev.jasper.game.sprites.enviromentSprites;
 
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.physics.box2d.CircleShape;
 import dev.jasper.game.BobIsMelting;
 import dev.jasper.game.EntityCollisionCategory;
+import dev.jasper.game.sprites.ShapeCache;
 
 /**
  * Represents the Bob character in the game.
  * The Bob class extends the InteractiveEnviromentSprite class
  * and defines the specific characteristics of the Bob character.
- * It also implements the Singleton pattern to ensure that there is only one instance of Bob in the game.
+ * Each game has a Bob of its own, which every player of the game brings snowballs to.
  *
  * @author Jasper Wang
  * @version 2024
@@ -27,7 +27,6 @@ public final class Bob extends InteractiveEnviromentB2BodySprite {
     private static final int SPAWN_POSITION_X = 1;
     private static final int SPAWN_POSITION_Y = -1;
     private static final int BOB_SPHERE_RADIUS = 10;
-    private static Bob bobSingleton;
     private TextureRegion fullHealth;
     private TextureRegion subHealth;
     private TextureRegion badHealth;
@@ -38,22 +37,16 @@ public final class Bob extends InteractiveEnviromentB2BodySprite {
     }
 
     /**
-     * Create a new Bob.
-     * This method implements the Singleton pattern to ensure that there is only one instance of Bob in the game.
+     * Factory method to create a new Bob.
      *
      * @param atlas The TextureAtlas containing the Bob's textures.
-     * @return The single instance of Bob.
+     * @return A new Bob.
      */
-    public static Bob getInstance(final TextureAtlas atlas) {
-        if (bobSingleton != null) {
-            return bobSingleton;
-        }
-        bobSingleton = new Bob();
-        bobSingleton.defineDefaultSprite(atlas);
-        bobSingleton.defineBodyDefPosition();
-        bobSingleton.defineShape();
-
-        return bobSingleton;
+    public static Bob bobFactory(final TextureAtlas atlas) {
+        final Bob bob = new Bob();
+        bob.defineDefaultSprite(atlas);
+        bob.defineBodyDefPosition();
+        return bob;
     }
 
     @Override
@@ -66,10 +59,8 @@ public final class Bob extends InteractiveEnviromentB2BodySprite {
     }
 
     @Override
-    protected void defineShape() {
-        final CircleShape shape = new CircleShape();
-        shape.setRadius(BOB_SPHERE_RADIUS / BobIsMelting.PPM);
-        getFixtureDef().shape = shape;
+    public void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.circle(BOB_SPHERE_RADIUS / BobIsMelting.PPM);
     }
 
     @Override
@@ -73,8 +73,6 @@ public abstract class InteractiveEnviromentB2BodySprite extends Sprite implement
 
     protected abstract void defineDefaultSprite(TextureAtlas atlas);
 
-    protected abstract void defineShape();
-
     protected abstract void defineBodyDefPosition();
 
     /**
@@ -4,10 +4,10 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.utils.Array;
 import dev.jasper.game.BobIsMelting;
 import dev.jasper.game.EntityCollisionCategory;
+import dev.jasper.game.sprites.ShapeCache;
 
 /**
  * Represents a Snowball in the game.
@@ -56,7 +56,6 @@ public final class Snowball extends InteractiveEnviromentB2BodySprite {
         final Snowball snowball = new Snowball(position, snowballsRef, snowballsRefIndex);
         snowball.defineDefaultSprite(atlas);
         snowball.defineBodyDefPosition();
-        snowball.defineShape();
         return snowball;
     }
 
@@ -71,11 +70,9 @@ public final class Snowball extends InteractiveEnviromentB2BodySprite {
     }
 
     @Override
-    protected void defineShape() {
-        PolygonShape shape = new PolygonShape();
-        shape.setAsBox(SNOWBALL_POLYGON_HALF_WIDTH / BobIsMelting.PPM,
+    public void defineShape(final ShapeCache shapeCache) {
+        getFixtureDef().shape = shapeCache.box(SNOWBALL_POLYGON_HALF_WIDTH / BobIsMelting.PPM,
                 SNOWBALL_POLYGON_HALF_HEIGHT / BobIsMelting.PPM);
-        getFixtureDef().shape = shape;
     }
 
     @Override
@@ -0,0 +1,171 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Vector2;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
+import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
+import dev.jasper.game.sprites.dynamicSprites.DynamicB2BodySprite;
+import dev.jasper.game.sprites.enviromentSprites.InteractiveEnviromentB2BodySprite;
+import dev.jasper.game.sprites.enviromentSprites.Snowball;
+
+/**
+ * The AutoPlayer class is a bot that plays as the Kid, so that soak tests can run unattended for hours.
+ * It presses keys by recording them in the InputQueue the InputHandler reads, so it controls the Kid
+ * exactly the way a player does. It runs to the nearest snowball, or to the nearest spot one spawns at
+ * while none is out, carries it to Bob, and jumps over enemies in its way, up to targets above it,
+ * and out of anything it gets stuck on.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class AutoPlayer {
+    private static final float ARRIVAL_DISTANCE = .04f;
+    private static final float CLIMB_HEIGHT = .1f;
+    private static final float CLIMB_DISTANCE = .5f;
+    private static final float ENEMY_AVOID_DISTANCE = .4f;
+    private static final float ENEMY_AVOID_HEIGHT = .2f;
+    private static final float STALL_VELOCITY = .05f;
+    private static final int STALL_TICKS = 20;
+    private static boolean enabled;
+    private final GameStateManager gameStateManager;
+    private final InputQueue inputQueue;
+    private InputQueue.Action heldDirection;
+    private int stalledTicks;
+    private float targetX;
+    private float targetY;
+
+    /**
+     * Constructs an AutoPlayer for a game.
+     *
+     * @param gameStateManager The GameStateManager of the game.
+     * @param inputQueue       The InputQueue the InputHandler of the game reads.
+     */
+    public AutoPlayer(final GameStateManager gameStateManager, final InputQueue inputQueue) {
+        this.gameStateManager = gameStateManager;
+        this.inputQueue = inputQueue;
+    }
+
+    /**
+     * Sets whether PlayScreen lets the AutoPlayer play, and restarts the game by itself when it is over.
+     * Off by default.
+     *
+     * @param isEnabled true to let the AutoPlayer play.
+     */
+    public static void setEnabled(final boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Returns whether PlayScreen lets the AutoPlayer play.
+     *
+     * @return true if the AutoPlayer plays.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decides what to press during a simulation tick and records it. Called before the tick's input is applied.
+     *
+     * @param tickEndNanos The time the tick ends at, on the TimeUtils.nanoTime clock.
+     */
+    public void play(final long tickEndNanos) {
+        final AbstractPlayer kid = gameStateManager.getKid();
+        chooseTarget(kid);
+        final float distanceX = targetX - kid.getBodyX();
+        InputQueue.Action direction = null;
+        if (distanceX > ARRIVAL_DISTANCE) {
+            direction = InputQueue.Action.RIGHT;
+        } else if (distanceX < -ARRIVAL_DISTANCE) {
+            direction = InputQueue.Action.LEFT;
+        }
+        if (direction != heldDirection) {
+            if (heldDirection != null) {
+                inputQueue.record(heldDirection, false, tickEndNanos);
+            }
+            if (direction != null) {
+                inputQueue.record(direction, true, tickEndNanos);
+            }
+            heldDirection = direction;
+        }
+
+        if (direction != null && Math.abs(kid.getVelocityX()) < STALL_VELOCITY) {
+            stalledTicks++;
+        } else {
+            stalledTicks = 0;
+        }
+        final DynamicB2BodySprite.State state = kid.getState();
+        final boolean onGround = state != DynamicB2BodySprite.State.JUMPING
+                && state != DynamicB2BodySprite.State.FALLING;
+        if (onGround && shouldJump(kid, distanceX)) {
+            inputQueue.record(InputQueue.Action.JUMP, true, tickEndNanos);
+            inputQueue.record(InputQueue.Action.JUMP, false, tickEndNanos);
+            stalledTicks = 0;
+        }
+    }
+
+    /**
+     * Returns the x-coordinate the AutoPlayer is heading for.
+     *
+     * @return The x-coordinate of the target in meters.
+     */
+    public float getTargetX() {
+        return targetX;
+    }
+
+    private void chooseTarget(final AbstractPlayer kid) {
+        if (kid.getIsCarryingSnowball()) {
+            final InteractiveEnviromentB2BodySprite bob = gameStateManager.getBob();
+            targetX = bob.getX() + bob.getWidth() / 2;
+            targetY = bob.getY() + bob.getHeight() / 2;
+            return;
+        }
+        float nearest = Float.MAX_VALUE;
+        for (Snowball snowball : gameStateManager.getSnowballs()) {
+            if (snowball != null && !snowball.isCollected()) {
+                nearest = considerTarget(kid, snowball.getX() + snowball.getWidth() / 2,
+                        snowball.getY() + snowball.getHeight() / 2, nearest);
+            }
+        }
+        if (nearest != Float.MAX_VALUE) {
+            return;
+        }
+        // No snowball is out yet, so wait where the nearest one may spawn
+        for (Vector2 spot : gameStateManager.getSnowballSpawnSpots()) {
+            nearest = considerTarget(kid, spot.x / BobIsMelting.PPM, spot.y / BobIsMelting.PPM, nearest);
+        }
+    }
+
+    private float considerTarget(final AbstractPlayer kid, final float x, final float y, final float nearest) {
+        final float distance = Vector2.dst2(kid.getBodyX(), kid.getBodyY(), x, y);
+        if (distance >= nearest) {
+            return nearest;
+        }
+        targetX = x;
+        targetY = y;
+        return distance;
+    }
+
+    private boolean shouldJump(final AbstractPlayer kid, final float distanceX) {
+        if (stalledTicks >= STALL_TICKS) {
+            return true;
+        }
+        if (targetY - kid.getBodyY() > CLIMB_HEIGHT && Math.abs(distanceX) < CLIMB_DISTANCE) {
+            return true;
+        }
+        for (AbstractEnemy enemy : gameStateManager.getEnemies()) {
+            if (enemy.getDetailLevel() == AbstractEnemy.DetailLevel.FROZEN
+                    || Math.abs(enemy.getBodyY() - kid.getBodyY()) > ENEMY_AVOID_HEIGHT) {
+                continue;
+            }
+            // Only enemies ahead matter, or any close one while standing still
+            final float enemyDistanceX = enemy.getBodyX() - kid.getBodyX();
+            final boolean ahead = heldDirection == null
+                    || (heldDirection == InputQueue.Action.RIGHT) == (enemyDistanceX > 0);
+            if (ahead && Math.abs(enemyDistanceX) < ENEMY_AVOID_DISTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,22 +1,22 @@
 package dev.jasper.game.tools;
 
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
-import dev.jasper.game.sprites.EnemyBoundary;
-import dev.jasper.game.sprites.Ground;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.BodyStateBuffer;
 import dev.jasper.game.sprites.InitializableB2Body;
-import dev.jasper.game.sprites.TileB2Body;
+import dev.jasper.game.sprites.ShapeCache;
 import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
 import dev.jasper.game.sprites.dynamicSprites.Bear;
 import dev.jasper.game.sprites.dynamicSprites.Chicken;
+import dev.jasper.game.sprites.dynamicSprites.DynamicB2BodySprite;
 import dev.jasper.game.sprites.dynamicSprites.Kid;
 import dev.jasper.game.sprites.enviromentSprites.Bob;
 import dev.jasper.game.sprites.enviromentSprites.Snowball;
@@ -29,47 +29,55 @@ import dev.jasper.game.sprites.enviromentSprites.Snowball;
  * @version 2024
  */
 public final class B2BodyObjectFactory {
-    private static final int SNOWBALL_SPAWN_LAYER = 6;
-    private static final int GROUND_LAYER = 5;
-    private static final int ENEMY_BOUNDARY_LAYER = 7;
     private final World world;
+    private final LevelData level;
     private final TiledMap map;
     private final TextureAtlas atlas;
+    private final ShapeCache shapeCache;
+    private final BodyStateBuffer bodyStates;
+    private final RandomXS128 random;
 
     /**
      * Constructs a B2BodyObjectFactory instance.
-     * It sets the world for the game and initializes the non-character bodies and fixtures in the game world.
+     * It sets the world for the game and the level whose static bodies are streamed in later.
      *
-     * @param world The World object representing the physical world in the game.
+     * @param world      The World object representing the physical world in the game.
+     * @param gameLevel  The level the game is played in.
+     * @param atlas      The TextureAtlas the sprites are cut from.
+     * @param bodyStates The BodyStateBuffer the state of each dynamic body is copied into.
+     * @param random     The random number generator of the game, which the enemies decide with.
      */
-    public B2BodyObjectFactory(final World world) {
+    public B2BodyObjectFactory(final World world, final Level gameLevel, final TextureAtlas atlas,
+                               final BodyStateBuffer bodyStates, final RandomXS128 random) {
         this.world = world;
-        this.atlas = new TextureAtlas("Characters.atlas");
-        final TmxMapLoader mapLoader = new TmxMapLoader();
-        map = mapLoader.load("mainNew.tmx");
-        initializeTileB2Bodies(GROUND_LAYER);
-        initializeTileB2Bodies(ENEMY_BOUNDARY_LAYER);
+        this.bodyStates = bodyStates;
+        this.random = random;
+        this.atlas = atlas;
+        this.level = gameLevel.getData();
+        this.map = gameLevel.getMap();
+        this.shapeCache = new ShapeCache();
     }
 
     /**
-     * Initializes the TileB2Body objects in the game.
-     * This method is used to create the physical bodies for the tiles in the game world.
-     * The layerNumber parameter determines which layer of the TiledMap is used to create the bodies.
+     * Creates a MapChunkStreamer holding the ground and enemy boundary objects of the level.
+     * The static bodies of these objects are only created once the streamer brings their chunk into range.
      *
-     * @param layerNumber The layer number in the TiledMap from which the bodies are created.
+     * @param activeRadius The distance from the focus point, in meters, within which static bodies must exist.
+     * @return A new MapChunkStreamer for the level.
      */
-    private void initializeTileB2Bodies(final int layerNumber) {
-        for (RectangleMapObject object : getMap().getLayers().get(layerNumber)
-                .getObjects().getByType(RectangleMapObject.class)) {
-            Rectangle rect = object.getRectangle();
-            TileB2Body tileB2Body;
-            if (layerNumber == GROUND_LAYER) {
-                tileB2Body = new Ground(rect);
-            } else {
-                tileB2Body = new EnemyBoundary(rect);
-            }
-            initializeB2Body(tileB2Body);
+    public MapChunkStreamer createMapChunkStreamer(final float activeRadius) {
+        final MapChunkStreamer streamer = new MapChunkStreamer(world, level.getPixelWidth(), activeRadius);
+        // The level is shared by every game played on it, possibly on other threads,
+        // so index loops avoid sharing the arrays' cached iterators
+        final Array<Rectangle> ground = level.getGround();
+        for (int i = 0; i < ground.size; i++) {
+            streamer.addStaticObject(ground.get(i), true);
         }
+        final Array<Rectangle> enemyBoundaries = level.getEnemyBoundaries();
+        for (int i = 0; i < enemyBoundaries.size; i++) {
+            streamer.addStaticObject(enemyBoundaries.get(i), false);
+        }
+        return streamer;
     }
 
     /**
@@ -81,12 +89,37 @@ public final class B2BodyObjectFactory {
         return map;
     }
 
+    /**
+     * Returns the level the game is played in.
+     *
+     * @return The LevelData of the level.
+     */
+    public LevelData getLevel() {
+        return level;
+    }
+
     private void initializeB2Body(final InitializableB2Body b2Body) {
-        Body body = world.createBody(b2Body.getBodyDef());
+        b2Body.defineShape(shapeCache);
+        Body body = ResourceTracker.track(world.createBody(b2Body.getBodyDef()), "Body", world);
         Fixture fixture = body.createFixture(b2Body.getFixtureDef());
         fixture.setUserData(b2Body);
         b2Body.setB2body(body);
         b2Body.setFixture(fixture);
+        // Box2D keeps its own copy of the shape once the fixture exists
+        b2Body.getFixtureDef().shape = null;
+    }
+
+    /**
+     * Disposes of the shapes the bodies created since the last call were made from.
+     * Bodies of the same size created until then share one shape, so this is called once per batch of bodies,
+     * such as once per tick, rather than once per body.
+     */
+    public void releaseShapes() {
+        shapeCache.clear();
+    }
+
+    private void trackBodyState(final DynamicB2BodySprite sprite) {
+        sprite.setBodyState(bodyStates, bodyStates.add(sprite.getB2body()));
     }
 
     /**
@@ -116,6 +149,8 @@ public final class B2BodyObjectFactory {
                                    final Array<Snowball> currentSpawnedSnowballs, final int currentIndex) {
         final Snowball snowball = Snowball.snowballFactory(atlas, spawnSpot, currentSpawnedSnowballs, currentIndex);
         initializeB2Body(snowball);
+        GameEvents.getRecorder().entitySpawned("snowball", spawnSpot.x / BobIsMelting.PPM,
+                spawnSpot.y / BobIsMelting.PPM);
         return snowball;
     }
 
@@ -132,16 +167,18 @@ public final class B2BodyObjectFactory {
         AbstractEnemy enemy;
         switch (enemyType) {
             case "bear":
-                enemy = Bear.enemyFactory(atlas, positionX, positionY);
+                enemy = Bear.enemyFactory(atlas, positionX, positionY, random);
                 break;
             case "chicken":
-                enemy = Chicken.enemyFactory(atlas, positionX, positionY);
+                enemy = Chicken.enemyFactory(atlas, positionX, positionY, random);
                 break;
             default:
                 throw new IllegalArgumentException("No enemy type found named: " + enemyType);
         }
 
         initializeB2Body(enemy);
+        trackBodyState(enemy);
+        GameEvents.getRecorder().entitySpawned(enemyType, positionX, positionY);
         return enemy;
     }
 
@@ -151,7 +188,7 @@ public final class B2BodyObjectFactory {
      * @return A new Bob object.
      */
     public Bob createBob() {
-        final Bob bob = Bob.getInstance(atlas);
+        final Bob bob = Bob.bobFactory(atlas);
         initializeB2Body(bob);
         return bob;
     }
@@ -159,11 +196,13 @@ public final class B2BodyObjectFactory {
     /**
      * Creates a new Kid in the game.
      *
+     * @param player The index of the player the Kid belongs to, 0 for the first.
      * @return A new Kid object.
      */
-    public Kid createKid() {
-        final Kid kid = Kid.getInstance(atlas);
+    public Kid createKid(final int player) {
+        final Kid kid = Kid.kidFactory(atlas, player);
         initializeB2Body(kid);
+        trackBodyState(kid);
         return kid;
     }
 
@@ -173,14 +212,12 @@ public final class B2BodyObjectFactory {
      * @return Array of Vector2 objects representing the snowball spawn spots.
      */
     public Vector2[] getSnowballSpawnSpots() {
-        Array<RectangleMapObject> snowballTileObjects = getMap().getLayers().get(SNOWBALL_SPAWN_LAYER)
-                .getObjects().getByType(RectangleMapObject.class);
-
-        final int spotsCount = snowballTileObjects.size;
+        final Array<Rectangle> spawnAreas = level.getSnowballSpawnSpots();
+        final int spotsCount = spawnAreas.size;
 
         Vector2[] snowballSpawnSpots = new Vector2[spotsCount];
         for (int i = 0; i < spotsCount; i++) {
-            Rectangle rect = snowballTileObjects.get(i).getRectangle();
+            Rectangle rect = spawnAreas.get(i);
             snowballSpawnSpots[i] = new Vector2(rect.getX(), rect.getY());
         }
         return snowballSpawnSpots;
@@ -0,0 +1,79 @@
+package dev.jasper.game.tools;
+
+/**
+ * The BitReader class reads back the values a BitWriter packed into a byte array.
+ * Packets come from the network, so a packet that is cut short does not throw: every value read past its end
+ * is 0, and isValid tells afterwards whether anything was read past the end.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class BitReader {
+    private static final int BYTE_BITS = 8;
+    private static final int INT_BITS = 32;
+    private byte[] buffer;
+    private int bitLength;
+    private int bitPosition;
+    private boolean overrun;
+
+    /**
+     * Starts reading a packet.
+     *
+     * @param packet The array holding the packet.
+     * @param length The length of the packet in bytes.
+     */
+    void reset(final byte[] packet, final int length) {
+        this.buffer = packet;
+        this.bitLength = length * BYTE_BITS;
+        this.bitPosition = 0;
+        this.overrun = false;
+    }
+
+    /**
+     * Reads a value written with the given number of bits.
+     *
+     * @param bits The number of bits to read, from 1 to 32.
+     * @return The value, or 0 if the packet ends before it.
+     */
+    int readBits(final int bits) {
+        if (bitPosition + bits > bitLength) {
+            overrun = true;
+            bitPosition = bitLength;
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i < bits; i++) {
+            final int bit = (buffer[bitPosition / BYTE_BITS] >>> (BYTE_BITS - 1 - bitPosition % BYTE_BITS)) & 1;
+            value = (value << 1) | bit;
+            bitPosition++;
+        }
+        return value;
+    }
+
+    /**
+     * Reads a single bit.
+     *
+     * @return The bit, or false if the packet ends before it.
+     */
+    boolean readBoolean() {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * Reads a value written with all 32 bits.
+     *
+     * @return The value, or 0 if the packet ends before it.
+     */
+    int readInt() {
+        return readBits(INT_BITS);
+    }
+
+    /**
+     * Returns whether everything read so far was inside the packet.
+     *
+     * @return false if the packet was shorter than what was read from it.
+     */
+    boolean isValid() {
+        return !overrun;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * The BitWriter class packs values into a byte array using only as many bits as each of them needs,
+ * so that network packets stay small. Bits are written most significant first.
+ * The array is allocated once and reused for every packet.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class BitWriter {
+    private static final int BYTE_BITS = 8;
+    private static final int INT_BITS = 32;
+    private final byte[] buffer;
+    private int bitPosition;
+
+    /**
+     * Constructs an empty BitWriter.
+     *
+     * @param capacity The most bytes a packet can have.
+     */
+    BitWriter(final int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Empties the writer, so the next packet can be written.
+     */
+    void reset() {
+        bitPosition = 0;
+    }
+
+    /**
+     * Writes the lowest bits of a value.
+     *
+     * @param value The value. Bits above the ones written are ignored.
+     * @param bits  The number of bits to write, from 1 to 32.
+     * @throws GdxRuntimeException If the packet would not fit in the capacity.
+     */
+    void writeBits(final int value, final int bits) {
+        if (bitPosition + bits > buffer.length * BYTE_BITS) {
+            throw new GdxRuntimeException("Packet is larger than " + buffer.length + " bytes");
+        }
+        for (int i = bits - 1; i >= 0; i--) {
+            final int index = bitPosition / BYTE_BITS;
+            final int shift = BYTE_BITS - 1 - bitPosition % BYTE_BITS;
+            if (((value >>> i) & 1) != 0) {
+                buffer[index] |= (byte) (1 << shift);
+            } else {
+                buffer[index] &= (byte) ~(1 << shift);
+            }
+            bitPosition++;
+        }
+    }
+
+    /**
+     * Writes a single bit.
+     *
+     * @param value The bit.
+     */
+    void writeBoolean(final boolean value) {
+        if (value) {
+            writeBits(1, 1);
+        } else {
+            writeBits(0, 1);
+        }
+    }
+
+    /**
+     * Writes all 32 bits of a value.
+     *
+     * @param value The value.
+     */
+    void writeInt(final int value) {
+        writeBits(value, INT_BITS);
+    }
+
+    /**
+     * Returns the bytes written so far, including the last, partly filled one.
+     *
+     * @return The array the packet is written into. Only the first getByteLength bytes belong to the packet.
+     */
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the length of the packet written so far.
+     *
+     * @return The number of bytes the packet takes up.
+     */
+    int getByteLength() {
+        return (bitPosition + BYTE_BITS - 1) / BYTE_BITS;
+    }
+}
@@ -0,0 +1,80 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The CompiledLevelLoader class loads compiled levels through an AssetManager.
+ * The level file is read and the tile layers are built on the AssetManager's worker thread,
+ * while the texture the tiles come from is loaded as a dependency, so only its upload happens on the render thread.
+ * The tiles are taken from the packed atlas when one is given and cut from the tileset image otherwise.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class CompiledLevelLoader extends AsynchronousAssetLoader<Level, CompiledLevelLoader.Parameters> {
+    private LevelData levelData;
+    private Level level;
+
+    /**
+     * Constructs a CompiledLevelLoader instance.
+     *
+     * @param resolver The resolver used to find level files.
+     */
+    public CompiledLevelLoader(final FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(final String fileName, final FileHandle file,
+                                                  final Parameters parameter) {
+        levelData = LevelLoader.load(file);
+        final Array<AssetDescriptor> dependencies = new Array<>();
+        if (parameter != null && parameter.atlasFile != null) {
+            dependencies.add(new AssetDescriptor<>(parameter.atlasFile, TextureAtlas.class));
+        } else {
+            dependencies.add(new AssetDescriptor<>(levelData.getTileset().getImagePath(), Texture.class));
+        }
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(final AssetManager manager, final String fileName, final FileHandle file,
+                          final Parameters parameter) {
+        final TiledMap map;
+        if (parameter != null && parameter.atlasFile != null) {
+            map = LevelLoader.createTiledMap(levelData, manager.get(parameter.atlasFile, TextureAtlas.class));
+        } else {
+            map = LevelLoader.createTiledMap(levelData, manager.get(levelData.getTileset().getImagePath(),
+                    Texture.class));
+        }
+        level = new Level(levelData, map);
+    }
+
+    @Override
+    public Level loadSync(final AssetManager manager, final String fileName, final FileHandle file,
+                          final Parameters parameter) {
+        final Level loaded = level;
+        level = null;
+        levelData = null;
+        return loaded;
+    }
+
+    /**
+     * The parameters of a compiled level.
+     */
+    public static final class Parameters extends AssetLoaderParameters<Level> {
+        /**
+         * The packed atlas to take the tiles from, or null to cut them from the tileset image.
+         */
+        public String atlasFile;
+    }
+}
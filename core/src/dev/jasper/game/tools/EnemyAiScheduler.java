@@ -0,0 +1,117 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
+
+import java.util.Comparator;
+
+/**
+ * The EnemyAiScheduler class spreads the special movement decisions of the enemies over several ticks,
+ * so their cost stays flat per tick however many enemies there are, instead of spiking on the ticks
+ * where many of them are due at once.
+ * Each tick, the due decisions are made in order of priority until the time budget is spent,
+ * and the rest are put off to a later tick. Enemies near the Kid or on screen come first, and decide
+ * as often as they are meant to; the others decide half as often. Frozen enemies do not decide at all.
+ * Games whose input is recorded to be played again limit the number of decisions per tick instead of their time,
+ * as the time they take differs from one run to the next.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class EnemyAiScheduler {
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final float FAR_DECISION_INTERVAL = 2f;
+    private static final float NEAR_PRIORITY = 4f;
+    private final long budgetNanos;
+    private final Array<AbstractEnemy> due;
+    private final Comparator<AbstractEnemy> byPriority;
+    private int decisionLimit;
+    private int deferredCount;
+
+    /**
+     * Constructs an EnemyAiScheduler.
+     *
+     * @param budgetMicros The time the decisions may take per tick, in microseconds.
+     */
+    EnemyAiScheduler(final int budgetMicros) {
+        this.budgetNanos = budgetMicros * NANOS_PER_MICRO;
+        this.due = new Array<>(false, 16);
+        this.byPriority = (first, second) -> Float.compare(getPriority(second), getPriority(first));
+    }
+
+    /**
+     * Makes the budget a number of decisions per tick instead of a time, and lets only the distance to the Kid,
+     * not what the camera sees, decide which enemies are near. Which decisions are made then follows
+     * from the state of the game alone.
+     *
+     * @param decisionsPerTick The most decisions made per tick.
+     */
+    void setDecisionLimit(final int decisionsPerTick) {
+        this.decisionLimit = decisionsPerTick;
+    }
+
+    /**
+     * Makes the due decisions that fit in the time budget. Called once per tick,
+     * after the level of detail and visibility of the enemies have been set.
+     *
+     * @param enemies The enemies in the game.
+     */
+    void update(final Array<AbstractEnemy> enemies) {
+        final long deadline = TimeUtils.nanoTime() + budgetNanos;
+        due.clear();
+        for (AbstractEnemy enemy : enemies) {
+            if (enemy.getDetailLevel() != AbstractEnemy.DetailLevel.FROZEN
+                    && enemy.getDecisionProgress() >= getDecisionInterval(enemy)) {
+                due.add(enemy);
+            }
+        }
+        if (due.size > 1) {
+            due.sort(byPriority);
+        }
+        int decided = 0;
+        // At least one decision is made each tick, so a put off decision is made eventually however small the budget
+        while (decided < due.size && (decided == 0 || isWithinBudget(decided, deadline))) {
+            due.get(decided).decideSpecialMovement();
+            decided++;
+        }
+        deferredCount = due.size - decided;
+        due.clear();
+    }
+
+    /**
+     * Returns the number of due decisions the last update put off.
+     *
+     * @return The number of decisions put off to a later tick.
+     */
+    int getDeferredCount() {
+        return deferredCount;
+    }
+
+    private boolean isWithinBudget(final int decided, final long deadline) {
+        if (decisionLimit > 0) {
+            return decided < decisionLimit;
+        }
+        return TimeUtils.nanoTime() < deadline;
+    }
+
+    private boolean isNear(final AbstractEnemy enemy) {
+        return enemy.getDetailLevel() == AbstractEnemy.DetailLevel.FULL || (decisionLimit == 0 && enemy.isInView());
+    }
+
+    private float getDecisionInterval(final AbstractEnemy enemy) {
+        if (isNear(enemy)) {
+            return 1;
+        }
+        return FAR_DECISION_INTERVAL;
+    }
+
+    private float getPriority(final AbstractEnemy enemy) {
+        // Decisions put off for longer rise in priority, so far enemies are not put off for good
+        final float overdue = enemy.getDecisionProgress() / getDecisionInterval(enemy);
+        if (isNear(enemy)) {
+            return overdue * NEAR_PRIORITY;
+        }
+        return overdue;
+    }
+}
@@ -0,0 +1,141 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
+
+import java.util.Arrays;
+
+/**
+ * The FlowField class tells every span of a NavigationGraph the first step of the shortest way to a target,
+ * so any number of enemies can find their way to the Kid with one lookup each, instead of one search each.
+ * The field is only recomputed when the target moves to another span, by a single Dijkstra search that starts
+ * at the target and follows the ways between spans backwards. Every span it reaches records the way it was
+ * reached through, which is the first step of its shortest way to the target.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class FlowField {
+    private static final int NO_SPAN = -1;
+    private final NavigationGraph graph;
+    private final NavigationGraph.Edge[] nextEdges;
+    private final float[] costs;
+    private final SpanNode[] nodes;
+    private final BinaryHeap<SpanNode> open;
+    private int targetSpan;
+    private float targetX;
+
+    /**
+     * Constructs a FlowField over a NavigationGraph, without a target yet.
+     *
+     * @param graph The graph of the level.
+     */
+    public FlowField(final NavigationGraph graph) {
+        this.graph = graph;
+        this.nextEdges = new NavigationGraph.Edge[graph.getNodeCount()];
+        this.costs = new float[graph.getNodeCount()];
+        this.nodes = new SpanNode[graph.getNodeCount()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new SpanNode(i);
+        }
+        this.open = new BinaryHeap<>(graph.getNodeCount(), false);
+        this.targetSpan = NO_SPAN;
+    }
+
+    /**
+     * Moves the target, and recomputes the field if the target is now over another span.
+     * Called once per tick with the position of the Kid.
+     *
+     * @param x The x-coordinate of the target in meters.
+     * @param y The y-coordinate of the target in meters.
+     */
+    public void update(final float x, final float y) {
+        targetX = x;
+        final int span = graph.getSpanIndexAt(x, y);
+        if (span == NO_SPAN || span == targetSpan) {
+            return;
+        }
+        targetSpan = span;
+        // A span the target cannot be reached from is never reached by the search, so it keeps no next step
+        Arrays.fill(nextEdges, null);
+        Arrays.fill(costs, Float.POSITIVE_INFINITY);
+        costs[span] = 0;
+        open.clear();
+        open.add(nodes[span], 0);
+        while (open.notEmpty()) {
+            final NavigationGraph.Span reached = graph.getSpan(open.pop().span);
+            // Index loop, as the graph is shared by games on other threads
+            final Array<NavigationGraph.Edge> incoming = graph.getIncomingEdges(reached);
+            for (int i = 0; i < incoming.size; i++) {
+                final NavigationGraph.Edge edge = incoming.get(i);
+                final int from = edge.getFromNode().getIndex();
+                final float cost = costs[reached.getIndex()] + edge.getCost();
+                if (cost < costs[from]) {
+                    // A span still waiting in the heap is only ever lowered, as the ones taken out are final
+                    if (costs[from] == Float.POSITIVE_INFINITY) {
+                        open.add(nodes[from], cost);
+                    } else {
+                        open.setValue(nodes[from], cost);
+                    }
+                    costs[from] = cost;
+                    nextEdges[from] = edge;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the target can be reached from a span.
+     *
+     * @param span The index of the span, as returned by NavigationGraph.getSpanIndexAt.
+     * @return true if there is a way from the span to the target.
+     */
+    public boolean hasMove(final int span) {
+        return span != NO_SPAN && (span == targetSpan || nextEdges[span] != null);
+    }
+
+    /**
+     * Returns where to head for on a span to reach the target: the target itself if it is over the same span,
+     * and the exit of the first step towards it otherwise.
+     *
+     * @param span The index of a span the target can be reached from.
+     * @return The x-coordinate to head for in meters.
+     */
+    public float getMoveX(final int span) {
+        if (span == targetSpan) {
+            return targetX;
+        }
+        return nextEdges[span].getExitX();
+    }
+
+    /**
+     * Returns whether to jump on reaching the x-coordinate returned by getMoveX.
+     *
+     * @param span The index of a span the target can be reached from.
+     * @return true if the first step towards the target is a jump.
+     */
+    public boolean isJump(final int span) {
+        return span != targetSpan && nextEdges[span].isJump();
+    }
+
+    /**
+     * Returns the span the target is over.
+     *
+     * @return The index of the span, or -1 before the target has first been over one.
+     */
+    public int getTargetSpan() {
+        return targetSpan;
+    }
+
+    /**
+     * A span waiting in the search, ordered by the cost of its way to the target.
+     */
+    private static final class SpanNode extends BinaryHeap.Node {
+        private final int span;
+
+        SpanNode(final int span) {
+            super(0);
+            this.span = span;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * The GameEventRecorder interface receives notifications about the game's own activity,
+ * such as frames, simulation phases, physics steps, spawns, contacts and screen transitions.
+ * Platform launchers can install an implementation that forwards these notifications to a profiler.
+ * Implementations must be cheap enough to be called on every frame.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public interface GameEventRecorder {
+
+    /**
+     * Called when a frame starts rendering.
+     */
+    void beginFrame();
+
+    /**
+     * Called when a frame has finished rendering.
+     */
+    void endFrame();
+
+    /**
+     * Called when a phase of the game state update starts.
+     *
+     * @param phase The phase that is starting.
+     */
+    void beginUpdatePhase(UpdatePhase phase);
+
+    /**
+     * Called when a phase of the game state update has finished.
+     *
+     * @param phase The phase that has finished.
+     */
+    void endUpdatePhase(UpdatePhase phase);
+
+    /**
+     * Called right before the Box2D world is stepped.
+     */
+    void beginPhysicsStep();
+
+    /**
+     * Called right after the Box2D world has been stepped.
+     *
+     * @param world The world that was stepped.
+     */
+    void endPhysicsStep(World world);
+
+    /**
+     * Called when a new entity is spawned in the game world.
+     *
+     * @param entityType The type of the entity, for example "bear" or "snowball".
+     * @param positionX  The x-coordinate of the spawn position in meters.
+     * @param positionY  The y-coordinate of the spawn position in meters.
+     */
+    void entitySpawned(String entityType, float positionX, float positionY);
+
+    /**
+     * Called when two fixtures start to collide.
+     *
+     * @param categoryBits The combined collision category bits of both fixtures.
+     */
+    void contactBegan(int categoryBits);
+
+    /**
+     * Called when the game switches from one screen to another.
+     *
+     * @param fromScreen The name of the screen being left, or "none".
+     * @param toScreen   The name of the screen being shown, or "none".
+     */
+    void screenChanged(String fromScreen, String toScreen);
+
+    /**
+     * Represents the phases of a single game state update.
+     */
+    enum UpdatePhase { TIMERS, ENTITIES, SNOWBALLS, SPAWNING }
+}
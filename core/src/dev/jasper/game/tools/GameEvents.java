@@ -0,0 +1,88 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * The GameEvents class holds the GameEventRecorder used by the game.
+ * By default, it holds a recorder that ignores every event, so the calls cost nothing
+ * unless a platform launcher installs its own recorder before the game starts.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GameEvents {
+    private static GameEventRecorder recorder = new NoOpRecorder();
+
+    private GameEvents() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Returns the GameEventRecorder currently in use.
+     *
+     * @return The GameEventRecorder currently in use.
+     */
+    public static GameEventRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Sets the GameEventRecorder to be used by the game.
+     *
+     * @param newRecorder The new GameEventRecorder, or null to ignore every event again.
+     */
+    public static void setRecorder(final GameEventRecorder newRecorder) {
+        if (newRecorder == null) {
+            recorder = new NoOpRecorder();
+        } else {
+            recorder = newRecorder;
+        }
+    }
+
+    private static final class NoOpRecorder implements GameEventRecorder {
+        @Override
+        public void beginFrame() {
+
+        }
+
+        @Override
+        public void endFrame() {
+
+        }
+
+        @Override
+        public void beginUpdatePhase(final UpdatePhase phase) {
+
+        }
+
+        @Override
+        public void endUpdatePhase(final UpdatePhase phase) {
+
+        }
+
+        @Override
+        public void beginPhysicsStep() {
+
+        }
+
+        @Override
+        public void endPhysicsStep(final World world) {
+
+        }
+
+        @Override
+        public void entitySpawned(final String entityType, final float positionX, final float positionY) {
+
+        }
+
+        @Override
+        public void contactBegan(final int categoryBits) {
+
+        }
+
+        @Override
+        public void screenChanged(final String fromScreen, final String toScreen) {
+
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+/**
+ * The GameLog class is the logging facade of the game, meant to be cheap enough for hot paths.
+ * A call below the compile-time level is removed by the compiler, and a call below the run-time level
+ * returns after one comparison. Enabled calls do not build strings: the message pattern and its arguments
+ * are stored in a preallocated ring buffer, and are only formatted and written to the platform log
+ * by a background thread when the buffer is handed over, once per frame or when it fills up.
+ * Patterns use {} as the placeholder for each argument.
+ * Logging calls may be made on the rendering thread and on the simulation thread.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GameLog {
+    /**
+     * Detailed messages, useful while developing.
+     */
+    public static final int DEBUG = 0;
+    /**
+     * Messages about the normal running of the game.
+     */
+    public static final int INFO = 1;
+    /**
+     * Failures the game recovers from.
+     */
+    public static final int ERROR = 2;
+    /**
+     * No message is logged.
+     */
+    public static final int NONE = 3;
+    /**
+     * The lowest level compiled into the game. Raising it removes every call below it from the build.
+     */
+    public static final int COMPILE_TIME_LEVEL = DEBUG;
+    private static final int BUFFER_CAPACITY = 256;
+    private static final int MAX_ARGUMENTS = 2;
+    private static final String PLACEHOLDER = "{}";
+    private static final String[] LEVEL_NAMES = {"DEBUG", "INFO", "ERROR"};
+    private static final AsyncExecutor WRITER = new AsyncExecutor(1, "GameLog");
+    private static EntryBuffer filling = new EntryBuffer();
+    private static EntryBuffer writing = new EntryBuffer();
+    private static AsyncResult<Void> pendingWrite;
+    private static int level = INFO;
+
+    private GameLog() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sets the lowest level that is logged while the game runs.
+     *
+     * @param newLevel One of DEBUG, INFO, ERROR or NONE.
+     */
+    public static void setLevel(final int newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Returns whether messages of a level are logged.
+     *
+     * @param messageLevel One of DEBUG, INFO or ERROR.
+     * @return true if messages of that level are logged.
+     */
+    public static boolean isEnabled(final int messageLevel) {
+        return messageLevel >= COMPILE_TIME_LEVEL && messageLevel >= level;
+    }
+
+    /**
+     * Logs a debug message.
+     *
+     * @param tag     The tag of the message.
+     * @param message The message.
+     */
+    public static void debug(final String tag, final String message) {
+        if (COMPILE_TIME_LEVEL <= DEBUG && level <= DEBUG) {
+            append(DEBUG, tag, message, EntryBuffer.NO_ARGUMENT, 0, null, EntryBuffer.NO_ARGUMENT, 0, null);
+        }
+    }
+
+    /**
+     * Logs a debug message with one number.
+     *
+     * @param tag      The tag of the message.
+     * @param pattern  The message, with {} where the number goes.
+     * @param argument The number.
+     */
+    public static void debug(final String tag, final String pattern, final long argument) {
+        if (COMPILE_TIME_LEVEL <= DEBUG && level <= DEBUG) {
+            append(DEBUG, tag, pattern, EntryBuffer.LONG_ARGUMENT, argument, null, EntryBuffer.NO_ARGUMENT, 0, null);
+        }
+    }
+
+    /**
+     * Logs a debug message with two numbers.
+     *
+     * @param tag     The tag of the message.
+     * @param pattern The message, with {} where each number goes.
+     * @param first   The first number.
+     * @param second  The second number.
+     */
+    public static void debug(final String tag, final String pattern, final long first, final long second) {
+        if (COMPILE_TIME_LEVEL <= DEBUG && level <= DEBUG) {
+            append(DEBUG, tag, pattern, EntryBuffer.LONG_ARGUMENT, first, null, EntryBuffer.LONG_ARGUMENT, second,
+                    null);
+        }
+    }
+
+    /**
+     * Logs an informational message.
+     *
+     * @param tag     The tag of the message.
+     * @param message The message.
+     */
+    public static void info(final String tag, final String message) {
+        if (COMPILE_TIME_LEVEL <= INFO && level <= INFO) {
+            append(INFO, tag, message, EntryBuffer.NO_ARGUMENT, 0, null, EntryBuffer.NO_ARGUMENT, 0, null);
+        }
+    }
+
+    /**
+     * Logs an informational message with one value.
+     *
+     * @param tag      The tag of the message.
+     * @param pattern  The message, with {} where the value goes.
+     * @param argument The value, which is only turned into a string if the message is written.
+     */
+    public static void info(final String tag, final String pattern, final Object argument) {
+        if (COMPILE_TIME_LEVEL <= INFO && level <= INFO) {
+            append(INFO, tag, pattern, EntryBuffer.OBJECT_ARGUMENT, 0, argument, EntryBuffer.NO_ARGUMENT, 0, null);
+        }
+    }
+
+    /**
+     * Logs an error with the exception that caused it. The stack trace of the exception is written after the message.
+     *
+     * @param tag       The tag of the message.
+     * @param pattern   The message, with {} where the exception goes.
+     * @param exception The exception.
+     */
+    public static void error(final String tag, final String pattern, final Throwable exception) {
+        if (COMPILE_TIME_LEVEL <= ERROR && level <= ERROR) {
+            append(ERROR, tag, pattern, EntryBuffer.OBJECT_ARGUMENT, 0, exception, EntryBuffer.NO_ARGUMENT, 0, null);
+        }
+    }
+
+    /**
+     * Hands the messages logged so far to the background thread, unless it is still writing the previous ones.
+     * Called once per frame.
+     */
+    public static synchronized void flush() {
+        if (filling.size > 0 && (pendingWrite == null || pendingWrite.isDone())) {
+            final EntryBuffer full = filling;
+            filling = writing;
+            writing = full;
+            pendingWrite = WRITER.submit(() -> {
+                full.write();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Writes every message logged so far and waits until they are written. Called when the game closes.
+     */
+    public static void flushNow() {
+        if (pendingWrite != null) {
+            pendingWrite.get();
+        }
+        flush();
+        if (pendingWrite != null) {
+            pendingWrite.get();
+        }
+    }
+
+    /**
+     * Replaces each {} in a pattern with the next argument.
+     *
+     * @param out     The StringBuilder the message is appended to.
+     * @param pattern The pattern.
+     * @param buffer  The buffer holding the arguments.
+     * @param index   The index of the entry in the buffer.
+     */
+    static void format(final StringBuilder out, final String pattern, final EntryBuffer buffer, final int index) {
+        int start = 0;
+        int argument = 0;
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        while (placeholder >= 0 && argument < MAX_ARGUMENTS) {
+            out.append(pattern, start, placeholder);
+            buffer.appendArgument(out, index, argument++);
+            start = placeholder + PLACEHOLDER.length();
+            placeholder = pattern.indexOf(PLACEHOLDER, start);
+        }
+        out.append(pattern, start, pattern.length());
+    }
+
+    private static synchronized void append(final int messageLevel, final String tag, final String pattern,
+                                            final byte firstKind, final long firstLong,
+                                            final Object firstObject, final byte secondKind,
+                                            final long secondLong, final Object secondObject) {
+        if (filling.isFull()) {
+            flush();
+        }
+        filling.add(messageLevel, tag, pattern, firstKind, firstLong, firstObject, secondKind, secondLong,
+                secondObject);
+    }
+
+    /**
+     * A preallocated block of log entries, filled on the rendering thread and written on the background thread.
+     */
+    static final class EntryBuffer {
+        static final byte NO_ARGUMENT = 0;
+        static final byte LONG_ARGUMENT = 1;
+        static final byte OBJECT_ARGUMENT = 2;
+        private final int[] levels = new int[BUFFER_CAPACITY];
+        private final String[] tags = new String[BUFFER_CAPACITY];
+        private final String[] patterns = new String[BUFFER_CAPACITY];
+        private final byte[] kinds = new byte[BUFFER_CAPACITY * MAX_ARGUMENTS];
+        private final long[] longs = new long[BUFFER_CAPACITY * MAX_ARGUMENTS];
+        private final Object[] objects = new Object[BUFFER_CAPACITY * MAX_ARGUMENTS];
+        private final StringBuilder message = new StringBuilder();
+        private int size;
+        private int dropped;
+
+        boolean isFull() {
+            return size == BUFFER_CAPACITY;
+        }
+
+        void add(final int messageLevel, final String tag, final String pattern,
+                 final byte firstKind, final long firstLong, final Object firstObject,
+                 final byte secondKind, final long secondLong, final Object secondObject) {
+            // The background thread is still busy with the other buffer, so count the entry instead of blocking
+            if (isFull()) {
+                dropped++;
+                return;
+            }
+            levels[size] = messageLevel;
+            tags[size] = tag;
+            patterns[size] = pattern;
+            kinds[size * MAX_ARGUMENTS] = firstKind;
+            longs[size * MAX_ARGUMENTS] = firstLong;
+            objects[size * MAX_ARGUMENTS] = firstObject;
+            kinds[size * MAX_ARGUMENTS + 1] = secondKind;
+            longs[size * MAX_ARGUMENTS + 1] = secondLong;
+            objects[size * MAX_ARGUMENTS + 1] = secondObject;
+            size++;
+        }
+
+        void appendArgument(final StringBuilder out, final int index, final int argument) {
+            final int slot = index * MAX_ARGUMENTS + argument;
+            switch (kinds[slot]) {
+                case LONG_ARGUMENT:
+                    out.append(longs[slot]);
+                    break;
+                case OBJECT_ARGUMENT:
+                    out.append(objects[slot]);
+                    break;
+                default:
+                    out.append(PLACEHOLDER);
+                    break;
+            }
+        }
+
+        void write() {
+            for (int i = 0; i < size; i++) {
+                message.setLength(0);
+                message.append(LEVEL_NAMES[levels[i]]).append(' ');
+                format(message, patterns[i], this, i);
+                final Object cause = objects[i * MAX_ARGUMENTS];
+                if (levels[i] == ERROR && cause instanceof Throwable) {
+                    // The platform log writes the stack trace, so where the error came from is not lost
+                    Gdx.app.error(tags[i], message.toString(), (Throwable) cause);
+                } else if (levels[i] == ERROR) {
+                    Gdx.app.error(tags[i], message.toString());
+                } else {
+                    Gdx.app.log(tags[i], message.toString());
+                }
+                tags[i] = null;
+                patterns[i] = null;
+                objects[i * MAX_ARGUMENTS] = null;
+                objects[i * MAX_ARGUMENTS + 1] = null;
+            }
+            if (dropped > 0) {
+                Gdx.app.error("GameLog", dropped + " messages were dropped because the log could not keep up");
+            }
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
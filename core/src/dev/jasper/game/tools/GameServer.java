@@ -0,0 +1,175 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.function.Supplier;
+
+/**
+ * The GameServer class hosts co-op games for NetClients: it runs each game as the authority in a ServerSession,
+ * applies the input its players send, and sends them back delta-compressed snapshots.
+ * A player joins by sending HELLO, and is put in the newest game that still has room, or in a new one.
+ * Players that send nothing for a few seconds are dropped, and games nobody plays anymore are disposed of.
+ * Every game is ticked on the calling thread, one after the other, and nothing is allocated per tick
+ * beyond what the games themselves allocate, so one core keeps dozens of games running.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GameServer implements Disposable {
+    private static final String TAG = "Server";
+    private final PacketTransport transport;
+    private final Supplier<GameStateManager> newGame;
+    private final IntMap<ServerSession.Client> clients;
+    private final Array<ServerSession> sessions;
+    private final Array<ServerSession.Client> timedOut;
+    private final byte[] packet;
+    private final BitReader reader;
+    private final BitWriter writer;
+    private int tick;
+
+    /**
+     * Constructs a GameServer with no games yet.
+     *
+     * @param transport The transport the players' packets come in through.
+     * @param newGame   Creates the GameStateManager of a new game.
+     */
+    public GameServer(final PacketTransport transport, final Supplier<GameStateManager> newGame) {
+        this.transport = transport;
+        this.newGame = newGame;
+        this.clients = new IntMap<>();
+        this.sessions = new Array<>(false, 16);
+        this.timedOut = new Array<>(false, 16);
+        this.packet = new byte[NetProtocol.MAX_PACKET_BYTES];
+        this.reader = new BitReader();
+        this.writer = new BitWriter(NetProtocol.MAX_PACKET_BYTES);
+    }
+
+    /**
+     * Runs one tick: takes in every packet that arrived, ticks every game and sends the snapshots that are due.
+     * Called GameStateManager.TIME_STEP apart.
+     */
+    public void update() {
+        tick++;
+        receivePackets();
+        for (ServerSession session : sessions) {
+            session.tick();
+            session.sendSnapshots(transport, writer);
+        }
+        dropTimedOutClients();
+    }
+
+    private void receivePackets() {
+        int length = transport.receive(packet);
+        while (length >= 0) {
+            reader.reset(packet, length);
+            final int type = NetProtocol.readHeader(reader);
+            final int joinId = reader.readBits(NetProtocol.JOIN_ID_BITS);
+            final int peer = transport.getLastPeer();
+            ServerSession.Client client = clients.get(peer);
+            if (type == NetProtocol.HELLO && reader.isValid()
+                    && (client == null || client.getJoinId() != joinId)) {
+                // A new join id from a known peer is a player who finished one game and started another
+                if (client != null) {
+                    leave(client);
+                }
+                client = join(peer, joinId);
+            }
+            if (client != null && client.getJoinId() == joinId) {
+                if (type == NetProtocol.INPUT) {
+                    client.receiveInput(reader);
+                }
+                client.heardAt(tick);
+            }
+            length = transport.receive(packet);
+        }
+    }
+
+    private ServerSession.Client join(final int peer, final int joinId) {
+        ServerSession session = null;
+        for (int i = sessions.size - 1; i >= 0 && session == null; i--) {
+            if (sessions.get(i).canJoin()) {
+                session = sessions.get(i);
+            }
+        }
+        if (session == null) {
+            session = new ServerSession(newGame.get());
+            sessions.add(session);
+            GameLog.info(TAG, "Game started, {} running", sessions.size);
+        }
+        final ServerSession.Client client = session.join(peer, joinId);
+        clients.put(peer, client);
+        GameLog.info(TAG, "Player {} joined", client.getPlayer() + 1);
+        return client;
+    }
+
+    private void leave(final ServerSession.Client client) {
+        final ServerSession session = client.getSession();
+        session.leave(client);
+        if (session.isEmpty()) {
+            sessions.removeValue(session, true);
+            session.dispose();
+            GameLog.info(TAG, "Game ended, {} running", sessions.size);
+        }
+    }
+
+    private void dropTimedOutClients() {
+        for (IntMap.Entry<ServerSession.Client> entry : clients) {
+            if (tick - entry.value.getLastHeardTick() > NetProtocol.TIMEOUT_TICKS) {
+                timedOut.add(entry.value);
+            }
+        }
+        for (int i = 0; i < timedOut.size; i++) {
+            final ServerSession.Client client = timedOut.get(i);
+            clients.remove(client.getPeer());
+            leave(client);
+            GameLog.info(TAG, "Player {} timed out", client.getPlayer() + 1);
+        }
+        timedOut.clear();
+    }
+
+    /**
+     * Returns the number of games running.
+     *
+     * @return The number of games.
+     */
+    public int getSessionCount() {
+        return sessions.size;
+    }
+
+    /**
+     * Returns the number of players connected, across all games.
+     *
+     * @return The number of players.
+     */
+    public int getClientCount() {
+        return clients.size;
+    }
+
+    /**
+     * Returns the game a player is in.
+     *
+     * @param peer The peer the player's packets come from.
+     * @return The GameStateManager of the game, or null if the peer is not playing.
+     */
+    GameStateManager getGame(final int peer) {
+        final ServerSession.Client client = clients.get(peer);
+        if (client == null) {
+            return null;
+        }
+        return client.getSession().getGameStateManager();
+    }
+
+    /**
+     * Disposes of every game. The transport is left alone.
+     */
+    @Override
+    public void dispose() {
+        for (ServerSession session : sessions) {
+            session.dispose();
+        }
+        sessions.clear();
+        clients.clear();
+    }
+}
@@ -1,11 +1,18 @@
 package dev.jasper.game.tools;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.BodyStateBuffer;
 import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
 import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
 import dev.jasper.game.sprites.enviromentSprites.InteractiveEnviromentB2BodySprite;
@@ -20,7 +27,22 @@ import dev.jasper.game.sprites.enviromentSprites.Snowball;
  * @version 2024
  */
 public final class GameStateManager {
-    private static final float TIME_STEP = 1 / 60f;
+    /**
+     * The length of one simulation tick, in seconds. The game advances by exactly this much per update.
+     */
+    public static final float TIME_STEP = 1 / 60f;
+    /**
+     * The most ticks run in one frame, so a long stall does not snowball into ever longer frames.
+     */
+    public static final int MAX_TICKS_PER_FRAME = 5;
+    /**
+     * The number of nanoseconds in a second, which tick times are converted to clock times with.
+     */
+    public static final float NANOS_PER_SECOND = 1e9f;
+    /**
+     * The length of one simulation tick, in nanoseconds, by which the clocks of scripted and replayed input advance.
+     */
+    public static final long TICK_NANOS = (long) (TIME_STEP * NANOS_PER_SECOND);
     private static final int VELOCITY_ITERATIONS = 6;
     private static final int POSITION_ITERATIONS = 2;
     private static final float SNOWBALL_SPAWN_INTERVAL = 3f;
@@ -28,15 +50,42 @@ public final class GameStateManager {
     private static final int MAX_SNOWBALL_COUNT = 5;
     private static final int MAX_HEALTH = 100;
     private static final int GRAVITY_Y = -10;
+    // Reaches across the whole view, so an enemy on screen is at full detail wherever the camera is
+    private static final float FULL_DETAIL_DISTANCE = (float) Math.hypot(BobIsMelting.V_WIDTH, BobIsMelting.V_HEIGHT)
+            / BobIsMelting.PPM;
+    private static final float FROZEN_DETAIL_DISTANCE = 8f;
+    private static final float DETAIL_HYSTERESIS = .5f;
+    private static final float STREAMING_MARGIN = 1f;
+    private static final int AI_BUDGET_MICROS = 200;
+    private static final int VERIFIABLE_DECISIONS_PER_TICK = 4;
+    private static final float WALL_PROBE_OFFSET = .08f;
+    private static final float WALL_PROBE_LENGTH = .06f;
+    private static final float WALL_PROBE_HALF_HEIGHT = .03f;
+    private final long seed;
+    private final RandomXS128 random;
     private final World world;
+    private final BodyStateBuffer bodyStates;
     private final TiledMap map;
+    private final LevelData level;
+    private final Level gameLevel;
     private final B2BodyObjectFactory b2BodyObjectFactory;
-    private final AbstractPlayer kid;
+    private final MapChunkStreamer mapChunkStreamer;
+    private final Array<AbstractPlayer> kids;
     private final InteractiveEnviromentB2BodySprite bob;
     private final Array<AbstractEnemy> enemies;
+    private final EnemyAiScheduler aiScheduler;
+    private final NavigationGraph navigationGraph;
+    private final Array<FlowField> flowFields;
+    private final OccupancyGrid occupancyGrid;
     private final Array<Snowball> currentSpawnedSnowballs;
+    private final int[] currentSnowballSpots;
     private final Vector2[] snowballSpawnSpots;
     private final Array<Vector2> nextSnowballSpawnSpots;
+    private final Rectangle viewBounds;
+    private boolean hasViewBounds;
+    private boolean replica;
+    private ReplayWriter replayWriter;
+    private GhostRecorder ghostRecorder;
     private int healthDecreasePerSecond;
     private Integer worldTimer;
     private float timeCount;
@@ -44,38 +93,120 @@ public final class GameStateManager {
     private float snowballSpawnTimer;
     /**
      * Constructs a GameStateManager instance.
-     * It creates the game world, the characters, the ground, and initializes the snowballs.
+     * It creates the game world, the characters, and initializes the snowballs.
+     * The ground is created by prepare or, at the latest, by the first update.
+     *
+     * @param gameLevel The level the game is played in.
+     * @param atlas     The TextureAtlas the sprites are cut from.
+     */
+    public GameStateManager(final Level gameLevel, final TextureAtlas atlas) {
+        this(gameLevel, atlas, MathUtils.random.nextLong());
+    }
+
+    /**
+     * Constructs a GameStateManager instance whose random events follow from a seed.
+     * Everything random in a game, from where snowballs spawn to what the enemies decide, is drawn from
+     * a generator of its own, so games on other threads do not disturb it.
+     *
+     * @param gameLevel The level the game is played in.
+     * @param atlas     The TextureAtlas the sprites are cut from.
+     * @param seed      The seed of the game's random number generator.
      */
-    public GameStateManager() {
-        this.world = new World(new Vector2(0, GRAVITY_Y), true);
-        this.b2BodyObjectFactory = new B2BodyObjectFactory(world);
+    public GameStateManager(final Level gameLevel, final TextureAtlas atlas, final long seed) {
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
+        this.world = ResourceTracker.track(new World(new Vector2(0, GRAVITY_Y), true), "World");
+        this.bodyStates = new BodyStateBuffer();
+        this.b2BodyObjectFactory = new B2BodyObjectFactory(world, gameLevel, atlas, bodyStates, random);
         worldTimer = 0;
         timeCount = 0;
         WorldContactListener worldContactListener = new WorldContactListener(this);
         world.setContactListener(worldContactListener);
         this.map = b2BodyObjectFactory.getMap();
+        this.level = b2BodyObjectFactory.getLevel();
+        this.gameLevel = gameLevel;
         this.bobsHealth = MAX_HEALTH;
 
         this.snowballSpawnSpots = b2BodyObjectFactory.getSnowballSpawnSpots();
         this.nextSnowballSpawnSpots = new Array<>();
+        this.viewBounds = new Rectangle();
+        this.hasViewBounds = false;
         nextSnowballSpawnSpots.addAll(snowballSpawnSpots);
-        nextSnowballSpawnSpots.shuffle();
+        shuffle(nextSnowballSpawnSpots);
 
-        Gdx.app.log("snow", String.valueOf(nextSnowballSpawnSpots.size));
+        GameLog.debug("snow", "{} snowball spawn spots", nextSnowballSpawnSpots.size);
 
         // initialize game states by instantiating b2d bodies
         this.healthDecreasePerSecond = 2;
-        this.kid = b2BodyObjectFactory.createKid();
+        this.kids = new Array<>();
+        kids.add(b2BodyObjectFactory.createKid(0));
+        // Static bodies must reach past the frozen distance, so enemies only wake up above existing ground
+        this.mapChunkStreamer = b2BodyObjectFactory.createMapChunkStreamer(FROZEN_DETAIL_DISTANCE + STREAMING_MARGIN);
         this.bob = b2BodyObjectFactory.createBob();
+        // Bob and the snowballs stay put wherever the Kids go, so the ground under them is kept throughout
+        mapChunkStreamer.pin(bob.getB2body().getPosition().x);
+        for (Vector2 spot : snowballSpawnSpots) {
+            mapChunkStreamer.pin(spot.x / BobIsMelting.PPM);
+        }
         this.enemies = new Array<>();
+        this.aiScheduler = new EnemyAiScheduler(AI_BUDGET_MICROS);
+        this.navigationGraph = gameLevel.getNavigationGraph();
+        this.flowFields = new Array<>();
+        flowFields.add(new FlowField(navigationGraph));
+        this.occupancyGrid = gameLevel.getOccupancyGrid();
         try {
             final float positionX = 3.52f;
             final float positionY = .48f;
             enemies.add(b2BodyObjectFactory.createEnemy("bear", positionX, positionY));
         } catch (IllegalArgumentException e) {
-            System.out.println(e + " Fail to initialize enemies.");
+            GameLog.error("GameStateManager", "Fail to initialize enemies: {}", e);
         }
         currentSpawnedSnowballs = b2BodyObjectFactory.initializeSnowballsSpawnSpots(MAX_SNOWBALL_COUNT);
+        currentSnowballSpots = new int[MAX_SNOWBALL_COUNT];
+        b2BodyObjectFactory.releaseShapes();
+    }
+
+    /**
+     * Creates part of the ground around the Kid, so that a game can be set up over several frames before it starts.
+     *
+     * @return true once all the ground the first update needs exists.
+     */
+    public boolean prepare() {
+        return mapChunkStreamer.warmUp(getKid().getBodyX());
+    }
+
+    /**
+     * Returns the seed the random events of the game follow from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the random number generator of the game. Nothing random in the game may draw from any other.
+     *
+     * @return The random number generator.
+     */
+    RandomXS128 getRandom() {
+        return random;
+    }
+
+    private void shuffle(final Array<Vector2> spots) {
+        // Array.shuffle draws from the generator shared by every game
+        for (int i = spots.size - 1; i > 0; i--) {
+            spots.swap(i, random.nextInt(i + 1));
+        }
+    }
+
+    /**
+     * Makes everything the game does follow from its seed and the input of the players alone, so a recording
+     * of the input plays out the same again, on any device. The enemies' decisions are then put off by count
+     * instead of by time, and no longer depend on what the camera sees. Called before the first update.
+     */
+    public void makeVerifiable() {
+        aiScheduler.setDecisionLimit(VERIFIABLE_DECISIONS_PER_TICK);
     }
 
     /**
@@ -127,6 +258,16 @@ public final class GameStateManager {
         return world;
     }
 
+    /**
+     * Returns the number of Box2D bodies in the world. Must not be called while a tick runs on another thread,
+     * where the RenderSnapshot of the last finished tick has the count instead.
+     *
+     * @return The number of bodies in the world.
+     */
+    public int getBodyCount() {
+        return world.getBodyCount();
+    }
+
     /**
      * Returns the TiledMap instance used for the game map.
      *
@@ -137,14 +278,205 @@ public final class GameStateManager {
     }
 
     /**
-     * Returns the Kid character in the game.
+     * Returns the level the game is played in.
+     *
+     * @return The LevelData of the level.
+     */
+    public LevelData getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the backdrop of the level the game is played in, which every game in the level shares.
+     * Must be called on the rendering thread while the batch has not begun.
+     *
+     * @param batch The batch used to bake the backdrop the first time it is asked for.
+     * @return The ParallaxBackground of the level.
+     */
+    public ParallaxBackground getBackground(final Batch batch) {
+        return gameLevel.getBackground(batch);
+    }
+
+    /**
+     * Returns the Kid of the first player, the one played on this device.
      *
      * @return The Kid character in the game.
      */
     public AbstractPlayer getKid() {
+        return kids.first();
+    }
+
+    /**
+     * Returns the Kid of a player.
+     *
+     * @param player The index of the player, 0 for the first.
+     * @return The Kid of the player.
+     */
+    public AbstractPlayer getKid(final int player) {
+        return kids.get(player);
+    }
+
+    /**
+     * Returns the number of players in the game, each with a Kid of their own.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return kids.size;
+    }
+
+    /**
+     * Adds a player to the game, whose Kid spawns next to the ones already there.
+     * The enemies hunt whichever Kid is closest to them.
+     *
+     * @return The index of the new player.
+     */
+    public int addPlayer() {
+        kids.add(b2BodyObjectFactory.createKid(kids.size));
+        flowFields.add(new FlowField(navigationGraph));
+        return kids.size - 1;
+    }
+
+    /**
+     * Returns Bob, where the Kid drops off snowballs.
+     *
+     * @return Bob.
+     */
+    InteractiveEnviromentB2BodySprite getBob() {
+        return bob;
+    }
+
+    /**
+     * Returns the enemies in the game.
+     *
+     * @return The enemies in the game.
+     */
+    Array<AbstractEnemy> getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * Returns the snowballs in the game, with null for each spot that has no snowball.
+     *
+     * @return The snowballs in the game.
+     */
+    Array<Snowball> getSnowballs() {
+        return currentSpawnedSnowballs;
+    }
+
+    /**
+     * Returns the spots snowballs spawn at, in pixels.
+     *
+     * @return The snowball spawn spots.
+     */
+    Vector2[] getSnowballSpawnSpots() {
+        return snowballSpawnSpots;
+    }
+
+    /**
+     * Returns the spot the snowball in a slot spawned at.
+     *
+     * @param slot The index of the slot in getSnowballs.
+     * @return The index of the spot in getSnowballSpawnSpots. Only meaningful while the slot has a snowball.
+     */
+    int getSnowballSpot(final int slot) {
+        return currentSnowballSpots[slot];
+    }
+
+    /**
+     * Makes the game a replica of one simulated by a server. A replica still runs the physics, so the Kid
+     * played on this device moves as soon as its input is applied, but it decides nothing itself:
+     * time, Bob's health, what the enemies do and which snowballs are where all come from the server.
+     *
+     * @param isReplica true to make the game a replica.
+     */
+    void setReplica(final boolean isReplica) {
+        this.replica = isReplica;
+    }
+
+    /**
+     * Returns whether the game is a replica of one simulated by a server.
+     *
+     * @return true if the game is a replica.
+     */
+    boolean isReplica() {
+        return replica;
+    }
+
+    /**
+     * Sets the world timer and Bob's health of a replica to the ones of the server.
+     *
+     * @param newWorldTimer The world timer.
+     * @param newBobsHealth Bob's health.
+     */
+    void setReplicatedState(final int newWorldTimer, final int newBobsHealth) {
+        this.worldTimer = newWorldTimer;
+        this.bobsHealth = newBobsHealth;
+    }
+
+    /**
+     * Makes sure a replica has an enemy at an index, creating it if it is the next one the server spawned.
+     *
+     * @param index     The index of the enemy in getEnemies.
+     * @param enemyType The type of the enemy, "bear" or "chicken".
+     * @param positionX The x-coordinate to create the enemy at, in meters.
+     * @param positionY The y-coordinate to create the enemy at, in meters.
+     * @return The enemy.
+     */
+    AbstractEnemy replicateEnemy(final int index, final String enemyType, final float positionX,
+                                 final float positionY) {
+        if (index == enemies.size) {
+            enemies.add(b2BodyObjectFactory.createEnemy(enemyType, positionX, positionY));
+        }
+        return enemies.get(index);
+    }
+
+    /**
+     * Makes whether a Kid of a replica carries a snowball and is invincible match the server.
+     * The Kid is changed the same way it would be by the contacts that changed it on the server.
+     *
+     * @param index The index of the Kid.
+     * @param state The Kid as the server has it.
+     * @return The Kid.
+     */
+    AbstractPlayer replicateKid(final int index, final NetSnapshot.Body state) {
+        final AbstractPlayer kid = kids.get(index);
+        final boolean carrying = state.hasFlag(NetSnapshot.CARRYING);
+        if (state.hasFlag(NetSnapshot.INVINCIBLE) && !kid.getIsInvincibleToEnemy()) {
+            // The same as a hit on the server, which makes the Kid drop what it carries
+            kid.onEnemyHit();
+            kid.setIsCarryingSnowball(carrying);
+        } else if (carrying && !kid.getIsCarryingSnowball()) {
+            kid.collectSnowball();
+        } else if (!carrying && kid.getIsCarryingSnowball()) {
+            kid.dropoffSnowball();
+        }
         return kid;
     }
 
+    /**
+     * Makes the snowball in a slot of a replica match the one on the server.
+     *
+     * @param slot The index of the slot in getSnowballs.
+     * @param spot The index of the spot the snowball on the server spawned at, or -1 if the slot is empty.
+     */
+    void replicateSnowball(final int slot, final int spot) {
+        final Snowball current = currentSpawnedSnowballs.get(slot);
+        if (current != null && spot == currentSnowballSpots[slot]) {
+            return;
+        }
+        if (current != null) {
+            world.destroyBody(current.getB2body());
+            ResourceTracker.disposed(current.getB2body());
+            currentSpawnedSnowballs.set(slot, null);
+        }
+        if (spot >= 0) {
+            currentSpawnedSnowballs.set(slot,
+                    b2BodyObjectFactory.createSnowball(snowballSpawnSpots[spot], currentSpawnedSnowballs, slot));
+            currentSnowballSpots[slot] = spot;
+        }
+    }
+
     /**
      * Updates the state of the game.
      * This method is called periodically to update the state of the game world.
@@ -152,20 +484,66 @@ public final class GameStateManager {
      * @param dt The time delta, representing the amount of time passed since the last update.
      */
     public void update(final float dt) {
+        final GameEventRecorder recorder = GameEvents.getRecorder();
+        float leftKidX = Float.MAX_VALUE;
+        float rightKidX = -Float.MAX_VALUE;
+        for (AbstractPlayer kid : kids) {
+            leftKidX = Math.min(leftKidX, kid.getBodyX());
+            rightKidX = Math.max(rightKidX, kid.getBodyX());
+        }
+        mapChunkStreamer.update(leftKidX, rightKidX);
+        for (AbstractEnemy enemy : enemies) {
+            final AbstractPlayer kid = kids.get(getClosestPlayer(enemy));
+            enemy.setDetailLevel(getDetailLevel(enemy.getDetailLevel(), Vector2.dst2(kid.getBodyX(), kid.getBodyY(),
+                    enemy.getBodyX(), enemy.getBodyY())));
+        }
+
+        recorder.beginPhysicsStep();
         world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        // Everything below reads the bodies through these copies instead of calling into Box2D
+        bodyStates.sync();
+        recorder.endPhysicsStep(world);
 
-        timeCount += dt;
-        // When exactly 1 second has passed, increment and update the world timer and corresponding HUD element
-        if (timeCount >= 1) {
-            worldTimer++;
-            setBobsHealth(getBobsHealth() - getHealthDecreasePerSecond());
-            adjustDifficultyToTime(worldTimer);
-            timeCount = 0;
+        recorder.beginUpdatePhase(GameEventRecorder.UpdatePhase.TIMERS);
+        // A replica is told the time and Bob's health by the server, along with the enemies that come with time
+        if (!replica) {
+            timeCount += dt;
+            // When exactly 1 second has passed, increment and update the world timer and corresponding HUD element
+            if (timeCount >= 1) {
+                worldTimer++;
+                setBobsHealth(getBobsHealth() - getHealthDecreasePerSecond());
+                adjustDifficultyToTime(worldTimer);
+                timeCount = 0;
+            }
         }
+        recorder.endUpdatePhase(GameEventRecorder.UpdatePhase.TIMERS);
 
-        kid.update(dt);
+        recorder.beginUpdatePhase(GameEventRecorder.UpdatePhase.ENTITIES);
+        for (AbstractPlayer kid : kids) {
+            kid.update(dt);
+        }
         bob.update();
-        enemies.forEach(enemy -> enemy.update(dt));
+        for (AbstractEnemy enemy : enemies) {
+            enemy.setInView(isInView(enemy.getBodyX() - enemy.getWidth() / 2,
+                    enemy.getBodyY() - enemy.getHeight() / 2, enemy.getWidth(), enemy.getHeight()));
+        }
+        if (!replica) {
+            // Visibility decides which decisions come first, so it is set for every enemy beforehand
+            aiScheduler.update(enemies);
+            for (int i = 0; i < kids.size; i++) {
+                flowFields.get(i).update(kids.get(i).getBodyX(), kids.get(i).getBodyY());
+            }
+        }
+        for (AbstractEnemy enemy : enemies) {
+            // Enemies close to a Kid hunt the closest one, while the others wander
+            if (!replica && enemy.getDetailLevel() == AbstractEnemy.DetailLevel.FULL) {
+                pursueKid(enemy, flowFields.get(getClosestPlayer(enemy)));
+            }
+            enemy.update(dt);
+        }
+        recorder.endUpdatePhase(GameEventRecorder.UpdatePhase.ENTITIES);
+
+        recorder.beginUpdatePhase(GameEventRecorder.UpdatePhase.SNOWBALLS);
         currentSpawnedSnowballs.forEach(snowball -> {
             if (snowball == null) {
                 return;
@@ -175,9 +553,157 @@ public final class GameStateManager {
 
             if (snowball.isCollected()) {
                 world.destroyBody(snowball.getB2body());
+                ResourceTracker.disposed(snowball.getB2body());
             }
         });
-        spawnSnowballs(dt);
+        recorder.endUpdatePhase(GameEventRecorder.UpdatePhase.SNOWBALLS);
+
+        recorder.beginUpdatePhase(GameEventRecorder.UpdatePhase.SPAWNING);
+        if (!replica) {
+            spawnSnowballs(dt);
+        }
+        recorder.endUpdatePhase(GameEventRecorder.UpdatePhase.SPAWNING);
+
+        if (replayWriter != null) {
+            replayWriter.record(this);
+        }
+        if (ghostRecorder != null) {
+            ghostRecorder.record(this);
+        }
+        // Everything created this tick, or since the last one, shared its shapes
+        b2BodyObjectFactory.releaseShapes();
+    }
+
+    /**
+     * Shows a frame of a replay: moves every body to where the frame has it and animates the characters,
+     * without stepping the world, so nothing collides and no decisions are made.
+     * Characters the frame has that the game does not yet are created, and enemies the game has that the frame
+     * does not, as after seeking back, are hidden.
+     *
+     * @param frame The frame.
+     * @param dt    The time the frame is shown for, which animations advance by.
+     */
+    void playback(final NetSnapshot frame, final float dt) {
+        setReplicatedState(frame.getWorldTimer(), frame.getBobsHealth());
+        final int slots = Math.min(frame.getSnowballCount(), currentSpawnedSnowballs.size);
+        for (int i = 0; i < slots; i++) {
+            replicateSnowball(i, frame.getSnowballSpot(i));
+        }
+        while (kids.size < frame.getKidCount()) {
+            addPlayer();
+        }
+        float leftKidX = Float.MAX_VALUE;
+        float rightKidX = -Float.MAX_VALUE;
+        for (int i = 0; i < frame.getKidCount(); i++) {
+            final NetSnapshot.Body state = frame.getKid(i);
+            moveBody(replicateKid(i, state).getB2body(), state);
+            leftKidX = Math.min(leftKidX, state.getX());
+            rightKidX = Math.max(rightKidX, state.getX());
+        }
+        for (int i = 0; i < frame.getEnemyCount() && i <= enemies.size; i++) {
+            final NetSnapshot.Body state = frame.getEnemy(i);
+            final String enemyType;
+            if (state.hasFlag(NetSnapshot.CHICKEN)) {
+                enemyType = "chicken";
+            } else {
+                enemyType = "bear";
+            }
+            moveBody(replicateEnemy(i, enemyType, state.getX(), state.getY()).getB2body(), state);
+        }
+        bodyStates.sync();
+        mapChunkStreamer.update(leftKidX, rightKidX);
+
+        for (AbstractPlayer kid : kids) {
+            kid.update(dt);
+        }
+        bob.update();
+        for (int i = 0; i < enemies.size; i++) {
+            final AbstractEnemy enemy = enemies.get(i);
+            if (i < frame.getEnemyCount()) {
+                // Every enemy is animated as if close, as only the ones in view are drawn anyway
+                enemy.setDetailLevel(AbstractEnemy.DetailLevel.FULL);
+                enemy.setInView(isInView(enemy.getBodyX() - enemy.getWidth() / 2,
+                        enemy.getBodyY() - enemy.getHeight() / 2, enemy.getWidth(), enemy.getHeight()));
+                enemy.update(dt);
+            } else {
+                enemy.setInView(false);
+            }
+        }
+        b2BodyObjectFactory.releaseShapes();
+    }
+
+    private static void moveBody(final Body body, final NetSnapshot.Body state) {
+        body.setTransform(state.getX(), state.getY(), body.getAngle());
+        body.setLinearVelocity(state.getVelocityX(), state.getVelocityY());
+    }
+
+    /**
+     * Records the game into a replay from the next tick on. The replay is closed when the game is disposed of.
+     *
+     * @param writer The ReplayWriter to record into.
+     */
+    public void setReplayWriter(final ReplayWriter writer) {
+        this.replayWriter = writer;
+    }
+
+    /**
+     * Records the Kid into a ghost from the next tick on.
+     *
+     * @param recorder The GhostRecorder to record into.
+     */
+    public void setGhostRecorder(final GhostRecorder recorder) {
+        this.ghostRecorder = recorder;
+    }
+
+    private int getClosestPlayer(final AbstractEnemy enemy) {
+        int closest = 0;
+        float closestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < kids.size; i++) {
+            final float distance = Vector2.dst2(kids.get(i).getBodyX(), kids.get(i).getBodyY(),
+                    enemy.getBodyX(), enemy.getBodyY());
+            if (distance < closestDistance) {
+                closest = i;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    private void pursueKid(final AbstractEnemy enemy, final FlowField flowField) {
+        final int span = navigationGraph.getSpanIndexAt(enemy.getBodyX(), enemy.getBodyY());
+        if (!flowField.hasMove(span)) {
+            return;
+        }
+        enemy.pursue(flowField.getMoveX(span), flowField.isJump(span));
+        // Walls and boundaries in the way are jumped over, which the way between spans does not know about
+        final int direction = enemy.getRunDirection();
+        if (direction != 0) {
+            final float probeX = enemy.getBodyX() + direction * WALL_PROBE_OFFSET;
+            if (occupancyGrid.overlaps(Math.min(probeX, probeX + direction * WALL_PROBE_LENGTH),
+                    enemy.getBodyY() - WALL_PROBE_HALF_HEIGHT,
+                    Math.max(probeX, probeX + direction * WALL_PROBE_LENGTH),
+                    enemy.getBodyY() + WALL_PROBE_HALF_HEIGHT, OccupancyGrid.GROUND | OccupancyGrid.ENEMY_BOUNDARY)) {
+                enemy.jumpIfOnGround();
+            }
+        }
+    }
+
+    private static AbstractEnemy.DetailLevel getDetailLevel(final AbstractEnemy.DetailLevel current,
+                                                            final float distanceToKidSquared) {
+        // An enemy keeps its level until it is a margin past the boundary, so it does not flicker between two levels
+        float fullDistance = FULL_DETAIL_DISTANCE;
+        float frozenDistance = FROZEN_DETAIL_DISTANCE;
+        if (current == AbstractEnemy.DetailLevel.FULL) {
+            fullDistance += DETAIL_HYSTERESIS;
+        } else if (current == AbstractEnemy.DetailLevel.FROZEN) {
+            frozenDistance -= DETAIL_HYSTERESIS;
+        }
+        if (distanceToKidSquared <= fullDistance * fullDistance) {
+            return AbstractEnemy.DetailLevel.FULL;
+        } else if (distanceToKidSquared <= frozenDistance * frozenDistance) {
+            return AbstractEnemy.DetailLevel.REDUCED;
+        }
+        return AbstractEnemy.DetailLevel.FROZEN;
     }
 
     private int getHealthDecreasePerSecond() {
@@ -232,10 +758,15 @@ public final class GameStateManager {
                 final Vector2 spawnSpot = nextSnowballSpawnSpots.pop();
                 currentSpawnedSnowballs.set(i,
                         b2BodyObjectFactory.createSnowball(spawnSpot, currentSpawnedSnowballs, i));
+                for (int spot = 0; spot < snowballSpawnSpots.length; spot++) {
+                    if (snowballSpawnSpots[spot] == spawnSpot) {
+                        currentSnowballSpots[i] = spot;
+                    }
+                }
 
                 if (nextSnowballSpawnSpots.size == 0) {
                     nextSnowballSpawnSpots.addAll(snowballSpawnSpots);
-                    nextSnowballSpawnSpots.shuffle();
+                    shuffle(nextSnowballSpawnSpots);
                 }
                 return;
             }
@@ -243,30 +774,101 @@ public final class GameStateManager {
     }
 
     /**
-     * Draws the game world on the screen.
-     * This method is called to draw the game world on the screen.
+     * Queues the visible characters and snowballs of the game world for drawing.
+     * The Kids are queued on their own layer, so they are always drawn over everything else.
      *
-     * @param batch The Batch used to draw the game world.
+     * @param renderQueue The RenderQueue the frame is drawn through.
      */
-    public void draw(final SpriteBatch batch) {
-        bob.draw(batch);
-        enemies.forEach(enemy -> enemy.draw(batch));
-        currentSpawnedSnowballs.forEach(snowball -> {
-            if (snowball == null) {
-                return;
+    public void submit(final RenderQueue renderQueue) {
+        if (isInView(bob.getX(), bob.getY(), bob.getWidth(), bob.getHeight())) {
+            renderQueue.submit(RenderQueue.RenderLayer.ENTITIES, bob);
+        }
+        for (AbstractEnemy enemy : enemies) {
+            if (enemy.isInView()) {
+                renderQueue.submit(RenderQueue.RenderLayer.ENTITIES, enemy);
             }
-            snowball.draw(batch);
-        });
-        kid.draw(batch);
+        }
+        for (Snowball snowball : currentSpawnedSnowballs) {
+            if (snowball != null
+                    && isInView(snowball.getX(), snowball.getY(), snowball.getWidth(), snowball.getHeight())) {
+                renderQueue.submit(RenderQueue.RenderLayer.ENTITIES, snowball);
+            }
+        }
+        for (AbstractPlayer kid : kids) {
+            renderQueue.submit(RenderQueue.RenderLayer.PLAYER, kid);
+        }
+    }
+
+    /**
+     * Copies what submit would queue for drawing into a RenderSnapshot, together with the camera target,
+     * the HUD values and the body count, so that the tick can be drawn while the next one is simulated.
+     *
+     * @param snapshot The RenderSnapshot to fill.
+     * @param ticks    The number of ticks simulated since the previous snapshot.
+     */
+    void capture(final RenderSnapshot snapshot, final int ticks) {
+        snapshot.clear();
+        if (isInView(bob.getX(), bob.getY(), bob.getWidth(), bob.getHeight())) {
+            snapshot.add(RenderQueue.RenderLayer.ENTITIES, bob);
+        }
+        for (AbstractEnemy enemy : enemies) {
+            if (enemy.isInView()) {
+                snapshot.add(RenderQueue.RenderLayer.ENTITIES, enemy);
+            }
+        }
+        for (Snowball snowball : currentSpawnedSnowballs) {
+            if (snowball != null && !snowball.isCollected()
+                    && isInView(snowball.getX(), snowball.getY(), snowball.getWidth(), snowball.getHeight())) {
+                snapshot.add(RenderQueue.RenderLayer.ENTITIES, snowball);
+            }
+        }
+        for (AbstractPlayer kid : kids) {
+            snapshot.add(RenderQueue.RenderLayer.PLAYER, kid);
+            final Sprite carriedSnowball = kid.getCarriedSnowballSprite();
+            if (carriedSnowball != null) {
+                snapshot.add(RenderQueue.RenderLayer.PLAYER, carriedSnowball);
+            }
+        }
+        snapshot.setState(getKid().getBodyX(), worldTimer, bobsHealth, isGameOver(), ticks, getBodyCount());
+    }
+
+    /**
+     * Sets the area of the world the camera can currently see, including any margin.
+     * Entities outside this area are not drawn and skip their animation updates.
+     * Until this method is called, every entity is treated as visible.
+     *
+     * @param x      The x-coordinate of the lower left corner of the area in meters.
+     * @param y      The y-coordinate of the lower left corner of the area in meters.
+     * @param width  The width of the area in meters.
+     * @param height The height of the area in meters.
+     */
+    public void setViewBounds(final float x, final float y, final float width, final float height) {
+        viewBounds.set(x, y, width, height);
+        hasViewBounds = true;
+    }
+
+    private boolean isInView(final float x, final float y, final float width, final float height) {
+        if (!hasViewBounds) {
+            return true;
+        }
+        return x + width >= viewBounds.x && x <= viewBounds.x + viewBounds.width
+                && y + height >= viewBounds.y && y <= viewBounds.y + viewBounds.height;
     }
 
     /**
      * Disposes of the resources used by the game.
      * This method is called when the game is closed to free up resources.
+     * The level and the atlas belong to the LevelManager and are left alone.
      */
     public void dispose() {
-        map.dispose();
+        if (replayWriter != null) {
+            replayWriter.dispose();
+        }
+        b2BodyObjectFactory.releaseShapes();
+        mapChunkStreamer.dispose();
         world.dispose();
+        // Every body still in the world went away with it
+        ResourceTracker.disposed(world);
     }
 
     /**
@@ -0,0 +1,86 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.badlogic.gdx.controllers.ControllerMapping;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * The GamepadInput class feeds gamepad buttons and the left stick into an InputQueue,
+ * so a gamepad goes through the same timestamped path as the keyboard.
+ * The A button and the d-pad's up jump, and the d-pad or the left stick run.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GamepadInput extends ControllerAdapter {
+    private static final float STICK_DEAD_ZONE = .3f;
+    private final InputQueue inputQueue;
+    private boolean stickLeft;
+    private boolean stickRight;
+
+    /**
+     * Constructs a GamepadInput instance.
+     *
+     * @param inputQueue The InputQueue the gamepad's events are recorded in.
+     */
+    public GamepadInput(final InputQueue inputQueue) {
+        this.inputQueue = inputQueue;
+    }
+
+    @Override
+    public boolean buttonDown(final Controller controller, final int buttonCode) {
+        return recordButton(controller.getMapping(), buttonCode, true);
+    }
+
+    @Override
+    public boolean buttonUp(final Controller controller, final int buttonCode) {
+        return recordButton(controller.getMapping(), buttonCode, false);
+    }
+
+    @Override
+    public boolean axisMoved(final Controller controller, final int axisCode, final float value) {
+        if (axisCode != controller.getMapping().axisLeftX) {
+            return false;
+        }
+        // Only crossing the dead zone counts as a press or release, so a resting stick does not flood the queue
+        final long time = TimeUtils.nanoTime();
+        final boolean left = value < -STICK_DEAD_ZONE;
+        final boolean right = value > STICK_DEAD_ZONE;
+        if (left != stickLeft) {
+            stickLeft = left;
+            inputQueue.record(InputQueue.Action.LEFT, left, time);
+        }
+        if (right != stickRight) {
+            stickRight = right;
+            inputQueue.record(InputQueue.Action.RIGHT, right, time);
+        }
+        return true;
+    }
+
+    @Override
+    public void disconnected(final Controller controller) {
+        // Release everything, so a gamepad unplugged mid-run does not leave the Kid running
+        final long time = TimeUtils.nanoTime();
+        for (InputQueue.Action action : InputQueue.Action.values()) {
+            inputQueue.record(action, false, time);
+        }
+        stickLeft = false;
+        stickRight = false;
+    }
+
+    private boolean recordButton(final ControllerMapping mapping, final int buttonCode, final boolean pressed) {
+        final InputQueue.Action action;
+        if (buttonCode == mapping.buttonA || buttonCode == mapping.buttonDpadUp) {
+            action = InputQueue.Action.JUMP;
+        } else if (buttonCode == mapping.buttonDpadLeft) {
+            action = InputQueue.Action.LEFT;
+        } else if (buttonCode == mapping.buttonDpadRight) {
+            action = InputQueue.Action.RIGHT;
+        } else {
+            return false;
+        }
+        inputQueue.record(action, pressed, TimeUtils.nanoTime());
+        return true;
+    }
+}
@@ -0,0 +1,203 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+import dev.jasper.game.sprites.dynamicSprites.DynamicB2BodySprite;
+import dev.jasper.game.sprites.dynamicSprites.Kid;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The GhostPlayer class shows the best run saved by GhostRecorder as a translucent Kid running alongside the live one.
+ * The run is streamed from its file through a small buffer that is refilled every few seconds of play,
+ * so however long the run was, it takes a few kilobytes of memory, and nothing is allocated while it plays.
+ * It plays on the rendering side only, a sample per tick the live game ran, and the simulation never sees it.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GhostPlayer implements Disposable {
+    private static final String TAG = "Ghost";
+    private static final int BUFFER_SAMPLES = 800;
+    private static final float GHOST_ALPHA = .35f;
+    private final InputStream input;
+    private final byte[] buffer;
+    private final Kid ghost;
+    private final int worldTimer;
+    private int remainingSamples;
+    private int bufferStart;
+    private int bufferEnd;
+    private float stateTime;
+    private DynamicB2BodySprite.State state;
+    private boolean visible;
+
+    private GhostPlayer(final InputStream input, final byte[] header, final TextureAtlas atlas) {
+        this.input = input;
+        this.buffer = new byte[BUFFER_SAMPLES * GhostRecorder.SAMPLE_BYTES];
+        this.worldTimer = readInt(header, 2 * Integer.BYTES);
+        this.remainingSamples = readInt(header, 3 * Integer.BYTES);
+        // A Kid that never gets a body, posed as the samples say
+        this.ghost = Kid.kidFactory(atlas, 0);
+        ghost.setAlpha(GHOST_ALPHA);
+    }
+
+    /**
+     * Opens the best run saved, if there is one.
+     *
+     * @param atlas The atlas the Kid's frames are in.
+     * @return The GhostPlayer, or null if ghosts are off or no best run was saved yet.
+     */
+    public static GhostPlayer open(final TextureAtlas atlas) {
+        if (!GhostRecorder.isEnabled()) {
+            return null;
+        }
+        final FileHandle file = GhostRecorder.getBestFile();
+        if (!file.exists()) {
+            return null;
+        }
+        final InputStream input = file.read();
+        final byte[] header = new byte[GhostRecorder.HEADER_BYTES];
+        try {
+            if (readFully(input, header, 0, header.length) == header.length
+                    && readInt(header, 0) == GhostRecorder.MAGIC
+                    && readInt(header, Integer.BYTES) == GhostRecorder.VERSION) {
+                return new GhostPlayer(input, header, atlas);
+            }
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot read the ghost", e);
+        }
+        GhostRecorder.close(input);
+        return null;
+    }
+
+    /**
+     * Returns how long the run shown lasted.
+     *
+     * @return The world timer the run reached.
+     */
+    public int getWorldTimer() {
+        return worldTimer;
+    }
+
+    /**
+     * Returns the Kid the ghost is drawn as.
+     *
+     * @return The ghost.
+     */
+    Kid getGhost() {
+        return ghost;
+    }
+
+    /**
+     * Returns whether the ghost is shown, which it is from its first tick until its run ended.
+     *
+     * @return true if the ghost is shown.
+     */
+    boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Moves the ghost on by the ticks the live game ran since the last call, so it keeps pace with the game
+     * through hitches and stops with it when the game is over.
+     *
+     * @param ticks The number of ticks the live game ran.
+     */
+    public void update(final int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            nextSample();
+        }
+    }
+
+    private void nextSample() {
+        if (remainingSamples == 0 || !fillBuffer()) {
+            // The best run ended here, so its ghost is gone too
+            visible = false;
+            return;
+        }
+        remainingSamples--;
+        final float x = readPosition(bufferStart);
+        final float y = readPosition(bufferStart + Short.BYTES);
+        final int packed = buffer[bufferStart + 2 * Short.BYTES];
+        bufferStart += GhostRecorder.SAMPLE_BYTES;
+        final DynamicB2BodySprite.State newState = GhostRecorder.unpackState(packed);
+        if (newState == state) {
+            stateTime += GameStateManager.TIME_STEP;
+        } else {
+            stateTime = 0;
+        }
+        state = newState;
+        ghost.pose(x, y, state, (packed & GhostRecorder.FACING_RIGHT) != 0, stateTime);
+        visible = true;
+    }
+
+    private boolean fillBuffer() {
+        if (bufferEnd - bufferStart >= GhostRecorder.SAMPLE_BYTES) {
+            return true;
+        }
+        // Keep what is left of a sample cut by the end of the buffer, and read the next part of the file after it
+        final int left = bufferEnd - bufferStart;
+        System.arraycopy(buffer, bufferStart, buffer, 0, left);
+        bufferStart = 0;
+        bufferEnd = left;
+        try {
+            bufferEnd += readFully(input, buffer, left, buffer.length - left);
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot read the ghost", e);
+            remainingSamples = 0;
+        }
+        return bufferEnd >= GhostRecorder.SAMPLE_BYTES;
+    }
+
+    private float readPosition(final int offset) {
+        final int quantized = (buffer[offset] & 0xFF) << Byte.SIZE | buffer[offset + 1] & 0xFF;
+        return quantized / GhostRecorder.POSITION_SCALE - GhostRecorder.POSITION_OFFSET;
+    }
+
+    private static int readInt(final byte[] bytes, final int offset) {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << Byte.SIZE | bytes[offset + i] & 0xFF;
+        }
+        return value;
+    }
+
+    private static int readFully(final InputStream input, final byte[] bytes, final int offset, final int length)
+            throws IOException {
+        int read = 0;
+        while (read < length) {
+            final int count = input.read(bytes, offset + read, length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        return read;
+    }
+
+    /**
+     * Queues the ghost for drawing behind the live Kid, if it is still running and the camera can see it.
+     *
+     * @param renderQueue The RenderQueue the frame is drawn through.
+     * @param camera      The game camera.
+     */
+    public void submit(final RenderQueue renderQueue, final OrthographicCamera camera) {
+        final float halfWidth = ghost.getWidth() / 2;
+        final float halfHeight = ghost.getHeight() / 2;
+        if (visible && camera.frustum.boundsInFrustum(ghost.getX() + halfWidth, ghost.getY() + halfHeight, 0,
+                halfWidth, halfHeight, 0)) {
+            renderQueue.submit(RenderQueue.RenderLayer.ENTITIES, ghost);
+        }
+    }
+
+    /**
+     * Closes the file of the run.
+     */
+    @Override
+    public void dispose() {
+        GhostRecorder.close(input);
+    }
+}
@@ -0,0 +1,224 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
+import dev.jasper.game.sprites.dynamicSprites.DynamicB2BodySprite;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The GhostRecorder class records where the Kid is and how it looks every tick of a run, so the best run so far
+ * can be shown as a ghost in later ones. A sample takes five bytes: the position, quantized to 1/256 of a meter,
+ * then the state and facing of the Kid packed into one byte, which makes a ten minute run under 200 KB.
+ * The samples are kept in memory until the run ends, and written out only if the run beat the best one.
+ * The file starts with a header of the magic number, the version, the world timer the run reached
+ * and the number of samples, all big-endian.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class GhostRecorder {
+    /**
+     * The first four bytes of every ghost, "BOBG" in ASCII.
+     */
+    static final int MAGIC = 0x424F4247;
+    /**
+     * The version of the format. Ghosts of any other version are ignored.
+     */
+    static final int VERSION = 1;
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_BYTES = 4 * Integer.BYTES;
+    /**
+     * The size of a sample in bytes.
+     */
+    static final int SAMPLE_BYTES = 5;
+    /**
+     * How many steps of a position there are per meter.
+     */
+    static final float POSITION_SCALE = 256;
+    /**
+     * The offset added to positions, so positions a little left of or below the level fit too.
+     */
+    static final float POSITION_OFFSET = 32;
+    /**
+     * The bits of the packed byte that hold the state of the Kid.
+     */
+    static final int STATE_MASK = 0x3;
+    /**
+     * The bit of the packed byte that is set when the Kid faces right.
+     */
+    static final int FACING_RIGHT = 0x4;
+    private static final String TAG = "Ghost";
+    private static final String BEST_FILE = "best.bobg";
+    private static final String TEMPORARY_FILE = "best.bobg.tmp";
+    private static final int MAX_POSITION = 0xFFFF;
+    private static final int INITIAL_CAPACITY = 60 * 60 * SAMPLE_BYTES;
+    private static final DynamicB2BodySprite.State[] STATES = DynamicB2BodySprite.State.values();
+    private static String directory;
+    private final ByteArray samples;
+    private int worldTimer;
+
+    /**
+     * Constructs a GhostRecorder for a new run.
+     */
+    public GhostRecorder() {
+        this.samples = new ByteArray(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Sets the folder the best run is kept in. Without one, no ghost is recorded or shown.
+     *
+     * @param localDirectory The folder, relative to the local storage of the game, or null for no ghost.
+     */
+    public static void setDirectory(final String localDirectory) {
+        directory = localDirectory;
+    }
+
+    /**
+     * Returns whether the best run is recorded and shown as a ghost.
+     *
+     * @return true if a folder for the best run is set.
+     */
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Returns the file the best run is kept in.
+     *
+     * @return The file, which may not exist yet.
+     */
+    static FileHandle getBestFile() {
+        return Gdx.files.local(directory).child(BEST_FILE);
+    }
+
+    /**
+     * Adds a sample of the first Kid of a game. Called by the game right after each tick.
+     *
+     * @param gameStateManager The game.
+     */
+    void record(final GameStateManager gameStateManager) {
+        final AbstractPlayer kid = gameStateManager.getKid();
+        writePosition(kid.getBodyX());
+        writePosition(kid.getBodyY());
+        int packed = kid.getState().ordinal();
+        // The sprite is flipped while the Kid faces left
+        if (!kid.isFlipX()) {
+            packed |= FACING_RIGHT;
+        }
+        samples.add((byte) packed);
+        worldTimer = gameStateManager.getWorldTimer();
+    }
+
+    private void writePosition(final float position) {
+        final int quantized = Math.max(0, Math.min(MAX_POSITION, Math.round((position + POSITION_OFFSET)
+                * POSITION_SCALE)));
+        samples.add((byte) (quantized >>> Byte.SIZE), (byte) quantized);
+    }
+
+    /**
+     * Returns the number of samples recorded so far.
+     *
+     * @return The number of ticks recorded.
+     */
+    public int getSampleCount() {
+        return samples.size / SAMPLE_BYTES;
+    }
+
+    /**
+     * Saves the run as the best one if it lasted longer than the best one saved, or if there is none.
+     * Called once the run is over.
+     *
+     * @return true if the run was saved.
+     */
+    public boolean saveIfBest() {
+        final FileHandle best = getBestFile();
+        if (best.exists() && readWorldTimer(best) >= worldTimer) {
+            return false;
+        }
+        // Written aside first, so a crash while writing does not lose the best run there was
+        final FileHandle temporary = best.sibling(TEMPORARY_FILE);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(worldTimer);
+        header.putInt(getSampleCount());
+        final OutputStream output = temporary.write(false);
+        boolean written = false;
+        try {
+            output.write(header.array());
+            output.write(samples.items, 0, samples.size);
+            written = true;
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot save the ghost", e);
+        } finally {
+            // A stream that cannot be closed may not have written everything
+            written &= close(output);
+        }
+        if (!written) {
+            temporary.delete();
+            return false;
+        }
+        temporary.moveTo(best);
+        GameLog.info(TAG, "New best run of {} seconds", worldTimer);
+        return true;
+    }
+
+    /**
+     * Reads the world timer a saved run reached from its header.
+     *
+     * @param file The file of the run.
+     * @return The world timer, or -1 if the file is not a ghost of this version.
+     */
+    static int readWorldTimer(final FileHandle file) {
+        final byte[] bytes = new byte[HEADER_BYTES];
+        final InputStream input = file.read();
+        try {
+            final int length = input.read(bytes);
+            final ByteBuffer header = ByteBuffer.wrap(bytes);
+            if (length < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return -1;
+            }
+            return header.getInt();
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot read the ghost", e);
+            return -1;
+        } finally {
+            close(input);
+        }
+    }
+
+    /**
+     * Closes the file of a ghost, logging rather than throwing if it cannot be closed.
+     *
+     * @param stream The stream the file is read or written through.
+     * @return true if the stream was closed.
+     */
+    static boolean close(final Closeable stream) {
+        try {
+            stream.close();
+            return true;
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot close the ghost", e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the state a packed byte of a sample holds.
+     *
+     * @param packed The packed byte.
+     * @return The state of the Kid.
+     */
+    static DynamicB2BodySprite.State unpackState(final int packed) {
+        return STATES[packed & STATE_MASK];
+    }
+}
@@ -1,14 +1,15 @@
 package dev.jasper.game.tools;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.math.Vector2;
 import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
 import dev.jasper.game.sprites.dynamicSprites.Kid;
 
 /**
  * The InputHandler class is responsible for handling user input to control the player character in the game.
  * It includes methods for handling player jump and run actions.
+ * Input is read from an InputQueue once per simulation tick, so each press takes effect on the tick it happened in.
+ * A jump pressed shortly before landing is kept until the Kid lands, and a jump pressed shortly after running off
+ * a ledge is still allowed, so a jump is never lost to a frame boundary.
+ * Both are counted in ticks rather than time, so the same input always plays out the same.
  *
  * @author Jasper Wang
  * @version 2024
@@ -19,33 +20,93 @@ public final class InputHandler {
     private static final float INVINCIBLE_RUN_VELOCITY = 0.04f;
     private static final float NORMAL_RUN_VELOCITY = 0.1f;
     private static final int ABSOLUTE_HORIZONTAL_VELOCITY = 2;
+    // A jump is kept for 100 ms, and still allowed for 80 ms after the Kid leaves the ground
+    private static final int JUMP_BUFFER_TICKS = 6;
+    private static final int COYOTE_TICKS = 5;
     private final AbstractPlayer player;
+    private final InputQueue inputQueue;
+    private AutoPlayer autoPlayer;
+    private RunRecorder runRecorder;
+    private int tick;
+    private boolean jumpRequested;
+    private long jumpRequestTime;
+    private int jumpRequestTick;
+    private boolean mayJump;
+    private int lastGroundedTick;
 
     /**
      * Constructs an InputHandler instance.
      *
-     * @param player The player character in the game.
+     * @param player     The player character in the game.
+     * @param inputQueue The InputQueue the player's input is recorded in.
      */
-    public InputHandler(final AbstractPlayer player) {
+    public InputHandler(final AbstractPlayer player, final InputQueue inputQueue) {
         this.player = player;
+        this.inputQueue = inputQueue;
     }
 
     /**
-     * Handles the user input for controlling the player character.
+     * Lets an AutoPlayer press keys for the player. It plays each tick right before the tick's input is applied.
+     *
+     * @param newAutoPlayer The AutoPlayer, or null to leave the player to the keyboard and gamepad alone.
      */
-    public void handleInput() {
-        if (Gdx.input.isKeyJustPressed(Input.Keys.UP) && player.getState() != Kid.State.JUMPING
-                && player.getState() != Kid.State.FALLING) {
+    public void setAutoPlayer(final AutoPlayer newAutoPlayer) {
+        this.autoPlayer = newAutoPlayer;
+    }
 
-            handlePlayerJump();
+    /**
+     * Records the input applied every tick into a RunRecorder, from the next tick on.
+     *
+     * @param recorder The RunRecorder, or null to stop recording.
+     */
+    public void setRunRecorder(final RunRecorder recorder) {
+        this.runRecorder = recorder;
+    }
 
+    /**
+     * Handles the user input for controlling the player character during one simulation tick.
+     *
+     * @param tickEndNanos The time the tick ends at, on the TimeUtils.nanoTime clock.
+     */
+    public void handleInput(final long tickEndNanos) {
+        if (autoPlayer != null) {
+            autoPlayer.play(tickEndNanos);
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)
-                && player.getB2body().getLinearVelocity().x <= ABSOLUTE_HORIZONTAL_VELOCITY) {
+        inputQueue.advanceTo(tickEndNanos);
+        tick++;
+        if (runRecorder != null) {
+            runRecorder.record(NetProtocol.encodeInput(inputQueue));
+        }
+
+        if (inputQueue.wasPressed(InputQueue.Action.JUMP)) {
+            jumpRequested = true;
+            jumpRequestTime = inputQueue.getLastPressTime(InputQueue.Action.JUMP);
+            jumpRequestTick = tick;
+        }
+        if (player.getState() != Kid.State.JUMPING && player.getState() != Kid.State.FALLING) {
+            mayJump = true;
+            lastGroundedTick = tick;
+        }
+        // A buffered jump and coyote time both expire, so neither can fire long after the fact
+        if (jumpRequested && tick - jumpRequestTick >= JUMP_BUFFER_TICKS) {
+            jumpRequested = false;
+        }
+        if (mayJump && tick - lastGroundedTick >= COYOTE_TICKS) {
+            mayJump = false;
+        }
+        if (jumpRequested && mayJump) {
+            handlePlayerJump();
+            LatencyProbe.get().inputApplied(jumpRequestTime);
+            jumpRequested = false;
+            mayJump = false;
+        }
+
+        if (inputQueue.isActive(InputQueue.Action.RIGHT)
+                && player.getVelocityX() <= ABSOLUTE_HORIZONTAL_VELOCITY) {
             handlePlayerRun(true);
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)
-                && player.getB2body().getLinearVelocity().x >= -ABSOLUTE_HORIZONTAL_VELOCITY) {
+        if (inputQueue.isActive(InputQueue.Action.LEFT)
+                && player.getVelocityX() >= -ABSOLUTE_HORIZONTAL_VELOCITY) {
             handlePlayerRun(false);
         }
     }
@@ -58,8 +119,8 @@ public final class InputHandler {
             jumpVelocity = NORMAL_JUMP_VELOCITY;
         }
 
-        player.getB2body().applyLinearImpulse(new Vector2(0, jumpVelocity),
-                player.getB2body().getWorldCenter(), true);
+        // The body is a circle, so its position is also its center of mass
+        player.getB2body().applyLinearImpulse(0, jumpVelocity, player.getBodyX(), player.getBodyY(), true);
     }
 
     private void handlePlayerRun(final boolean isRunningRight) {
@@ -74,7 +135,6 @@ public final class InputHandler {
             speed = speed * -1;
         }
 
-        player.getB2body().applyLinearImpulse(new Vector2(speed, 0),
-                player.getB2body().getWorldCenter(), true);
+        player.getB2body().applyLinearImpulse(speed, 0, player.getBodyX(), player.getBodyY(), true);
     }
 }
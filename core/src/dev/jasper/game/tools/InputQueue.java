@@ -0,0 +1,201 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * The InputQueue class records the player's key and button events as they arrive, each with the time it happened.
+ * The simulation then consumes them tick by tick, so every event is applied on the tick it happened in,
+ * and a press and release that both fall between two frames still count as a press.
+ * Events are kept in a fixed ring buffer; if it ever fills up, the oldest event is applied early rather than lost.
+ * Events may be recorded on the rendering thread while the simulation thread consumes them.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class InputQueue extends InputAdapter {
+    private static final int CAPACITY = 128;
+    private static final int INDEX_MASK = CAPACITY - 1;
+    private final long[] times;
+    private final Action[] actions;
+    private final boolean[] presses;
+    private final boolean[] held;
+    private final boolean[] pressedThisTick;
+    private final long[] lastPressTimes;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty InputQueue with no action held.
+     */
+    public InputQueue() {
+        this.times = new long[CAPACITY];
+        this.actions = new Action[CAPACITY];
+        this.presses = new boolean[CAPACITY];
+        final int actionCount = Action.values().length;
+        this.held = new boolean[actionCount];
+        this.pressedThisTick = new boolean[actionCount];
+        this.lastPressTimes = new long[actionCount];
+    }
+
+    @Override
+    public boolean keyDown(final int keycode) {
+        return recordKey(keycode, true);
+    }
+
+    @Override
+    public boolean keyUp(final int keycode) {
+        return recordKey(keycode, false);
+    }
+
+    /**
+     * Records an action being pressed or released.
+     *
+     * @param action    The action.
+     * @param pressed   true if it was pressed, false if it was released.
+     * @param timeNanos When it happened, on the TimeUtils.nanoTime clock.
+     */
+    public synchronized void record(final Action action, final boolean pressed, final long timeNanos) {
+        if (size == CAPACITY) {
+            apply(head);
+            head = (head + 1) & INDEX_MASK;
+            size--;
+        }
+        final int index = (head + size) & INDEX_MASK;
+        times[index] = timeNanos;
+        actions[index] = action;
+        presses[index] = pressed;
+        size++;
+    }
+
+    /**
+     * Applies every event that happened up to the end of a simulation tick.
+     * Events that happened later stay queued for the ticks they belong to.
+     *
+     * @param tickEndNanos The time the tick ends at, on the TimeUtils.nanoTime clock.
+     */
+    public synchronized void advanceTo(final long tickEndNanos) {
+        for (int i = 0; i < pressedThisTick.length; i++) {
+            pressedThisTick[i] = false;
+        }
+        while (size > 0 && times[head] - tickEndNanos <= 0) {
+            apply(head);
+            head = (head + 1) & INDEX_MASK;
+            size--;
+        }
+    }
+
+    /**
+     * Returns whether an action is held down at the end of the current tick.
+     *
+     * @param action The action.
+     * @return true if the action is held.
+     */
+    public boolean isHeld(final Action action) {
+        return held[action.ordinal()];
+    }
+
+    /**
+     * Returns whether an action was pressed during the current tick, even if it was released again within it.
+     *
+     * @param action The action.
+     * @return true if the action was pressed during the tick.
+     */
+    public boolean wasPressed(final Action action) {
+        return pressedThisTick[action.ordinal()];
+    }
+
+    /**
+     * Returns whether an action should take effect during the current tick:
+     * it is held, or it was tapped for less than a tick.
+     *
+     * @param action The action.
+     * @return true if the action is active.
+     */
+    public boolean isActive(final Action action) {
+        return isHeld(action) || wasPressed(action);
+    }
+
+    /**
+     * Returns when an action was last pressed, as of the current tick.
+     *
+     * @param action The action.
+     * @return The time of the last press, on the TimeUtils.nanoTime clock.
+     */
+    public long getLastPressTime(final Action action) {
+        return lastPressTimes[action.ordinal()];
+    }
+
+    /**
+     * Drops every queued event and releases every action.
+     */
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+        for (int i = 0; i < held.length; i++) {
+            held[i] = false;
+            pressedThisTick[i] = false;
+        }
+    }
+
+    private boolean recordKey(final int keycode, final boolean pressed) {
+        final Action action = getAction(keycode);
+        if (action == null) {
+            return false;
+        }
+        // Backends stamp events when they arrive, which can be well before the frame that processes them
+        long time = Gdx.input.getCurrentEventTime();
+        if (time == 0) {
+            time = TimeUtils.nanoTime();
+        }
+        record(action, pressed, time);
+        return true;
+    }
+
+    private void apply(final int index) {
+        final int action = actions[index].ordinal();
+        if (presses[index]) {
+            if (!held[action]) {
+                pressedThisTick[action] = true;
+                lastPressTimes[action] = times[index];
+            }
+            held[action] = true;
+        } else {
+            held[action] = false;
+        }
+        actions[index] = null;
+    }
+
+    private static Action getAction(final int keycode) {
+        switch (keycode) {
+            case Input.Keys.UP:
+                return Action.JUMP;
+            case Input.Keys.LEFT:
+                return Action.LEFT;
+            case Input.Keys.RIGHT:
+                return Action.RIGHT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The actions the player can take, whichever device they come from.
+     */
+    public enum Action {
+        /**
+         * Run left.
+         */
+        LEFT,
+        /**
+         * Run right.
+         */
+        RIGHT,
+        /**
+         * Jump.
+         */
+        JUMP
+    }
+}
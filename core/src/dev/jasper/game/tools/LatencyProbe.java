@@ -0,0 +1,196 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The LatencyProbe class measures input-to-photon latency while the game is played.
+ * When enabled, it injects a synthetic jump into the InputQueue at regular intervals and follows it through
+ * the simulation tick that applies it, the frame that is submitted with its effect,
+ * and the start of the next frame, by which time that frame has been swapped to the screen.
+ * After a batch of samples, the latency distribution is logged together with the device and the frame-rate cap,
+ * and the next frame-rate cap to measure is applied.
+ * The jumps change how the game plays out, so they are only injected into games that are not recorded.
+ * The simulation may apply the jump on its own thread, so the probe is only read and written under its lock.
+ * It is disabled by default, in which case every call returns immediately.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LatencyProbe {
+    private static final String TAG = "LatencyProbe";
+    private static final int SAMPLES_PER_SETTING = 50;
+    private static final long INJECT_INTERVAL_NANOS = TimeUtils.millisToNanos(750);
+    private static final long SAMPLE_TIMEOUT_NANOS = TimeUtils.millisToNanos(1000);
+    private static final float NANOS_PER_TENTH_MILLI = 1e5f;
+    private static final float TENTHS = 10f;
+    /**
+     * The percentiles reported besides the max. With a batch of samples, any higher percentile would be the max.
+     */
+    private static final int[] PERCENTILES = {50, 90};
+    private static final int PERCENT = 100;
+    private static final int[] DEFAULT_FRAME_RATES = {60, 30, 0};
+    private static LatencyProbe instance = new LatencyProbe(null);
+    private final int[] frameRates;
+    private final long[] submitLatencies;
+    private final long[] presentLatencies;
+    private int sampleCount;
+    private int settingIndex;
+    private boolean frameRateApplied;
+    private Stage stage;
+    private long inputTime;
+    private long submitLatency;
+    private long lastInjectTime;
+
+    private LatencyProbe(final int[] frameRates) {
+        this.frameRates = frameRates;
+        this.submitLatencies = new long[SAMPLES_PER_SETTING];
+        this.presentLatencies = new long[SAMPLES_PER_SETTING];
+        this.stage = Stage.IDLE;
+    }
+
+    /**
+     * Returns the LatencyProbe in use.
+     *
+     * @return The LatencyProbe, which does nothing unless it has been enabled.
+     */
+    public static LatencyProbe get() {
+        return instance;
+    }
+
+    /**
+     * Enables latency measurement. Called by a platform launcher before the game starts.
+     * Each frame-rate cap is measured in turn, starting over after the last one.
+     *
+     * @param frameRates The frame-rate caps to measure, where 0 means uncapped; 60, 30 and uncapped if none are given.
+     */
+    public static void enable(final int... frameRates) {
+        instance = new LatencyProbe(frameRates.length == 0 ? DEFAULT_FRAME_RATES.clone() : frameRates.clone());
+    }
+
+    /**
+     * Returns whether latency is being measured.
+     *
+     * @return true if the probe is enabled.
+     */
+    public boolean isEnabled() {
+        return frameRates != null;
+    }
+
+    /**
+     * Marks the start of a frame. The previous frame has been swapped by now,
+     * so a sample submitted with it is complete.
+     */
+    public synchronized void frameStarted() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!frameRateApplied) {
+            applyFrameRate();
+        }
+        if (stage == Stage.SUBMITTED) {
+            submitLatencies[sampleCount] = submitLatency;
+            presentLatencies[sampleCount] = TimeUtils.nanoTime() - inputTime;
+            sampleCount++;
+            stage = Stage.IDLE;
+            if (sampleCount == SAMPLES_PER_SETTING) {
+                report();
+                sampleCount = 0;
+                settingIndex = (settingIndex + 1) % frameRates.length;
+                applyFrameRate();
+            }
+        }
+    }
+
+    /**
+     * Injects a synthetic jump if it is time for the next sample.
+     * A jump that was never applied, for example because the Kid was in the air, is dropped after a while.
+     * Only called for games whose input is not recorded, so no recorded run or ghost contains the jumps.
+     *
+     * @param inputQueue The InputQueue the player's input is recorded in.
+     */
+    public synchronized void injectInput(final InputQueue inputQueue) {
+        if (!isEnabled()) {
+            return;
+        }
+        final long now = TimeUtils.nanoTime();
+        if (stage == Stage.INJECTED && now - inputTime > SAMPLE_TIMEOUT_NANOS) {
+            stage = Stage.IDLE;
+        }
+        if (stage == Stage.IDLE && now - lastInjectTime >= INJECT_INTERVAL_NANOS) {
+            inputTime = now;
+            lastInjectTime = now;
+            inputQueue.record(InputQueue.Action.JUMP, true, now);
+            inputQueue.record(InputQueue.Action.JUMP, false, now + 1);
+            stage = Stage.INJECTED;
+        }
+    }
+
+    /**
+     * Marks a jump as applied by the simulation.
+     *
+     * @param pressTime The time of the press that caused the jump.
+     */
+    public synchronized void inputApplied(final long pressTime) {
+        if (stage == Stage.INJECTED && pressTime == inputTime) {
+            stage = Stage.APPLIED;
+        }
+    }
+
+    /**
+     * Marks the end of a frame's submission to the GPU.
+     */
+    public synchronized void frameSubmitted() {
+        if (stage == Stage.APPLIED) {
+            submitLatency = TimeUtils.nanoTime() - inputTime;
+            stage = Stage.SUBMITTED;
+        }
+    }
+
+    private void applyFrameRate() {
+        Gdx.graphics.setForegroundFPS(frameRates[settingIndex]);
+        frameRateApplied = true;
+    }
+
+    private void report() {
+        // Nothing is built unless it is going to be written
+        if (!GameLog.isEnabled(GameLog.INFO)) {
+            return;
+        }
+        Arrays.sort(submitLatencies);
+        Arrays.sort(presentLatencies);
+        final StringBuilder message = new StringBuilder()
+                .append("device=").append(Gdx.app.getType())
+                .append(" os=").append(Gdx.app.getVersion())
+                .append(" gpu=").append(Gdx.graphics.getGLVersion().getRendererString())
+                .append(" fpsCap=").append(frameRates[settingIndex])
+                .append(" fps=").append(Gdx.graphics.getFramesPerSecond())
+                .append(" samples=").append(SAMPLES_PER_SETTING);
+        appendDistribution(message, " submit", submitLatencies);
+        appendDistribution(message, " present", presentLatencies);
+        GameLog.info(TAG, message.toString());
+    }
+
+    private static void appendDistribution(final StringBuilder message, final String name, final long[] sorted) {
+        message.append(name).append("[ms]");
+        for (int percentile : PERCENTILES) {
+            message.append(" p").append(percentile).append('=')
+                    .append(toMillis(sorted[sorted.length * percentile / PERCENT]));
+        }
+        message.append(" max=").append(toMillis(sorted[sorted.length - 1]));
+    }
+
+    private static float toMillis(final long nanos) {
+        // Rounded to a tenth of a millisecond, which is finer than any frame
+        return Math.round(nanos / NANOS_PER_TENTH_MILLI) / TENTHS;
+    }
+
+    private enum Stage {
+        IDLE,
+        INJECTED,
+        APPLIED,
+        SUBMITTED
+    }
+}
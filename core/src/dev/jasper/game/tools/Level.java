@@ -0,0 +1,99 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The Level class pairs the data of a loaded level with the TiledMap its tile layers are rendered from,
+ * and with the NavigationGraph and OccupancyGrid of its static geometry, which are built while the level loads.
+ * Its ParallaxBackground needs the rendering thread, so it is baked the first time a screen shows the level.
+ * Levels are loaded and owned by a LevelManager, so games never dispose them themselves.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class Level implements Disposable {
+    private final LevelData data;
+    private final TiledMap map;
+    private final NavigationGraph navigationGraph;
+    private final OccupancyGrid occupancyGrid;
+    private ParallaxBackground background;
+
+    /**
+     * Constructs a Level instance.
+     *
+     * @param data The data of the level.
+     * @param map  The TiledMap the tile layers of the level are rendered from.
+     */
+    public Level(final LevelData data, final TiledMap map) {
+        this.data = data;
+        this.map = map;
+        this.navigationGraph = new NavigationGraph(data);
+        this.occupancyGrid = new OccupancyGrid(data);
+    }
+
+    /**
+     * Returns the data of the level.
+     *
+     * @return The LevelData of the level.
+     */
+    public LevelData getData() {
+        return data;
+    }
+
+    /**
+     * Returns the TiledMap the tile layers of the level are rendered from.
+     *
+     * @return The TiledMap of the level.
+     */
+    public TiledMap getMap() {
+        return map;
+    }
+
+    /**
+     * Returns the NavigationGraph of the level's ground, which every game in the level shares.
+     *
+     * @return The NavigationGraph of the level.
+     */
+    public NavigationGraph getNavigationGraph() {
+        return navigationGraph;
+    }
+
+    /**
+     * Returns the OccupancyGrid of the level's ground and enemy boundaries, which every game in the level shares.
+     *
+     * @return The OccupancyGrid of the level.
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        return occupancyGrid;
+    }
+
+    /**
+     * Returns the backdrop of the level, baking it the first time it is asked for,
+     * so restarting a game in the level reuses it.
+     * Must be called on the rendering thread while the batch has not begun.
+     *
+     * @param batch The batch used to bake the backdrop layers.
+     * @return The ParallaxBackground of the level.
+     */
+    public ParallaxBackground getBackground(final Batch batch) {
+        if (background == null) {
+            background = new ParallaxBackground(map, batch);
+        }
+        return background;
+    }
+
+    /**
+     * Disposes of the TiledMap and the backdrop, if it was baked. The map's textures belong to the AssetManager
+     * that loaded the level.
+     */
+    @Override
+    public void dispose() {
+        if (background != null) {
+            background.dispose();
+            background = null;
+        }
+        map.dispose();
+    }
+}
@@ -0,0 +1,339 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import java.nio.IntBuffer;
+
+/**
+ * The LevelData class holds everything the game needs from a level as plain fields:
+ * its size, its tileset, the tile grids of its tile layers, its collision geometry and its spawn spots.
+ * Tile grids are stored row by row starting at the top row, the same way Tiled stores them,
+ * while all rectangles are in pixels with the origin at the bottom left, the same way libGDX uses them.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LevelData {
+    private static final float MERGE_EPSILON = .01f;
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final Tileset tileset;
+    private final Array<String> tileLayerNames;
+    private final Array<IntBuffer> tileLayers;
+    private final Array<Rectangle> ground;
+    private final Array<Rectangle> enemyBoundaries;
+    private final Array<Rectangle> snowballSpawnSpots;
+
+    /**
+     * Constructs an empty LevelData instance.
+     *
+     * @param width      The width of the level in tiles.
+     * @param height     The height of the level in tiles.
+     * @param tileWidth  The width of one tile in pixels.
+     * @param tileHeight The height of one tile in pixels.
+     * @param tileset    The tileset the tile layers refer to.
+     */
+    public LevelData(final int width, final int height, final int tileWidth, final int tileHeight,
+                     final Tileset tileset) {
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileset = tileset;
+        this.tileLayerNames = new Array<>();
+        this.tileLayers = new Array<>();
+        this.ground = new Array<>();
+        this.enemyBoundaries = new Array<>();
+        this.snowballSpawnSpots = new Array<>();
+    }
+
+    /**
+     * Returns the width of the level in tiles.
+     *
+     * @return The width of the level in tiles.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the level in tiles.
+     *
+     * @return The height of the level in tiles.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the width of one tile in pixels.
+     *
+     * @return The width of one tile in pixels.
+     */
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * Returns the height of one tile in pixels.
+     *
+     * @return The height of one tile in pixels.
+     */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * Returns the width of the level in pixels.
+     *
+     * @return The width of the level in pixels.
+     */
+    public int getPixelWidth() {
+        return width * tileWidth;
+    }
+
+    /**
+     * Returns the height of the level in pixels.
+     *
+     * @return The height of the level in pixels.
+     */
+    public int getPixelHeight() {
+        return height * tileHeight;
+    }
+
+    /**
+     * Returns the tileset the tile layers refer to.
+     *
+     * @return The tileset of the level.
+     */
+    public Tileset getTileset() {
+        return tileset;
+    }
+
+    /**
+     * Adds a tile layer on top of the existing ones.
+     *
+     * @param name The name of the layer.
+     * @param gids The global tile ids of the layer, width times height of them, starting at the top row.
+     */
+    public void addTileLayer(final String name, final IntBuffer gids) {
+        if (gids.remaining() != width * height) {
+            throw new IllegalArgumentException("Tile layer " + name + " has " + gids.remaining()
+                    + " tiles instead of " + width * height);
+        }
+        tileLayerNames.add(name);
+        tileLayers.add(gids);
+    }
+
+    /**
+     * Returns the number of tile layers in the level.
+     *
+     * @return The number of tile layers.
+     */
+    public int getTileLayerCount() {
+        return tileLayers.size;
+    }
+
+    /**
+     * Returns the name of a tile layer.
+     *
+     * @param layer The index of the layer, from the bottom.
+     * @return The name of the layer.
+     */
+    public String getTileLayerName(final int layer) {
+        return tileLayerNames.get(layer);
+    }
+
+    /**
+     * Returns the global tile ids of a tile layer, starting at the top row.
+     * The buffer may be a view on the level file, so it must only be read with absolute gets.
+     *
+     * @param layer The index of the layer, from the bottom.
+     * @return The global tile ids of the layer.
+     */
+    public IntBuffer getTileLayer(final int layer) {
+        return tileLayers.get(layer);
+    }
+
+    /**
+     * Returns the global tile id of one cell, including the flip flags set by Tiled.
+     *
+     * @param layer  The index of the layer, from the bottom.
+     * @param column The column of the cell, from the left.
+     * @param row    The row of the cell, from the top.
+     * @return The global tile id of the cell, or 0 if it is empty.
+     */
+    public int getTile(final int layer, final int column, final int row) {
+        final IntBuffer gids = tileLayers.get(layer);
+        return gids.get(gids.position() + row * width + column);
+    }
+
+    /**
+     * Returns the ground rectangles of the level.
+     *
+     * @return The ground rectangles in pixels.
+     */
+    public Array<Rectangle> getGround() {
+        return ground;
+    }
+
+    /**
+     * Returns the rectangles that keep enemies on their platforms.
+     *
+     * @return The enemy boundary rectangles in pixels.
+     */
+    public Array<Rectangle> getEnemyBoundaries() {
+        return enemyBoundaries;
+    }
+
+    /**
+     * Returns the areas snowballs can spawn in.
+     *
+     * @return The snowball spawn spot rectangles in pixels.
+     */
+    public Array<Rectangle> getSnowballSpawnSpots() {
+        return snowballSpawnSpots;
+    }
+
+    /**
+     * Merges ground rectangles that line up and touch, and drops the ones covered by another rectangle,
+     * so that fewer static bodies are needed for the same collision geometry.
+     * Merged rectangles never grow wider than maxWidth, so they can still be streamed in chunks.
+     *
+     * @param maxWidth The widest a merged rectangle may become, in pixels.
+     */
+    public void mergeGround(final float maxWidth) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < ground.size && !merged; i++) {
+                for (int j = 0; j < ground.size && !merged; j++) {
+                    if (i != j && canMerge(ground.get(i), ground.get(j), maxWidth)) {
+                        ground.get(i).merge(ground.get(j));
+                        ground.removeIndex(j);
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean canMerge(final Rectangle a, final Rectangle b, final float maxWidth) {
+        if (a.contains(b)) {
+            return true;
+        }
+        final boolean sameRow = isAligned(a.y, b.y) && isAligned(a.height, b.height);
+        final boolean touchesRight = isAligned(a.x + a.width, b.x);
+        if (sameRow && touchesRight && a.width + b.width <= maxWidth) {
+            return true;
+        }
+        final boolean sameColumn = isAligned(a.x, b.x) && isAligned(a.width, b.width);
+        return sameColumn && isAligned(a.y + a.height, b.y);
+    }
+
+    private static boolean isAligned(final float a, final float b) {
+        return MathUtils.isEqual(a, b, MERGE_EPSILON);
+    }
+
+    /**
+     * The Tileset class describes the single tileset image a level's tiles are cut from.
+     */
+    public static final class Tileset {
+        private final String imagePath;
+        private final int firstGid;
+        private final int columns;
+        private final int tileCount;
+        private final int margin;
+        private final int spacing;
+
+        /**
+         * Constructs a Tileset instance.
+         *
+         * @param imagePath The path of the tileset image, relative to the assets folder.
+         * @param firstGid  The global tile id of the first tile in the tileset.
+         * @param columns   The number of tile columns in the image.
+         * @param tileCount The number of tiles in the image.
+         * @param margin    The margin around the tiles in pixels.
+         * @param spacing   The spacing between the tiles in pixels.
+         */
+        public Tileset(final String imagePath, final int firstGid, final int columns, final int tileCount,
+                       final int margin, final int spacing) {
+            this.imagePath = imagePath;
+            this.firstGid = firstGid;
+            this.columns = columns;
+            this.tileCount = tileCount;
+            this.margin = margin;
+            this.spacing = spacing;
+        }
+
+        /**
+         * Returns the path of the tileset image, relative to the assets folder.
+         *
+         * @return The path of the tileset image.
+         */
+        public String getImagePath() {
+            return imagePath;
+        }
+
+        /**
+         * Returns the file name of the tileset image without folder or extension,
+         * which is also the name of its tiles in a packed atlas.
+         *
+         * @return The name of the tileset image.
+         */
+        public String getImageName() {
+            final int start = imagePath.lastIndexOf('/') + 1;
+            final int dot = imagePath.lastIndexOf('.');
+            return imagePath.substring(start, dot < start ? imagePath.length() : dot);
+        }
+
+        /**
+         * Returns the global tile id of the first tile in the tileset.
+         *
+         * @return The first global tile id.
+         */
+        public int getFirstGid() {
+            return firstGid;
+        }
+
+        /**
+         * Returns the number of tile columns in the image.
+         *
+         * @return The number of tile columns.
+         */
+        public int getColumns() {
+            return columns;
+        }
+
+        /**
+         * Returns the number of tiles in the image.
+         *
+         * @return The number of tiles.
+         */
+        public int getTileCount() {
+            return tileCount;
+        }
+
+        /**
+         * Returns the margin around the tiles in pixels.
+         *
+         * @return The margin in pixels.
+         */
+        public int getMargin() {
+            return margin;
+        }
+
+        /**
+         * Returns the spacing between the tiles in pixels.
+         *
+         * @return The spacing in pixels.
+         */
+        public int getSpacing() {
+            return spacing;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The LevelFormat class reads and writes the compiled binary form of a level.
+ * The file is a header followed by the tileset, the tile layers and the rectangle lists, all big-endian.
+ * Tile layers are stored as raw int grids, so reading a level hands out views on the buffer
+ * instead of copying or decoding the tiles.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LevelFormat {
+    /**
+     * The first four bytes of every compiled level, "BOBL" in ASCII.
+     */
+    public static final int MAGIC = 0x424F424C;
+    /**
+     * The version of the format written by this class. Levels of any other version are rejected.
+     */
+    public static final int VERSION = 1;
+    private static final String CHARSET = "UTF-8";
+    private static final int HEADER_INTS = 6;
+    private static final int TILESET_INTS = 5;
+    private static final int RECTANGLE_FLOATS = 4;
+
+    private LevelFormat() {
+    }
+
+    /**
+     * Reads a compiled level from a buffer, starting at the buffer's position.
+     * The tile layers of the returned level are views on the buffer, so the buffer must not be changed afterwards.
+     *
+     * @param buffer The buffer holding the compiled level.
+     * @return The level.
+     * @throws GdxRuntimeException If the buffer does not hold a compiled level of this version.
+     */
+    public static LevelData read(final ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled level");
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Compiled level has version " + version + ", expected " + VERSION
+                    + "; recompile the levels");
+        }
+        final int width = buffer.getInt();
+        final int height = buffer.getInt();
+        final int tileWidth = buffer.getInt();
+        final int tileHeight = buffer.getInt();
+        final String imagePath = readString(buffer);
+        final LevelData.Tileset tileset = new LevelData.Tileset(imagePath, buffer.getInt(), buffer.getInt(),
+                buffer.getInt(), buffer.getInt(), buffer.getInt());
+        final LevelData level = new LevelData(width, height, tileWidth, tileHeight, tileset);
+
+        final int layerCount = buffer.getInt();
+        final int tilesPerLayer = width * height;
+        for (int i = 0; i < layerCount; i++) {
+            final String name = readString(buffer);
+            final IntBuffer gids = buffer.slice().asIntBuffer();
+            gids.limit(tilesPerLayer);
+            level.addTileLayer(name, gids);
+            buffer.position(buffer.position() + tilesPerLayer * Integer.BYTES);
+        }
+        readRectangles(buffer, level.getGround());
+        readRectangles(buffer, level.getEnemyBoundaries());
+        readRectangles(buffer, level.getSnowballSpawnSpots());
+        return level;
+    }
+
+    /**
+     * Returns the number of bytes the compiled form of a level takes up.
+     *
+     * @param level The level.
+     * @return The size of the compiled level in bytes.
+     */
+    public static int getEncodedSize(final LevelData level) {
+        // The header, the tileset numbers and the layer count
+        int size = (HEADER_INTS + TILESET_INTS + 1) * Integer.BYTES
+                + getEncodedSize(level.getTileset().getImagePath());
+        for (int i = 0; i < level.getTileLayerCount(); i++) {
+            size += getEncodedSize(level.getTileLayerName(i))
+                    + level.getWidth() * level.getHeight() * Integer.BYTES;
+        }
+        size += getEncodedSize(level.getGround()) + getEncodedSize(level.getEnemyBoundaries())
+                + getEncodedSize(level.getSnowballSpawnSpots());
+        return size;
+    }
+
+    /**
+     * Writes the compiled form of a level into a buffer, starting at the buffer's position.
+     *
+     * @param level  The level.
+     * @param buffer The buffer, with at least getEncodedSize(level) bytes remaining.
+     */
+    public static void write(final LevelData level, final ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(level.getWidth());
+        buffer.putInt(level.getHeight());
+        buffer.putInt(level.getTileWidth());
+        buffer.putInt(level.getTileHeight());
+        final LevelData.Tileset tileset = level.getTileset();
+        writeString(buffer, tileset.getImagePath());
+        buffer.putInt(tileset.getFirstGid());
+        buffer.putInt(tileset.getColumns());
+        buffer.putInt(tileset.getTileCount());
+        buffer.putInt(tileset.getMargin());
+        buffer.putInt(tileset.getSpacing());
+
+        buffer.putInt(level.getTileLayerCount());
+        for (int i = 0; i < level.getTileLayerCount(); i++) {
+            writeString(buffer, level.getTileLayerName(i));
+            for (int row = 0; row < level.getHeight(); row++) {
+                for (int column = 0; column < level.getWidth(); column++) {
+                    buffer.putInt(level.getTile(i, column, row));
+                }
+            }
+        }
+        writeRectangles(buffer, level.getGround());
+        writeRectangles(buffer, level.getEnemyBoundaries());
+        writeRectangles(buffer, level.getSnowballSpawnSpots());
+    }
+
+    private static void readRectangles(final ByteBuffer buffer, final Array<Rectangle> rectangles) {
+        final int count = buffer.getInt();
+        rectangles.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            rectangles.add(new Rectangle(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat()));
+        }
+    }
+
+    private static void writeRectangles(final ByteBuffer buffer, final Array<Rectangle> rectangles) {
+        buffer.putInt(rectangles.size);
+        for (Rectangle rect : rectangles) {
+            buffer.putFloat(rect.x);
+            buffer.putFloat(rect.y);
+            buffer.putFloat(rect.width);
+            buffer.putFloat(rect.height);
+        }
+    }
+
+    private static int getEncodedSize(final Array<Rectangle> rectangles) {
+        return Integer.BYTES + rectangles.size * RECTANGLE_FLOATS * Float.BYTES;
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        try {
+            return new String(bytes, CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    private static void writeString(final ByteBuffer buffer, final String value) {
+        final byte[] bytes = getBytes(value);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static int getEncodedSize(final String value) {
+        return Integer.BYTES + getBytes(value).length;
+    }
+
+    private static byte[] getBytes(final String value) {
+        try {
+            return value.getBytes(CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The LevelLoader class turns level files into LevelData and LevelData into a TiledMap that can be rendered.
+ * Compiled levels are memory-mapped where the platform allows it and read into memory otherwise.
+ * Levels that have not been compiled are read from their TMX file through the TiledMap that libGDX loads.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LevelLoader {
+    /**
+     * The name of the object layer holding the ground rectangles.
+     */
+    public static final String GROUND_LAYER = "ground";
+    /**
+     * The name of the object layer holding the enemy boundary rectangles.
+     */
+    public static final String ENEMY_BOUNDARY_LAYER = "enemyBoundary";
+    /**
+     * The name of the object layer holding the snowball spawn spots.
+     */
+    public static final String SNOWBALL_SPAWN_LAYER = "snowballSpawnSpots";
+    private static final int FLIPPED_HORIZONTALLY = 0x80000000;
+    private static final int FLIPPED_VERTICALLY = 0x40000000;
+    private static final int FLIPPED_DIAGONALLY = 0x20000000;
+    private static final int GID_MASK = ~(FLIPPED_HORIZONTALLY | FLIPPED_VERTICALLY | FLIPPED_DIAGONALLY);
+
+    private LevelLoader() {
+    }
+
+    /**
+     * Loads a compiled level.
+     * The file is memory-mapped, so the tiles are never copied on platforms that support it.
+     *
+     * @param file The compiled level file.
+     * @return The level.
+     */
+    public static LevelData load(final FileHandle file) {
+        ByteBuffer buffer;
+        try {
+            buffer = file.map();
+        } catch (GdxRuntimeException e) {
+            // Files inside a jar, an APK or a web page cannot be mapped
+            buffer = ByteBuffer.wrap(file.readBytes());
+        }
+        return LevelFormat.read(buffer);
+    }
+
+    /**
+     * Extracts the level data from a TiledMap loaded from TMX.
+     * The rectangles are copied, so the map objects are left untouched.
+     *
+     * @param map The TiledMap.
+     * @return The level.
+     */
+    public static LevelData fromTiledMap(final TiledMap map) {
+        final MapProperties prop = map.getProperties();
+        final int width = prop.get("width", Integer.class);
+        final int height = prop.get("height", Integer.class);
+        final int tileWidth = prop.get("tilewidth", Integer.class);
+        final int tileHeight = prop.get("tileheight", Integer.class);
+
+        final TiledMapTileSet tileSet = map.getTileSets().getTileSet(0);
+        final MapProperties tileSetProp = tileSet.getProperties();
+        final int margin = tileSetProp.get("margin", 0, Integer.class);
+        final int spacing = tileSetProp.get("spacing", 0, Integer.class);
+        final int imageWidth = tileSetProp.get("imagewidth", Integer.class);
+        final LevelData.Tileset tileset = new LevelData.Tileset(tileSetProp.get("imagesource", String.class),
+                tileSetProp.get("firstgid", Integer.class), (imageWidth - 2 * margin + spacing) / (tileWidth + spacing),
+                tileSet.size(), margin, spacing);
+
+        final LevelData level = new LevelData(width, height, tileWidth, tileHeight, tileset);
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) {
+                level.addTileLayer(layer.getName(), readTiles((TiledMapTileLayer) layer));
+            }
+        }
+        copyRectangles(map, GROUND_LAYER, level.getGround());
+        copyRectangles(map, ENEMY_BOUNDARY_LAYER, level.getEnemyBoundaries());
+        copyRectangles(map, SNOWBALL_SPAWN_LAYER, level.getSnowballSpawnSpots());
+        return level;
+    }
+
+    /**
+     * Builds a TiledMap holding the tile layers of a level, for rendering, cutting the tiles from the tileset image.
+     * No GL calls are made, so the map can be built off the render thread once the texture exists.
+     * The texture stays owned by the caller.
+     *
+     * @param level   The level.
+     * @param texture The texture of the level's tileset image.
+     * @return A TiledMap with one tile layer per tile layer of the level.
+     */
+    public static TiledMap createTiledMap(final LevelData level, final Texture texture) {
+        final LevelData.Tileset tileset = level.getTileset();
+        final TiledMapTileSet tileSet = new TiledMapTileSet();
+        for (int i = 0; i < tileset.getTileCount(); i++) {
+            final int x = tileset.getMargin() + i % tileset.getColumns() * (level.getTileWidth() + tileset.getSpacing());
+            final int y = tileset.getMargin() + i / tileset.getColumns() * (level.getTileHeight() + tileset.getSpacing());
+            putTile(tileSet, tileset.getFirstGid() + i,
+                    new TextureRegion(texture, x, y, level.getTileWidth(), level.getTileHeight()));
+        }
+        return createTiledMap(level, tileSet);
+    }
+
+    /**
+     * Builds a TiledMap holding the tile layers of a level, for rendering, taking the tiles from a packed atlas.
+     * The atlas holds one region per tile, named after the tileset image and indexed by the tile's position in it,
+     * so the map shares its texture pages with everything else packed into the atlas.
+     * The atlas stays owned by the caller.
+     *
+     * @param level The level.
+     * @param atlas The packed atlas holding the tiles.
+     * @return A TiledMap with one tile layer per tile layer of the level.
+     */
+    public static TiledMap createTiledMap(final LevelData level, final TextureAtlas atlas) {
+        final LevelData.Tileset tileset = level.getTileset();
+        final String regionName = tileset.getImageName();
+        final TiledMapTileSet tileSet = new TiledMapTileSet();
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()) {
+            // Blank tiles are not packed, so they simply stay empty
+            if (region.index >= 0 && region.index < tileset.getTileCount() && region.name.equals(regionName)) {
+                putTile(tileSet, tileset.getFirstGid() + region.index, region);
+            }
+        }
+        return createTiledMap(level, tileSet);
+    }
+
+    private static void putTile(final TiledMapTileSet tileSet, final int gid, final TextureRegion region) {
+        final TiledMapTile tile = new StaticTiledMapTile(region);
+        tile.setId(gid);
+        tileSet.putTile(gid, tile);
+    }
+
+    private static TiledMap createTiledMap(final LevelData level, final TiledMapTileSet tileSet) {
+        final TiledMap map = new TiledMap();
+        map.getTileSets().addTileSet(tileSet);
+        for (int i = 0; i < level.getTileLayerCount(); i++) {
+            final TiledMapTileLayer layer = new TiledMapTileLayer(level.getWidth(), level.getHeight(),
+                    level.getTileWidth(), level.getTileHeight());
+            layer.setName(level.getTileLayerName(i));
+            for (int row = 0; row < level.getHeight(); row++) {
+                for (int column = 0; column < level.getWidth(); column++) {
+                    final int gid = level.getTile(i, column, row);
+                    final TiledMapTile tile = tileSet.getTile(gid & GID_MASK);
+                    if (tile != null) {
+                        // Tiled counts rows from the top, libGDX from the bottom
+                        layer.setCell(column, level.getHeight() - 1 - row, createCell(tile, gid));
+                    }
+                }
+            }
+            map.getLayers().add(layer);
+        }
+        return map;
+    }
+
+    private static TiledMapTileLayer.Cell createCell(final TiledMapTile tile, final int gid) {
+        final TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        cell.setTile(tile);
+        final boolean flipHorizontally = (gid & FLIPPED_HORIZONTALLY) != 0;
+        final boolean flipVertically = (gid & FLIPPED_VERTICALLY) != 0;
+        // Same mapping of Tiled's flip flags onto rotations as the TMX loader uses
+        if ((gid & FLIPPED_DIAGONALLY) != 0) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    private static IntBuffer readTiles(final TiledMapTileLayer layer) {
+        final int width = layer.getWidth();
+        final int height = layer.getHeight();
+        final IntBuffer gids = IntBuffer.allocate(width * height);
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                final TiledMapTileLayer.Cell cell = layer.getCell(column, height - 1 - row);
+                if (cell != null) {
+                    // Rotations are not turned back into Tiled's diagonal flag, since no level uses them
+                    int gid = cell.getTile().getId();
+                    gid |= cell.getFlipHorizontally() ? FLIPPED_HORIZONTALLY : 0;
+                    gid |= cell.getFlipVertically() ? FLIPPED_VERTICALLY : 0;
+                    gids.put(row * width + column, gid);
+                }
+            }
+        }
+        return gids;
+    }
+
+    private static void copyRectangles(final TiledMap map, final String layerName, final Array<Rectangle> target) {
+        final MapLayer layer = map.getLayers().get(layerName);
+        if (layer == null) {
+            return;
+        }
+        for (RectangleMapObject object : layer.getObjects().getByType(RectangleMapObject.class)) {
+            target.add(new Rectangle(object.getRectangle()));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The LevelManager class loads the levels of the game and the atlas they share through an AssetManager.
+ * While a level is played, the next one is loaded in the background: the level file is read and its images
+ * are decoded on the AssetManager's worker thread, and each call to update uploads at most one finished asset,
+ * so the switch to the next level never has to wait for the disk or the decoder.
+ * Compiled levels are used when the build has produced them, otherwise levels are read from their TMX file.
+ * Likewise, compiled levels and the characters are drawn from one packed atlas when the build has produced it,
+ * so the map and the sprites share texture pages.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LevelManager implements Disposable {
+    private static final String PACKED_ATLAS_FILE = "packed/game.atlas";
+    private static final String CHARACTER_ATLAS_FILE = "Characters.atlas";
+    private static final String COMPILED_LEVEL_FOLDER = "levels/";
+    private static final String COMPILED_LEVEL_EXTENSION = ".level";
+    private static final String TMX_EXTENSION = ".tmx";
+    private final AssetManager assetManager;
+    private final String[] levelNames;
+    private final String atlasFile;
+    private final CompiledLevelLoader.Parameters compiledLevelParameters;
+    private int currentIndex;
+    private String currentFile;
+    private String nextFile;
+
+    /**
+     * Constructs a LevelManager instance.
+     *
+     * @param levelNames The names of the levels in the order they are played, without folder or extension.
+     */
+    public LevelManager(final String... levelNames) {
+        final FileHandleResolver resolver = new InternalFileHandleResolver();
+        this.assetManager = ResourceTracker.track(new AssetManager(resolver), "AssetManager");
+        assetManager.setLoader(Level.class, COMPILED_LEVEL_EXTENSION, new CompiledLevelLoader(resolver));
+        assetManager.setLoader(Level.class, TMX_EXTENSION, new TmxLevelLoader(resolver));
+        this.levelNames = levelNames;
+        this.currentIndex = -1;
+        this.compiledLevelParameters = new CompiledLevelLoader.Parameters();
+        // Tiles and characters share the packed atlas when the build has produced one
+        if (Gdx.files.internal(PACKED_ATLAS_FILE).exists()) {
+            atlasFile = PACKED_ATLAS_FILE;
+            compiledLevelParameters.atlasFile = PACKED_ATLAS_FILE;
+        } else {
+            atlasFile = CHARACTER_ATLAS_FILE;
+        }
+    }
+
+    /**
+     * Loads the atlas and the first level, blocking until both are ready.
+     * Used once at start-up, when there is no level being played yet to hide the loading behind.
+     *
+     * @return The first level.
+     */
+    public Level loadFirstLevel() {
+        assetManager.load(atlasFile, TextureAtlas.class);
+        currentIndex = 0;
+        currentFile = getFileName(currentIndex);
+        loadLevel(currentFile);
+        assetManager.finishLoading();
+        return assetManager.get(currentFile, Level.class);
+    }
+
+    /**
+     * Returns which level is the current one.
+     *
+     * @return The index of the current level in the names the LevelManager was constructed with.
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    /**
+     * Returns the texture atlas shared by all levels.
+     *
+     * @return The TextureAtlas of the characters.
+     */
+    public TextureAtlas getAtlas() {
+        return assetManager.get(atlasFile, TextureAtlas.class);
+    }
+
+    /**
+     * Starts loading the level that follows the current one in the background.
+     * Does nothing if it is already being loaded.
+     */
+    public void preloadNextLevel() {
+        if (nextFile != null) {
+            return;
+        }
+        nextFile = getFileName((currentIndex + 1) % levelNames.length);
+        loadLevel(nextFile);
+    }
+
+    /**
+     * Advances background loading by one step without blocking. Call once per frame.
+     *
+     * @return true if the next level has finished loading.
+     */
+    public boolean update() {
+        assetManager.update();
+        return isNextLevelReady();
+    }
+
+    /**
+     * Returns whether the next level has finished loading.
+     *
+     * @return true if the next level is loaded.
+     */
+    public boolean isNextLevelReady() {
+        return nextFile != null && assetManager.isLoaded(nextFile, Level.class);
+    }
+
+    /**
+     * Makes the next level the current one and releases the previous one.
+     * If the next level has not finished loading yet, this waits for it.
+     *
+     * @return The new current level.
+     */
+    public Level advance() {
+        preloadNextLevel();
+        assetManager.finishLoadingAsset(nextFile);
+        // The previous game is over, so nothing refers to its level anymore
+        assetManager.unload(currentFile);
+        currentIndex = (currentIndex + 1) % levelNames.length;
+        currentFile = nextFile;
+        nextFile = null;
+        return assetManager.get(currentFile, Level.class);
+    }
+
+    private void loadLevel(final String fileName) {
+        if (fileName.endsWith(COMPILED_LEVEL_EXTENSION)) {
+            assetManager.load(fileName, Level.class, compiledLevelParameters);
+        } else {
+            assetManager.load(fileName, Level.class);
+        }
+    }
+
+    private String getFileName(final int index) {
+        final String compiled = COMPILED_LEVEL_FOLDER + levelNames[index] + COMPILED_LEVEL_EXTENSION;
+        if (Gdx.files.internal(compiled).exists()) {
+            return compiled;
+        }
+        return levelNames[index] + TMX_EXTENSION;
+    }
+
+    /**
+     * Disposes of every loaded level and the atlas.
+     */
+    @Override
+    public void dispose() {
+        assetManager.dispose();
+        ResourceTracker.disposed(assetManager);
+    }
+}
@@ -0,0 +1,293 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.EnemyBoundary;
+import dev.jasper.game.sprites.Ground;
+import dev.jasper.game.sprites.ShapeCache;
+import dev.jasper.game.sprites.TileB2Body;
+
+/**
+ * The MapChunkStreamer class splits the static collision objects of a level into vertical chunks
+ * and only keeps the Box2D bodies of the chunks around a focus point alive.
+ * Chunks ahead of the focus point are prepared on a worker thread that every streamer shares,
+ * so a game costs no thread of its own, and their bodies are created on the calling thread
+ * once they come within range. Chunks that fall out of range are released,
+ * so the number of static bodies stays bounded no matter how wide the level is.
+ * Chunks under things that stay put away from the focus points, such as Bob, can be pinned to be kept for good.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class MapChunkStreamer implements Disposable {
+    /**
+     * The width of one chunk in pixels.
+     */
+    public static final float CHUNK_WIDTH = 16 * 16;
+    private static final int PREFETCH_CHUNKS = 1;
+    private static final int RELEASE_HYSTERESIS_CHUNKS = 1;
+    private static AsyncExecutor preparer;
+    private final World world;
+    private final float activeRadius;
+    private final int chunkCount;
+    private final Array<Array<Rectangle>> groundRects;
+    private final Array<Array<Rectangle>> boundaryRects;
+    private final Array<AsyncResult<Array<TileB2Body>>> pendingChunks;
+    private final Array<Array<TileB2Body>> activeChunks;
+    private final boolean[] pinned;
+    private final ShapeCache shapeCache;
+    private float maxObjectHalfWidth;
+    private int activeFirst;
+    private int activeLast;
+    private boolean pinsPending;
+
+    /**
+     * Constructs a MapChunkStreamer for a level of the given width.
+     *
+     * @param world        The Box2D world the static bodies are created in.
+     * @param levelWidth   The width of the level in pixels.
+     * @param activeRadius The distance from the focus point, in meters, within which bodies must exist.
+     */
+    public MapChunkStreamer(final World world, final float levelWidth, final float activeRadius) {
+        this.world = world;
+        this.activeRadius = activeRadius;
+        this.chunkCount = Math.max(1, MathUtils.ceil(levelWidth / CHUNK_WIDTH));
+        this.groundRects = new Array<>(chunkCount);
+        this.boundaryRects = new Array<>(chunkCount);
+        this.pendingChunks = new Array<>(chunkCount);
+        this.activeChunks = new Array<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            groundRects.add(new Array<>());
+            boundaryRects.add(new Array<>());
+            pendingChunks.add(null);
+            activeChunks.add(null);
+        }
+        this.pinned = new boolean[chunkCount];
+        this.shapeCache = new ShapeCache();
+        this.activeFirst = 0;
+        this.activeLast = -1;
+    }
+
+    /**
+     * Adds a static collision object to the chunk that contains its center.
+     * All objects must be added before the first call to update.
+     *
+     * @param bounds   The bounds of the object in pixels.
+     * @param isGround true for ground, false for an enemy boundary.
+     */
+    public void addStaticObject(final Rectangle bounds, final boolean isGround) {
+        final int chunk = getChunkAt(bounds.x + bounds.width / 2);
+        if (isGround) {
+            groundRects.get(chunk).add(bounds);
+        } else {
+            boundaryRects.get(chunk).add(bounds);
+        }
+        maxObjectHalfWidth = Math.max(maxObjectHalfWidth, bounds.width / 2);
+    }
+
+    /**
+     * Keeps the static bodies under a point alive however far away the focus points are. Their chunks are prepared
+     * right away, and their bodies created by the next update or warmUp. All objects must be added first.
+     *
+     * @param x The x-coordinate of the point in meters.
+     */
+    public void pin(final float x) {
+        final int last = getChunkAt(x * BobIsMelting.PPM + maxObjectHalfWidth);
+        for (int i = getChunkAt(x * BobIsMelting.PPM - maxObjectHalfWidth); i <= last; i++) {
+            if (!pinned[i]) {
+                pinned[i] = true;
+                prefetchChunk(i);
+                pinsPending = true;
+            }
+        }
+    }
+
+    /**
+     * Makes sure the static bodies around the focus point exist and releases the ones far away from it.
+     * Chunks that must exist right away but are still being prepared are waited for.
+     *
+     * @param focusX The x-coordinate of the focus point in meters.
+     */
+    public void update(final float focusX) {
+        update(focusX, focusX);
+    }
+
+    /**
+     * Makes sure the static bodies around a stretch of focus points exist, such as the Kids of all the players
+     * of a game, and releases the ones far away from all of them.
+     *
+     * @param leftFocusX  The x-coordinate of the leftmost focus point in meters.
+     * @param rightFocusX The x-coordinate of the rightmost focus point in meters.
+     */
+    public void update(final float leftFocusX, final float rightFocusX) {
+        if (pinsPending) {
+            for (int i = 0; i < chunkCount; i++) {
+                if (pinned[i]) {
+                    activateChunk(i);
+                }
+            }
+            pinsPending = false;
+        }
+        final int first = getFirstChunkInRange(leftFocusX);
+        final int last = getLastChunkInRange(rightFocusX);
+        if (first == activeFirst && last == activeLast) {
+            return;
+        }
+
+        for (int i = 0; i < chunkCount; i++) {
+            final boolean keep = i >= first - RELEASE_HYSTERESIS_CHUNKS && i <= last + RELEASE_HYSTERESIS_CHUNKS;
+            if (!keep && !pinned[i]) {
+                releaseChunk(i);
+            }
+        }
+        for (int i = Math.max(0, first - PREFETCH_CHUNKS); i <= Math.min(chunkCount - 1, last + PREFETCH_CHUNKS);
+             i++) {
+            if (i >= first && i <= last) {
+                activateChunk(i);
+            } else {
+                prefetchChunk(i);
+            }
+        }
+        activeFirst = first;
+        activeLast = last;
+    }
+
+    /**
+     * Brings up the chunks around the focus point one at a time, so the bodies of a level can be created
+     * over several frames before it is played. Nothing is waited for; update still creates whatever is missing.
+     *
+     * @param focusX The x-coordinate of the focus point in meters.
+     * @return true once the bodies of every chunk in range, and of every pinned chunk, exist.
+     */
+    public boolean warmUp(final float focusX) {
+        final int first = getFirstChunkInRange(focusX);
+        final int last = getLastChunkInRange(focusX);
+        for (int i = 0; i < chunkCount; i++) {
+            if ((pinned[i] || i >= first && i <= last) && activeChunks.get(i) == null) {
+                prefetchChunk(i);
+                if (pendingChunks.get(i).isDone()) {
+                    activateChunk(i);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of chunks whose bodies currently exist in the world.
+     *
+     * @return The number of active chunks.
+     */
+    public int getActiveChunkCount() {
+        int count = 0;
+        for (Array<TileB2Body> chunk : activeChunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int getFirstChunkInRange(final float focusX) {
+        return getChunkAt(focusX * BobIsMelting.PPM - getReach());
+    }
+
+    private int getLastChunkInRange(final float focusX) {
+        return getChunkAt(focusX * BobIsMelting.PPM + getReach());
+    }
+
+    private float getReach() {
+        // An object reaches into range as soon as its center is within range plus half its width
+        return activeRadius * BobIsMelting.PPM + maxObjectHalfWidth;
+    }
+
+    private int getChunkAt(final float x) {
+        return MathUtils.clamp((int) Math.floor(x / CHUNK_WIDTH), 0, chunkCount - 1);
+    }
+
+    private void prefetchChunk(final int chunk) {
+        if (activeChunks.get(chunk) != null || pendingChunks.get(chunk) != null) {
+            return;
+        }
+        final Array<Rectangle> ground = groundRects.get(chunk);
+        final Array<Rectangle> boundaries = boundaryRects.get(chunk);
+        pendingChunks.set(chunk, getPreparer().submit(() -> prepareChunk(ground, boundaries)));
+    }
+
+    private static synchronized AsyncExecutor getPreparer() {
+        // Created with the first streamer and kept for as long as the game runs, like the log writer
+        if (preparer == null) {
+            preparer = new AsyncExecutor(1, "MapChunkStreamer");
+        }
+        return preparer;
+    }
+
+    private static Array<TileB2Body> prepareChunk(final Array<Rectangle> ground, final Array<Rectangle> boundaries) {
+        // Runs on the worker thread, so index loops avoid sharing the arrays' cached iterators
+        final Array<TileB2Body> tileB2Bodies = new Array<>(ground.size + boundaries.size);
+        for (int i = 0; i < ground.size; i++) {
+            tileB2Bodies.add(new Ground(ground.get(i)));
+        }
+        for (int i = 0; i < boundaries.size; i++) {
+            tileB2Bodies.add(new EnemyBoundary(boundaries.get(i)));
+        }
+        return tileB2Bodies;
+    }
+
+    private void activateChunk(final int chunk) {
+        if (activeChunks.get(chunk) != null) {
+            return;
+        }
+        prefetchChunk(chunk);
+        // Needed right now, so wait for the worker if it is not done yet instead of letting bodies fall through
+        final Array<TileB2Body> tileB2Bodies = pendingChunks.get(chunk).get();
+        pendingChunks.set(chunk, null);
+
+        for (TileB2Body tileB2Body : tileB2Bodies) {
+            tileB2Body.defineShape(shapeCache);
+            final Body body = ResourceTracker.track(world.createBody(tileB2Body.getBodyDef()), "Body", world);
+            final Fixture fixture = body.createFixture(tileB2Body.getFixtureDef());
+            fixture.setUserData(tileB2Body);
+            tileB2Body.setB2body(body);
+            tileB2Body.setFixture(fixture);
+            tileB2Body.getFixtureDef().shape = null;
+        }
+        // Box2D keeps its own copy of each shape once the fixtures exist
+        shapeCache.clear();
+        activeChunks.set(chunk, tileB2Bodies);
+    }
+
+    private void releaseChunk(final int chunk) {
+        final Array<TileB2Body> active = activeChunks.get(chunk);
+        if (active != null) {
+            for (TileB2Body tileB2Body : active) {
+                world.destroyBody(tileB2Body.getB2body());
+                ResourceTracker.disposed(tileB2Body.getB2body());
+                tileB2Body.setB2body(null);
+                tileB2Body.setFixture(null);
+            }
+            activeChunks.set(chunk, null);
+        }
+        // A chunk that was prepared but not activated holds no native resources, so it is kept for when it comes back
+    }
+
+    /**
+     * Releases the cached shapes and forgets the chunks. The bodies of active chunks are destroyed together
+     * with the world, and chunks still being prepared are dropped once the shared worker is done with them.
+     */
+    @Override
+    public void dispose() {
+        shapeCache.dispose();
+        pendingChunks.clear();
+        activeChunks.clear();
+    }
+}
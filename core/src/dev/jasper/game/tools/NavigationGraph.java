@@ -0,0 +1,393 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultConnection;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import dev.jasper.game.BobIsMelting;
+
+/**
+ * The NavigationGraph class describes where the characters of a level can walk, and how they get from one place
+ * to another. Its nodes are spans, the stretches of ground top that can be walked along without jumping or falling,
+ * and its connections are the jumps and falls that lead from one span to another.
+ * It is built once per level from the ground rectangles, and is never changed afterwards,
+ * so every game played in the level can share it. Finding the span a point is above takes a single lookup
+ * in a grid of the level's tiles.
+ * Spans are in meters, while the level they are built from is in pixels.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class NavigationGraph implements IndexedGraph<NavigationGraph.Span> {
+    private static final float PIXEL_EPSILON = 1f;
+    private static final float MIN_SPAN_WIDTH = 4f;
+    private static final float MAX_JUMP_HEIGHT = .4f;
+    private static final float MAX_JUMP_DISTANCE = .48f;
+    private static final float JUMP_COST = 1.5f;
+    private static final float EXIT_MARGIN = .08f;
+    private static final int NO_SPAN = -1;
+    private final Array<Span> spans;
+    private final int columns;
+    private final int rows;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int[] spanBelow;
+
+    /**
+     * Constructs the NavigationGraph of a level.
+     *
+     * @param level The level whose ground is walked on.
+     */
+    public NavigationGraph(final LevelData level) {
+        this.spans = new Array<>();
+        this.columns = level.getWidth();
+        this.rows = level.getHeight();
+        this.cellWidth = level.getTileWidth() / BobIsMelting.PPM;
+        this.cellHeight = level.getTileHeight() / BobIsMelting.PPM;
+        this.spanBelow = new int[columns * rows];
+        findSpans(level);
+        connectSpans(level.getEnemyBoundaries());
+        collectIncomingEdges();
+        fillSpanGrid();
+    }
+
+    @Override
+    public int getIndex(final Span node) {
+        return node.index;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return spans.size;
+    }
+
+    @Override
+    public Array<Connection<Span>> getConnections(final Span fromNode) {
+        return fromNode.connections;
+    }
+
+    /**
+     * Returns the ways that lead to a span, so the graph can be searched backwards from it.
+     *
+     * @param toNode The span the ways lead to.
+     * @return The edges ending at the span.
+     */
+    public Array<Edge> getIncomingEdges(final Span toNode) {
+        return toNode.incoming;
+    }
+
+    /**
+     * Returns a span of the graph.
+     *
+     * @param index The index of the span.
+     * @return The span.
+     */
+    public Span getSpan(final int index) {
+        return spans.get(index);
+    }
+
+    /**
+     * Returns the index of the span below a point: the highest span under the tile the point is in.
+     * Characters standing on the ground are over the span they stand on, while ones in the air are over
+     * the span they would land on if they fell straight down.
+     *
+     * @param x The x-coordinate of the point in meters.
+     * @param y The y-coordinate of the point in meters.
+     * @return The index of the span, or -1 if there is no ground below the point.
+     */
+    public int getSpanIndexAt(final float x, final float y) {
+        final int column = MathUtils.floor(x / cellWidth);
+        final int row = MathUtils.floor(y / cellHeight);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return NO_SPAN;
+        }
+        return spanBelow[row * columns + column];
+    }
+
+    private void findSpans(final LevelData level) {
+        final Array<Rectangle> ground = level.getGround();
+        final FloatArray uncovered = new FloatArray();
+        final Array<Rectangle> found = new Array<>();
+        // Arrays cannot be iterated over nested, so the ground is walked through by index
+        for (int r = 0; r < ground.size; r++) {
+            final Rectangle rectangle = ground.get(r);
+            final float top = rectangle.y + rectangle.height;
+            // Nothing stands on the walls that close the level off at the top
+            if (top >= level.getPixelHeight() - PIXEL_EPSILON) {
+                continue;
+            }
+            uncovered.clear();
+            uncovered.add(rectangle.x, rectangle.x + rectangle.width);
+            for (int o = 0; o < ground.size; o++) {
+                final Rectangle other = ground.get(o);
+                // Ground that reaches above this top covers it
+                if (other != rectangle && other.y < top + PIXEL_EPSILON
+                        && other.y + other.height > top + PIXEL_EPSILON) {
+                    subtract(uncovered, other.x, other.x + other.width);
+                }
+            }
+            for (int i = 0; i < uncovered.size; i += 2) {
+                found.add(new Rectangle(uncovered.get(i), top, uncovered.get(i + 1) - uncovered.get(i), 0));
+            }
+        }
+        mergeTouching(found);
+        for (Rectangle span : found) {
+            if (span.width >= MIN_SPAN_WIDTH) {
+                spans.add(new Span(spans.size, span.x / BobIsMelting.PPM, (span.x + span.width) / BobIsMelting.PPM,
+                        span.y / BobIsMelting.PPM));
+            }
+        }
+    }
+
+    private static void subtract(final FloatArray intervals, final float left, final float right) {
+        for (int i = intervals.size - 2; i >= 0; i -= 2) {
+            final float start = intervals.get(i);
+            final float end = intervals.get(i + 1);
+            if (right <= start || left >= end) {
+                continue;
+            }
+            intervals.removeRange(i, i + 1);
+            if (start < left) {
+                intervals.add(start, left);
+            }
+            if (end > right) {
+                intervals.add(right, end);
+            }
+        }
+    }
+
+    private static void mergeTouching(final Array<Rectangle> found) {
+        // Ground is split into chunk-wide rectangles, so one stretch of ground top can come in several pieces
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < found.size && !merged; i++) {
+                for (int j = 0; j < found.size && !merged; j++) {
+                    final Rectangle a = found.get(i);
+                    final Rectangle b = found.get(j);
+                    if (i != j && MathUtils.isEqual(a.y, b.y, PIXEL_EPSILON)
+                            && MathUtils.isEqual(a.x + a.width, b.x, PIXEL_EPSILON)) {
+                        a.width = b.x + b.width - a.x;
+                        found.removeIndex(j);
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void connectSpans(final Array<Rectangle> enemyBoundaries) {
+        for (int i = 0; i < spans.size; i++) {
+            final Span from = spans.get(i);
+            connectFall(from, from.left, -EXIT_MARGIN, enemyBoundaries);
+            connectFall(from, from.right, EXIT_MARGIN, enemyBoundaries);
+            for (int j = 0; j < spans.size; j++) {
+                if (i != j) {
+                    connectJump(from, spans.get(j));
+                }
+            }
+        }
+    }
+
+    private void collectIncomingEdges() {
+        for (int i = 0; i < spans.size; i++) {
+            final Array<Connection<Span>> outgoing = spans.get(i).connections;
+            for (int j = 0; j < outgoing.size; j++) {
+                final Edge edge = (Edge) outgoing.get(j);
+                edge.getToNode().incoming.add(edge);
+            }
+        }
+    }
+
+    private void connectFall(final Span from, final float edgeX, final float outward,
+                             final Array<Rectangle> enemyBoundaries) {
+        final float fallX = edgeX + outward;
+        Span landing = null;
+        for (int i = 0; i < spans.size; i++) {
+            final Span span = spans.get(i);
+            if (span.top < from.top && span.left <= fallX && span.right >= fallX
+                    && (landing == null || span.top > landing.top)) {
+                landing = span;
+            }
+        }
+        if (landing == null) {
+            return;
+        }
+        // Enemies cannot walk past their boundaries, so they jump over the ones at the edge of a span
+        if (isBlocked(edgeX, from.top, enemyBoundaries)) {
+            from.connections.add(new Edge(from, landing, edgeX - outward, true));
+        } else {
+            from.connections.add(new Edge(from, landing, fallX, false));
+        }
+    }
+
+    private static boolean isBlocked(final float edgeX, final float top, final Array<Rectangle> enemyBoundaries) {
+        final float x = edgeX * BobIsMelting.PPM;
+        final float y = top * BobIsMelting.PPM;
+        final float margin = EXIT_MARGIN * BobIsMelting.PPM;
+        // Index loop, as the level's arrays are shared by games on other threads
+        for (int i = 0; i < enemyBoundaries.size; i++) {
+            final Rectangle boundary = enemyBoundaries.get(i);
+            if (boundary.x < x + margin && boundary.x + boundary.width > x - margin
+                    && boundary.y < y + PIXEL_EPSILON && boundary.y + boundary.height > y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void connectJump(final Span from, final Span to) {
+        final float height = to.top - from.top;
+        final float gap = Math.max(to.left - from.right, from.left - to.right);
+        // Lower spans right below are fallen onto instead
+        if (height > MAX_JUMP_HEIGHT || gap > MAX_JUMP_DISTANCE || (height <= 0 && gap <= 0)) {
+            return;
+        }
+        final float exitX;
+        if (to.left >= from.right) {
+            exitX = from.right - EXIT_MARGIN;
+        } else if (to.right <= from.left) {
+            exitX = from.left + EXIT_MARGIN;
+        } else if (to.left - EXIT_MARGIN >= from.left) {
+            // The span is above this one, so the jump is made from beside it
+            exitX = to.left - EXIT_MARGIN;
+        } else if (to.right + EXIT_MARGIN <= from.right) {
+            exitX = to.right + EXIT_MARGIN;
+        } else {
+            return;
+        }
+        from.connections.add(new Edge(from, to, MathUtils.clamp(exitX, from.left, from.right), true));
+    }
+
+    private void fillSpanGrid() {
+        for (int row = 0; row < rows; row++) {
+            final float cellTop = (row + 1) * cellHeight;
+            for (int column = 0; column < columns; column++) {
+                final float cellLeft = column * cellWidth;
+                int below = NO_SPAN;
+                for (Span span : spans) {
+                    if (span.top <= cellTop && span.left < cellLeft + cellWidth && span.right > cellLeft
+                            && (below == NO_SPAN || span.top > spans.get(below).top)) {
+                        below = span.index;
+                    }
+                }
+                spanBelow[row * columns + column] = below;
+            }
+        }
+    }
+
+    /**
+     * A stretch of ground top that can be walked along without jumping or falling.
+     */
+    public static final class Span {
+        private final int index;
+        private final float left;
+        private final float right;
+        private final float top;
+        private final Array<Connection<Span>> connections;
+        private final Array<Edge> incoming;
+
+        Span(final int index, final float left, final float right, final float top) {
+            this.index = index;
+            this.left = left;
+            this.right = right;
+            this.top = top;
+            this.connections = new Array<>();
+            this.incoming = new Array<>();
+        }
+
+        /**
+         * Returns the index of the span in its graph.
+         *
+         * @return The index of the span.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the x-coordinate of the left end of the span.
+         *
+         * @return The left end in meters.
+         */
+        public float getLeft() {
+            return left;
+        }
+
+        /**
+         * Returns the x-coordinate of the right end of the span.
+         *
+         * @return The right end in meters.
+         */
+        public float getRight() {
+            return right;
+        }
+
+        /**
+         * Returns the y-coordinate of the ground top the span is on.
+         *
+         * @return The top in meters.
+         */
+        public float getTop() {
+            return top;
+        }
+
+        /**
+         * Returns the x-coordinate of the middle of the span.
+         *
+         * @return The middle in meters.
+         */
+        public float getCenterX() {
+            return (left + right) / 2;
+        }
+    }
+
+    /**
+     * A way from one span to another: walking to the exit and then jumping, or walking past the exit and falling.
+     * It costs the distance between the middles of the two spans, and more for a jump.
+     */
+    public static final class Edge extends DefaultConnection<Span> {
+        private final float exitX;
+        private final boolean jump;
+        private final float cost;
+
+        Edge(final Span fromNode, final Span toNode, final float exitX, final boolean jump) {
+            super(fromNode, toNode);
+            this.exitX = exitX;
+            this.jump = jump;
+            final float distance = Vector2.dst(fromNode.getCenterX(), fromNode.top, toNode.getCenterX(), toNode.top);
+            if (jump) {
+                this.cost = distance * JUMP_COST;
+            } else {
+                this.cost = distance;
+            }
+        }
+
+        @Override
+        public float getCost() {
+            return cost;
+        }
+
+        /**
+         * Returns where on the span it leaves from the way is taken.
+         *
+         * @return The x-coordinate of the exit in meters.
+         */
+        public float getExitX() {
+            return exitX;
+        }
+
+        /**
+         * Returns whether the way is taken by jumping at the exit, rather than by walking past it.
+         *
+         * @return true if the way is a jump.
+         */
+        public boolean isJump() {
+            return jump;
+        }
+    }
+}
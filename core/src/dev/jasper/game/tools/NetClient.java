@@ -0,0 +1,369 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
+import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
+
+/**
+ * The NetClient class plays a co-op game hosted by a GameServer. The game on this device becomes a replica:
+ * it keeps running the physics, so the Kid played here moves the moment its input is applied,
+ * while everything the server decides arrives in snapshots.
+ * <ul>
+ *     <li>The Kid played here is predicted. Its position after each tick of input is remembered, and once
+ *     the server says where the Kid was after that input, the difference is taken out over a few snapshots,
+ *     or at once if it is large.</li>
+ *     <li>The other Kids and the enemies are interpolated. They are shown a few ticks in the past,
+ *     between the two snapshots around that time, so they move smoothly even though snapshots come every
+ *     other tick and some are lost.</li>
+ * </ul>
+ * The Kid played here is always the first Kid of the replica, whichever player the server made it,
+ * so the camera and the HUD work the same as in a game played alone.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class NetClient {
+    private static final String TAG = "NetClient";
+    private static final int HISTORY_SIZE = 32;
+    private static final int PREDICTION_SIZE = 128;
+    private static final int PREDICTION_MASK = PREDICTION_SIZE - 1;
+    private static final int JOIN_ID_MASK = (1 << NetProtocol.JOIN_ID_BITS) - 1;
+    private static final int HELLO_INTERVAL_TICKS = 30;
+    private static final float INTERPOLATION_DELAY_TICKS = 6;
+    private static final float MAX_CLOCK_DRIFT_TICKS = 10;
+    private static final float CLOCK_CORRECTION = .1f;
+    private static final float SNAP_DISTANCE = .5f;
+    private static final float CORRECTION_RATE = .3f;
+    private static final float DEAD_ZONE = .01f;
+    private static PacketTransport sharedTransport;
+    private static int nextJoinId;
+    private final GameStateManager gameStateManager;
+    private final InputHandler inputHandler;
+    private final InputQueue inputQueue;
+    private final PacketTransport transport;
+    private final int joinId;
+    private final NetSnapshot[] received;
+    private final NetSnapshot incoming;
+    private final NetSnapshot emptySnapshot;
+    private final int[] inputs;
+    private final int[] predictedSeqs;
+    private final float[] predictedX;
+    private final float[] predictedY;
+    private final byte[] packet;
+    private final BitReader reader;
+    private final BitWriter writer;
+    private int seq;
+    private int player;
+    private int latestTick;
+    private int serverAppliedSeq;
+    private boolean reconciled;
+    private float serverTick;
+    private int ticksSinceHeard;
+
+    /**
+     * Constructs a NetClient, which turns a game into a replica of one on the server and starts joining it.
+     *
+     * @param gameStateManager The game on this device, which has not been updated yet.
+     * @param inputHandler     The InputHandler that applies this device's input to the first Kid of the game.
+     * @param inputQueue       The InputQueue the InputHandler reads.
+     * @param transport        The transport to the server.
+     */
+    public NetClient(final GameStateManager gameStateManager, final InputHandler inputHandler,
+                     final InputQueue inputQueue, final PacketTransport transport) {
+        this.gameStateManager = gameStateManager;
+        this.inputHandler = inputHandler;
+        this.inputQueue = inputQueue;
+        this.transport = transport;
+        gameStateManager.setReplica(true);
+        // Each game joined gets a new id, so the server can tell a new game from packets of the last one
+        this.joinId = nextJoinId;
+        nextJoinId = (nextJoinId + 1) & JOIN_ID_MASK;
+        this.received = new NetSnapshot[HISTORY_SIZE];
+        for (int i = 0; i < received.length; i++) {
+            received[i] = new NetSnapshot();
+        }
+        this.incoming = new NetSnapshot();
+        this.emptySnapshot = new NetSnapshot();
+        this.inputs = new int[PREDICTION_SIZE];
+        this.predictedSeqs = new int[PREDICTION_SIZE];
+        this.predictedX = new float[PREDICTION_SIZE];
+        this.predictedY = new float[PREDICTION_SIZE];
+        for (int i = 0; i < PREDICTION_SIZE; i++) {
+            predictedSeqs[i] = -1;
+        }
+        this.packet = new byte[NetProtocol.MAX_PACKET_BYTES];
+        this.reader = new BitReader();
+        this.writer = new BitWriter(NetProtocol.MAX_PACKET_BYTES);
+        this.seq = -1;
+        this.player = -1;
+        this.latestTick = -1;
+        this.serverAppliedSeq = -1;
+        this.reconciled = true;
+    }
+
+    /**
+     * Sets the transport PlayScreen plays co-op games through. Without one, games are played alone.
+     *
+     * @param transport The transport to the server, or null to play alone.
+     */
+    public static void setTransport(final PacketTransport transport) {
+        sharedTransport = transport;
+    }
+
+    /**
+     * Returns the transport PlayScreen plays co-op games through.
+     *
+     * @return The transport to the server, or null if games are played alone.
+     */
+    public static PacketTransport getTransport() {
+        return sharedTransport;
+    }
+
+    /**
+     * Returns whether PlayScreen plays co-op games on a server.
+     *
+     * @return true if a transport to a server is set.
+     */
+    public static boolean isEnabled() {
+        return sharedTransport != null;
+    }
+
+    /**
+     * Runs one tick: applies and sends this device's input, takes in the snapshots that arrived,
+     * moves the replica towards them and updates it.
+     *
+     * @param tickEndNanos The time the tick ends at, on the TimeUtils.nanoTime clock.
+     */
+    public void runTick(final long tickEndNanos) {
+        inputHandler.handleInput(tickEndNanos);
+        seq++;
+        inputs[seq & PREDICTION_MASK] = NetProtocol.encodeInput(inputQueue);
+        receivePackets();
+        sendPacket();
+        applySnapshots();
+        gameStateManager.update(GameStateManager.TIME_STEP);
+        final int index = seq & PREDICTION_MASK;
+        predictedSeqs[index] = seq;
+        predictedX[index] = gameStateManager.getKid().getBodyX();
+        predictedY[index] = gameStateManager.getKid().getBodyY();
+        serverTick++;
+        ticksSinceHeard++;
+        if (ticksSinceHeard == NetProtocol.TIMEOUT_TICKS && player >= 0) {
+            GameLog.info(TAG, "Lost the server");
+        }
+    }
+
+    /**
+     * Returns whether the server has answered, and has not gone quiet since.
+     *
+     * @return true if snapshots are arriving.
+     */
+    public boolean isConnected() {
+        return player >= 0 && ticksSinceHeard < NetProtocol.TIMEOUT_TICKS;
+    }
+
+    /**
+     * Returns the index the server gave this device's player.
+     *
+     * @return The index of the player, or -1 before the server has answered.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    private void receivePackets() {
+        int length = transport.receive(packet);
+        while (length >= 0) {
+            reader.reset(packet, length);
+            if (NetProtocol.readHeader(reader) == NetProtocol.SNAPSHOT
+                    && reader.readBits(NetProtocol.JOIN_ID_BITS) == joinId) {
+                receiveSnapshot();
+            }
+            length = transport.receive(packet);
+        }
+    }
+
+    private void receiveSnapshot() {
+        final int newPlayer = reader.readBits(NetProtocol.PLAYER_BITS);
+        final int tick = reader.readInt();
+        final int baselineTick = ServerSession.readBaselineTick(reader, tick);
+        final int appliedSeq = reader.readInt();
+        // Snapshots overtaken by a newer one are of no use, and neither are ones whose baseline is gone
+        if (!reader.isValid() || tick <= latestTick) {
+            return;
+        }
+        NetSnapshot baseline = emptySnapshot;
+        if (baselineTick >= 0) {
+            baseline = getHistorySlot(baselineTick);
+            if (baseline.getTick() != baselineTick) {
+                return;
+            }
+        }
+        if (!incoming.read(reader, baseline, tick)) {
+            return;
+        }
+        getHistorySlot(tick).set(incoming);
+        if (player < 0) {
+            GameLog.info(TAG, "Joined as player {}", newPlayer + 1);
+            serverTick = tick;
+        }
+        player = newPlayer;
+        latestTick = tick;
+        serverAppliedSeq = appliedSeq;
+        reconciled = false;
+        ticksSinceHeard = 0;
+        // The clock the other Kids and the enemies are shown on follows the server's, without jumping
+        if (Math.abs(tick - serverTick) > MAX_CLOCK_DRIFT_TICKS) {
+            serverTick = tick;
+        } else {
+            serverTick += (tick - serverTick) * CLOCK_CORRECTION;
+        }
+    }
+
+    private NetSnapshot getHistorySlot(final int tick) {
+        return received[(tick / NetProtocol.SNAPSHOT_INTERVAL_TICKS) % HISTORY_SIZE];
+    }
+
+    private void sendPacket() {
+        if (player < 0) {
+            if (seq % HELLO_INTERVAL_TICKS == 0) {
+                NetProtocol.writeHeader(writer, NetProtocol.HELLO);
+                writer.writeBits(joinId, NetProtocol.JOIN_ID_BITS);
+                transport.send(0, writer.getBuffer(), writer.getByteLength());
+            }
+            return;
+        }
+        final int count = Math.min(seq + 1, NetProtocol.INPUT_REDUNDANCY);
+        NetProtocol.writeHeader(writer, NetProtocol.INPUT);
+        writer.writeBits(joinId, NetProtocol.JOIN_ID_BITS);
+        writer.writeInt(latestTick);
+        writer.writeInt(seq);
+        writer.writeBits(count, NetProtocol.INPUT_COUNT_BITS);
+        for (int i = seq - count + 1; i <= seq; i++) {
+            writer.writeBits(inputs[i & PREDICTION_MASK], NetProtocol.INPUT_BITS);
+        }
+        transport.send(0, writer.getBuffer(), writer.getByteLength());
+    }
+
+    private void applySnapshots() {
+        if (latestTick < 0) {
+            return;
+        }
+        final NetSnapshot latest = getHistorySlot(latestTick);
+        gameStateManager.setReplicatedState(latest.getWorldTimer(), latest.getBobsHealth());
+        final int slots = Math.min(latest.getSnowballCount(), gameStateManager.getSnowballs().size);
+        for (int i = 0; i < slots; i++) {
+            gameStateManager.replicateSnowball(i, latest.getSnowballSpot(i));
+        }
+        while (gameStateManager.getPlayerCount() < latest.getKidCount()) {
+            gameStateManager.addPlayer();
+        }
+
+        // The other Kids and the enemies are shown between the two snapshots around a moment in the past
+        final float shownTick = serverTick - INTERPOLATION_DELAY_TICKS;
+        NetSnapshot before = null;
+        NetSnapshot after = null;
+        for (NetSnapshot snapshot : received) {
+            final int tick = snapshot.getTick();
+            if (tick < 0 || tick > latestTick
+                    || latestTick - tick >= HISTORY_SIZE * NetProtocol.SNAPSHOT_INTERVAL_TICKS) {
+                continue;
+            }
+            if (tick <= shownTick && (before == null || tick > before.getTick())) {
+                before = snapshot;
+            } else if (tick > shownTick && (after == null || tick < after.getTick())) {
+                after = snapshot;
+            }
+        }
+        if (before == null) {
+            before = after;
+        }
+        if (after == null) {
+            after = before;
+        }
+        float alpha = 0;
+        if (after.getTick() != before.getTick()) {
+            alpha = (shownTick - before.getTick()) / (after.getTick() - before.getTick());
+        }
+
+        for (int i = 0; i < latest.getKidCount(); i++) {
+            final AbstractPlayer kid = gameStateManager.replicateKid(getLocalPlayer(i), latest.getKid(i));
+            if (i == player) {
+                reconcile(kid, latest.getKid(i));
+            } else if (i < before.getKidCount() && i < after.getKidCount()) {
+                moveBody(kid.getB2body(), before.getKid(i), after.getKid(i), alpha);
+            } else {
+                moveBody(kid.getB2body(), latest.getKid(i), latest.getKid(i), 0);
+            }
+        }
+        for (int i = 0; i < latest.getEnemyCount(); i++) {
+            NetSnapshot.Body from = latest.getEnemy(i);
+            NetSnapshot.Body to = from;
+            float enemyAlpha = 0;
+            if (i < before.getEnemyCount() && i < after.getEnemyCount()) {
+                from = before.getEnemy(i);
+                to = after.getEnemy(i);
+                enemyAlpha = alpha;
+            }
+            final String enemyType;
+            if (from.hasFlag(NetSnapshot.CHICKEN)) {
+                enemyType = "chicken";
+            } else {
+                enemyType = "bear";
+            }
+            // Enemies are only ever added on the server, so they come in the same order here
+            if (i <= gameStateManager.getEnemies().size) {
+                final AbstractEnemy enemy = gameStateManager.replicateEnemy(i, enemyType, from.getX(), from.getY());
+                moveBody(enemy.getB2body(), from, to, enemyAlpha);
+            }
+        }
+    }
+
+    private int getLocalPlayer(final int serverPlayer) {
+        if (serverPlayer == player) {
+            return 0;
+        } else if (serverPlayer < player) {
+            return serverPlayer + 1;
+        }
+        return serverPlayer;
+    }
+
+    private void reconcile(final AbstractPlayer kid, final NetSnapshot.Body state) {
+        if (reconciled) {
+            return;
+        }
+        reconciled = true;
+        final int index = serverAppliedSeq & PREDICTION_MASK;
+        if (serverAppliedSeq < 0 || predictedSeqs[index] != serverAppliedSeq) {
+            return;
+        }
+        // Where the server had the Kid after an input, against where it was predicted to be after the same input
+        float errorX = state.getX() - predictedX[index];
+        float errorY = state.getY() - predictedY[index];
+        final float error2 = errorX * errorX + errorY * errorY;
+        if (error2 < DEAD_ZONE * DEAD_ZONE) {
+            return;
+        }
+        if (error2 < SNAP_DISTANCE * SNAP_DISTANCE) {
+            errorX *= CORRECTION_RATE;
+            errorY *= CORRECTION_RATE;
+        }
+        final Body body = kid.getB2body();
+        body.setTransform(kid.getBodyX() + errorX, kid.getBodyY() + errorY, body.getAngle());
+        body.setAwake(true);
+        // The predictions made since then moved along with the Kid, so the same error is not taken out twice
+        for (int s = serverAppliedSeq + 1; s <= seq; s++) {
+            predictedX[s & PREDICTION_MASK] += errorX;
+            predictedY[s & PREDICTION_MASK] += errorY;
+        }
+    }
+
+    private static void moveBody(final Body body, final NetSnapshot.Body from, final NetSnapshot.Body to,
+                                 final float alpha) {
+        body.setTransform(MathUtils.lerp(from.getX(), to.getX(), alpha), MathUtils.lerp(from.getY(), to.getY(), alpha),
+                body.getAngle());
+        body.setLinearVelocity(MathUtils.lerp(from.getVelocityX(), to.getVelocityX(), alpha),
+                MathUtils.lerp(from.getVelocityY(), to.getVelocityY(), alpha));
+    }
+}
@@ -0,0 +1,155 @@
+package dev.jasper.game.tools;
+
+/**
+ * The NetProtocol class holds what the GameServer and its NetClients agree on: the packet types,
+ * the header every packet starts with, how often snapshots are sent and how a tick of input is packed.
+ * Every packet starts with a 16 bit protocol id, so stray datagrams are dropped, and a 2 bit type:
+ * <ul>
+ *     <li>HELLO, client to server: a join id. Sent until the first snapshot arrives.</li>
+ *     <li>INPUT, client to server: the join id, the last snapshot received,
+ *     and the input of the last few ticks, so a lost packet is made up for by the next.</li>
+ *     <li>SNAPSHOT, server to client: the join id it answers, the player index of the client,
+ *     the last input applied, and the game as a NetSnapshot, delta-compressed against one the client received.</li>
+ * </ul>
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class NetProtocol {
+    /**
+     * The type of a packet asking to join a game.
+     */
+    static final int HELLO = 0;
+    /**
+     * The type of a packet with the input of a player.
+     */
+    static final int INPUT = 1;
+    /**
+     * The type of a packet with a snapshot of a game.
+     */
+    static final int SNAPSHOT = 2;
+    /**
+     * What readHeader returns for a packet that does not belong to the game.
+     */
+    static final int NOT_A_PACKET = -1;
+    /**
+     * The most bytes a packet has, as every transport agrees.
+     */
+    static final int MAX_PACKET_BYTES = PacketTransport.MAX_PACKET_BYTES;
+    /**
+     * The number of bits of a join id.
+     */
+    static final int JOIN_ID_BITS = 16;
+    /**
+     * The most players a game has.
+     */
+    static final int MAX_PLAYERS = 4;
+    /**
+     * The number of bits of a player index.
+     */
+    static final int PLAYER_BITS = 2;
+    /**
+     * The number of ticks between two snapshots.
+     */
+    static final int SNAPSHOT_INTERVAL_TICKS = 2;
+    /**
+     * The number of ticks of input each INPUT packet repeats.
+     */
+    static final int INPUT_REDUNDANCY = 8;
+    /**
+     * The number of bits the count of inputs in an INPUT packet takes.
+     */
+    static final int INPUT_COUNT_BITS = 4;
+    /**
+     * The number of bits of one tick of input: whether each action is held, and whether it was pressed.
+     */
+    static final int INPUT_BITS = 2 * InputQueue.Action.values().length;
+    /**
+     * The number of ticks without a packet after which the other side is given up on.
+     */
+    static final int TIMEOUT_TICKS = 5 * 60;
+    private static final int PROTOCOL_ID = 0xB0B1;
+    private static final int PROTOCOL_ID_BITS = 16;
+    private static final int TYPE_BITS = 2;
+    private static final InputQueue.Action[] ACTIONS = InputQueue.Action.values();
+
+    private NetProtocol() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Starts a packet.
+     *
+     * @param writer The writer, which is reset first.
+     * @param type   The type of the packet.
+     */
+    static void writeHeader(final BitWriter writer, final int type) {
+        writer.reset();
+        writer.writeBits(PROTOCOL_ID, PROTOCOL_ID_BITS);
+        writer.writeBits(type, TYPE_BITS);
+    }
+
+    /**
+     * Reads the header of a packet.
+     *
+     * @param reader The reader, at the start of the packet.
+     * @return The type of the packet, or NOT_A_PACKET if it does not belong to the game.
+     */
+    static int readHeader(final BitReader reader) {
+        if (reader.readBits(PROTOCOL_ID_BITS) != PROTOCOL_ID) {
+            return NOT_A_PACKET;
+        }
+        final int type = reader.readBits(TYPE_BITS);
+        if (!reader.isValid()) {
+            return NOT_A_PACKET;
+        }
+        return type;
+    }
+
+    /**
+     * Packs the input of the current tick, as an InputHandler has just applied it.
+     *
+     * @param inputQueue The InputQueue the input was read from.
+     * @return The input of the tick, INPUT_BITS long.
+     */
+    static int encodeInput(final InputQueue inputQueue) {
+        int input = 0;
+        for (int i = 0; i < ACTIONS.length; i++) {
+            if (inputQueue.isHeld(ACTIONS[i])) {
+                input |= 1 << i;
+            }
+            if (inputQueue.wasPressed(ACTIONS[i])) {
+                input |= 1 << (ACTIONS.length + i);
+            }
+        }
+        return input;
+    }
+
+    /**
+     * Records a tick of input received from a player into an InputQueue, as the presses and releases
+     * that turn the previous tick's input into this one. A press that did not last the tick is recorded
+     * as a press and a release, so a tapped jump still counts.
+     *
+     * @param input         The input of the tick.
+     * @param previousInput The input of the tick before.
+     * @param inputQueue    The InputQueue of the player.
+     * @param timeNanos     A time within the tick, on the clock the InputQueue is advanced on.
+     */
+    static void decodeInput(final int input, final int previousInput, final InputQueue inputQueue,
+                            final long timeNanos) {
+        for (int i = 0; i < ACTIONS.length; i++) {
+            final boolean held = (input & (1 << i)) != 0;
+            final boolean wasHeld = (previousInput & (1 << i)) != 0;
+            final boolean pressed = (input & (1 << (ACTIONS.length + i))) != 0;
+            if (pressed && wasHeld) {
+                inputQueue.record(ACTIONS[i], false, timeNanos);
+            }
+            if (pressed || (held && !wasHeld)) {
+                inputQueue.record(ACTIONS[i], true, timeNanos);
+            }
+            if (!held && (pressed || wasHeld)) {
+                inputQueue.record(ACTIONS[i], false, timeNanos);
+            }
+        }
+    }
+}
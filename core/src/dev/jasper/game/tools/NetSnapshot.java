@@ -0,0 +1,427 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
+import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
+import dev.jasper.game.sprites.dynamicSprites.Chicken;
+import dev.jasper.game.sprites.enviromentSprites.Snowball;
+
+/**
+ * The NetSnapshot class holds what a client needs to know about a game at one tick: the time, Bob's health,
+ * where the Kids and enemies are and how fast they move, and which spot each snowball is at.
+ * Positions and velocities are quantized to a few hundredths of a pixel and stored as ints,
+ * so a snapshot taken from the game and one read from a packet compare exactly.
+ * A snapshot is written as the difference to one the client already has: a field that did not change
+ * takes one bit, one that changed a little takes nine, and only the rest is written in full.
+ * Snapshots are preallocated and overwritten, so sending them every few ticks allocates nothing.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class NetSnapshot {
+    /**
+     * The most enemies a snapshot holds. Enemies spawned after these are not sent.
+     */
+    static final int MAX_ENEMIES = 63;
+    /**
+     * The most snowballs a snapshot holds.
+     */
+    static final int MAX_SNOWBALLS = 15;
+    /**
+     * The flag of a Kid carrying a snowball.
+     */
+    static final int CARRYING = 1;
+    /**
+     * The flag of a Kid that was hit by an enemy a moment ago.
+     */
+    static final int INVINCIBLE = 1 << 1;
+    /**
+     * The flag of an enemy that is a chicken rather than a bear.
+     */
+    static final int CHICKEN = 1;
+    private static final float POSITION_SCALE = 256;
+    private static final float POSITION_OFFSET = 32;
+    private static final int POSITION_BITS = 16;
+    private static final float VELOCITY_SCALE = 64;
+    private static final float VELOCITY_OFFSET = 32;
+    private static final int VELOCITY_BITS = 12;
+    private static final int KID_FLAG_BITS = 2;
+    private static final int ENEMY_FLAG_BITS = 1;
+    private static final int TIMER_BITS = 16;
+    private static final int HEALTH_BITS = 8;
+    private static final int HEALTH_OFFSET = 128;
+    private static final int KID_COUNT_BITS = 3;
+    private static final int ENEMY_COUNT_BITS = 6;
+    private static final int SNOWBALL_COUNT_BITS = 4;
+    private static final int SPOT_BITS = 8;
+    private static final int SMALL_DELTA_BITS = 7;
+    private static final int SMALL_DELTA_RANGE = 1 << (SMALL_DELTA_BITS - 1);
+    private static final Body NO_BODY = new Body();
+    private final Body[] kids;
+    private final Body[] enemies;
+    private final int[] snowballSpots;
+    private int tick;
+    private int worldTimer;
+    private int bobsHealth;
+    private int kidCount;
+    private int enemyCount;
+    private int snowballCount;
+
+    /**
+     * Constructs an empty snapshot, which is also the baseline of a snapshot sent in full.
+     */
+    NetSnapshot() {
+        this.kids = new Body[NetProtocol.MAX_PLAYERS];
+        this.enemies = new Body[MAX_ENEMIES];
+        this.snowballSpots = new int[MAX_SNOWBALLS];
+        for (int i = 0; i < kids.length; i++) {
+            kids[i] = new Body();
+        }
+        for (int i = 0; i < enemies.length; i++) {
+            enemies[i] = new Body();
+        }
+        this.tick = -1;
+    }
+
+    /**
+     * Takes a snapshot of a game.
+     *
+     * @param gameStateManager The game, right after a tick.
+     * @param newTick          The number of the tick.
+     */
+    void capture(final GameStateManager gameStateManager, final int newTick) {
+        tick = newTick;
+        worldTimer = gameStateManager.getWorldTimer();
+        bobsHealth = gameStateManager.getBobsHealth();
+        kidCount = Math.min(gameStateManager.getPlayerCount(), kids.length);
+        for (int i = 0; i < kidCount; i++) {
+            final AbstractPlayer kid = gameStateManager.getKid(i);
+            int flags = 0;
+            if (kid.getIsCarryingSnowball()) {
+                flags |= CARRYING;
+            }
+            if (kid.getIsInvincibleToEnemy()) {
+                flags |= INVINCIBLE;
+            }
+            kids[i].set(kid.getBodyX(), kid.getBodyY(), kid.getVelocityX(), kid.getVelocityY(), flags);
+        }
+        final Array<AbstractEnemy> gameEnemies = gameStateManager.getEnemies();
+        enemyCount = Math.min(gameEnemies.size, enemies.length);
+        for (int i = 0; i < enemyCount; i++) {
+            final AbstractEnemy enemy = gameEnemies.get(i);
+            int flags = 0;
+            if (enemy instanceof Chicken) {
+                flags = CHICKEN;
+            }
+            enemies[i].set(enemy.getBodyX(), enemy.getBodyY(), enemy.getVelocityX(), enemy.getVelocityY(), flags);
+        }
+        final Array<Snowball> snowballs = gameStateManager.getSnowballs();
+        snowballCount = Math.min(snowballs.size, snowballSpots.length);
+        for (int i = 0; i < snowballCount; i++) {
+            final Snowball snowball = snowballs.get(i);
+            if (snowball == null || snowball.isCollected()) {
+                snowballSpots[i] = -1;
+            } else {
+                snowballSpots[i] = gameStateManager.getSnowballSpot(i);
+            }
+        }
+    }
+
+    /**
+     * Makes this snapshot a copy of another.
+     *
+     * @param other The snapshot to copy.
+     */
+    void set(final NetSnapshot other) {
+        tick = other.tick;
+        worldTimer = other.worldTimer;
+        bobsHealth = other.bobsHealth;
+        kidCount = other.kidCount;
+        enemyCount = other.enemyCount;
+        snowballCount = other.snowballCount;
+        for (int i = 0; i < kidCount; i++) {
+            kids[i].set(other.kids[i]);
+        }
+        for (int i = 0; i < enemyCount; i++) {
+            enemies[i].set(other.enemies[i]);
+        }
+        System.arraycopy(other.snowballSpots, 0, snowballSpots, 0, snowballCount);
+    }
+
+    /**
+     * Writes the snapshot as its difference to a baseline the receiver has.
+     * The tick is not written, as the packet header carries it.
+     *
+     * @param writer   The writer of the packet.
+     * @param baseline The snapshot the receiver has, or an empty one.
+     */
+    void write(final BitWriter writer, final NetSnapshot baseline) {
+        writeField(writer, worldTimer, baseline.worldTimer, TIMER_BITS);
+        writeField(writer, bobsHealth + HEALTH_OFFSET, baseline.bobsHealth + HEALTH_OFFSET, HEALTH_BITS);
+        writer.writeBits(kidCount, KID_COUNT_BITS);
+        for (int i = 0; i < kidCount; i++) {
+            kids[i].write(writer, baseline.getKidOrNone(i), KID_FLAG_BITS);
+        }
+        writer.writeBits(enemyCount, ENEMY_COUNT_BITS);
+        for (int i = 0; i < enemyCount; i++) {
+            enemies[i].write(writer, baseline.getEnemyOrNone(i), ENEMY_FLAG_BITS);
+        }
+        writer.writeBits(snowballCount, SNOWBALL_COUNT_BITS);
+        for (int i = 0; i < snowballCount; i++) {
+            writeField(writer, snowballSpots[i] + 1, baseline.getSnowballSpotOrNone(i) + 1, SPOT_BITS);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by write.
+     *
+     * @param reader   The reader of the packet.
+     * @param baseline The snapshot the sender wrote the difference to.
+     * @param newTick  The tick of the snapshot, from the packet header.
+     * @return false if the packet was cut short, in which case the snapshot must not be used.
+     */
+    boolean read(final BitReader reader, final NetSnapshot baseline, final int newTick) {
+        tick = newTick;
+        worldTimer = readField(reader, baseline.worldTimer, TIMER_BITS);
+        bobsHealth = readField(reader, baseline.bobsHealth + HEALTH_OFFSET, HEALTH_BITS) - HEALTH_OFFSET;
+        kidCount = Math.min(reader.readBits(KID_COUNT_BITS), kids.length);
+        for (int i = 0; i < kidCount; i++) {
+            kids[i].read(reader, baseline.getKidOrNone(i), KID_FLAG_BITS);
+        }
+        enemyCount = reader.readBits(ENEMY_COUNT_BITS);
+        for (int i = 0; i < enemyCount; i++) {
+            enemies[i].read(reader, baseline.getEnemyOrNone(i), ENEMY_FLAG_BITS);
+        }
+        snowballCount = reader.readBits(SNOWBALL_COUNT_BITS);
+        for (int i = 0; i < snowballCount; i++) {
+            snowballSpots[i] = readField(reader, baseline.getSnowballSpotOrNone(i) + 1, SPOT_BITS) - 1;
+        }
+        return reader.isValid();
+    }
+
+    private Body getKidOrNone(final int index) {
+        if (index < kidCount) {
+            return kids[index];
+        }
+        return NO_BODY;
+    }
+
+    private Body getEnemyOrNone(final int index) {
+        if (index < enemyCount) {
+            return enemies[index];
+        }
+        return NO_BODY;
+    }
+
+    private int getSnowballSpotOrNone(final int index) {
+        if (index < snowballCount) {
+            return snowballSpots[index];
+        }
+        return -1;
+    }
+
+    private static void writeField(final BitWriter writer, final int value, final int base, final int bits) {
+        if (value == base) {
+            writer.writeBoolean(false);
+            return;
+        }
+        writer.writeBoolean(true);
+        final int delta = value - base;
+        if (delta >= -SMALL_DELTA_RANGE && delta < SMALL_DELTA_RANGE) {
+            writer.writeBoolean(true);
+            writer.writeBits(delta + SMALL_DELTA_RANGE, SMALL_DELTA_BITS);
+        } else {
+            writer.writeBoolean(false);
+            writer.writeBits(value, bits);
+        }
+    }
+
+    private static int readField(final BitReader reader, final int base, final int bits) {
+        if (!reader.readBoolean()) {
+            return base;
+        }
+        if (reader.readBoolean()) {
+            return base + reader.readBits(SMALL_DELTA_BITS) - SMALL_DELTA_RANGE;
+        }
+        return reader.readBits(bits);
+    }
+
+    private static int quantize(final float value, final float offset, final float scale, final int bits) {
+        return MathUtils.clamp(MathUtils.round((value + offset) * scale), 0, (1 << bits) - 1);
+    }
+
+    /**
+     * Returns the tick the snapshot was taken at.
+     *
+     * @return The tick, or -1 for an empty snapshot.
+     */
+    int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the world timer.
+     *
+     * @return The world timer.
+     */
+    int getWorldTimer() {
+        return worldTimer;
+    }
+
+    /**
+     * Returns Bob's health.
+     *
+     * @return Bob's health.
+     */
+    int getBobsHealth() {
+        return bobsHealth;
+    }
+
+    /**
+     * Returns the number of Kids in the snapshot, one per player.
+     *
+     * @return The number of Kids.
+     */
+    int getKidCount() {
+        return kidCount;
+    }
+
+    /**
+     * Returns the Kid of a player.
+     *
+     * @param index The index of the player.
+     * @return The Kid.
+     */
+    Body getKid(final int index) {
+        return kids[index];
+    }
+
+    /**
+     * Returns the number of enemies in the snapshot.
+     *
+     * @return The number of enemies.
+     */
+    int getEnemyCount() {
+        return enemyCount;
+    }
+
+    /**
+     * Returns an enemy.
+     *
+     * @param index The index of the enemy in the game.
+     * @return The enemy.
+     */
+    Body getEnemy(final int index) {
+        return enemies[index];
+    }
+
+    /**
+     * Returns the number of snowball slots in the snapshot.
+     *
+     * @return The number of slots.
+     */
+    int getSnowballCount() {
+        return snowballCount;
+    }
+
+    /**
+     * Returns the spot the snowball in a slot is at.
+     *
+     * @param slot The index of the slot.
+     * @return The index of the spawn spot, or -1 if the slot is empty.
+     */
+    int getSnowballSpot(final int slot) {
+        return snowballSpots[slot];
+    }
+
+    /**
+     * The quantized position, velocity and flags of a Kid or an enemy.
+     */
+    static final class Body {
+        private int x;
+        private int y;
+        private int velocityX;
+        private int velocityY;
+        private int flags;
+
+        void set(final float newX, final float newY, final float newVelocityX, final float newVelocityY,
+                 final int newFlags) {
+            x = quantize(newX, POSITION_OFFSET, POSITION_SCALE, POSITION_BITS);
+            y = quantize(newY, POSITION_OFFSET, POSITION_SCALE, POSITION_BITS);
+            velocityX = quantize(newVelocityX, VELOCITY_OFFSET, VELOCITY_SCALE, VELOCITY_BITS);
+            velocityY = quantize(newVelocityY, VELOCITY_OFFSET, VELOCITY_SCALE, VELOCITY_BITS);
+            flags = newFlags;
+        }
+
+        void set(final Body other) {
+            x = other.x;
+            y = other.y;
+            velocityX = other.velocityX;
+            velocityY = other.velocityY;
+            flags = other.flags;
+        }
+
+        private void write(final BitWriter writer, final Body baseline, final int flagBits) {
+            writeField(writer, x, baseline.x, POSITION_BITS);
+            writeField(writer, y, baseline.y, POSITION_BITS);
+            writeField(writer, velocityX, baseline.velocityX, VELOCITY_BITS);
+            writeField(writer, velocityY, baseline.velocityY, VELOCITY_BITS);
+            writeField(writer, flags, baseline.flags, flagBits);
+        }
+
+        private void read(final BitReader reader, final Body baseline, final int flagBits) {
+            x = readField(reader, baseline.x, POSITION_BITS);
+            y = readField(reader, baseline.y, POSITION_BITS);
+            velocityX = readField(reader, baseline.velocityX, VELOCITY_BITS);
+            velocityY = readField(reader, baseline.velocityY, VELOCITY_BITS);
+            flags = readField(reader, baseline.flags, flagBits);
+        }
+
+        /**
+         * Returns the x-coordinate of the body.
+         *
+         * @return The x-coordinate in meters.
+         */
+        float getX() {
+            return x / POSITION_SCALE - POSITION_OFFSET;
+        }
+
+        /**
+         * Returns the y-coordinate of the body.
+         *
+         * @return The y-coordinate in meters.
+         */
+        float getY() {
+            return y / POSITION_SCALE - POSITION_OFFSET;
+        }
+
+        /**
+         * Returns the horizontal velocity of the body.
+         *
+         * @return The velocity in meters per second.
+         */
+        float getVelocityX() {
+            return velocityX / VELOCITY_SCALE - VELOCITY_OFFSET;
+        }
+
+        /**
+         * Returns the vertical velocity of the body.
+         *
+         * @return The velocity in meters per second.
+         */
+        float getVelocityY() {
+            return velocityY / VELOCITY_SCALE - VELOCITY_OFFSET;
+        }
+
+        /**
+         * Returns whether a flag is set.
+         *
+         * @param flag The flag, such as CARRYING.
+         * @return true if the flag is set.
+         */
+        boolean hasFlag(final int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import dev.jasper.game.BobIsMelting;
+
+/**
+ * The OccupancyGrid class answers spatial queries about the static collision geometry of a level,
+ * such as whether there is a wall ahead of an enemy or whether the Kid can be seen, without calling into Box2D.
+ * The ground and the enemy boundaries never move, so they are rasterized once per level into bitsets of small cells,
+ * a cell being solid if its center lies in a rectangle, and every query only reads bits.
+ * Each layer is a separate bitset, so queries can pick the layers they care about.
+ * The bits are stored in ints rather than longs, as longs are emulated on the web.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class OccupancyGrid {
+    /**
+     * The layer of the ground rectangles.
+     */
+    public static final int GROUND = 1;
+    /**
+     * The layer of the rectangles that keep enemies on their platforms.
+     */
+    public static final int ENEMY_BOUNDARY = 1 << 1;
+    private static final int CELL_PIXELS = 4;
+    private static final int WORD_SHIFT = 5;
+    private static final int WORD_MASK = (1 << WORD_SHIFT) - 1;
+    private static final float CENTER = .5f;
+    private final int columns;
+    private final int rows;
+    private final float cellSize;
+    private final int[] ground;
+    private final int[] enemyBoundaries;
+
+    /**
+     * Constructs the OccupancyGrid of a level.
+     *
+     * @param level The level whose ground and enemy boundaries are rasterized.
+     */
+    public OccupancyGrid(final LevelData level) {
+        this.columns = MathUtils.ceil((float) level.getPixelWidth() / CELL_PIXELS);
+        this.rows = MathUtils.ceil((float) level.getPixelHeight() / CELL_PIXELS);
+        this.cellSize = CELL_PIXELS / BobIsMelting.PPM;
+        final int words = (columns * rows + WORD_MASK) >>> WORD_SHIFT;
+        this.ground = new int[words];
+        this.enemyBoundaries = new int[words];
+        rasterize(level.getGround(), ground);
+        rasterize(level.getEnemyBoundaries(), enemyBoundaries);
+    }
+
+    private void rasterize(final Array<Rectangle> rectangles, final int[] bits) {
+        // Index loop, as the level's arrays are shared by games on other threads
+        for (int i = 0; i < rectangles.size; i++) {
+            final Rectangle rectangle = rectangles.get(i);
+            // The cells whose centers lie in the rectangle
+            final int left = Math.max(0, MathUtils.ceil(rectangle.x / CELL_PIXELS - CENTER));
+            final int right = Math.min(columns, MathUtils.ceil((rectangle.x + rectangle.width) / CELL_PIXELS - CENTER));
+            final int bottom = Math.max(0, MathUtils.ceil(rectangle.y / CELL_PIXELS - CENTER));
+            final int top = Math.min(rows, MathUtils.ceil((rectangle.y + rectangle.height) / CELL_PIXELS - CENTER));
+            for (int row = bottom; row < top; row++) {
+                for (int column = left; column < right; column++) {
+                    final int index = row * columns + column;
+                    bits[index >>> WORD_SHIFT] |= 1 << (index & WORD_MASK);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the cells of the grid.
+     *
+     * @return The width and height of a cell in meters.
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns whether a point is inside the geometry of the given layers.
+     *
+     * @param x      The x-coordinate of the point in meters.
+     * @param y      The y-coordinate of the point in meters.
+     * @param layers The layers to look at, such as GROUND | ENEMY_BOUNDARY.
+     * @return true if the cell the point is in is solid in any of the layers. Points outside the level are not.
+     */
+    public boolean isSolid(final float x, final float y, final int layers) {
+        return isSolid(MathUtils.floor(x / cellSize), MathUtils.floor(y / cellSize), layers);
+    }
+
+    /**
+     * Returns whether a box overlaps the geometry of the given layers.
+     * Whole words of cells are tested at once, so wide boxes cost little more than narrow ones.
+     *
+     * @param left   The left edge of the box in meters.
+     * @param bottom The bottom edge of the box in meters.
+     * @param right  The right edge of the box in meters.
+     * @param top    The top edge of the box in meters.
+     * @param layers The layers to look at, such as GROUND | ENEMY_BOUNDARY.
+     * @return true if any cell the box touches is solid in any of the layers.
+     */
+    public boolean overlaps(final float left, final float bottom, final float right, final float top,
+                            final int layers) {
+        final int firstColumn = Math.max(0, MathUtils.floor(left / cellSize));
+        final int lastColumn = Math.min(columns - 1, MathUtils.floor(right / cellSize));
+        final int firstRow = Math.max(0, MathUtils.floor(bottom / cellSize));
+        final int lastRow = Math.min(rows - 1, MathUtils.floor(top / cellSize));
+        if (firstColumn > lastColumn) {
+            return false;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            final int from = row * columns + firstColumn;
+            final int to = row * columns + lastColumn;
+            if (((layers & GROUND) != 0 && anySet(ground, from, to))
+                    || ((layers & ENEMY_BOUNDARY) != 0 && anySet(enemyBoundaries, from, to))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Casts a ray through the grid, visiting every cell it crosses in order, and stops at the first solid one.
+     *
+     * @param startX The x-coordinate the ray starts at, in meters.
+     * @param startY The y-coordinate the ray starts at, in meters.
+     * @param endX   The x-coordinate the ray ends at, in meters.
+     * @param endY   The y-coordinate the ray ends at, in meters.
+     * @param layers The layers to look at, such as GROUND | ENEMY_BOUNDARY.
+     * @param hit    Set to where the ray enters the first solid cell, if it hits one. May be null.
+     * @return true if the ray hits a solid cell before it ends.
+     */
+    public boolean raycast(final float startX, final float startY, final float endX, final float endY,
+                           final int layers, final Vector2 hit) {
+        final float fromX = startX / cellSize;
+        final float fromY = startY / cellSize;
+        final float deltaX = endX / cellSize - fromX;
+        final float deltaY = endY / cellSize - fromY;
+        int column = MathUtils.floor(fromX);
+        int row = MathUtils.floor(fromY);
+        final int stepX = deltaX > 0 ? 1 : -1;
+        final int stepY = deltaY > 0 ? 1 : -1;
+        // How far along the ray, from 0 to 1, one cell is crossed, and the next column and row are reached
+        final float crossX = deltaX == 0 ? Float.MAX_VALUE : Math.abs(1 / deltaX);
+        final float crossY = deltaY == 0 ? Float.MAX_VALUE : Math.abs(1 / deltaY);
+        float nextX = deltaX == 0 ? Float.MAX_VALUE : (deltaX > 0 ? column + 1 - fromX : fromX - column) * crossX;
+        float nextY = deltaY == 0 ? Float.MAX_VALUE : (deltaY > 0 ? row + 1 - fromY : fromY - row) * crossY;
+        float distance = 0;
+        while (distance <= 1) {
+            if (isSolid(column, row, layers)) {
+                if (hit != null) {
+                    hit.set(startX + (endX - startX) * distance, startY + (endY - startY) * distance);
+                }
+                return true;
+            }
+            if (nextX < nextY) {
+                distance = nextX;
+                nextX += crossX;
+                column += stepX;
+            } else {
+                distance = nextY;
+                nextY += crossY;
+                row += stepY;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSolid(final int column, final int row, final int layers) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return false;
+        }
+        final int index = row * columns + column;
+        return ((layers & GROUND) != 0 && isSet(ground, index))
+                || ((layers & ENEMY_BOUNDARY) != 0 && isSet(enemyBoundaries, index));
+    }
+
+    private static boolean isSet(final int[] bits, final int index) {
+        return (bits[index >>> WORD_SHIFT] & (1 << (index & WORD_MASK))) != 0;
+    }
+
+    private static boolean anySet(final int[] bits, final int from, final int to) {
+        final int firstWord = from >>> WORD_SHIFT;
+        final int lastWord = to >>> WORD_SHIFT;
+        // Masks of the bits from the first index up, and up to the last index, within their words
+        final int firstMask = -1 << (from & WORD_MASK);
+        final int lastMask = -1 >>> (WORD_MASK - (to & WORD_MASK));
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0 || (bits[lastWord] & lastMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (bits[word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package dev.jasper.game.tools;
+
+/**
+ * The PacketTransport interface is how the GameServer and NetClient exchange packets, without knowing
+ * what carries them. Packets may be lost, duplicated or reordered, as with UDP, and neither method may block,
+ * so a tick never waits on the network. Each peer a transport talks to is known by a small int;
+ * a client's transport talks to the server only, and ignores the peer it is given.
+ * The desktop build implements it over non-blocking NIO datagram channels.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public interface PacketTransport {
+    /**
+     * The most bytes a packet has, which keeps datagrams below the usual MTU.
+     * Transports size their buffers to it.
+     */
+    int MAX_PACKET_BYTES = 1200;
+
+    /**
+     * Sends a packet, or drops it if it cannot be sent right away.
+     *
+     * @param peer   The peer to send the packet to.
+     * @param packet The array holding the packet.
+     * @param length The length of the packet in bytes.
+     */
+    void send(int peer, byte[] packet, int length);
+
+    /**
+     * Takes the next packet that arrived, if there is one.
+     *
+     * @param packet The array to copy the packet into. Packets longer than it are cut short.
+     * @return The length of the packet in bytes, or -1 if no packet is waiting.
+     */
+    int receive(byte[] packet);
+
+    /**
+     * Returns the peer the packet last returned by receive came from.
+     *
+     * @return The peer.
+     */
+    int getLastPeer();
+}
@@ -0,0 +1,186 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import dev.jasper.game.BobIsMelting;
+
+/**
+ * The ParallaxBackground class draws the backdrop layers of a map as scrolling strips.
+ * Each backdrop tile layer is baked once into a texture that repeats horizontally,
+ * and is then drawn as a single quad per frame that scrolls at its own fraction of the camera's speed,
+ * so the backdrop gains depth and costs one quad per layer instead of one per tile.
+ * The backdrop depends only on the map, so each Level bakes it once and keeps it for every game played in it.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ParallaxBackground implements Disposable {
+    /**
+     * The names of the backdrop layers, from back to front.
+     */
+    public static final String[] LAYER_NAMES = {"sky", "clouds", "treesBg"};
+    /**
+     * How fast each backdrop layer scrolls relative to the foreground, where 0 stays with the camera
+     * and 1 moves with the map.
+     */
+    private static final float[] SCROLL_FACTORS = {.1f, .3f, .6f};
+    private final Array<Strip> strips;
+
+    /**
+     * Constructs a ParallaxBackground, baking the backdrop layers of the map. Only a Level constructs one,
+     * on the rendering thread while the batch has not begun.
+     *
+     * @param map   The map whose backdrop layers are baked.
+     * @param batch The batch used to bake the layers.
+     */
+    ParallaxBackground(final TiledMap map, final Batch batch) {
+        this.strips = new Array<>(LAYER_NAMES.length);
+        final OrthogonalTiledMapRenderer renderer = ResourceTracker.track(new OrthogonalTiledMapRenderer(map, 1, batch),
+                "OrthogonalTiledMapRenderer");
+        try {
+            for (int i = 0; i < LAYER_NAMES.length; i++) {
+                final MapLayer layer = map.getLayers().get(LAYER_NAMES[i]);
+                if (layer instanceof TiledMapTileLayer) {
+                    strips.add(bake((TiledMapTileLayer) layer, SCROLL_FACTORS[i], renderer, batch));
+                }
+            }
+        } finally {
+            renderer.dispose();
+            ResourceTracker.disposed(renderer);
+        }
+    }
+
+    /**
+     * Returns whether a layer is drawn by the parallax background rather than as tiles.
+     *
+     * @param layerName The name of the layer.
+     * @return true if the layer is a backdrop layer.
+     */
+    public static boolean isBackdropLayer(final String layerName) {
+        for (String name : LAYER_NAMES) {
+            if (name.equals(layerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the backdrop layers behind the map for the given camera.
+     *
+     * @param renderQueue The RenderQueue the frame is drawn through.
+     * @param camera      The game camera, whose position the layers scroll with.
+     */
+    public void submit(final RenderQueue renderQueue, final OrthographicCamera camera) {
+        final float left = camera.position.x - camera.viewportWidth * camera.zoom * .5f;
+        final float width = camera.viewportWidth * camera.zoom;
+        for (int i = 0; i < strips.size; i++) {
+            final Strip strip = strips.get(i);
+            strip.setView(left, width);
+            renderQueue.submit(RenderQueue.RenderLayer.MAP, RenderQueue.BlendMode.NORMAL,
+                    strip.frameBuffer.getColorBufferTexture(), strip);
+        }
+    }
+
+    /**
+     * Returns the number of baked backdrop layers.
+     *
+     * @return The number of layers drawn as strips.
+     */
+    public int getLayerCount() {
+        return strips.size;
+    }
+
+    private static Strip bake(final TiledMapTileLayer layer, final float scrollFactor,
+                              final OrthogonalTiledMapRenderer renderer, final Batch batch) {
+        final int pixelWidth = layer.getWidth() * (int) layer.getTileWidth();
+        final int pixelHeight = layer.getHeight() * (int) layer.getTileHeight();
+        // Repeating textures must have power-of-two sides on GLES 2 and WebGL
+        final int textureWidth = MathUtils.nextPowerOfTwo(pixelWidth);
+        final int textureHeight = MathUtils.nextPowerOfTwo(pixelHeight);
+        final FrameBuffer frameBuffer = ResourceTracker.track(
+                new FrameBuffer(Pixmap.Format.RGBA8888, textureWidth, textureHeight, false), "FrameBuffer");
+        // The strip lives as long as its level, across every screen that shows a game in it
+        ResourceTracker.retain(frameBuffer);
+        final Texture texture = frameBuffer.getColorBufferTexture();
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        texture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.ClampToEdge);
+
+        // The whole width of the layer is stretched across the texture, so the strip repeats seamlessly
+        final OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, pixelWidth, pixelHeight);
+        renderer.setView(camera);
+        frameBuffer.begin();
+        Gdx.gl.glViewport(0, 0, textureWidth, pixelHeight);
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setProjectionMatrix(camera.combined);
+        // Keep the strip's alpha as drawn, instead of blending it with the cleared background
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA,
+                GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        renderer.renderTileLayer(layer);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        frameBuffer.end();
+
+        return new Strip(frameBuffer, pixelWidth / BobIsMelting.PPM, pixelHeight / BobIsMelting.PPM,
+                (float) pixelHeight / textureHeight, scrollFactor);
+    }
+
+    /**
+     * Disposes of the baked textures.
+     */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < strips.size; i++) {
+            strips.get(i).frameBuffer.dispose();
+            ResourceTracker.disposed(strips.get(i).frameBuffer);
+        }
+        strips.clear();
+    }
+
+    private static final class Strip implements RenderQueue.Drawable {
+        private final FrameBuffer frameBuffer;
+        private final float width;
+        private final float height;
+        private final float topV;
+        private final float scrollFactor;
+        private float left;
+        private float viewWidth;
+
+        private Strip(final FrameBuffer frameBuffer, final float width, final float height, final float topV,
+                      final float scrollFactor) {
+            this.frameBuffer = frameBuffer;
+            this.width = width;
+            this.height = height;
+            this.topV = topV;
+            this.scrollFactor = scrollFactor;
+        }
+
+        private void setView(final float viewLeft, final float viewSize) {
+            this.left = viewLeft;
+            this.viewWidth = viewSize;
+        }
+
+        @Override
+        public void draw(final Batch batch) {
+            // At the left edge of the view, the strip has scrolled by its share of the camera's travel
+            final float u = left * scrollFactor / width;
+            batch.draw(frameBuffer.getColorBufferTexture(), left, 0, viewWidth, height,
+                    u, 0, u + viewWidth / width, topV);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import java.util.Comparator;
+
+/**
+ * The RenderQueue class collects everything drawn in a frame as commands and draws them through one batch.
+ * Every command carries a sort key made of its layer, its blend mode and its texture,
+ * so commands are drawn layer by layer, and within a layer grouped by state,
+ * which keeps the number of projection, blend and texture switches, and with them draw calls, low.
+ * Layers whose contents may overlap in a meaningful order keep their submission order instead.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class RenderQueue {
+    private static final int LAYER_SHIFT = 56;
+    private static final int BLEND_SHIFT = 52;
+    private static final int TEXTURE_SHIFT = 32;
+    private static final long TEXTURE_MASK = 0xFFFFFL;
+    private static final long SEQUENCE_MASK = 0xFFFFFFFFL;
+    private static final Comparator<Command> BY_KEY = (a, b) -> Long.compare(a.key, b.key);
+    private final Array<Command> commands;
+    private final Array<Command> freeCommands;
+    private final ObjectIntMap<Texture> textureIds;
+    private final Matrix4[] projections;
+    private final Viewport[] viewports;
+    private int sequence;
+    private int stateChanges;
+
+    /**
+     * Constructs an empty RenderQueue.
+     */
+    public RenderQueue() {
+        this.commands = new Array<>();
+        this.freeCommands = new Array<>();
+        this.textureIds = new ObjectIntMap<>();
+        this.projections = new Matrix4[View.values().length];
+        this.viewports = new Viewport[View.values().length];
+        for (int i = 0; i < projections.length; i++) {
+            projections[i] = new Matrix4();
+        }
+    }
+
+    /**
+     * Sets the viewport the layers of a view are drawn through this frame.
+     * The projection of its camera is copied now, and the viewport is applied when the view's layers are drawn.
+     *
+     * @param view     The view.
+     * @param viewport The viewport, whose camera must be up to date.
+     */
+    public void setViewport(final View view, final Viewport viewport) {
+        projections[view.ordinal()].set(viewport.getCamera().combined);
+        viewports[view.ordinal()] = viewport;
+    }
+
+    /**
+     * Queues a sprite, drawn with normal blending.
+     *
+     * @param layer  The layer the sprite is drawn on.
+     * @param sprite The sprite.
+     */
+    public void submit(final RenderLayer layer, final Sprite sprite) {
+        obtain(layer, BlendMode.NORMAL, sprite.getTexture()).sprite = sprite;
+    }
+
+    /**
+     * Queues anything that draws itself through a batch, such as a tile layer or a scene2d group.
+     *
+     * @param layer     The layer it is drawn on.
+     * @param blendMode The blend mode it is drawn with.
+     * @param texture   The texture it mostly draws from, or null if unknown, used only for grouping.
+     * @param drawable  What is drawn.
+     */
+    public void submit(final RenderLayer layer, final BlendMode blendMode, final Texture texture,
+                       final Drawable drawable) {
+        obtain(layer, blendMode, texture).drawable = drawable;
+    }
+
+    /**
+     * Draws all queued commands in sort order and empties the queue.
+     * The batch must not have begun; it is begun and ended here.
+     *
+     * @param batch The batch everything is drawn through.
+     */
+    public void flush(final Batch batch) {
+        commands.sort(BY_KEY);
+        stateChanges = 0;
+        View currentView = null;
+        BlendMode currentBlend = BlendMode.NORMAL;
+        batch.setBlendFunction(currentBlend.source, currentBlend.destination);
+        batch.begin();
+        for (int i = 0; i < commands.size; i++) {
+            final Command command = commands.get(i);
+            if (command.layer.view != currentView) {
+                currentView = command.layer.view;
+                // Setting the projection draws what is pending first, so it is still drawn through the old viewport
+                batch.setProjectionMatrix(projections[currentView.ordinal()]);
+                viewports[currentView.ordinal()].apply();
+                stateChanges++;
+            }
+            if (command.blendMode != currentBlend) {
+                currentBlend = command.blendMode;
+                batch.setBlendFunction(currentBlend.source, currentBlend.destination);
+                stateChanges++;
+            }
+            if (command.sprite != null) {
+                command.sprite.draw(batch);
+            } else {
+                command.drawable.draw(batch);
+            }
+        }
+        batch.end();
+        batch.setBlendFunction(BlendMode.NORMAL.source, BlendMode.NORMAL.destination);
+
+        for (int i = 0; i < commands.size; i++) {
+            final Command command = commands.get(i);
+            command.sprite = null;
+            command.drawable = null;
+        }
+        freeCommands.addAll(commands);
+        commands.clear();
+        // Ids only group the commands of one frame, so textures that are gone are not kept around
+        textureIds.clear();
+        sequence = 0;
+    }
+
+    /**
+     * Returns how many projection and blend switches the last flush made.
+     *
+     * @return The number of state changes of the last flush.
+     */
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    private Command obtain(final RenderLayer layer, final BlendMode blendMode, final Texture texture) {
+        final Command command = freeCommands.isEmpty() ? new Command() : freeCommands.pop();
+        command.layer = layer;
+        command.blendMode = blendMode;
+        long key = (long) layer.ordinal() << LAYER_SHIFT;
+        if (layer.groupsByState) {
+            key |= (long) blendMode.ordinal() << BLEND_SHIFT | (getTextureId(texture) & TEXTURE_MASK) << TEXTURE_SHIFT;
+        }
+        command.key = key | sequence++ & SEQUENCE_MASK;
+        commands.add(command);
+        return command;
+    }
+
+    private long getTextureId(final Texture texture) {
+        if (texture == null) {
+            return 0;
+        }
+        int id = textureIds.get(texture, 0);
+        if (id == 0) {
+            id = textureIds.size + 1;
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    /**
+     * Something that draws itself through a batch that has already begun.
+     */
+    public interface Drawable {
+        /**
+         * Draws through the batch.
+         *
+         * @param batch The batch, already begun with the right projection and blend mode.
+         */
+        void draw(Batch batch);
+    }
+
+    /**
+     * The projections layers can be drawn with.
+     */
+    public enum View {
+        /**
+         * The game camera, in meters.
+         */
+        WORLD,
+        /**
+         * The HUD camera, in virtual pixels.
+         */
+        SCREEN
+    }
+
+    /**
+     * The layers of a frame, from back to front.
+     */
+    public enum RenderLayer {
+        /**
+         * The tile layers of the map, drawn in the order they are submitted.
+         */
+        MAP(View.WORLD, false),
+        /**
+         * Bob, the enemies and the snowballs.
+         */
+        ENTITIES(View.WORLD, true),
+        /**
+         * The Kid, drawn over everything else in the world.
+         */
+        PLAYER(View.WORLD, true),
+        /**
+         * Effects drawn over the world.
+         */
+        EFFECTS(View.WORLD, true),
+        /**
+         * The heads-up display, drawn in the order it is submitted.
+         */
+        HUD(View.SCREEN, false);
+
+        private final View view;
+        private final boolean groupsByState;
+
+        RenderLayer(final View view, final boolean groupsByState) {
+            this.view = view;
+            this.groupsByState = groupsByState;
+        }
+    }
+
+    /**
+     * The blend modes commands can be drawn with.
+     */
+    public enum BlendMode {
+        /**
+         * Regular alpha blending.
+         */
+        NORMAL(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA),
+        /**
+         * Additive blending, for glows and sparks.
+         */
+        ADDITIVE(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+
+        private final int source;
+        private final int destination;
+
+        BlendMode(final int source, final int destination) {
+            this.source = source;
+            this.destination = destination;
+        }
+    }
+
+    private static final class Command {
+        private long key;
+        private RenderLayer layer;
+        private BlendMode blendMode;
+        private Sprite sprite;
+        private Drawable drawable;
+    }
+}
@@ -0,0 +1,180 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+
+/**
+ * The RenderSnapshot class holds everything needed to draw one simulation tick: the vertices of every visible
+ * sprite, where the camera follows, and the values shown on the HUD. It is filled on the simulation thread
+ * and only read on the rendering thread once the simulation has handed it over, so the two never share
+ * a sprite that is being changed.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class RenderSnapshot {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+    private final float[] interpolated;
+    private float[] vertices;
+    private Texture[] textures;
+    private Sprite[] owners;
+    private RenderQueue.RenderLayer[] layers;
+    private int size;
+    private float cameraX;
+    private int worldTimer;
+    private int bobsHealth;
+    private boolean gameOver;
+    private int ticks;
+    private int bodyCount;
+
+    /**
+     * Constructs an empty RenderSnapshot.
+     */
+    RenderSnapshot() {
+        interpolated = new float[SPRITE_SIZE];
+        vertices = new float[INITIAL_CAPACITY * SPRITE_SIZE];
+        textures = new Texture[INITIAL_CAPACITY];
+        owners = new Sprite[INITIAL_CAPACITY];
+        layers = new RenderQueue.RenderLayer[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Empties the snapshot so that it can be filled with a new tick.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            textures[i] = null;
+            owners[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Copies the vertices of a sprite as they are now.
+     *
+     * @param layer  The layer the sprite is drawn on.
+     * @param sprite The sprite.
+     */
+    void add(final RenderQueue.RenderLayer layer, final Sprite sprite) {
+        if (size == owners.length) {
+            grow();
+        }
+        System.arraycopy(sprite.getVertices(), 0, vertices, size * SPRITE_SIZE, SPRITE_SIZE);
+        textures[size] = sprite.getTexture();
+        owners[size] = sprite;
+        layers[size] = layer;
+        size++;
+    }
+
+    private void grow() {
+        final int capacity = owners.length * 2;
+        final float[] grownVertices = new float[capacity * SPRITE_SIZE];
+        System.arraycopy(vertices, 0, grownVertices, 0, size * SPRITE_SIZE);
+        vertices = grownVertices;
+        final Texture[] grownTextures = new Texture[capacity];
+        System.arraycopy(textures, 0, grownTextures, 0, size);
+        textures = grownTextures;
+        final Sprite[] grownOwners = new Sprite[capacity];
+        System.arraycopy(owners, 0, grownOwners, 0, size);
+        owners = grownOwners;
+        final RenderQueue.RenderLayer[] grownLayers = new RenderQueue.RenderLayer[capacity];
+        System.arraycopy(layers, 0, grownLayers, 0, size);
+        layers = grownLayers;
+    }
+
+    /**
+     * Sets the state of the game at the end of the tick.
+     *
+     * @param newCameraX    The x-coordinate the camera follows, in meters.
+     * @param newWorldTimer The world timer.
+     * @param newBobsHealth Bob's health.
+     * @param isGameOver    Whether the game is over.
+     * @param tickCount     The number of ticks simulated since the previous snapshot.
+     * @param newBodyCount  The number of Box2D bodies in the world.
+     */
+    void setState(final float newCameraX, final int newWorldTimer, final int newBobsHealth,
+                  final boolean isGameOver, final int tickCount, final int newBodyCount) {
+        this.cameraX = newCameraX;
+        this.worldTimer = newWorldTimer;
+        this.bobsHealth = newBobsHealth;
+        this.gameOver = isGameOver;
+        this.ticks = tickCount;
+        this.bodyCount = newBodyCount;
+    }
+
+    float getCameraX() {
+        return cameraX;
+    }
+
+    int getWorldTimer() {
+        return worldTimer;
+    }
+
+    int getBobsHealth() {
+        return bobsHealth;
+    }
+
+    boolean isGameOver() {
+        return gameOver;
+    }
+
+    int getTicks() {
+        return ticks;
+    }
+
+    int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * Draws the sprites of one layer, each moved part of the way from where it was in an earlier snapshot.
+     * A sprite that was not in the earlier snapshot is drawn where it is now.
+     *
+     * @param batch    The batch, already begun.
+     * @param layer    The layer to draw.
+     * @param previous The earlier snapshot.
+     * @param alpha    How far to move from the earlier snapshot to this one, from 0 to 1.
+     */
+    void draw(final Batch batch, final RenderQueue.RenderLayer layer, final RenderSnapshot previous,
+              final float alpha) {
+        for (int i = 0; i < size; i++) {
+            if (layers[i] != layer) {
+                continue;
+            }
+            final int offset = i * SPRITE_SIZE;
+            final int previousIndex = previous.indexOf(owners[i], i);
+            if (previousIndex < 0) {
+                batch.draw(textures[i], vertices, offset, SPRITE_SIZE);
+                continue;
+            }
+            // Only the corners move; the colour and texture coordinates are taken from this tick
+            final int previousOffset = previousIndex * SPRITE_SIZE;
+            System.arraycopy(vertices, offset, interpolated, 0, SPRITE_SIZE);
+            for (int vertex = 0; vertex < SPRITE_SIZE; vertex += VERTEX_SIZE) {
+                interpolated[vertex] = lerp(previous.vertices[previousOffset + vertex], interpolated[vertex], alpha);
+                interpolated[vertex + 1] = lerp(previous.vertices[previousOffset + vertex + 1],
+                        interpolated[vertex + 1], alpha);
+            }
+            batch.draw(textures[i], interpolated, 0, SPRITE_SIZE);
+        }
+    }
+
+    private static float lerp(final float from, final float to, final float alpha) {
+        return from + (to - from) * alpha;
+    }
+
+    private int indexOf(final Sprite owner, final int expectedIndex) {
+        if (expectedIndex < size && owners[expectedIndex] == owner) {
+            return expectedIndex;
+        }
+        for (int i = 0; i < size; i++) {
+            if (owners[i] == owner) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The ReplayFormat class describes the layout of a replay file, all big-endian.
+ * <ul>
+ *     <li>A header: the magic number, the version and the number of ticks between keyframes.</li>
+ *     <li>One frame per tick, in order from the first tick: the length of the frame as a short,
+ *     then a NetSnapshot of the game after that tick. The frame of every KEYFRAME_INTERVAL_TICKS-th tick
+ *     is a keyframe, written in full; the others are written as their difference to the frame before.</li>
+ *     <li>A footer, written when the replay is closed: the offset of every keyframe, the number of keyframes,
+ *     the number of frames and the footer magic number, so a reader can find any keyframe without reading
+ *     what comes before it. A replay cut short before the footer was written is still readable from the frames.</li>
+ * </ul>
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ReplayFormat {
+    /**
+     * The first four bytes of every replay, "BOBR" in ASCII.
+     */
+    public static final int MAGIC = 0x424F4252;
+    /**
+     * The version of the format. Replays of any other version are rejected.
+     */
+    public static final int VERSION = 1;
+    /**
+     * The number of ticks from one keyframe to the next: one second.
+     */
+    public static final int KEYFRAME_INTERVAL_TICKS = 60;
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_BYTES = 3 * Integer.BYTES;
+    /**
+     * The size of the length that comes before each frame, in bytes.
+     */
+    public static final int FRAME_LENGTH_BYTES = Short.BYTES;
+    /**
+     * The last four bytes of a replay that was closed properly, "REND" in ASCII.
+     */
+    public static final int FOOTER_MAGIC = 0x52454E44;
+    /**
+     * The size of the end of the footer, after the keyframe offsets, in bytes.
+     */
+    public static final int FOOTER_END_BYTES = 3 * Integer.BYTES;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Writes the header of a replay, starting at the buffer's position.
+     *
+     * @param buffer The buffer, with at least HEADER_BYTES bytes remaining.
+     */
+    public static void writeHeader(final ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(KEYFRAME_INTERVAL_TICKS);
+    }
+
+    /**
+     * Reads and checks the header of a replay, starting at the buffer's position.
+     *
+     * @param buffer The buffer holding the replay.
+     * @throws GdxRuntimeException If the buffer does not hold a replay of this version.
+     */
+    public static void readHeader(final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a replay");
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Replay has version " + version + ", expected " + VERSION);
+        }
+        final int interval = buffer.getInt();
+        if (interval != KEYFRAME_INTERVAL_TICKS) {
+            throw new GdxRuntimeException("Replay has a keyframe every " + interval + " ticks, expected "
+                    + KEYFRAME_INTERVAL_TICKS);
+        }
+    }
+
+    /**
+     * Returns whether the frame of a tick is a keyframe.
+     *
+     * @param tick The tick, counted from the first frame of the replay.
+     * @return true if the frame is written in full.
+     */
+    public static boolean isKeyframe(final int tick) {
+        return tick % KEYFRAME_INTERVAL_TICKS == 0;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.jasper.game.tools;
+
+/**
+ * The ReplayPlayer class plays a replay back through a GameStateManager, a frame per tick, in real time
+ * or paused, and jumps to any second of it. The game is never stepped, only shown as the frames have it.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ReplayPlayer {
+    private static final int TICKS_PER_SECOND = ReplayFormat.KEYFRAME_INTERVAL_TICKS;
+    private final GameStateManager gameStateManager;
+    private final ReplayReader reader;
+    private float tickAccumulator;
+    private boolean paused;
+
+    /**
+     * Constructs a ReplayPlayer and shows the first frame of the replay.
+     *
+     * @param gameStateManager A new game in the level the replay was recorded in.
+     * @param reader           The replay.
+     */
+    public ReplayPlayer(final GameStateManager gameStateManager, final ReplayReader reader) {
+        this.gameStateManager = gameStateManager;
+        this.reader = reader;
+        gameStateManager.setReplica(true);
+        seekSecond(0);
+    }
+
+    /**
+     * Shows the frames of the ticks that passed since the last call, unless paused.
+     *
+     * @param dt The time passed in seconds.
+     */
+    public void update(final float dt) {
+        if (paused) {
+            return;
+        }
+        tickAccumulator += dt;
+        while (tickAccumulator >= GameStateManager.TIME_STEP && reader.hasNext()) {
+            tickAccumulator -= GameStateManager.TIME_STEP;
+            reader.next();
+            gameStateManager.playback(reader.getFrame(), GameStateManager.TIME_STEP);
+        }
+        if (!reader.hasNext()) {
+            tickAccumulator = 0;
+        }
+    }
+
+    /**
+     * Jumps to a second of the replay and shows its first frame.
+     *
+     * @param second The second, clamped to the length of the replay.
+     */
+    public void seekSecond(final int second) {
+        reader.seek(second * TICKS_PER_SECOND);
+        if (reader.getTick() >= 0) {
+            gameStateManager.playback(reader.getFrame(), 0);
+        }
+        tickAccumulator = 0;
+    }
+
+    /**
+     * Returns the second of the replay being shown.
+     *
+     * @return The second, counted from the start of the replay.
+     */
+    public int getSecond() {
+        return Math.max(0, reader.getTick()) / TICKS_PER_SECOND;
+    }
+
+    /**
+     * Returns the length of the replay.
+     *
+     * @return The length in whole seconds.
+     */
+    public int getDurationSeconds() {
+        return reader.getTickCount() / TICKS_PER_SECOND;
+    }
+
+    /**
+     * Pauses or resumes playing.
+     *
+     * @param isPaused true to pause.
+     */
+    public void setPaused(final boolean isPaused) {
+        this.paused = isPaused;
+    }
+
+    /**
+     * Returns whether playing is paused.
+     *
+     * @return true if paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Returns whether the last frame of the replay is being shown.
+     *
+     * @return true if the replay has been played to the end.
+     */
+    public boolean isFinished() {
+        return !reader.hasNext();
+    }
+}
@@ -0,0 +1,182 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The ReplayReader class reads a replay written by ReplayWriter, one frame at a time, straight from a buffer.
+ * On desktop the buffer is the replay file mapped into memory, so opening even a long replay reads only its footer,
+ * and the pages of the file are loaded as they are played.
+ * Seeking loads the keyframe at or before the tick sought and the frames from there on, so it takes
+ * at most a keyframe and KEYFRAME_INTERVAL_TICKS - 1 frames however far into the replay the tick is.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ReplayReader {
+    private final ByteBuffer buffer;
+    private final IntArray keyframeOffsets;
+    private final int tickCount;
+    private final byte[] frame;
+    private final BitReader reader;
+    private final NetSnapshot emptySnapshot;
+    private NetSnapshot current;
+    private NetSnapshot previous;
+    private int nextOffset;
+    private int tick;
+
+    /**
+     * Constructs a ReplayReader and finds the keyframes of the replay.
+     * A replay without a footer, such as one cut short when the game crashed, is walked through frame by frame
+     * instead, and is read up to its last complete frame.
+     *
+     * @param buffer The buffer holding the replay from its position to its limit. It must not change afterwards.
+     * @throws GdxRuntimeException If the buffer does not hold a replay of this version.
+     */
+    public ReplayReader(final ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+        ReplayFormat.readHeader(this.buffer);
+        this.keyframeOffsets = new IntArray();
+        this.frame = new byte[NetProtocol.MAX_PACKET_BYTES];
+        this.reader = new BitReader();
+        this.emptySnapshot = new NetSnapshot();
+        this.current = new NetSnapshot();
+        this.previous = new NetSnapshot();
+        if (hasFooter()) {
+            this.tickCount = readFooter();
+        } else {
+            this.tickCount = findKeyframes();
+        }
+        this.nextOffset = ReplayFormat.HEADER_BYTES;
+        this.tick = -1;
+    }
+
+    private boolean hasFooter() {
+        final int limit = buffer.limit();
+        return limit >= ReplayFormat.HEADER_BYTES + ReplayFormat.FOOTER_END_BYTES
+                && buffer.getInt(limit - Integer.BYTES) == ReplayFormat.FOOTER_MAGIC;
+    }
+
+    private int readFooter() {
+        final int footerEnd = buffer.limit() - ReplayFormat.FOOTER_END_BYTES;
+        final int keyframes = buffer.getInt(footerEnd);
+        final int frames = buffer.getInt(footerEnd + Integer.BYTES);
+        final int indexStart = footerEnd - keyframes * Integer.BYTES;
+        if (keyframes < 0 || indexStart < ReplayFormat.HEADER_BYTES) {
+            throw new GdxRuntimeException("Replay footer is corrupt");
+        }
+        keyframeOffsets.ensureCapacity(keyframes);
+        for (int i = 0; i < keyframes; i++) {
+            keyframeOffsets.add(buffer.getInt(indexStart + i * Integer.BYTES));
+        }
+        return frames;
+    }
+
+    private int findKeyframes() {
+        int offset = ReplayFormat.HEADER_BYTES;
+        int frames = 0;
+        final int limit = buffer.limit();
+        while (offset + ReplayFormat.FRAME_LENGTH_BYTES <= limit) {
+            final int length = buffer.getShort(offset) & 0xFFFF;
+            if (length > frame.length || offset + ReplayFormat.FRAME_LENGTH_BYTES + length > limit) {
+                break;
+            }
+            if (ReplayFormat.isKeyframe(frames)) {
+                keyframeOffsets.add(offset);
+            }
+            offset += ReplayFormat.FRAME_LENGTH_BYTES + length;
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * Returns the number of frames in the replay.
+     *
+     * @return The number of ticks recorded.
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the tick of the frame read last.
+     *
+     * @return The tick, or -1 before the first frame has been read.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns whether there are frames after the one read last.
+     *
+     * @return true if next can be called.
+     */
+    public boolean hasNext() {
+        return tick + 1 < tickCount;
+    }
+
+    /**
+     * Reads the frame after the one read last.
+     *
+     * @throws GdxRuntimeException If there are no more frames, or the frame is corrupt.
+     */
+    public void next() {
+        if (!hasNext()) {
+            throw new GdxRuntimeException("Replay has no frame after tick " + tick);
+        }
+        tick++;
+        // The frame read last is the baseline of this one, unless this one is a keyframe
+        final NetSnapshot swap = previous;
+        previous = current;
+        current = swap;
+        final NetSnapshot baseline;
+        if (ReplayFormat.isKeyframe(tick)) {
+            baseline = emptySnapshot;
+        } else {
+            baseline = previous;
+        }
+        final int length = buffer.getShort(nextOffset) & 0xFFFF;
+        if (length > frame.length) {
+            throw new GdxRuntimeException("Replay frame " + tick + " is corrupt");
+        }
+        buffer.position(nextOffset + ReplayFormat.FRAME_LENGTH_BYTES);
+        buffer.get(frame, 0, length);
+        reader.reset(frame, length);
+        if (!current.read(reader, baseline, tick)) {
+            throw new GdxRuntimeException("Replay frame " + tick + " is corrupt");
+        }
+        nextOffset += ReplayFormat.FRAME_LENGTH_BYTES + length;
+    }
+
+    /**
+     * Reads the frame of a tick, starting from the keyframe at or before it.
+     *
+     * @param targetTick The tick, clamped to the ticks of the replay. Nothing is read if the replay has no frames.
+     */
+    public void seek(final int targetTick) {
+        if (tickCount == 0) {
+            return;
+        }
+        final int target = Math.max(0, Math.min(targetTick, tickCount - 1));
+        final int keyframe = target / ReplayFormat.KEYFRAME_INTERVAL_TICKS;
+        nextOffset = keyframeOffsets.get(keyframe);
+        // Read as if the frame before the keyframe was the last one read
+        tick = keyframe * ReplayFormat.KEYFRAME_INTERVAL_TICKS - 1;
+        while (tick < target) {
+            next();
+        }
+    }
+
+    /**
+     * Returns the frame read last.
+     *
+     * @return The state of the game after the tick of the frame.
+     */
+    NetSnapshot getFrame() {
+        return current;
+    }
+}
@@ -0,0 +1,161 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The ReplayWriter class records a game into a replay while it is played, one frame per tick,
+ * in the layout described by ReplayFormat. Frames are gathered in a buffer and written out whenever it fills,
+ * so recording costs a snapshot and a few hundred bytes of copying per tick, and a write every few seconds.
+ * If writing fails, the error is logged and recording stops, so a full disk never ends a game.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ReplayWriter implements Disposable {
+    private static final String TAG = "Replay";
+    private static final String FILE_PREFIX = "replay-";
+    private static final String FILE_EXTENSION = ".bobr";
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static String directory;
+    private final OutputStream output;
+    private final byte[] chunk;
+    private final ByteBuffer chunkBuffer;
+    private final BitWriter writer;
+    private final NetSnapshot emptySnapshot;
+    private final IntArray keyframeOffsets;
+    private NetSnapshot current;
+    private NetSnapshot previous;
+    private int written;
+    private int tickCount;
+    private boolean failed;
+
+    /**
+     * Constructs a ReplayWriter and writes the header of the replay.
+     *
+     * @param output The stream to write the replay to. It is closed when the ReplayWriter is disposed of.
+     */
+    public ReplayWriter(final OutputStream output) {
+        this.output = output;
+        this.chunk = new byte[CHUNK_BYTES];
+        this.chunkBuffer = ByteBuffer.wrap(chunk);
+        this.writer = new BitWriter(NetProtocol.MAX_PACKET_BYTES);
+        this.emptySnapshot = new NetSnapshot();
+        this.keyframeOffsets = new IntArray();
+        this.current = new NetSnapshot();
+        this.previous = new NetSnapshot();
+        ReplayFormat.writeHeader(chunkBuffer);
+    }
+
+    /**
+     * Sets the folder every game played is recorded into, as a replay named after the time it started.
+     *
+     * @param localDirectory The folder, relative to the local storage of the game, or null to record nothing.
+     */
+    public static void setDirectory(final String localDirectory) {
+        directory = localDirectory;
+    }
+
+    /**
+     * Returns whether games are recorded.
+     *
+     * @return true if a folder to record into is set.
+     */
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Creates a ReplayWriter for a new replay in the folder set by setDirectory.
+     *
+     * @return The ReplayWriter.
+     */
+    public static ReplayWriter create() {
+        final String name = FILE_PREFIX + TimeUtils.millis() + FILE_EXTENSION;
+        GameLog.info(TAG, "Recording {}", name);
+        return new ReplayWriter(Gdx.files.local(directory).child(name).write(false));
+    }
+
+    /**
+     * Adds the state of a game as the frame of the next tick. Called by the game right after each tick.
+     *
+     * @param gameStateManager The game.
+     */
+    void record(final GameStateManager gameStateManager) {
+        if (failed) {
+            return;
+        }
+        current.capture(gameStateManager, tickCount);
+        writer.reset();
+        if (ReplayFormat.isKeyframe(tickCount)) {
+            keyframeOffsets.add(written + chunkBuffer.position());
+            current.write(writer, emptySnapshot);
+        } else {
+            current.write(writer, previous);
+        }
+        if (chunkBuffer.remaining() < ReplayFormat.FRAME_LENGTH_BYTES + writer.getByteLength()) {
+            flushChunk();
+        }
+        chunkBuffer.putShort((short) writer.getByteLength());
+        chunkBuffer.put(writer.getBuffer(), 0, writer.getByteLength());
+        // The frame just written is the baseline of the next one
+        final NetSnapshot swap = previous;
+        previous = current;
+        current = swap;
+        tickCount++;
+    }
+
+    /**
+     * Returns the number of frames recorded so far.
+     *
+     * @return The number of ticks recorded.
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    private void flushChunk() {
+        try {
+            output.write(chunk, 0, chunkBuffer.position());
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot write the replay, recording stops", e);
+            failed = true;
+        }
+        written += chunkBuffer.position();
+        chunkBuffer.clear();
+    }
+
+    private void putFooterInt(final int value) {
+        if (chunkBuffer.remaining() < Integer.BYTES) {
+            flushChunk();
+        }
+        chunkBuffer.putInt(value);
+    }
+
+    /**
+     * Writes out what is left of the replay and the footer, and closes the stream.
+     */
+    @Override
+    public void dispose() {
+        if (!failed) {
+            for (int i = 0; i < keyframeOffsets.size; i++) {
+                putFooterInt(keyframeOffsets.get(i));
+            }
+            putFooterInt(keyframeOffsets.size);
+            putFooterInt(tickCount);
+            putFooterInt(ReplayFormat.FOOTER_MAGIC);
+            flushChunk();
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot close the replay", e);
+        }
+    }
+}
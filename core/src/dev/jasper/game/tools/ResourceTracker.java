@@ -0,0 +1,196 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * The ResourceTracker class audits the lifecycle of resources that hold native or GPU memory:
+ * disposables such as textures, fonts, stages and executors, Box2D worlds, bodies and shapes.
+ * Each one is registered with the place it was created at when it is created, and unregistered when it is
+ * disposed of; resources that go away together with another one, such as the bodies of a world, name it
+ * as their owner. A screen and the resources it uses are created while the screen before it is shown, so after each
+ * screen transition, every resource created before the screen that ended was set and still alive is reported;
+ * resources created before the first report live as long as the game and are left out. When the game closes,
+ * everything still alive is reported as a leak.
+ * Tracking is off unless enabled, as in debug builds, and then every call returns after one check.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ResourceTracker {
+    private static final String TAG = "ResourceTracker";
+    private static final int FRAMES_SHOWN = 2;
+    private static final IdentityMap<Object, AllocationSite> LIVE = new IdentityMap<>();
+    private static final ObjectIntMap<String> COUNTS = new ObjectIntMap<>();
+    private static boolean enabled;
+    private static int generation;
+
+    private ResourceTracker() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Starts tracking resources. Resources created before this call are not tracked.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Returns whether resources are being tracked.
+     *
+     * @return true if resources are being tracked.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a resource that must be disposed of on its own.
+     *
+     * @param resource The resource.
+     * @param kind     What kind of resource it is, such as "Texture".
+     * @param <T>      The type of the resource.
+     * @return The resource, so it can be tracked where it is created.
+     */
+    public static <T> T track(final T resource, final String kind) {
+        return track(resource, kind, null);
+    }
+
+    /**
+     * Registers a resource that goes away on its own when its owner is disposed of.
+     *
+     * @param resource The resource.
+     * @param kind     What kind of resource it is, such as "Body".
+     * @param owner    The resource it goes away with, or null if it must be disposed of on its own.
+     * @param <T>      The type of the resource.
+     * @return The resource, so it can be tracked where it is created.
+     */
+    public static <T> T track(final T resource, final String kind, final Object owner) {
+        if (enabled) {
+            register(resource, kind, owner);
+        }
+        return resource;
+    }
+
+    private static synchronized void register(final Object resource, final String kind, final Object owner) {
+        LIVE.put(resource, new AllocationSite(kind, owner, generation));
+    }
+
+    /**
+     * Unregisters a resource that has been disposed of, together with every resource it owns.
+     *
+     * @param resource The resource.
+     */
+    public static void disposed(final Object resource) {
+        if (enabled) {
+            unregister(resource);
+        }
+    }
+
+    private static synchronized void unregister(final Object resource) {
+        if (LIVE.remove(resource) == null) {
+            return;
+        }
+        final ObjectMap.Keys<Object> resources = LIVE.keys();
+        while (resources.hasNext) {
+            if (LIVE.get(resources.next()).owner == resource) {
+                resources.remove();
+            }
+        }
+    }
+
+    /**
+     * Sets a tracked resource apart from the screen it was created during, because it lives as long as something
+     * that outlasts screens, such as a level that every game played in it shares. Transitions no longer report it,
+     * but it is still reported as a leak if it is alive when the game closes.
+     *
+     * @param resource The resource.
+     */
+    public static void retain(final Object resource) {
+        if (enabled) {
+            setApart(resource);
+        }
+    }
+
+    private static synchronized void setApart(final Object resource) {
+        final AllocationSite site = LIVE.get(resource);
+        if (site != null) {
+            site.generation = 0;
+        }
+    }
+
+    /**
+     * Returns the number of tracked resources that are still alive.
+     *
+     * @return The number of live resources.
+     */
+    public static synchronized int getLiveCount() {
+        return LIVE.size;
+    }
+
+    /**
+     * Reports how many resources of each kind are alive, and every resource created before the previous report
+     * that is still alive, with where it was created. Called after each screen transition, once the screen
+     * that ended has been disposed of, and once at startup to set apart the resources the game keeps throughout.
+     *
+     * @param transition The screen transition, such as "PlayScreen -> GameOverScreen".
+     */
+    public static synchronized void report(final String transition) {
+        if (!enabled) {
+            return;
+        }
+        COUNTS.clear();
+        for (ObjectMap.Entry<Object, AllocationSite> entry : LIVE) {
+            COUNTS.getAndIncrement(entry.value.getMessage(), 0, 1);
+            if (entry.value.generation > 0 && entry.value.generation < generation) {
+                GameLog.error(TAG, "Outlived its screen: {}", entry.value);
+            }
+        }
+        GameLog.info(TAG, "Alive after " + transition + ": {}", COUNTS.toString());
+        generation++;
+    }
+
+    /**
+     * Reports every resource that is still alive, with where it was created. Called when the game closes,
+     * once everything should have been disposed of.
+     */
+    public static synchronized void reportLeaks() {
+        if (!enabled) {
+            return;
+        }
+        for (ObjectMap.Entry<Object, AllocationSite> entry : LIVE) {
+            GameLog.error(TAG, "Leaked: {}", entry.value);
+        }
+        GameLog.info(TAG, "{} resources leaked", LIVE.size);
+    }
+
+    /**
+     * Where a resource was created, kept as the stack trace of a Throwable that is never thrown.
+     */
+    private static final class AllocationSite extends Throwable {
+        private final Object owner;
+        private int generation;
+
+        AllocationSite(final String kind, final Object owner, final int generation) {
+            super(kind);
+            this.owner = owner;
+            this.generation = generation;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder site = new StringBuilder(getMessage()).append(" created at");
+            int shown = 0;
+            for (StackTraceElement element : getStackTrace()) {
+                // Skip the tracker itself, so the first frame shown is the code that created the resource
+                if (shown < FRAMES_SHOWN && !element.getClassName().equals(ResourceTracker.class.getName())) {
+                    site.append(' ').append(element);
+                    shown++;
+                }
+            }
+            return site.toString();
+        }
+    }
+}
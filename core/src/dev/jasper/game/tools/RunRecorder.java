@@ -0,0 +1,127 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The RunRecorder class records the input of a run, so it can be submitted to the leaderboard and checked
+ * by playing it again, as RunVerifier does. A game whose input is recorded is made verifiable, so the seed
+ * of its random events and the input applied each tick are all it takes to play it out the same again.
+ * Each tick takes one byte: the actions held at its end and the ones pressed during it, as NetProtocol packs them.
+ * The file starts with a header of the magic number, the version, the index of the level, the seed,
+ * the world timer and Bob's health the run is claimed to have ended with, and the number of ticks,
+ * all big-endian.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class RunRecorder {
+    /**
+     * The extension of the files runs are saved in.
+     */
+    public static final String FILE_EXTENSION = ".bobi";
+    /**
+     * The first four bytes of every recorded run, "BOBI" in ASCII.
+     */
+    static final int MAGIC = 0x424F4249;
+    /**
+     * The version of the format. Runs of any other version are rejected.
+     */
+    static final int VERSION = 1;
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_BYTES = 6 * Integer.BYTES + Long.BYTES;
+    private static final String TAG = "RunRecorder";
+    private static final String FILE_PREFIX = "run-";
+    private static final int INITIAL_CAPACITY = 60 * 60;
+    private static String directory;
+    private final int levelIndex;
+    private final long seed;
+    private final ByteArray inputs;
+
+    /**
+     * Constructs a RunRecorder for a new run.
+     *
+     * @param levelIndex The index of the level the run is played in.
+     * @param seed       The seed of the game, as returned by GameStateManager.getSeed.
+     */
+    public RunRecorder(final int levelIndex, final long seed) {
+        this.levelIndex = levelIndex;
+        this.seed = seed;
+        this.inputs = new ByteArray(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Sets the folder runs are saved in. Without one, no run is recorded.
+     *
+     * @param localDirectory The folder, relative to the local storage of the game, or null to record nothing.
+     */
+    public static void setDirectory(final String localDirectory) {
+        directory = localDirectory;
+    }
+
+    /**
+     * Returns whether runs are recorded.
+     *
+     * @return true if a folder for the runs is set.
+     */
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Adds the input of a tick. Called by the InputHandler once it has applied the input.
+     *
+     * @param input The input of the tick, as packed by NetProtocol.encodeInput.
+     */
+    void record(final int input) {
+        // Two bits per action fit in a byte for up to four actions
+        inputs.add((byte) input);
+    }
+
+    /**
+     * Returns the number of ticks recorded so far.
+     *
+     * @return The number of ticks.
+     */
+    public int getTickCount() {
+        return inputs.size;
+    }
+
+    /**
+     * Saves the run as its own file, claiming the world timer and Bob's health the game ended with.
+     * Called once the run is over.
+     *
+     * @param gameStateManager The game the run was played in.
+     */
+    public void save(final GameStateManager gameStateManager) {
+        final FileHandle file = Gdx.files.local(directory).child(FILE_PREFIX + TimeUtils.millis() + FILE_EXTENSION);
+        file.writeBytes(toBytes(gameStateManager.getWorldTimer(), gameStateManager.getBobsHealth()), false);
+        GameLog.info(TAG, "Saved the run as {}", file.name());
+    }
+
+    /**
+     * Returns the run as it is saved.
+     *
+     * @param worldTimer The world timer the run is claimed to have ended with.
+     * @param bobsHealth Bob's health the run is claimed to have ended with.
+     * @return The bytes of the file.
+     */
+    byte[] toBytes(final int worldTimer, final int bobsHealth) {
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + inputs.size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(levelIndex);
+        buffer.putLong(seed);
+        buffer.putInt(worldTimer);
+        buffer.putInt(bobsHealth);
+        buffer.putInt(inputs.size);
+        buffer.put(inputs.items, 0, inputs.size);
+        return buffer.array();
+    }
+}
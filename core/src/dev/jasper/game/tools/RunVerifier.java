@@ -0,0 +1,180 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The RunVerifier class checks a run recorded by a RunRecorder by playing it again: it creates the game
+ * from the recorded seed, applies the recorded input tick by tick, and compares the world timer and Bob's health
+ * the game ends with to the ones the run claims. Nothing is drawn and ticks run back to back,
+ * so a run is checked in a small fraction of the time it took to play.
+ * A RunVerifier checks one run at a time, but any number of them can check runs on threads of their own.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class RunVerifier {
+    private static final int INPUT_MASK = 0xFF;
+    private final Level[] levels;
+    private final TextureAtlas atlas;
+    private final InputQueue inputQueue;
+    private int claimedWorldTimer;
+    private int claimedBobsHealth;
+    private int worldTimer;
+    private int bobsHealth;
+    private int ticksPlayed;
+
+    /**
+     * Constructs a RunVerifier.
+     *
+     * @param levels The levels runs may be played in, in the order the game plays them.
+     * @param atlas  The TextureAtlas the sprites are cut from.
+     */
+    public RunVerifier(final Level[] levels, final TextureAtlas atlas) {
+        this.levels = levels;
+        this.atlas = atlas;
+        this.inputQueue = new InputQueue();
+    }
+
+    /**
+     * Plays a recorded run again and checks what it claims.
+     *
+     * @param run The bytes of the run, from the start of its header.
+     * @return The verdict on the run.
+     */
+    public Verdict verify(final ByteBuffer run) {
+        claimedWorldTimer = 0;
+        claimedBobsHealth = 0;
+        worldTimer = 0;
+        bobsHealth = 0;
+        ticksPlayed = 0;
+        if (run.remaining() < RunRecorder.HEADER_BYTES || run.getInt() != RunRecorder.MAGIC
+                || run.getInt() != RunRecorder.VERSION) {
+            return Verdict.MALFORMED;
+        }
+        final int levelIndex = run.getInt();
+        final long seed = run.getLong();
+        claimedWorldTimer = run.getInt();
+        claimedBobsHealth = run.getInt();
+        final int tickCount = run.getInt();
+        if (tickCount < 0 || run.remaining() != tickCount) {
+            return Verdict.MALFORMED;
+        }
+        if (levelIndex < 0 || levelIndex >= levels.length) {
+            return Verdict.UNKNOWN_LEVEL;
+        }
+
+        // The ground is created by the first update, in the same order prepare creates it in
+        final GameStateManager gameStateManager = new GameStateManager(levels[levelIndex], atlas, seed);
+        final boolean gameOver;
+        // The verifier goes on to the next run even if this one throws, so the world must not be left behind
+        try {
+            gameStateManager.makeVerifiable();
+            inputQueue.clear();
+            final InputHandler inputHandler = new InputHandler(gameStateManager.getKid(), inputQueue);
+            int previousInput = 0;
+            long tickEnd = 0;
+            while (ticksPlayed < tickCount && !gameStateManager.isGameOver()) {
+                final int input = run.get() & INPUT_MASK;
+                NetProtocol.decodeInput(input, previousInput, inputQueue, tickEnd + 1);
+                previousInput = input;
+                tickEnd += GameStateManager.TICK_NANOS;
+                inputHandler.handleInput(tickEnd);
+                gameStateManager.update(GameStateManager.TIME_STEP);
+                ticksPlayed++;
+            }
+            worldTimer = gameStateManager.getWorldTimer();
+            bobsHealth = gameStateManager.getBobsHealth();
+            gameOver = gameStateManager.isGameOver();
+        } finally {
+            gameStateManager.dispose();
+        }
+
+        if (ticksPlayed < tickCount) {
+            return Verdict.ENDED_EARLY;
+        }
+        if (!gameOver) {
+            return Verdict.UNFINISHED;
+        }
+        if (worldTimer != claimedWorldTimer || bobsHealth != claimedBobsHealth) {
+            return Verdict.MISMATCH;
+        }
+        return Verdict.VALID;
+    }
+
+    /**
+     * Returns the world timer the last run checked claims to have ended with.
+     *
+     * @return The claimed world timer, or 0 if the run could not be read.
+     */
+    public int getClaimedWorldTimer() {
+        return claimedWorldTimer;
+    }
+
+    /**
+     * Returns Bob's health the last run checked claims to have ended with.
+     *
+     * @return The claimed health, or 0 if the run could not be read.
+     */
+    public int getClaimedBobsHealth() {
+        return claimedBobsHealth;
+    }
+
+    /**
+     * Returns the world timer the last run checked ended with when played again.
+     *
+     * @return The world timer, or 0 if the run was not played.
+     */
+    public int getWorldTimer() {
+        return worldTimer;
+    }
+
+    /**
+     * Returns Bob's health the last run checked ended with when played again.
+     *
+     * @return Bob's health, or 0 if the run was not played.
+     */
+    public int getBobsHealth() {
+        return bobsHealth;
+    }
+
+    /**
+     * Returns how many ticks of the last run checked were played.
+     *
+     * @return The number of ticks played.
+     */
+    public int getTicksPlayed() {
+        return ticksPlayed;
+    }
+
+    /**
+     * What checking a run found.
+     */
+    public enum Verdict {
+        /**
+         * The run played out as it claims.
+         */
+        VALID,
+        /**
+         * The run is not a recorded run of this version, or is cut short.
+         */
+        MALFORMED,
+        /**
+         * The run was played in a level that is not known.
+         */
+        UNKNOWN_LEVEL,
+        /**
+         * The game was over before the input of the run ran out.
+         */
+        ENDED_EARLY,
+        /**
+         * The game was not over yet when the input of the run ran out.
+         */
+        UNFINISHED,
+        /**
+         * The run ended with another world timer or health than it claims.
+         */
+        MISMATCH
+    }
+}
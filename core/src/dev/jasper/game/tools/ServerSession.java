@@ -0,0 +1,324 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Arrays;
+
+/**
+ * The ServerSession class is one game hosted by a GameServer, with up to four players saving Bob together.
+ * The server is the authority: its GameStateManager is the only one that decides anything, and each player's
+ * input is applied to their Kid through an InputQueue and InputHandler of its own, the same way the keyboard is.
+ * Every few ticks the session takes a NetSnapshot and sends it to each player as its difference to the last
+ * snapshot that player said it received. The snapshots of the last second are kept for that.
+ * Ticks run on a clock of their own, so sessions do not depend on when the server gets round to them.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+final class ServerSession implements Disposable {
+    private static final int HISTORY_SIZE = 32;
+    private static final int BASELINE_AGE_BITS = 5;
+    private final GameStateManager gameStateManager;
+    private final NetSnapshot[] history;
+    private final NetSnapshot emptySnapshot;
+    private final Array<Client> clients;
+    private int playersJoined;
+    private int tick;
+    private long tickEnd;
+
+    /**
+     * Constructs a session around a new game.
+     *
+     * @param gameStateManager The game, which the session disposes of.
+     */
+    ServerSession(final GameStateManager gameStateManager) {
+        this.gameStateManager = gameStateManager;
+        this.history = new NetSnapshot[HISTORY_SIZE];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new NetSnapshot();
+        }
+        this.emptySnapshot = new NetSnapshot();
+        this.clients = new Array<>(false, NetProtocol.MAX_PLAYERS);
+    }
+
+    /**
+     * Returns whether another player can join, which they can until the game is full or over.
+     *
+     * @return true if another player can join.
+     */
+    boolean canJoin() {
+        return playersJoined < NetProtocol.MAX_PLAYERS && !gameStateManager.isGameOver();
+    }
+
+    /**
+     * Adds a player to the game. The first player takes the Kid the game starts with,
+     * and every later one gets a Kid of their own.
+     *
+     * @param peer   The peer the player's packets come from.
+     * @param joinId The join id of the player's HELLO.
+     * @return The new player.
+     */
+    Client join(final int peer, final int joinId) {
+        final int player;
+        if (playersJoined == 0) {
+            player = 0;
+        } else {
+            player = gameStateManager.addPlayer();
+        }
+        playersJoined++;
+        final Client client = new Client(this, peer, joinId, player, gameStateManager);
+        clients.add(client);
+        return client;
+    }
+
+    /**
+     * Takes a player out of the game. Their Kid stays where it is, as it may be carrying a snowball.
+     *
+     * @param client The player.
+     */
+    void leave(final Client client) {
+        clients.removeValue(client, true);
+    }
+
+    /**
+     * Returns whether every player has left.
+     *
+     * @return true if no player is left.
+     */
+    boolean isEmpty() {
+        return clients.size == 0;
+    }
+
+    /**
+     * Returns the game the session hosts.
+     *
+     * @return The GameStateManager of the game.
+     */
+    GameStateManager getGameStateManager() {
+        return gameStateManager;
+    }
+
+    /**
+     * Runs one tick of the game, with the next input of every player. Once the game is over,
+     * only the clock moves on, so the players keep being sent the last state.
+     */
+    void tick() {
+        tick++;
+        if (gameStateManager.isGameOver()) {
+            return;
+        }
+        final long tickStart = tickEnd;
+        tickEnd += GameStateManager.TICK_NANOS;
+        for (Client client : clients) {
+            client.applyNextInput(tickStart + 1, tickEnd);
+        }
+        gameStateManager.update(GameStateManager.TIME_STEP);
+    }
+
+    /**
+     * Sends every player a snapshot of the game, if one is due this tick.
+     *
+     * @param transport The transport to send the snapshots through.
+     * @param writer    The writer to write the packets with.
+     */
+    void sendSnapshots(final PacketTransport transport, final BitWriter writer) {
+        if (tick % NetProtocol.SNAPSHOT_INTERVAL_TICKS != 0) {
+            return;
+        }
+        final NetSnapshot snapshot = getHistorySlot(tick);
+        snapshot.capture(gameStateManager, tick);
+        for (Client client : clients) {
+            final NetSnapshot baseline = findBaseline(client.ackedTick);
+            NetProtocol.writeHeader(writer, NetProtocol.SNAPSHOT);
+            writer.writeBits(client.joinId, NetProtocol.JOIN_ID_BITS);
+            writer.writeBits(client.player, NetProtocol.PLAYER_BITS);
+            writer.writeInt(tick);
+            if (baseline == emptySnapshot) {
+                writer.writeBits(0, BASELINE_AGE_BITS);
+            } else {
+                writer.writeBits((tick - baseline.getTick()) / NetProtocol.SNAPSHOT_INTERVAL_TICKS,
+                        BASELINE_AGE_BITS);
+            }
+            writer.writeInt(client.appliedSeq);
+            snapshot.write(writer, baseline);
+            transport.send(client.peer, writer.getBuffer(), writer.getByteLength());
+        }
+    }
+
+    private NetSnapshot findBaseline(final int ackedTick) {
+        final int age = (tick - ackedTick) / NetProtocol.SNAPSHOT_INTERVAL_TICKS;
+        // Only snapshots still in the history, and young enough for their age to be written, can be a baseline
+        if (ackedTick < 0 || ackedTick > tick || age <= 0 || age >= 1 << BASELINE_AGE_BITS) {
+            return emptySnapshot;
+        }
+        final NetSnapshot baseline = getHistorySlot(ackedTick);
+        if (baseline.getTick() != ackedTick) {
+            return emptySnapshot;
+        }
+        return baseline;
+    }
+
+    private NetSnapshot getHistorySlot(final int snapshotTick) {
+        return history[(snapshotTick / NetProtocol.SNAPSHOT_INTERVAL_TICKS) % HISTORY_SIZE];
+    }
+
+    /**
+     * Reads the age of the baseline written in a SNAPSHOT packet, and turns it into its tick.
+     *
+     * @param reader       The reader, right after the tick of the snapshot.
+     * @param snapshotTick The tick of the snapshot.
+     * @return The tick of the baseline, or -1 if the snapshot was sent in full.
+     */
+    static int readBaselineTick(final BitReader reader, final int snapshotTick) {
+        final int age = reader.readBits(BASELINE_AGE_BITS);
+        if (age == 0) {
+            return -1;
+        }
+        return snapshotTick - age * NetProtocol.SNAPSHOT_INTERVAL_TICKS;
+    }
+
+    /**
+     * Disposes of the game.
+     */
+    @Override
+    public void dispose() {
+        gameStateManager.dispose();
+    }
+
+    /**
+     * A player of a session, and the input received from them that is still to be applied.
+     * Input is buffered by sequence number, so input that arrives early, late or twice is applied once, in order.
+     * If the next tick of input has not arrived in time, the held actions of the last one are kept up,
+     * and if too much piles up, the oldest is skipped so the player's Kid does not lag further and further behind.
+     */
+    static final class Client {
+        private static final int INPUT_BUFFER_SIZE = 64;
+        private static final int INPUT_INDEX_MASK = INPUT_BUFFER_SIZE - 1;
+        private static final int MAX_INPUT_BACKLOG = 6;
+        private static final int HELD_MASK = (1 << InputQueue.Action.values().length) - 1;
+        private final ServerSession session;
+        private final int peer;
+        private final int joinId;
+        private final int player;
+        private final InputQueue inputQueue;
+        private final InputHandler inputHandler;
+        private final int[] inputs;
+        private final int[] inputSeqs;
+        private int receivedSeq;
+        private int appliedSeq;
+        private int previousInput;
+        private int ackedTick;
+        private int lastHeardTick;
+
+        private Client(final ServerSession session, final int peer, final int joinId, final int player,
+                       final GameStateManager gameStateManager) {
+            this.session = session;
+            this.peer = peer;
+            this.joinId = joinId;
+            this.player = player;
+            this.inputQueue = new InputQueue();
+            this.inputHandler = new InputHandler(gameStateManager.getKid(player), inputQueue);
+            this.inputs = new int[INPUT_BUFFER_SIZE];
+            this.inputSeqs = new int[INPUT_BUFFER_SIZE];
+            Arrays.fill(inputSeqs, -1);
+            this.receivedSeq = -1;
+            this.appliedSeq = -1;
+            this.ackedTick = -1;
+        }
+
+        /**
+         * Reads the rest of an INPUT packet from the player.
+         *
+         * @param reader The reader, right after the join id.
+         */
+        void receiveInput(final BitReader reader) {
+            final int newAckedTick = reader.readInt();
+            final int lastSeq = reader.readInt();
+            final int count = reader.readBits(NetProtocol.INPUT_COUNT_BITS);
+            for (int i = 0; i < count; i++) {
+                final int input = reader.readBits(NetProtocol.INPUT_BITS);
+                final int seq = lastSeq - count + 1 + i;
+                // Input already applied, or too old to fit in the buffer, is of no use anymore
+                if (reader.isValid() && seq > appliedSeq && seq > receivedSeq - INPUT_BUFFER_SIZE) {
+                    inputs[seq & INPUT_INDEX_MASK] = input;
+                    inputSeqs[seq & INPUT_INDEX_MASK] = seq;
+                    receivedSeq = Math.max(receivedSeq, seq);
+                }
+            }
+            if (reader.isValid()) {
+                ackedTick = Math.max(ackedTick, newAckedTick);
+            }
+        }
+
+        private void applyNextInput(final long eventNanos, final long tickEndNanos) {
+            if (receivedSeq - appliedSeq > MAX_INPUT_BACKLOG) {
+                appliedSeq = receivedSeq - MAX_INPUT_BACKLOG;
+            }
+            int input = previousInput & HELD_MASK;
+            if (receivedSeq > appliedSeq) {
+                appliedSeq++;
+                if (inputSeqs[appliedSeq & INPUT_INDEX_MASK] == appliedSeq) {
+                    input = inputs[appliedSeq & INPUT_INDEX_MASK];
+                }
+            }
+            NetProtocol.decodeInput(input, previousInput, inputQueue, eventNanos);
+            previousInput = input;
+            inputHandler.handleInput(tickEndNanos);
+        }
+
+        /**
+         * Returns the session the player is in.
+         *
+         * @return The session.
+         */
+        ServerSession getSession() {
+            return session;
+        }
+
+        /**
+         * Returns the peer the player's packets come from.
+         *
+         * @return The peer.
+         */
+        int getPeer() {
+            return peer;
+        }
+
+        /**
+         * Returns the join id of the HELLO the player joined with.
+         *
+         * @return The join id.
+         */
+        int getJoinId() {
+            return joinId;
+        }
+
+        /**
+         * Returns the index of the player in the game.
+         *
+         * @return The index of the player.
+         */
+        int getPlayer() {
+            return player;
+        }
+
+        /**
+         * Returns the server tick a packet last came from the player.
+         *
+         * @return The server tick.
+         */
+        int getLastHeardTick() {
+            return lastHeardTick;
+        }
+
+        /**
+         * Notes that a packet came from the player.
+         *
+         * @param serverTick The current server tick.
+         */
+        void heardAt(final int serverTick) {
+            lastHeardTick = serverTick;
+        }
+    }
+}
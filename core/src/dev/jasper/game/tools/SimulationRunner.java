@@ -0,0 +1,250 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * The SimulationRunner class runs the fixed-step simulation of a game on its own thread,
+ * so that the time spent on physics and the time spent drawing overlap instead of adding up in every frame.
+ * Each frame, the rendering thread hands the ticks that are due to the simulation thread and,
+ * while they run, draws the last tick the simulation finished from a RenderSnapshot.
+ * The simulation fills a second snapshot, and the two are only swapped once it is done,
+ * so neither thread ever reads what the other is writing.
+ * Sprites are drawn part of the way between the last two snapshots, which keeps motion smooth
+ * at the cost of showing the game one batch of ticks late.
+ * On platforms without threads, such as the browser, the ticks run as soon as they are handed over.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class SimulationRunner implements Disposable {
+    private static boolean threaded;
+    private final GameStateManager gameStateManager;
+    private final InputHandler inputHandler;
+    private final AsyncExecutor executor;
+    private final AsyncTask<Void> tickTask;
+    private final RenderQueue.Drawable entities;
+    private final RenderQueue.Drawable player;
+    private RenderSnapshot filling;
+    private RenderSnapshot current;
+    private RenderSnapshot previous;
+    private AsyncResult<Void> pendingTicks;
+    private float tickAccumulator;
+    private int ticksToRun;
+    private long ticksHandedOverAt;
+    private float timeLeftAfterTicks;
+    private float viewX;
+    private float viewY;
+    private float viewWidth;
+    private float viewHeight;
+    private boolean hasViewBounds;
+    private float tickViewX;
+    private float tickViewY;
+    private float tickViewWidth;
+    private float tickViewHeight;
+    private boolean tickHasViewBounds;
+    private long currentShownAt;
+    private float alpha;
+
+    /**
+     * Constructs a SimulationRunner for a game that has not started yet.
+     *
+     * @param gameStateManager The GameStateManager of the game.
+     * @param inputHandler     The InputHandler that applies the player's input each tick.
+     */
+    public SimulationRunner(final GameStateManager gameStateManager, final InputHandler inputHandler) {
+        this.gameStateManager = gameStateManager;
+        this.inputHandler = inputHandler;
+        this.executor = ResourceTracker.track(new AsyncExecutor(1, "Simulation"), "AsyncExecutor");
+        this.tickTask = this::runTicks;
+        this.filling = new RenderSnapshot();
+        this.current = new RenderSnapshot();
+        this.previous = new RenderSnapshot();
+        gameStateManager.capture(current, 0);
+        gameStateManager.capture(previous, 0);
+        this.currentShownAt = TimeUtils.nanoTime();
+        this.alpha = 1;
+        this.entities = batch -> current.draw(batch, RenderQueue.RenderLayer.ENTITIES, previous, alpha);
+        this.player = batch -> current.draw(batch, RenderQueue.RenderLayer.PLAYER, previous, alpha);
+    }
+
+    /**
+     * Sets whether PlayScreen runs the simulation on its own thread. Off by default.
+     *
+     * @param isThreaded true to run the simulation on its own thread.
+     */
+    public static void setThreaded(final boolean isThreaded) {
+        threaded = isThreaded;
+    }
+
+    /**
+     * Returns whether PlayScreen runs the simulation on its own thread.
+     *
+     * @return true if the simulation runs on its own thread.
+     */
+    public static boolean isThreaded() {
+        return threaded;
+    }
+
+    /**
+     * Takes over the ticks the simulation finished since the last frame, and hands the ticks that are now due
+     * to the simulation thread. Called once per frame on the rendering thread.
+     *
+     * @param dt The time passed since the last frame, in seconds.
+     * @return The number of ticks taken over this frame, which is 0 while the ticks handed over are still running.
+     */
+    public int update(final float dt) {
+        int ticksTaken = 0;
+        tickAccumulator = Math.min(tickAccumulator + dt,
+                GameStateManager.MAX_TICKS_PER_FRAME * GameStateManager.TIME_STEP);
+        if (pendingTicks != null) {
+            if (!pendingTicks.isDone()) {
+                updateAlpha();
+                return 0;
+            }
+            // Waiting on the finished result also makes everything the simulation wrote visible here
+            pendingTicks.get();
+            pendingTicks = null;
+            final RenderSnapshot oldest = previous;
+            previous = current;
+            current = filling;
+            filling = oldest;
+            currentShownAt = TimeUtils.nanoTime();
+            ticksTaken = current.getTicks();
+        }
+        updateAlpha();
+
+        final int dueTicks = (int) (tickAccumulator / GameStateManager.TIME_STEP);
+        if (dueTicks == 0 || current.isGameOver()) {
+            return ticksTaken;
+        }
+        tickAccumulator -= dueTicks * GameStateManager.TIME_STEP;
+        ticksToRun = dueTicks;
+        ticksHandedOverAt = TimeUtils.nanoTime();
+        timeLeftAfterTicks = tickAccumulator;
+        // Everything the ticks read is copied before they are submitted, which makes it visible to the simulation
+        // thread, while setViewBounds goes on writing its own copy during the ticks
+        tickViewX = viewX;
+        tickViewY = viewY;
+        tickViewWidth = viewWidth;
+        tickViewHeight = viewHeight;
+        tickHasViewBounds = hasViewBounds;
+        pendingTicks = executor.submit(tickTask);
+        return ticksTaken;
+    }
+
+    private void updateAlpha() {
+        final int ticks = current.getTicks();
+        if (ticks == 0) {
+            alpha = 1;
+            return;
+        }
+        final float shownFor = (TimeUtils.nanoTime() - currentShownAt) / GameStateManager.NANOS_PER_SECOND;
+        alpha = Math.min(1, shownFor / (ticks * GameStateManager.TIME_STEP));
+    }
+
+    private Void runTicks() {
+        if (tickHasViewBounds) {
+            gameStateManager.setViewBounds(tickViewX, tickViewY, tickViewWidth, tickViewHeight);
+        }
+        int ticksRun = 0;
+        while (ticksRun < ticksToRun && !gameStateManager.isGameOver()) {
+            ticksRun++;
+            // The tick ended as long before the hand-over as simulated time was still left to catch up on
+            final float timeLeft = timeLeftAfterTicks + (ticksToRun - ticksRun) * GameStateManager.TIME_STEP;
+            inputHandler.handleInput(ticksHandedOverAt - (long) (timeLeft * GameStateManager.NANOS_PER_SECOND));
+            gameStateManager.update(GameStateManager.TIME_STEP);
+        }
+        gameStateManager.capture(filling, ticksRun);
+        return null;
+    }
+
+    /**
+     * Sets the area of the world the camera can see. It is passed on to the game with the next ticks.
+     *
+     * @param x      The x-coordinate of the lower left corner of the area in meters.
+     * @param y      The y-coordinate of the lower left corner of the area in meters.
+     * @param width  The width of the area in meters.
+     * @param height The height of the area in meters.
+     */
+    public void setViewBounds(final float x, final float y, final float width, final float height) {
+        viewX = x;
+        viewY = y;
+        viewWidth = width;
+        viewHeight = height;
+        hasViewBounds = true;
+    }
+
+    /**
+     * Returns the x-coordinate the camera follows this frame.
+     *
+     * @return The x-coordinate of the Kid in meters, between the last two snapshots.
+     */
+    public float getCameraX() {
+        return previous.getCameraX() + (current.getCameraX() - previous.getCameraX()) * alpha;
+    }
+
+    /**
+     * Returns the world timer as of the last finished tick.
+     *
+     * @return The world timer.
+     */
+    public int getWorldTimer() {
+        return current.getWorldTimer();
+    }
+
+    /**
+     * Returns Bob's health as of the last finished tick.
+     *
+     * @return Bob's health.
+     */
+    public int getBobsHealth() {
+        return current.getBobsHealth();
+    }
+
+    /**
+     * Returns the number of Box2D bodies as of the last finished tick, without touching the world the simulation
+     * thread may be stepping.
+     *
+     * @return The number of bodies in the world.
+     */
+    public int getBodyCount() {
+        return current.getBodyCount();
+    }
+
+    /**
+     * Returns whether the game was over as of the last finished tick. No further ticks are run after that.
+     *
+     * @return true if the game is over.
+     */
+    public boolean isGameOver() {
+        return current.isGameOver();
+    }
+
+    /**
+     * Queues the characters and snowballs of the last finished tick for drawing.
+     *
+     * @param renderQueue The RenderQueue the frame is drawn through.
+     */
+    public void submit(final RenderQueue renderQueue) {
+        renderQueue.submit(RenderQueue.RenderLayer.ENTITIES, RenderQueue.BlendMode.NORMAL, null, entities);
+        renderQueue.submit(RenderQueue.RenderLayer.PLAYER, RenderQueue.BlendMode.NORMAL, null, player);
+    }
+
+    /**
+     * Waits for the ticks still running and stops the simulation thread.
+     * The GameStateManager is left alone.
+     */
+    @Override
+    public void dispose() {
+        if (pendingTicks != null) {
+            pendingTicks.get();
+            pendingTicks = null;
+        }
+        executor.dispose();
+        ResourceTracker.disposed(executor);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import dev.jasper.game.sprites.ShapeCache;
+
+/**
+ * The SoakMonitor class reports how the game holds up over long unattended play.
+ * Every minute of frames it logs, under the "Soak" tag, the Java and native heap, the number of Box2D bodies
+ * and shapes, the games played, and the mean frame time with its drift from the first minute.
+ * Numbers that keep growing from report to report point at a leak, typically around snowball collection
+ * or restarts. On desktop the native heap is reported as the Java heap, so the Box2D counts are the ones to watch.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class SoakMonitor {
+    private static final String TAG = "Soak";
+    private static final int FRAMES_PER_REPORT = 60 * 60;
+    private static final float BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final float NANOS_PER_MILLI = 1e6f;
+    private static final float TENTHS = 10f;
+    private static final float PERCENT = 100f;
+    private final StringBuilder message;
+    private int frames;
+    private long frameNanos;
+    private float baselineFrameMillis;
+    private int reports;
+    private int games;
+
+    /**
+     * Constructs a SoakMonitor.
+     */
+    public SoakMonitor() {
+        this.message = new StringBuilder();
+    }
+
+    /**
+     * Counts a game being started.
+     */
+    public void gameStarted() {
+        games++;
+    }
+
+    /**
+     * Records one frame, and logs a report once a minute of frames has been recorded.
+     *
+     * @param nanos     The time the frame took, in nanoseconds.
+     * @param bodyCount The number of Box2D bodies in the game being played.
+     */
+    public void frame(final long nanos, final int bodyCount) {
+        frames++;
+        frameNanos += nanos;
+        if (frames == FRAMES_PER_REPORT) {
+            report(bodyCount);
+            frames = 0;
+            frameNanos = 0;
+        }
+    }
+
+    private void report(final int bodyCount) {
+        reports++;
+        final float frameMillis = frameNanos / NANOS_PER_MILLI / frames;
+        if (reports == 1) {
+            baselineFrameMillis = frameMillis;
+        }
+        // The baseline is kept either way, while the message is only built if it is going to be written
+        if (!GameLog.isEnabled(GameLog.INFO)) {
+            return;
+        }
+        final float drift = (frameMillis - baselineFrameMillis) / baselineFrameMillis * PERCENT;
+        message.setLength(0);
+        message.append("minute=").append(reports)
+                .append(" games=").append(games)
+                .append(" heap[MB]=").append(round(Gdx.app.getJavaHeap() / BYTES_PER_MEGABYTE))
+                .append(" native[MB]=").append(round(Gdx.app.getNativeHeap() / BYTES_PER_MEGABYTE))
+                .append(" bodies=").append(bodyCount)
+                .append(" shapes=").append(ShapeCache.getLiveShapeCount())
+                .append(" frame[ms]=").append(round(frameMillis))
+                .append(" drift[%]=").append(round(drift));
+        GameLog.info(TAG, message.toString());
+    }
+
+    private static float round(final float value) {
+        return Math.round(value * TENTHS) / TENTHS;
+    }
+}
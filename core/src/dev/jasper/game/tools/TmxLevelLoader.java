@@ -0,0 +1,62 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The TmxLevelLoader class loads levels that have not been compiled straight from their TMX file.
+ * It hands the work to libGDX's TmxMapLoader, which parses the XML and decodes the tileset images off the render
+ * thread, and extracts the LevelData once the map is complete.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class TmxLevelLoader extends AsynchronousAssetLoader<Level, TmxLevelLoader.Parameters> {
+    private final TmxMapLoader tmxMapLoader;
+    private final TmxMapLoader.Parameters tmxParameters;
+
+    /**
+     * Constructs a TmxLevelLoader instance.
+     *
+     * @param resolver The resolver used to find TMX files.
+     */
+    public TmxLevelLoader(final FileHandleResolver resolver) {
+        super(resolver);
+        this.tmxMapLoader = new TmxMapLoader(resolver);
+        this.tmxParameters = new TmxMapLoader.Parameters();
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(final String fileName, final FileHandle file,
+                                                  final Parameters parameter) {
+        return tmxMapLoader.getDependencies(fileName, file, tmxParameters);
+    }
+
+    @Override
+    public void loadAsync(final AssetManager manager, final String fileName, final FileHandle file,
+                          final Parameters parameter) {
+        tmxMapLoader.loadAsync(manager, fileName, file, tmxParameters);
+    }
+
+    @Override
+    public Level loadSync(final AssetManager manager, final String fileName, final FileHandle file,
+                          final Parameters parameter) {
+        final TiledMap map = tmxMapLoader.loadSync(manager, fileName, file, tmxParameters);
+        final LevelData data = LevelLoader.fromTiledMap(map);
+        data.mergeGround(MapChunkStreamer.CHUNK_WIDTH);
+        return new Level(data, map);
+    }
+
+    /**
+     * The parameters of a TMX level. There are none yet.
+     */
+    public static final class Parameters extends AssetLoaderParameters<Level> {
+    }
+}
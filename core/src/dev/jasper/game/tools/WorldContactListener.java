@@ -6,8 +6,6 @@
  */
 package dev.jasper.game.tools;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
@@ -19,8 +17,6 @@ import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
 import dev.jasper.game.sprites.dynamicSprites.SnowballCarrier;
 import dev.jasper.game.sprites.enviromentSprites.Snowball;
 
-import static com.badlogic.gdx.Gdx.app;
-
 /**
  * This class implements the ContactListener interface from the Box2D physics library.
  * It is used to handle the contact between different game objects in the world.
@@ -50,6 +46,11 @@ public final class WorldContactListener implements ContactListener {
         Fixture fixA = contact.getFixtureA();
         Fixture fixB = contact.getFixtureB();
         int cDef = fixA.getFilterData().categoryBits | fixB.getFilterData().categoryBits;
+        GameEvents.getRecorder().contactBegan(cDef);
+        // What a contact changes in a replica is decided by the server, and arrives with its next snapshot
+        if (gameStateManager.isReplica()) {
+            return;
+        }
 
         switch (cDef) {
             case EntityCollisionCategory.ENEMY_BIT | EntityCollisionCategory.GROUND_BIT:
@@ -79,7 +80,7 @@ public final class WorldContactListener implements ContactListener {
         } else {
             enemy = (AbstractEnemy) fixB.getUserData();
         }
-        final boolean toReverseVelocity = MathUtils.randomBoolean(0.8F);
+        final boolean toReverseVelocity = gameStateManager.getRandom().nextFloat() < 0.8F;
         enemy.reverseVelocity(toReverseVelocity, false);
     }
 
@@ -92,7 +93,7 @@ public final class WorldContactListener implements ContactListener {
         }
         abstractPlayer.onEnemyHit();
         abstractPlayer.setIsCarryingSnowball(false);
-        Gdx.app.log("Kid", "Hit");
+        GameLog.debug("Kid", "Hit");
     }
 
     private void handleKidSnowballCollision(final Fixture fixA, final Fixture fixB) {
@@ -111,7 +112,7 @@ public final class WorldContactListener implements ContactListener {
 
         snowball.collect();
         theKid.collectSnowball();
-        app.log("Kid", "got snow!");
+        GameLog.debug("Kid", "got snow!");
     }
 
     private void handleKidBobCollision(final Fixture fixA, final Fixture fixB) {
@@ -125,7 +126,7 @@ public final class WorldContactListener implements ContactListener {
 
         snowballCarrier.dropoffSnowball();
         gameStateManager.addSnowball();
-        app.log("Kid", "drop the snow!");
+        GameLog.debug("Kid", "drop the snow!");
     }
 
     @Override
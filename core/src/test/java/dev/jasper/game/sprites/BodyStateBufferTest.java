@@ -0,0 +1,83 @@
+package dev.jasper.game.sprites;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodyStateBufferTest {
+    private World world;
+
+    @BeforeAll
+    static void setUpBox2D() {
+        Box2D.init();
+    }
+
+    @BeforeEach
+    void setUp() {
+        world = new World(new Vector2(0, -10), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.dispose();
+    }
+
+    private Body createBody(final float x, final float y) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        bodyDef.position.set(x, y);
+        return world.createBody(bodyDef);
+    }
+
+    @Test
+    void testAddCopiesTheCurrentState() {
+        BodyStateBuffer buffer = new BodyStateBuffer();
+        Body body = createBody(1, 2);
+        body.setLinearVelocity(3, -4);
+
+        int slot = buffer.add(body);
+
+        assertEquals(1, buffer.getX(slot), 1e-6f);
+        assertEquals(2, buffer.getY(slot), 1e-6f);
+        assertEquals(3, buffer.getVelocityX(slot), 1e-6f);
+        assertEquals(-4, buffer.getVelocityY(slot), 1e-6f);
+        assertTrue(buffer.isAwake(slot));
+    }
+
+    @Test
+    void testCopiesOnlyChangeOnSync() {
+        BodyStateBuffer buffer = new BodyStateBuffer();
+        Body body = createBody(0, 5);
+        int slot = buffer.add(body);
+
+        world.step(1 / 60f, 6, 2);
+        assertEquals(5, buffer.getY(slot), 1e-6f);
+
+        buffer.sync();
+        assertEquals(body.getPosition().y, buffer.getY(slot), 1e-6f);
+        assertEquals(body.getLinearVelocity().y, buffer.getVelocityY(slot), 1e-6f);
+    }
+
+    @Test
+    void testGrowsPastItsInitialCapacity() {
+        BodyStateBuffer buffer = new BodyStateBuffer();
+        int bodyCount = 40;
+        for (int i = 0; i < bodyCount; i++) {
+            assertEquals(i, buffer.add(createBody(i, 0)));
+        }
+
+        assertEquals(bodyCount, buffer.size());
+        for (int i = 0; i < bodyCount; i++) {
+            assertEquals(i, buffer.getX(i), 1e-6f);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.jasper.game.sprites;
+
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ShapeCacheTest {
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+    }
+
+    @Test
+    void testSameGeometrySharesOneShape() {
+        ShapeCache shapeCache = new ShapeCache();
+        int liveBefore = ShapeCache.getLiveShapeCount();
+
+        CircleShape circle = shapeCache.circle(.06f);
+        PolygonShape box = shapeCache.box(.08f, .08f);
+
+        assertSame(circle, shapeCache.circle(.06f));
+        assertSame(box, shapeCache.box(.08f, .08f));
+        assertNotSame(box, shapeCache.box(.08f, .16f));
+        assertEquals(liveBefore + 3, ShapeCache.getLiveShapeCount());
+        shapeCache.clear();
+    }
+
+    @Test
+    void testClearDisposesEveryShape() {
+        ShapeCache shapeCache = new ShapeCache();
+        int liveBefore = ShapeCache.getLiveShapeCount();
+        CircleShape circle = shapeCache.circle(.1f);
+        shapeCache.box(.2f, .1f);
+
+        shapeCache.clear();
+
+        assertEquals(liveBefore, ShapeCache.getLiveShapeCount());
+        assertNotSame(circle, shapeCache.circle(.1f));
+        shapeCache.dispose();
+        assertEquals(liveBefore, ShapeCache.getLiveShapeCount());
+    }
+}
@@ -0,0 +1,62 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Vector2;
+import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.sprites.dynamicSprites.AbstractPlayer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoPlayerTest {
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    @Test
+    void testHeadsForTheNearestSpawnSpotBeforeAnySnowballIsOut() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        InputQueue inputQueue = HeadlessGameSupport.newInputQueue();
+        AutoPlayer autoPlayer = new AutoPlayer(gameStateManager, inputQueue);
+        AbstractPlayer kid = gameStateManager.getKid();
+
+        long tickEnd = HeadlessGameSupport.endTick();
+        autoPlayer.play(tickEnd);
+        inputQueue.advanceTo(tickEnd);
+
+        float nearest = Float.MAX_VALUE;
+        float nearestX = 0;
+        for (Vector2 spot : gameStateManager.getSnowballSpawnSpots()) {
+            float x = spot.x / BobIsMelting.PPM;
+            float distance = Vector2.dst2(kid.getBodyX(), kid.getBodyY(), x, spot.y / BobIsMelting.PPM);
+            if (distance < nearest) {
+                nearest = distance;
+                nearestX = x;
+            }
+        }
+        assertEquals(nearestX, autoPlayer.getTargetX(), 1e-6f);
+        boolean targetIsRight = nearestX > kid.getBodyX();
+        assertEquals(targetIsRight, inputQueue.isHeld(InputQueue.Action.RIGHT));
+        assertEquals(!targetIsRight, inputQueue.isHeld(InputQueue.Action.LEFT));
+        gameStateManager.dispose();
+    }
+
+    @Test
+    void testPlaysThroughTheInputHandlerAndMovesTheKid() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        InputQueue inputQueue = HeadlessGameSupport.newInputQueue();
+        InputHandler inputHandler = new InputHandler(gameStateManager.getKid(), inputQueue);
+        inputHandler.setAutoPlayer(new AutoPlayer(gameStateManager, inputQueue));
+        float startX = gameStateManager.getKid().getBodyX();
+
+        HeadlessGameSupport.runTicks(gameStateManager, inputHandler, 60);
+
+        assertTrue(Math.abs(gameStateManager.getKid().getBodyX() - startX) > .01f);
+        assertFalse(gameStateManager.isGameOver());
+        gameStateManager.dispose();
+    }
+}
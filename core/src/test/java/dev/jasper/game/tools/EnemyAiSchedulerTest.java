@@ -0,0 +1,82 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import dev.jasper.game.sprites.dynamicSprites.AbstractEnemy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnemyAiSchedulerTest {
+    private static final int UNLIMITED_BUDGET_MICROS = 1_000_000;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    @Test
+    void testDecidesDueEnemiesAndResetsThem() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        AbstractEnemy enemy = gameStateManager.getEnemies().first();
+        EnemyAiScheduler scheduler = new EnemyAiScheduler(UNLIMITED_BUDGET_MICROS);
+
+        advanceUntil(enemy, 1);
+        scheduler.update(gameStateManager.getEnemies());
+
+        assertEquals(0, enemy.getDecisionProgress(), 1e-6f);
+        assertEquals(0, scheduler.getDeferredCount());
+        gameStateManager.dispose();
+    }
+
+    @Test
+    void testFarEnemiesDecideHalfAsOften() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        AbstractEnemy enemy = gameStateManager.getEnemies().first();
+        enemy.setDetailLevel(AbstractEnemy.DetailLevel.REDUCED);
+        EnemyAiScheduler scheduler = new EnemyAiScheduler(UNLIMITED_BUDGET_MICROS);
+
+        advanceUntil(enemy, 1);
+        scheduler.update(gameStateManager.getEnemies());
+        assertTrue(enemy.getDecisionProgress() >= 1);
+
+        advanceUntil(enemy, 2);
+        scheduler.update(gameStateManager.getEnemies());
+        assertEquals(0, enemy.getDecisionProgress(), 1e-6f);
+        gameStateManager.dispose();
+    }
+
+    @Test
+    void testNearEnemiesComeFirstAndTheRestArePutOff() {
+        GameStateManager nearGame = HeadlessGameSupport.newGameStateManager();
+        GameStateManager farGame = HeadlessGameSupport.newGameStateManager();
+        AbstractEnemy near = nearGame.getEnemies().first();
+        AbstractEnemy far = farGame.getEnemies().first();
+        far.setDetailLevel(AbstractEnemy.DetailLevel.REDUCED);
+        Array<AbstractEnemy> enemies = new Array<>();
+        enemies.addAll(far, near);
+        // No time to spare, so only the one decision made every tick fits
+        EnemyAiScheduler scheduler = new EnemyAiScheduler(0);
+
+        advanceUntil(near, 1);
+        advanceUntil(far, 2);
+        scheduler.update(enemies);
+
+        assertEquals(0, near.getDecisionProgress(), 1e-6f);
+        assertTrue(far.getDecisionProgress() >= 2);
+        assertEquals(1, scheduler.getDeferredCount());
+
+        scheduler.update(enemies);
+        assertEquals(0, far.getDecisionProgress(), 1e-6f);
+        assertEquals(0, scheduler.getDeferredCount());
+        nearGame.dispose();
+        farGame.dispose();
+    }
+
+    private static void advanceUntil(final AbstractEnemy enemy, final float progress) {
+        while (enemy.getDecisionProgress() < progress) {
+            enemy.update(GameStateManager.TIME_STEP);
+        }
+    }
+}
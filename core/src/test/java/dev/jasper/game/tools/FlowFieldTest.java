@@ -0,0 +1,62 @@
+package dev.jasper.game.tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowFieldTest {
+
+    @Test
+    void testLeadsUpToATargetOnAPlatform() {
+        NavigationGraph graph = new NavigationGraph(NavigationGraphTest.createLevel());
+        FlowField flowField = new FlowField(graph);
+        int floor = graph.getSpanIndexAt(.5f, .2f);
+
+        flowField.update(1.3f, .55f);
+
+        assertTrue(flowField.hasMove(floor));
+        assertTrue(flowField.isJump(floor));
+        assertEquals(1.04f, flowField.getMoveX(floor), 1e-6f);
+    }
+
+    @Test
+    void testLeadsDownToATargetOnTheFloor() {
+        NavigationGraph graph = new NavigationGraph(NavigationGraphTest.createLevel());
+        FlowField flowField = new FlowField(graph);
+        int platform = graph.getSpanIndexAt(1.3f, .55f);
+
+        flowField.update(.5f, .2f);
+
+        assertFalse(flowField.isJump(platform));
+        assertEquals(1.04f, flowField.getMoveX(platform), 1e-6f);
+    }
+
+    @Test
+    void testHeadsStraightForATargetOnTheSameSpan() {
+        NavigationGraph graph = new NavigationGraph(NavigationGraphTest.createLevel());
+        FlowField flowField = new FlowField(graph);
+        int floor = graph.getSpanIndexAt(.5f, .2f);
+
+        flowField.update(.5f, .2f);
+        flowField.update(.7f, .2f);
+
+        assertEquals(floor, flowField.getTargetSpan());
+        assertFalse(flowField.isJump(floor));
+        assertEquals(.7f, flowField.getMoveX(floor), 1e-6f);
+    }
+
+    @Test
+    void testKeepsTheFieldWhileTheTargetIsOffTheGround() {
+        NavigationGraph graph = new NavigationGraph(NavigationGraphTest.createLevel());
+        FlowField flowField = new FlowField(graph);
+        int floor = graph.getSpanIndexAt(.5f, .2f);
+
+        flowField.update(.5f, .2f);
+        flowField.update(-1, .2f);
+
+        assertEquals(floor, flowField.getTargetSpan());
+        assertFalse(flowField.hasMove(-1));
+    }
+}
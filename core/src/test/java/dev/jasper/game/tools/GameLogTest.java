@@ -0,0 +1,50 @@
+package dev.jasper.game.tools;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameLogTest {
+
+    @AfterEach
+    void tearDown() {
+        GameLog.setLevel(GameLog.INFO);
+    }
+
+    @Test
+    void testFormatReplacesPlaceholdersInOrder() {
+        GameLog.EntryBuffer buffer = new GameLog.EntryBuffer();
+        buffer.add(GameLog.DEBUG, "tag", "time {}, health {}", GameLog.EntryBuffer.LONG_ARGUMENT, 12, null,
+                GameLog.EntryBuffer.OBJECT_ARGUMENT, 0, "full");
+        StringBuilder out = new StringBuilder();
+
+        GameLog.format(out, "time {}, health {}", buffer, 0);
+
+        assertEquals("time 12, health full", out.toString());
+    }
+
+    @Test
+    void testFormatLeavesExtraPlaceholdersAlone() {
+        GameLog.EntryBuffer buffer = new GameLog.EntryBuffer();
+        buffer.add(GameLog.INFO, "tag", "{} and {} and {}", GameLog.EntryBuffer.LONG_ARGUMENT, 1, null,
+                GameLog.EntryBuffer.NO_ARGUMENT, 0, null);
+        StringBuilder out = new StringBuilder();
+
+        GameLog.format(out, "{} and {} and {}", buffer, 0);
+
+        assertEquals("1 and {} and {}", out.toString());
+    }
+
+    @Test
+    void testRunTimeLevelGatesMessages() {
+        GameLog.setLevel(GameLog.ERROR);
+        assertFalse(GameLog.isEnabled(GameLog.INFO));
+        assertTrue(GameLog.isEnabled(GameLog.ERROR));
+
+        GameLog.setLevel(GameLog.DEBUG);
+        assertTrue(GameLog.isEnabled(GameLog.DEBUG));
+    }
+}
@@ -0,0 +1,171 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.Array;
+import dev.jasper.game.sprites.ShapeCache;
+import dev.jasper.game.sprites.enviromentSprites.Snowball;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the simulation headless on fixed seeds and scripted input, and checks it against step-time,
+ * allocation and body-count budgets, and for resources left behind by restarts.
+ * Step times depend on the machine, so their budgets are only checked when the performanceBudgets
+ * system property is set, as on a dedicated benchmark machine.
+ */
+class GameStateManagerPerformanceTest {
+    private static final float TICK = 1 / 60f;
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int WARM_UP_TICKS = TICKS_PER_SECOND * 10;
+    private static final int MEASURED_TICKS = TICKS_PER_SECOND * 60 * 5;
+    private static final long[] SEEDS = {1L, 42L, 2024L};
+    private static final String BUDGETS_PROPERTY = "performanceBudgets";
+    private static final double MEAN_UPDATE_BUDGET_NANOS = 1_000_000;
+    private static final double P99_UPDATE_BUDGET_NANOS = 5_000_000;
+    private static final double ALLOCATED_BYTES_PER_TICK_BUDGET = 4096;
+    private static final int RESTARTS = 10;
+    private static final int TICKS_PER_RESTART = TICKS_PER_SECOND * 60;
+    private static final int COLLECT_INTERVAL_TICKS = TICKS_PER_SECOND * 4;
+    private static final int MAX_EXTRA_ENEMIES = 4;
+    private static final int MAX_SNOWBALLS = 5;
+    private static final int MAX_HEALTH = 100;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    @Test
+    void testUpdateCostAndAllocationStayWithinBudget() {
+        for (long seed : SEEDS) {
+            MathUtils.random.setSeed(seed);
+            GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+            InputHandler inputHandler = HeadlessGameSupport.newInputHandler(gameStateManager);
+
+            for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+                playTick(gameStateManager, inputHandler, tick);
+            }
+
+            long[] updateNanos = new long[MEASURED_TICKS];
+            long allocatedBefore = allocatedBytes();
+            for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+                updateNanos[tick] = playTick(gameStateManager, inputHandler, WARM_UP_TICKS + tick);
+            }
+            double allocatedPerTick = (allocatedBytes() - allocatedBefore) / (double) MEASURED_TICKS;
+            gameStateManager.dispose();
+
+            Arrays.sort(updateNanos);
+            double mean = Arrays.stream(updateNanos).average().orElse(0);
+            long p99 = updateNanos[(int) (MEASURED_TICKS * 0.99)];
+            if (Boolean.getBoolean(BUDGETS_PROPERTY)) {
+                assertTrue(mean <= MEAN_UPDATE_BUDGET_NANOS,
+                        "seed " + seed + ": mean update took " + mean + " ns");
+                assertTrue(p99 <= P99_UPDATE_BUDGET_NANOS,
+                        "seed " + seed + ": p99 update took " + p99 + " ns");
+            }
+            assertTrue(allocatedPerTick <= ALLOCATED_BYTES_PER_TICK_BUDGET,
+                    "seed " + seed + ": allocated " + allocatedPerTick + " bytes per tick");
+        }
+    }
+
+    @Test
+    void testBodyCountStaysBoundedAcrossSnowballCyclesAndRestarts() {
+        MathUtils.random.setSeed(SEEDS[0]);
+        // Every game gets a new world, so what leaks across restarts only shows up in what outlives the games
+        ResourceTracker.enable();
+        // The level outlives the games played in it, so it is loaded before counting
+        HeadlessGameSupport.getLevel();
+        int liveResources = ResourceTracker.getLiveCount();
+        int initialBodyCount = -1;
+        int snowballCycles = 0;
+
+        for (int restart = 0; restart < RESTARTS; restart++) {
+            GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+            InputHandler inputHandler = HeadlessGameSupport.newInputHandler(gameStateManager);
+            if (initialBodyCount < 0) {
+                initialBodyCount = gameStateManager.getBodyCount();
+            }
+            assertEquals(0, ShapeCache.getLiveShapeCount(), "restart " + restart + " leaked native shapes");
+
+            for (int tick = 0; tick < TICKS_PER_RESTART; tick++) {
+                playTick(gameStateManager, inputHandler, tick);
+                if (tick % COLLECT_INTERVAL_TICKS == 0) {
+                    snowballCycles += collectAllSnowballs(gameStateManager);
+                }
+                int liveBodies = gameStateManager.getBodyCount();
+                if (liveBodies > initialBodyCount + MAX_EXTRA_ENEMIES + MAX_SNOWBALLS) {
+                    fail("restart " + restart + ", tick " + tick + ": " + liveBodies + " live bodies");
+                }
+                if (ShapeCache.getLiveShapeCount() != 0) {
+                    fail("restart " + restart + ", tick " + tick + ": " + ShapeCache.getLiveShapeCount()
+                            + " native shapes outlived body creation");
+                }
+            }
+            gameStateManager.dispose();
+            assertEquals(0, ShapeCache.getLiveShapeCount(), "restart " + restart + " leaked native shapes");
+            assertEquals(liveResources, ResourceTracker.getLiveCount(),
+                    "restart " + restart + " left resources alive after dispose");
+        }
+        assertTrue(snowballCycles > RESTARTS, "only " + snowballCycles + " snowball cycles were played");
+    }
+
+    private static long playTick(final GameStateManager gameStateManager, final InputHandler inputHandler,
+                                 final int tick) {
+        scriptInput(tick);
+        inputHandler.handleInput(HeadlessGameSupport.endTick());
+
+        long start = System.nanoTime();
+        gameStateManager.update(TICK);
+        long elapsed = System.nanoTime() - start;
+
+        // Keep Bob alive so that one session covers several minutes of game time
+        if (gameStateManager.getBobsHealth() < MAX_HEALTH / 2) {
+            gameStateManager.setBobsHealth(MAX_HEALTH);
+        }
+        return elapsed;
+    }
+
+    private static void scriptInput(final int tick) {
+        final int cycle = tick % (TICKS_PER_SECOND * 6);
+        if (cycle < TICKS_PER_SECOND * 5 / 2) {
+            HeadlessGameSupport.pressKeys(Input.Keys.RIGHT);
+        } else if (cycle < TICKS_PER_SECOND * 5) {
+            HeadlessGameSupport.pressKeys(Input.Keys.LEFT);
+        } else {
+            HeadlessGameSupport.pressKeys();
+        }
+        if (tick % (TICKS_PER_SECOND * 3 / 2) == 0) {
+            HeadlessGameSupport.tapKey(Input.Keys.UP);
+        }
+    }
+
+    private static int collectAllSnowballs(final GameStateManager gameStateManager) {
+        Array<Body> bodies = new Array<>();
+        gameStateManager.getWorld().getBodies(bodies);
+        int collected = 0;
+        for (Body body : bodies) {
+            for (Fixture fixture : body.getFixtureList()) {
+                if (fixture.getUserData() instanceof Snowball) {
+                    ((Snowball) fixture.getUserData()).collect();
+                    collected++;
+                }
+            }
+        }
+        return collected;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
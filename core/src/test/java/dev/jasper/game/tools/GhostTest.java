@@ -0,0 +1,123 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GhostTest {
+    private static final String DIRECTORY = "build/test-ghosts";
+    private static final int LONG_RUN_TICKS = 1800;
+    private static final int SHORT_RUN_TICKS = 150;
+    private static final int TICKS_PER_SECOND = 60;
+    private static final float POSITION_TOLERANCE = 1 / 128f;
+    private static final long ALLOCATION_TOLERANCE_BYTES = 1024;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    @BeforeEach
+    void clearGhosts() {
+        Gdx.files.local(DIRECTORY).deleteDirectory();
+        GhostRecorder.setDirectory(DIRECTORY);
+    }
+
+    @AfterEach
+    void disableGhosts() {
+        GhostRecorder.setDirectory(null);
+        Gdx.files.local(DIRECTORY).deleteDirectory();
+    }
+
+    private static GhostRecorder record(final int ticks, final float[] kidX, final float[] kidY) {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        GhostRecorder recorder = new GhostRecorder();
+        gameStateManager.setGhostRecorder(recorder);
+        InputHandler inputHandler = HeadlessGameSupport.newInputHandler(gameStateManager);
+        HeadlessGameSupport.pressKeys(Input.Keys.RIGHT);
+        for (int tick = 0; tick < ticks; tick++) {
+            HeadlessGameSupport.runTicks(gameStateManager, inputHandler, 1);
+            if (kidX != null) {
+                kidX[tick] = gameStateManager.getKid().getBodyX();
+                kidY[tick] = gameStateManager.getKid().getBodyY();
+            }
+        }
+        HeadlessGameSupport.pressKeys();
+        gameStateManager.dispose();
+        return recorder;
+    }
+
+    @Test
+    void testOnlyLongerRunsReplaceTheBest() {
+        assertNull(GhostPlayer.open(HeadlessGameSupport.getAtlas()));
+        GhostRecorder shortRun = record(SHORT_RUN_TICKS, null, null);
+        GhostRecorder longRun = record(LONG_RUN_TICKS, null, null);
+
+        assertTrue(shortRun.saveIfBest());
+        assertTrue(longRun.saveIfBest());
+        assertFalse(shortRun.saveIfBest());
+
+        GhostPlayer player = GhostPlayer.open(HeadlessGameSupport.getAtlas());
+        assertNotNull(player);
+        assertTrue(player.getWorldTimer() > SHORT_RUN_TICKS / TICKS_PER_SECOND);
+        player.dispose();
+    }
+
+    @Test
+    void testGhostStreamsTheRecordedRun() {
+        float[] kidX = new float[LONG_RUN_TICKS];
+        float[] kidY = new float[LONG_RUN_TICKS];
+        GhostRecorder recorder = record(LONG_RUN_TICKS, kidX, kidY);
+        assertEquals(LONG_RUN_TICKS, recorder.getSampleCount());
+        assertTrue(recorder.saveIfBest());
+        GhostPlayer player = GhostPlayer.open(HeadlessGameSupport.getAtlas());
+
+        for (int tick = 0; tick < LONG_RUN_TICKS; tick++) {
+            player.update(1);
+            assertTrue(player.isVisible());
+            // The sprite is drawn centered on the body, and a quarter of its height below it
+            assertEquals(kidX[tick], player.getGhost().getX() + player.getGhost().getWidth() / 2,
+                    POSITION_TOLERANCE);
+            assertEquals(kidY[tick], player.getGhost().getY() + player.getGhost().getHeight() / 4,
+                    POSITION_TOLERANCE);
+        }
+        player.update(1);
+        assertFalse(player.isVisible());
+        player.dispose();
+    }
+
+    @Test
+    void testPlaybackDoesNotAllocate() {
+        assertTrue(record(LONG_RUN_TICKS, null, null).saveIfBest());
+        GhostPlayer player = GhostPlayer.open(HeadlessGameSupport.getAtlas());
+        // Warm up past the first refill of the buffer, so only steady playback is measured
+        for (int tick = 0; tick < SHORT_RUN_TICKS * 2; tick++) {
+            player.update(1);
+        }
+
+        long before = allocatedBytes();
+        for (int tick = SHORT_RUN_TICKS * 2; tick < LONG_RUN_TICKS; tick++) {
+            player.update(1);
+        }
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(allocated < ALLOCATION_TOLERANCE_BYTES, "Ghost playback allocated " + allocated + " bytes");
+        player.dispose();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,161 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Boots a headless libGDX application so that GameStateManager can run without a window.
+ * OpenGL calls are answered by a stub that does nothing, and keyboard input is played into an InputQueue
+ * from a script, on a clock that advances by one tick at a time.
+ */
+final class HeadlessGameSupport {
+    private static final IntSet PRESSED_KEYS = new IntSet();
+    private static final IntSet RELEASED_KEYS = new IntSet();
+    private static InputQueue inputQueue;
+    private static long scriptTime;
+    private static HeadlessApplication application;
+    private static LevelManager levelManager;
+    private static Level level;
+
+    private HeadlessGameSupport() {
+    }
+
+    static synchronized void boot() {
+        if (application != null) {
+            return;
+        }
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        application = new HeadlessApplication(new ApplicationAdapter() { }, config);
+        Gdx.gl = stub(GL20.class);
+        Gdx.gl20 = Gdx.gl;
+        Gdx.input = scriptedInput();
+    }
+
+    static GameStateManager newGameStateManager() {
+        loadLevel();
+        GameStateManager gameStateManager = new GameStateManager(level, levelManager.getAtlas());
+        while (!gameStateManager.prepare()) {
+            Thread.yield();
+        }
+        return gameStateManager;
+    }
+
+    static Level getLevel() {
+        loadLevel();
+        return level;
+    }
+
+    static TextureAtlas getAtlas() {
+        loadLevel();
+        return levelManager.getAtlas();
+    }
+
+    private static void loadLevel() {
+        if (levelManager == null) {
+            levelManager = new LevelManager("mainNew");
+            level = levelManager.loadFirstLevel();
+        }
+    }
+
+    static InputHandler newInputHandler(final GameStateManager gameStateManager) {
+        return new InputHandler(gameStateManager.getKid(), newInputQueue());
+    }
+
+    static InputQueue newInputQueue() {
+        PRESSED_KEYS.clear();
+        inputQueue = new InputQueue();
+        return inputQueue;
+    }
+
+    static void pressKeys(final int... keys) {
+        RELEASED_KEYS.clear();
+        RELEASED_KEYS.addAll(PRESSED_KEYS);
+        for (int key : keys) {
+            if (!RELEASED_KEYS.remove(key)) {
+                inputQueue.keyDown(key);
+            }
+        }
+        IntSet.IntSetIterator released = RELEASED_KEYS.iterator();
+        while (released.hasNext) {
+            inputQueue.keyUp(released.next());
+        }
+        PRESSED_KEYS.clear();
+        PRESSED_KEYS.addAll(keys);
+    }
+
+    static void tapKey(final int key) {
+        inputQueue.keyDown(key);
+        inputQueue.keyUp(key);
+    }
+
+    static long endTick() {
+        scriptTime += GameStateManager.TICK_NANOS;
+        return scriptTime;
+    }
+
+    static void runTicks(final GameStateManager gameStateManager, final InputHandler inputHandler, final int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            inputHandler.handleInput(endTick());
+            gameStateManager.update(GameStateManager.TIME_STEP);
+        }
+    }
+
+    static void runTicks(final NetClient client, final GameServer server, final int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            client.runTick(endTick());
+            server.update();
+        }
+    }
+
+    private static Input scriptedInput() {
+        Input defaults = stub(Input.class);
+        return (Input) Proxy.newProxyInstance(Input.class.getClassLoader(), new Class<?>[]{Input.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isKeyPressed":
+                            return PRESSED_KEYS.contains((Integer) args[0]);
+                        case "getCurrentEventTime":
+                            // Scripted events happen just after the start of the tick they are played in
+                            return scriptTime + 1;
+                        default:
+                            return method.invoke(defaults, args);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(final Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.jasper.game.tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputQueueTest {
+
+    @Test
+    void testTapWithinOneTickStillCountsAsPress() {
+        InputQueue queue = new InputQueue();
+        queue.record(InputQueue.Action.JUMP, true, 100);
+        queue.record(InputQueue.Action.JUMP, false, 200);
+
+        queue.advanceTo(GameStateManager.TICK_NANOS);
+
+        assertTrue(queue.wasPressed(InputQueue.Action.JUMP));
+        assertTrue(queue.isActive(InputQueue.Action.JUMP));
+        assertFalse(queue.isHeld(InputQueue.Action.JUMP));
+        assertEquals(100, queue.getLastPressTime(InputQueue.Action.JUMP));
+
+        queue.advanceTo(2 * GameStateManager.TICK_NANOS);
+
+        assertFalse(queue.isActive(InputQueue.Action.JUMP));
+    }
+
+    @Test
+    void testEventsWaitForTheTickTheyHappenedIn() {
+        InputQueue queue = new InputQueue();
+        queue.record(InputQueue.Action.RIGHT, true, GameStateManager.TICK_NANOS + 1);
+
+        queue.advanceTo(GameStateManager.TICK_NANOS);
+        assertFalse(queue.isActive(InputQueue.Action.RIGHT));
+
+        queue.advanceTo(2 * GameStateManager.TICK_NANOS);
+        assertTrue(queue.wasPressed(InputQueue.Action.RIGHT));
+        assertTrue(queue.isHeld(InputQueue.Action.RIGHT));
+
+        queue.advanceTo(3 * GameStateManager.TICK_NANOS);
+        assertFalse(queue.wasPressed(InputQueue.Action.RIGHT));
+        assertTrue(queue.isHeld(InputQueue.Action.RIGHT));
+    }
+
+    @Test
+    void testOverflowAppliesOldestEventsInsteadOfDroppingThem() {
+        InputQueue queue = new InputQueue();
+        queue.record(InputQueue.Action.LEFT, true, 1);
+        for (int i = 0; i < 1000; i++) {
+            queue.record(InputQueue.Action.JUMP, i % 2 == 0, GameStateManager.TICK_NANOS * 10);
+        }
+
+        queue.advanceTo(GameStateManager.TICK_NANOS);
+
+        assertTrue(queue.isHeld(InputQueue.Action.LEFT));
+    }
+}
@@ -0,0 +1,84 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LevelFormatTest {
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 3;
+    private static final int TILE_SIZE = 16;
+
+    private static LevelData createLevel() {
+        LevelData level = new LevelData(WIDTH, HEIGHT, TILE_SIZE, TILE_SIZE,
+                new LevelData.Tileset("custom copy.png", 1, 29, 464, 0, 0));
+        int[] gids = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < gids.length; i++) {
+            gids[i] = i + 1;
+        }
+        gids[WIDTH + 1] = 0x80000000 | 7;
+        level.addTileLayer("graphics", IntBuffer.wrap(gids));
+        level.getGround().add(new Rectangle(0, 0, 32, 16));
+        level.getEnemyBoundaries().add(new Rectangle(48, 16, 16, 32));
+        level.getSnowballSpawnSpots().add(new Rectangle(16.5f, 32, 48, 16));
+        return level;
+    }
+
+    @Test
+    void testRoundTripKeepsEverything() {
+        LevelData level = createLevel();
+        ByteBuffer buffer = ByteBuffer.allocate(LevelFormat.getEncodedSize(level));
+        LevelFormat.write(level, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+
+        LevelData read = LevelFormat.read(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(WIDTH * TILE_SIZE, read.getPixelWidth());
+        assertEquals(HEIGHT * TILE_SIZE, read.getPixelHeight());
+        assertEquals("custom copy.png", read.getTileset().getImagePath());
+        assertEquals(29, read.getTileset().getColumns());
+        assertEquals(464, read.getTileset().getTileCount());
+        assertEquals("graphics", read.getTileLayerName(0));
+        assertEquals(WIDTH * HEIGHT, read.getTile(0, WIDTH - 1, HEIGHT - 1));
+        assertEquals(0x80000000 | 7, read.getTile(0, 1, 1));
+        assertEquals(new Rectangle(0, 0, 32, 16), read.getGround().first());
+        assertEquals(new Rectangle(48, 16, 16, 32), read.getEnemyBoundaries().first());
+        assertEquals(new Rectangle(16.5f, 32, 48, 16), read.getSnowballSpawnSpots().first());
+    }
+
+    @Test
+    void testReadRejectsOtherVersions() {
+        LevelData level = createLevel();
+        ByteBuffer buffer = ByteBuffer.allocate(LevelFormat.getEncodedSize(level));
+        LevelFormat.write(level, buffer);
+        buffer.putInt(Integer.BYTES, LevelFormat.VERSION + 1);
+        buffer.flip();
+
+        assertThrows(GdxRuntimeException.class, () -> LevelFormat.read(buffer));
+    }
+
+    @Test
+    void testMergeGroundJoinsTouchingRectanglesUpToMaxWidth() {
+        LevelData level = createLevel();
+        level.getGround().clear();
+        level.getGround().add(new Rectangle(0, 0, 16, 16));
+        level.getGround().add(new Rectangle(16, 0, 16, 16));
+        level.getGround().add(new Rectangle(32, 0, 16, 16));
+        level.getGround().add(new Rectangle(4, 4, 8, 8));
+
+        level.mergeGround(32);
+
+        assertEquals(2, level.getGround().size);
+        assertEquals(new Rectangle(0, 0, 32, 16), level.getGround().get(0));
+        assertEquals(new Rectangle(32, 0, 16, 16), level.getGround().get(1));
+    }
+}
@@ -0,0 +1,54 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Queue;
+
+import java.util.Arrays;
+
+/**
+ * A PacketTransport that hands packets straight to the transports linked to it, dropping some if asked to.
+ */
+final class LoopbackTransport implements PacketTransport {
+    private final Array<LoopbackTransport> peers = new Array<>();
+    private final Queue<byte[]> packets = new Queue<>();
+    private final Queue<LoopbackTransport> senders = new Queue<>();
+    private int dropEvery;
+    private int sent;
+    private int lastPeer = -1;
+
+    static void link(final LoopbackTransport server, final LoopbackTransport client) {
+        server.peers.add(client);
+        client.peers.add(server);
+    }
+
+    void dropEvery(final int count) {
+        dropEvery = count;
+    }
+
+    @Override
+    public void send(final int peer, final byte[] packet, final int length) {
+        sent++;
+        if (dropEvery > 0 && sent % dropEvery == 0) {
+            return;
+        }
+        LoopbackTransport target = peers.get(peer);
+        target.packets.addLast(Arrays.copyOf(packet, length));
+        target.senders.addLast(this);
+    }
+
+    @Override
+    public int receive(final byte[] packet) {
+        if (packets.isEmpty()) {
+            return -1;
+        }
+        byte[] next = packets.removeFirst();
+        lastPeer = peers.indexOf(senders.removeFirst(), true);
+        System.arraycopy(next, 0, packet, 0, next.length);
+        return next.length;
+    }
+
+    @Override
+    public int getLastPeer() {
+        return lastPeer;
+    }
+}
@@ -0,0 +1,82 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NavigationGraphTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 8;
+    private static final int TILE_SIZE = 16;
+
+    static LevelData createLevel() {
+        LevelData level = new LevelData(WIDTH, HEIGHT, TILE_SIZE, TILE_SIZE,
+                new LevelData.Tileset("custom copy.png", 1, 29, 464, 0, 0));
+        // A floor split in two, as merged ground is, and a platform over its right end
+        level.getGround().add(new Rectangle(0, 0, 80, 16));
+        level.getGround().add(new Rectangle(80, 0, 80, 16));
+        level.getGround().add(new Rectangle(112, 40, 48, 8));
+        return level;
+    }
+
+    @Test
+    void testFindsTheSpansAndTheSpanBelowAPoint() {
+        NavigationGraph graph = new NavigationGraph(createLevel());
+
+        assertEquals(2, graph.getNodeCount());
+        int floor = graph.getSpanIndexAt(.5f, .2f);
+        int platform = graph.getSpanIndexAt(1.3f, .55f);
+        assertEquals(0, graph.getSpan(floor).getLeft(), 1e-6f);
+        assertEquals(1.6f, graph.getSpan(floor).getRight(), 1e-6f);
+        assertEquals(.16f, graph.getSpan(floor).getTop(), 1e-6f);
+        assertEquals(.48f, graph.getSpan(platform).getTop(), 1e-6f);
+        assertEquals(floor, graph.getSpanIndexAt(1.3f, .3f));
+        assertEquals(-1, graph.getSpanIndexAt(-1, .2f));
+    }
+
+    @Test
+    void testConnectsSpansByJumpsAndFalls() {
+        NavigationGraph graph = new NavigationGraph(createLevel());
+        NavigationGraph.Span floor = graph.getSpan(graph.getSpanIndexAt(.5f, .2f));
+        NavigationGraph.Span platform = graph.getSpan(graph.getSpanIndexAt(1.3f, .55f));
+
+        assertEquals(1, graph.getConnections(floor).size);
+        NavigationGraph.Edge jump = (NavigationGraph.Edge) graph.getConnections(floor).first();
+        assertEquals(platform, jump.getToNode());
+        assertTrue(jump.isJump());
+        assertEquals(1.04f, jump.getExitX(), 1e-6f);
+
+        // The right end of the platform is the end of the level, so there is nothing to fall onto there
+        assertEquals(1, graph.getConnections(platform).size);
+        NavigationGraph.Edge fall = (NavigationGraph.Edge) graph.getConnections(platform).first();
+        assertEquals(floor, fall.getToNode());
+        assertFalse(fall.isJump());
+        assertEquals(1.04f, fall.getExitX(), 1e-6f);
+    }
+
+    @Test
+    void testJumpsOverEnemyBoundariesInsteadOfFalling() {
+        LevelData level = createLevel();
+        level.getEnemyBoundaries().add(new Rectangle(96, 48, 16, 32));
+        NavigationGraph graph = new NavigationGraph(level);
+        NavigationGraph.Span platform = graph.getSpan(graph.getSpanIndexAt(1.3f, .55f));
+
+        NavigationGraph.Edge fall = (NavigationGraph.Edge) graph.getConnections(platform).first();
+        assertTrue(fall.isJump());
+        assertEquals(1.2f, fall.getExitX(), 1e-6f);
+    }
+
+    @Test
+    void testCoveredGroundIsNotWalkedOn() {
+        LevelData level = createLevel();
+        level.getGround().add(new Rectangle(32, 0, 16, 32));
+        NavigationGraph graph = new NavigationGraph(level);
+
+        assertEquals(4, graph.getNodeCount());
+        assertEquals(.32f, graph.getSpan(graph.getSpanIndexAt(.4f, .35f)).getTop(), 1e-6f);
+        assertEquals(.32f, graph.getSpan(graph.getSpanIndexAt(.2f, .2f)).getRight(), 1e-6f);
+    }
+}
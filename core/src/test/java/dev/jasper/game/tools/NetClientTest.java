@@ -0,0 +1,86 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Input;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetClientTest {
+    private static final float CLOSE_ENOUGH = .1f;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    private static NetClient newClient(final GameStateManager gameStateManager, final PacketTransport transport) {
+        InputQueue inputQueue = HeadlessGameSupport.newInputQueue();
+        return new NetClient(gameStateManager, new InputHandler(gameStateManager.getKid(), inputQueue), inputQueue,
+                transport);
+    }
+
+    @Test
+    void testClientsJoinOneGameAndSeeEachOther() {
+        LoopbackTransport serverTransport = new LoopbackTransport();
+        LoopbackTransport firstTransport = new LoopbackTransport();
+        LoopbackTransport secondTransport = new LoopbackTransport();
+        LoopbackTransport.link(serverTransport, firstTransport);
+        LoopbackTransport.link(serverTransport, secondTransport);
+        GameServer server = new GameServer(serverTransport, HeadlessGameSupport::newGameStateManager);
+        GameStateManager first = HeadlessGameSupport.newGameStateManager();
+        GameStateManager second = HeadlessGameSupport.newGameStateManager();
+        NetClient firstClient = newClient(first, firstTransport);
+        NetClient secondClient = newClient(second, secondTransport);
+
+        for (int tick = 0; tick < 120; tick++) {
+            long tickEnd = HeadlessGameSupport.endTick();
+            firstClient.runTick(tickEnd);
+            secondClient.runTick(tickEnd);
+            server.update();
+        }
+
+        assertEquals(1, server.getSessionCount());
+        assertEquals(2, server.getClientCount());
+        assertTrue(firstClient.isConnected());
+        assertEquals(0, firstClient.getPlayer());
+        assertEquals(1, secondClient.getPlayer());
+        assertEquals(2, first.getPlayerCount());
+        assertEquals(2, second.getPlayerCount());
+        GameStateManager hosted = server.getGame(0);
+        assertEquals(hosted.getWorldTimer(), first.getWorldTimer(), 1);
+        // Each client plays its own Kid first, and sees the other player's Kid where the server has it
+        assertEquals(hosted.getKid(1).getBodyX(), first.getKid(1).getBodyX(), CLOSE_ENOUGH);
+        assertEquals(hosted.getKid(0).getBodyX(), second.getKid(1).getBodyX(), CLOSE_ENOUGH);
+        assertEquals(hosted.getEnemies().size, first.getEnemies().size);
+        server.dispose();
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void testPredictedKidAgreesWithServerDespiteLostPackets() {
+        LoopbackTransport serverTransport = new LoopbackTransport();
+        LoopbackTransport clientTransport = new LoopbackTransport();
+        LoopbackTransport.link(serverTransport, clientTransport);
+        serverTransport.dropEvery(5);
+        clientTransport.dropEvery(7);
+        GameServer server = new GameServer(serverTransport, HeadlessGameSupport::newGameStateManager);
+        GameStateManager game = HeadlessGameSupport.newGameStateManager();
+        NetClient client = newClient(game, clientTransport);
+        float spawnX = game.getKid().getBodyX();
+
+        HeadlessGameSupport.runTicks(client, server, 60);
+        HeadlessGameSupport.pressKeys(Input.Keys.RIGHT);
+        HeadlessGameSupport.runTicks(client, server, 60);
+        HeadlessGameSupport.pressKeys();
+        HeadlessGameSupport.runTicks(client, server, 60);
+
+        GameStateManager hosted = server.getGame(0);
+        assertTrue(hosted.getKid().getBodyX() > spawnX + CLOSE_ENOUGH);
+        assertEquals(hosted.getKid().getBodyX(), game.getKid().getBodyX(), CLOSE_ENOUGH);
+        server.dispose();
+        game.dispose();
+    }
+}
@@ -0,0 +1,77 @@
+package dev.jasper.game.tools;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetSnapshotTest {
+    private static final float POSITION_TOLERANCE = 1 / 256f;
+    private static final float VELOCITY_TOLERANCE = 1 / 64f;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    @Test
+    void testDeltaAgainstBaselineRoundTripsAndIsSmaller() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        for (int tick = 0; tick < 30; tick++) {
+            gameStateManager.update(GameStateManager.TIME_STEP);
+        }
+        NetSnapshot baseline = new NetSnapshot();
+        baseline.capture(gameStateManager, 30);
+        gameStateManager.update(GameStateManager.TIME_STEP);
+        gameStateManager.update(GameStateManager.TIME_STEP);
+        NetSnapshot snapshot = new NetSnapshot();
+        snapshot.capture(gameStateManager, 32);
+
+        BitWriter writer = new BitWriter(NetProtocol.MAX_PACKET_BYTES);
+        snapshot.write(writer, new NetSnapshot());
+        int fullBytes = writer.getByteLength();
+        writer.reset();
+        snapshot.write(writer, baseline);
+        int deltaBytes = writer.getByteLength();
+        BitReader reader = new BitReader();
+        reader.reset(writer.getBuffer(), deltaBytes);
+        NetSnapshot received = new NetSnapshot();
+
+        assertTrue(received.read(reader, baseline, 32));
+        assertTrue(deltaBytes < fullBytes);
+        assertEquals(32, received.getTick());
+        assertEquals(snapshot.getWorldTimer(), received.getWorldTimer());
+        assertEquals(snapshot.getBobsHealth(), received.getBobsHealth());
+        assertEquals(snapshot.getKidCount(), received.getKidCount());
+        assertEquals(snapshot.getKid(0).getX(), received.getKid(0).getX(), POSITION_TOLERANCE);
+        assertEquals(snapshot.getKid(0).getVelocityY(), received.getKid(0).getVelocityY(), VELOCITY_TOLERANCE);
+        assertEquals(snapshot.getEnemyCount(), received.getEnemyCount());
+        for (int i = 0; i < snapshot.getEnemyCount(); i++) {
+            assertEquals(snapshot.getEnemy(i).getX(), received.getEnemy(i).getX(), POSITION_TOLERANCE);
+            assertEquals(snapshot.getEnemy(i).getY(), received.getEnemy(i).getY(), POSITION_TOLERANCE);
+            assertEquals(snapshot.getEnemy(i).hasFlag(NetSnapshot.CHICKEN),
+                    received.getEnemy(i).hasFlag(NetSnapshot.CHICKEN));
+        }
+        for (int i = 0; i < snapshot.getSnowballCount(); i++) {
+            assertEquals(snapshot.getSnowballSpot(i), received.getSnowballSpot(i));
+        }
+        gameStateManager.dispose();
+    }
+
+    @Test
+    void testPacketCutShortIsRejected() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        gameStateManager.update(GameStateManager.TIME_STEP);
+        NetSnapshot snapshot = new NetSnapshot();
+        snapshot.capture(gameStateManager, 2);
+        BitWriter writer = new BitWriter(NetProtocol.MAX_PACKET_BYTES);
+        snapshot.write(writer, new NetSnapshot());
+        BitReader reader = new BitReader();
+        reader.reset(writer.getBuffer(), writer.getByteLength() / 2);
+
+        assertFalse(new NetSnapshot().read(reader, new NetSnapshot(), 2));
+        gameStateManager.dispose();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyGridTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 8;
+    private static final int TILE_SIZE = 16;
+    private static final int BOTH = OccupancyGrid.GROUND | OccupancyGrid.ENEMY_BOUNDARY;
+
+    private static OccupancyGrid createGrid() {
+        LevelData level = new LevelData(WIDTH, HEIGHT, TILE_SIZE, TILE_SIZE,
+                new LevelData.Tileset("custom copy.png", 1, 29, 464, 0, 0));
+        // A floor with a wall on it, and an enemy boundary further right
+        level.getGround().add(new Rectangle(0, 0, 160, 16));
+        level.getGround().add(new Rectangle(64, 16, 16, 32));
+        level.getEnemyBoundaries().add(new Rectangle(112, 16, 16, 16));
+        return new OccupancyGrid(level);
+    }
+
+    @Test
+    void testPointsAreSolidInTheirOwnLayer() {
+        OccupancyGrid grid = createGrid();
+
+        assertTrue(grid.isSolid(.1f, .1f, OccupancyGrid.GROUND));
+        assertFalse(grid.isSolid(.1f, .2f, BOTH));
+        assertFalse(grid.isSolid(1.2f, .2f, OccupancyGrid.GROUND));
+        assertTrue(grid.isSolid(1.2f, .2f, OccupancyGrid.ENEMY_BOUNDARY));
+        assertFalse(grid.isSolid(-.1f, .1f, BOTH));
+    }
+
+    @Test
+    void testBoxesOverlapTheCellsTheyTouch() {
+        OccupancyGrid grid = createGrid();
+
+        assertTrue(grid.overlaps(.5f, .2f, .7f, .3f, OccupancyGrid.GROUND));
+        assertFalse(grid.overlaps(.2f, .2f, .5f, .3f, BOTH));
+        // Spans several words of a row
+        assertTrue(grid.overlaps(0, .2f, 1.6f, .3f, OccupancyGrid.GROUND));
+        assertFalse(grid.overlaps(0, .5f, 1.6f, .6f, BOTH));
+        assertTrue(grid.overlaps(1f, .2f, 1.4f, .3f, OccupancyGrid.ENEMY_BOUNDARY));
+    }
+
+    @Test
+    void testRaysStopAtTheFirstSolidCell() {
+        OccupancyGrid grid = createGrid();
+        Vector2 hit = new Vector2();
+
+        assertTrue(grid.raycast(.2f, .3f, 1f, .3f, OccupancyGrid.GROUND, hit));
+        assertEquals(.64f, hit.x, 1e-5f);
+        assertEquals(.3f, hit.y, 1e-5f);
+
+        assertTrue(grid.raycast(.3f, .5f, .3f, 0, OccupancyGrid.GROUND, hit));
+        assertEquals(.16f, hit.y, 1e-5f);
+    }
+
+    @Test
+    void testRaysThatEndShortOrPassOverMissEverything() {
+        OccupancyGrid grid = createGrid();
+
+        assertFalse(grid.raycast(.2f, .3f, .6f, .3f, BOTH, null));
+        assertFalse(grid.raycast(.2f, .6f, 1.5f, .6f, BOTH, null));
+        assertFalse(grid.raycast(.9f, .2f, 1.5f, .2f, OccupancyGrid.GROUND, null));
+        assertTrue(grid.raycast(.9f, .2f, 1.5f, .2f, OccupancyGrid.ENEMY_BOUNDARY, null));
+    }
+}
@@ -0,0 +1,89 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Input;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayTest {
+    private static final int TICKS = 150;
+    private static final float POSITION_TOLERANCE = 1 / 256f;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    private static byte[] record(final float[] kidX) {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        gameStateManager.setReplayWriter(new ReplayWriter(output));
+        InputHandler inputHandler = HeadlessGameSupport.newInputHandler(gameStateManager);
+        HeadlessGameSupport.pressKeys(Input.Keys.RIGHT);
+        for (int tick = 0; tick < TICKS; tick++) {
+            HeadlessGameSupport.runTicks(gameStateManager, inputHandler, 1);
+            kidX[tick] = gameStateManager.getKid().getBodyX();
+        }
+        HeadlessGameSupport.pressKeys();
+        gameStateManager.dispose();
+        return output.toByteArray();
+    }
+
+    @Test
+    void testSeekingLoadsTheFrameOfAnyTick() {
+        float[] kidX = new float[TICKS];
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(record(kidX)));
+
+        assertEquals(TICKS, reader.getTickCount());
+        reader.seek(130);
+        assertEquals(130, reader.getTick());
+        assertEquals(kidX[130], reader.getFrame().getKid(0).getX(), POSITION_TOLERANCE);
+        reader.seek(61);
+        assertEquals(kidX[61], reader.getFrame().getKid(0).getX(), POSITION_TOLERANCE);
+        reader.next();
+        assertEquals(kidX[62], reader.getFrame().getKid(0).getX(), POSITION_TOLERANCE);
+        reader.seek(TICKS - 1);
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void testReplayCutShortIsReadUpToItsLastWholeFrame() {
+        float[] kidX = new float[TICKS];
+        byte[] replay = record(kidX);
+        ReplayReader whole = new ReplayReader(ByteBuffer.wrap(replay));
+        whole.seek(TICKS - 1);
+        int footerBytes = ReplayFormat.FOOTER_END_BYTES + 3 * Integer.BYTES;
+        // Lose the footer and one byte of the last frame
+        byte[] cut = Arrays.copyOf(replay, replay.length - footerBytes - 1);
+
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(cut));
+
+        assertEquals(TICKS - 1, reader.getTickCount());
+        reader.seek(TICKS - 2);
+        assertEquals(kidX[TICKS - 2], reader.getFrame().getKid(0).getX(), POSITION_TOLERANCE);
+    }
+
+    @Test
+    void testPlaybackMovesTheKidWithoutSteppingTheWorld() {
+        float[] kidX = new float[TICKS];
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(record(kidX)));
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        ReplayPlayer player = new ReplayPlayer(gameStateManager, reader);
+
+        player.seekSecond(2);
+        assertEquals(kidX[120], gameStateManager.getKid().getBodyX(), POSITION_TOLERANCE);
+        player.update(GameStateManager.TIME_STEP * 10.5f);
+        assertEquals(kidX[130], gameStateManager.getKid().getBodyX(), POSITION_TOLERANCE);
+        assertTrue(kidX[130] > kidX[0]);
+        player.update(1);
+        assertTrue(player.isFinished());
+        gameStateManager.dispose();
+    }
+}
@@ -0,0 +1,51 @@
+package dev.jasper.game.tools;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResourceTrackerTest {
+
+    @BeforeAll
+    static void setUp() {
+        ResourceTracker.enable();
+    }
+
+    @Test
+    void testTracksResourcesUntilDisposed() {
+        int before = ResourceTracker.getLiveCount();
+        Object resource = new Object();
+
+        assertSame(resource, ResourceTracker.track(resource, "Texture"));
+        assertEquals(before + 1, ResourceTracker.getLiveCount());
+
+        ResourceTracker.disposed(resource);
+        assertEquals(before, ResourceTracker.getLiveCount());
+    }
+
+    @Test
+    void testOwnedResourcesGoAwayWithTheirOwner() {
+        int before = ResourceTracker.getLiveCount();
+        Object world = ResourceTracker.track(new Object(), "World");
+        Object body = ResourceTracker.track(new Object(), "Body", world);
+        ResourceTracker.track(new Object(), "Body", world);
+        assertEquals(before + 3, ResourceTracker.getLiveCount());
+
+        ResourceTracker.disposed(body);
+        assertEquals(before + 2, ResourceTracker.getLiveCount());
+
+        ResourceTracker.disposed(world);
+        assertEquals(before, ResourceTracker.getLiveCount());
+    }
+
+    @Test
+    void testIgnoresResourcesItDoesNotTrack() {
+        int before = ResourceTracker.getLiveCount();
+
+        ResourceTracker.disposed(new Object());
+
+        assertEquals(before, ResourceTracker.getLiveCount());
+    }
+}
@@ -0,0 +1,109 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.Input;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunVerifierTest {
+    private static final int MAX_TICKS = 60 * 60 * 5;
+    private static final int DIRECTION_TICKS = 240;
+    private static final int JUMP_INTERVAL_TICKS = 45;
+    private static final int THREADS = 4;
+    private static int worldTimer;
+    private static int bobsHealth;
+    private static RunRecorder recorder;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+        recorder = playRun();
+    }
+
+    private static RunRecorder playRun() {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        gameStateManager.makeVerifiable();
+        RunRecorder runRecorder = new RunRecorder(0, gameStateManager.getSeed());
+        InputHandler inputHandler = HeadlessGameSupport.newInputHandler(gameStateManager);
+        inputHandler.setRunRecorder(runRecorder);
+        for (int tick = 0; tick < MAX_TICKS && !gameStateManager.isGameOver(); tick++) {
+            // Run back and forth, jumping now and then, so enemies and snowballs come into play
+            if (tick % (2 * DIRECTION_TICKS) == 0) {
+                HeadlessGameSupport.pressKeys(Input.Keys.RIGHT);
+            } else if (tick % DIRECTION_TICKS == 0) {
+                HeadlessGameSupport.pressKeys(Input.Keys.LEFT);
+            }
+            if (tick % JUMP_INTERVAL_TICKS == 0) {
+                HeadlessGameSupport.tapKey(Input.Keys.UP);
+            }
+            HeadlessGameSupport.runTicks(gameStateManager, inputHandler, 1);
+        }
+        HeadlessGameSupport.pressKeys();
+        assertTrue(gameStateManager.isGameOver());
+        worldTimer = gameStateManager.getWorldTimer();
+        bobsHealth = gameStateManager.getBobsHealth();
+        gameStateManager.dispose();
+        return runRecorder;
+    }
+
+    private static RunVerifier newVerifier() {
+        return new RunVerifier(new Level[]{HeadlessGameSupport.getLevel()}, HeadlessGameSupport.getAtlas());
+    }
+
+    @Test
+    void testRecordedRunPlaysOutAsItClaims() {
+        RunVerifier verifier = newVerifier();
+
+        RunVerifier.Verdict verdict = verifier.verify(ByteBuffer.wrap(recorder.toBytes(worldTimer, bobsHealth)));
+
+        assertEquals(RunVerifier.Verdict.VALID, verdict);
+        assertEquals(worldTimer, verifier.getWorldTimer());
+        assertEquals(bobsHealth, verifier.getBobsHealth());
+        assertEquals(recorder.getTickCount(), verifier.getTicksPlayed());
+    }
+
+    @Test
+    void testRunsCheckedOnSeveralThreadsAtOnceAgree() throws Exception {
+        byte[] run = recorder.toBytes(worldTimer, bobsHealth);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Future<?>[] verdicts = new Future<?>[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            verdicts[i] = executor.submit(() -> newVerifier().verify(ByteBuffer.wrap(run)));
+        }
+        for (Future<?> verdict : verdicts) {
+            assertEquals(RunVerifier.Verdict.VALID, verdict.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void testForgedClaimsAreFlagged() {
+        RunVerifier verifier = newVerifier();
+
+        assertEquals(RunVerifier.Verdict.MISMATCH,
+                verifier.verify(ByteBuffer.wrap(recorder.toBytes(worldTimer + 10, bobsHealth))));
+        assertEquals(RunVerifier.Verdict.MISMATCH,
+                verifier.verify(ByteBuffer.wrap(recorder.toBytes(worldTimer, bobsHealth + 1))));
+    }
+
+    @Test
+    void testDamagedRunsAreFlagged() {
+        RunVerifier verifier = newVerifier();
+        byte[] run = recorder.toBytes(worldTimer, bobsHealth);
+
+        assertEquals(RunVerifier.Verdict.MALFORMED, verifier.verify(ByteBuffer.wrap(Arrays.copyOf(run,
+                run.length - 1))));
+        // The level index follows the magic number and the version
+        ByteBuffer otherLevel = ByteBuffer.wrap(run.clone());
+        otherLevel.putInt(2 * Integer.BYTES, 1);
+        assertEquals(RunVerifier.Verdict.UNKNOWN_LEVEL, verifier.verify(otherLevel));
+    }
+}
@@ -0,0 +1,57 @@
+package dev.jasper.game.tools;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationRunnerTest {
+    private static final float TICK = 1 / 60f;
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessGameSupport.boot();
+    }
+
+    private static SimulationRunner newRunner(final GameStateManager gameStateManager) {
+        return new SimulationRunner(gameStateManager, HeadlessGameSupport.newInputHandler(gameStateManager));
+    }
+
+    @Test
+    void testFinishedTicksAreShownOnTheRenderingThread() throws InterruptedException {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        SimulationRunner runner = newRunner(gameStateManager);
+        long start = TimeUtils.millis();
+        while (runner.getWorldTimer() < 2 && TimeUtils.timeSinceMillis(start) < TIMEOUT_MILLIS) {
+            runner.update(TICK);
+            Thread.sleep(1);
+        }
+        runner.dispose();
+
+        assertTrue(runner.getWorldTimer() >= 2);
+        // The simulation may be ahead of what was shown, but never behind it
+        assertTrue(gameStateManager.getWorldTimer() >= runner.getWorldTimer());
+        gameStateManager.dispose();
+    }
+
+    @Test
+    void testNoTicksRunOnceTheGameIsOver() throws InterruptedException {
+        GameStateManager gameStateManager = HeadlessGameSupport.newGameStateManager();
+        gameStateManager.setBobsHealth(-1);
+        SimulationRunner runner = newRunner(gameStateManager);
+        int ticksTaken = 0;
+        for (int frame = 0; frame < 120; frame++) {
+            ticksTaken += runner.update(TICK);
+            Thread.sleep(1);
+        }
+        runner.dispose();
+
+        assertTrue(runner.isGameOver());
+        assertEquals(0, gameStateManager.getWorldTimer());
+        assertEquals(0, ticksTaken);
+        gameStateManager.dispose();
+    }
+}
@@ -3,14 +3,79 @@ package dev.jasper.game;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import dev.jasper.game.BobIsMelting;
+import dev.jasper.game.jfr.JfrGameEventRecorder;
+import dev.jasper.game.net.UdpTransport;
+import dev.jasper.game.replay.MappedReplayFile;
+import dev.jasper.game.screens.ReplayScreen;
+import dev.jasper.game.tools.AutoPlayer;
+import dev.jasper.game.tools.GameEvents;
+import dev.jasper.game.tools.GhostRecorder;
+import dev.jasper.game.tools.LatencyProbe;
+import dev.jasper.game.tools.NetClient;
+import dev.jasper.game.tools.ReplayWriter;
+import dev.jasper.game.tools.ResourceTracker;
+import dev.jasper.game.tools.RunRecorder;
+import dev.jasper.game.tools.SimulationRunner;
 
 // Please note that on macOS your application needs to be started with the -XstartOnFirstThread JVM argument
 public class DesktopLauncher {
+	private static final String LATENCY_PROBE_ARGUMENT = "--latency-probe";
+	private static final String THREADED_SIMULATION_ARGUMENT = "--threaded-simulation";
+	private static final String AUTOPLAY_ARGUMENT = "--autoplay";
+	private static final String TRACK_RESOURCES_ARGUMENT = "--track-resources";
+	private static final String CONNECT_ARGUMENT = "--connect=";
+	private static final String RECORD_REPLAYS_ARGUMENT = "--record-replays";
+	private static final String REPLAY_ARGUMENT = "--replay=";
+	private static final String REPLAY_DIRECTORY = "replays";
+	private static final String GHOST_DIRECTORY = "ghosts";
+	private static final String RECORD_RUNS_ARGUMENT = "--record-runs";
+	private static final String RUN_DIRECTORY = "runs";
+
 	public static void main (final String[] arg) {
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
 		config.setForegroundFPS(60);
 		config.setWindowedMode(BobIsMelting.V_WIDTH * 2, BobIsMelting.V_HEIGHT * 2);
 		config.setTitle("Bob is Melting");
+		GameEvents.setRecorder(new JfrGameEventRecorder());
+		// Keeps the best run in the ghosts folder and shows it as a ghost in later ones
+		GhostRecorder.setDirectory(GHOST_DIRECTORY);
+		for (String argument : arg) {
+			// Diagnostic mode that logs input-to-photon latency for a few frame-rate caps
+			if (LATENCY_PROBE_ARGUMENT.equals(argument)) {
+				LatencyProbe.enable();
+			}
+			// Runs physics on its own thread, overlapping it with drawing
+			if (THREADED_SIMULATION_ARGUMENT.equals(argument)) {
+				SimulationRunner.setThreaded(true);
+			}
+			// Soak test mode: a bot plays and restarts the game, and memory and frame times are logged
+			if (AUTOPLAY_ARGUMENT.equals(argument)) {
+				AutoPlayer.setEnabled(true);
+			}
+			// Logs resources that outlive their screen, and everything left undisposed when the game closes
+			if (TRACK_RESOURCES_ARGUMENT.equals(argument)) {
+				ResourceTracker.enable();
+			}
+			// Co-op mode: plays on a server started with desktop:runServer, given as host:port
+			if (argument.startsWith(CONNECT_ARGUMENT)) {
+				final String address = argument.substring(CONNECT_ARGUMENT.length());
+				final int colon = address.lastIndexOf(':');
+				NetClient.setTransport(UdpTransport.connect(address.substring(0, colon),
+						Integer.parseInt(address.substring(colon + 1))));
+			}
+			// Records every game played into a replay in the replays folder
+			if (RECORD_REPLAYS_ARGUMENT.equals(argument)) {
+				ReplayWriter.setDirectory(REPLAY_DIRECTORY);
+			}
+			// Records the input of every game played into the runs folder, to be checked by desktop:verifyRuns
+			if (RECORD_RUNS_ARGUMENT.equals(argument)) {
+				RunRecorder.setDirectory(RUN_DIRECTORY);
+			}
+			// Plays back a replay instead of starting a game
+			if (argument.startsWith(REPLAY_ARGUMENT)) {
+				ReplayScreen.setReplay(MappedReplayFile.open(argument.substring(REPLAY_ARGUMENT.length())));
+			}
+		}
 		new Lwjgl3Application(new BobIsMelting(), config);
 	}
 }
@@ -0,0 +1,39 @@
+package dev.jasper.game;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * The StubGl class stands in for OpenGL when the game runs headless, as in soak runs and on the server.
+ * Every call does nothing and returns zero, false or null, so textures and the like can be created without a GPU.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class StubGl {
+    private StubGl() {
+    }
+
+    /**
+     * Creates a GL20 that does nothing.
+     *
+     * @return The stub.
+     */
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+                (proxy, method, args) -> {
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    } else if (type == int.class) {
+                        return 0;
+                    } else if (type == long.class) {
+                        return 0L;
+                    } else if (type == float.class) {
+                        return 0f;
+                    }
+                    return null;
+                });
+    }
+}
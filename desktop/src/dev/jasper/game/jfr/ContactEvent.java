@@ -0,0 +1,24 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The ContactEvent class is a JFR event emitted when two fixtures start to collide.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.Contact")
+@Label("Contact")
+@Category({"Bob Is Melting", "Simulation"})
+@Description("Two fixtures started to collide.")
+@StackTrace(false)
+public final class ContactEvent extends Event {
+    @Label("Category Bits")
+    int categoryBits;
+}
@@ -0,0 +1,24 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The FrameEvent class is a JFR event covering one call of PlayScreen.render.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.Frame")
+@Label("Frame")
+@Category({"Bob Is Melting", "Rendering"})
+@Description("Input, simulation and drawing of one frame.")
+@StackTrace(false)
+public final class FrameEvent extends Event {
+    @Label("Frame Id")
+    long frameId;
+}
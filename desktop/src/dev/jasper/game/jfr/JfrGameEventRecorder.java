@@ -0,0 +1,121 @@
+package dev.jasper.game.jfr;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.physics.box2d.World;
+import dev.jasper.game.tools.GameEventRecorder;
+import jdk.jfr.EventType;
+
+/**
+ * The JfrGameEventRecorder class forwards the game's own activity to Java Flight Recorder.
+ * Every event type is checked before an event object is created,
+ * so nothing is allocated or committed while no recording has the event enabled.
+ * The recorder is meant to be called from the render thread only.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class JfrGameEventRecorder implements GameEventRecorder {
+    private final EventType frameType = EventType.getEventType(FrameEvent.class);
+    private final EventType updatePhaseType = EventType.getEventType(UpdatePhaseEvent.class);
+    private final EventType physicsStepType = EventType.getEventType(PhysicsStepEvent.class);
+    private final EventType spawnType = EventType.getEventType(SpawnEvent.class);
+    private final EventType contactType = EventType.getEventType(ContactEvent.class);
+    private final EventType screenTransitionType = EventType.getEventType(ScreenTransitionEvent.class);
+    private FrameEvent frameEvent;
+    private UpdatePhaseEvent updatePhaseEvent;
+    private PhysicsStepEvent physicsStepEvent;
+
+    @Override
+    public void beginFrame() {
+        if (!frameType.isEnabled()) {
+            return;
+        }
+        frameEvent = new FrameEvent();
+        frameEvent.frameId = Gdx.graphics.getFrameId();
+        frameEvent.begin();
+    }
+
+    @Override
+    public void endFrame() {
+        if (frameEvent == null) {
+            return;
+        }
+        frameEvent.commit();
+        frameEvent = null;
+    }
+
+    @Override
+    public void beginUpdatePhase(final UpdatePhase phase) {
+        if (!updatePhaseType.isEnabled()) {
+            return;
+        }
+        updatePhaseEvent = new UpdatePhaseEvent();
+        updatePhaseEvent.phase = phase.name();
+        updatePhaseEvent.begin();
+    }
+
+    @Override
+    public void endUpdatePhase(final UpdatePhase phase) {
+        if (updatePhaseEvent == null) {
+            return;
+        }
+        updatePhaseEvent.commit();
+        updatePhaseEvent = null;
+    }
+
+    @Override
+    public void beginPhysicsStep() {
+        if (!physicsStepType.isEnabled()) {
+            return;
+        }
+        physicsStepEvent = new PhysicsStepEvent();
+        physicsStepEvent.begin();
+    }
+
+    @Override
+    public void endPhysicsStep(final World world) {
+        if (physicsStepEvent == null) {
+            return;
+        }
+        physicsStepEvent.end();
+        if (physicsStepEvent.shouldCommit()) {
+            physicsStepEvent.bodyCount = world.getBodyCount();
+            physicsStepEvent.contactCount = world.getContactCount();
+            physicsStepEvent.commit();
+        }
+        physicsStepEvent = null;
+    }
+
+    @Override
+    public void entitySpawned(final String entityType, final float positionX, final float positionY) {
+        if (!spawnType.isEnabled()) {
+            return;
+        }
+        final SpawnEvent event = new SpawnEvent();
+        event.entityType = entityType;
+        event.positionX = positionX;
+        event.positionY = positionY;
+        event.commit();
+    }
+
+    @Override
+    public void contactBegan(final int categoryBits) {
+        if (!contactType.isEnabled()) {
+            return;
+        }
+        final ContactEvent event = new ContactEvent();
+        event.categoryBits = categoryBits;
+        event.commit();
+    }
+
+    @Override
+    public void screenChanged(final String fromScreen, final String toScreen) {
+        if (!screenTransitionType.isEnabled()) {
+            return;
+        }
+        final ScreenTransitionEvent event = new ScreenTransitionEvent();
+        event.fromScreen = fromScreen;
+        event.toScreen = toScreen;
+        event.commit();
+    }
+}
@@ -0,0 +1,27 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The PhysicsStepEvent class is a JFR event covering one Box2D world step.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.PhysicsStep")
+@Label("Physics Step")
+@Category({"Bob Is Melting", "Simulation"})
+@Description("One call of World.step.")
+@StackTrace(false)
+public final class PhysicsStepEvent extends Event {
+    @Label("Body Count")
+    int bodyCount;
+
+    @Label("Contact Count")
+    int contactCount;
+}
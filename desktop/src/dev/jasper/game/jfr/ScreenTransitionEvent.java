@@ -0,0 +1,27 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The ScreenTransitionEvent class is a JFR event emitted when the game switches screens.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.ScreenTransition")
+@Label("Screen Transition")
+@Category({"Bob Is Melting", "Rendering"})
+@Description("The game switched from one screen to another.")
+@StackTrace(false)
+public final class ScreenTransitionEvent extends Event {
+    @Label("From Screen")
+    String fromScreen;
+
+    @Label("To Screen")
+    String toScreen;
+}
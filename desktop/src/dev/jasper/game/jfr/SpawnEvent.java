@@ -0,0 +1,30 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The SpawnEvent class is a JFR event emitted when an enemy or a snowball is created.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.Spawn")
+@Label("Spawn")
+@Category({"Bob Is Melting", "Simulation"})
+@Description("An entity was created in the game world.")
+@StackTrace(false)
+public final class SpawnEvent extends Event {
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Position X")
+    float positionX;
+
+    @Label("Position Y")
+    float positionY;
+}
@@ -0,0 +1,24 @@
+package dev.jasper.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The UpdatePhaseEvent class is a JFR event covering one phase of GameStateManager.update.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+@Name("dev.jasper.game.UpdatePhase")
+@Label("Update Phase")
+@Category({"Bob Is Melting", "Simulation"})
+@Description("One phase of the game state update.")
+@StackTrace(false)
+public final class UpdatePhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,103 @@
+package dev.jasper.game.net;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
+import dev.jasper.game.StubGl;
+import dev.jasper.game.tools.GameLog;
+import dev.jasper.game.tools.GameServer;
+import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.Level;
+import dev.jasper.game.tools.LevelManager;
+
+/**
+ * The ServerRunner class hosts co-op games headless: it runs a GameServer on a UDP port, sixty ticks a second,
+ * and logs how many games and players there are and how long a tick takes once a minute.
+ * Every game is played in the first level. OpenGL calls are answered by a stub that does nothing.
+ * Usage: ServerRunner [port, 27960 by default]
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class ServerRunner extends ApplicationAdapter {
+    private static final String TAG = "ServerRunner";
+    private static final String[] LEVELS = {"mainNew"};
+    private static final int DEFAULT_PORT = 27960;
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int STATS_INTERVAL_TICKS = TICKS_PER_SECOND * 60;
+    private static final long NANOS_PER_MICRO = 1000;
+    private final int port;
+    private final StringBuilder message;
+    private LevelManager levelManager;
+    private UdpTransport transport;
+    private GameServer server;
+    private long tickNanos;
+    private long worstTickNanos;
+    private int ticks;
+
+    private ServerRunner(final int port) {
+        this.port = port;
+        this.message = new StringBuilder();
+    }
+
+    /**
+     * Hosts co-op games until the process is stopped.
+     *
+     * @param args The UDP port to listen on, optional.
+     */
+    public static void main(final String[] args) {
+        final int port;
+        if (args.length > 0) {
+            port = Integer.parseInt(args[0]);
+        } else {
+            port = DEFAULT_PORT;
+        }
+        final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = TICKS_PER_SECOND;
+        new HeadlessApplication(new ServerRunner(port), config);
+    }
+
+    @Override
+    public void create() {
+        Gdx.gl = StubGl.create();
+        Gdx.gl20 = Gdx.gl;
+        levelManager = new LevelManager(LEVELS);
+        final Level level = levelManager.loadFirstLevel();
+        transport = UdpTransport.bind(port);
+        server = new GameServer(transport, () -> new GameStateManager(level, levelManager.getAtlas()));
+        GameLog.info(TAG, "Listening on UDP port {}", port);
+        GameLog.flushNow();
+    }
+
+    @Override
+    public void render() {
+        final long tickStart = TimeUtils.nanoTime();
+        server.update();
+        final long elapsed = TimeUtils.nanoTime() - tickStart;
+        tickNanos += elapsed;
+        worstTickNanos = Math.max(worstTickNanos, elapsed);
+        ticks++;
+        if (ticks == STATS_INTERVAL_TICKS) {
+            message.setLength(0);
+            message.append("games=").append(server.getSessionCount())
+                    .append(" players=").append(server.getClientCount())
+                    .append(" tick[us]=").append(tickNanos / ticks / NANOS_PER_MICRO)
+                    .append(" worstTick[us]=").append(worstTickNanos / NANOS_PER_MICRO);
+            GameLog.info(TAG, message.toString());
+            tickNanos = 0;
+            worstTickNanos = 0;
+            ticks = 0;
+        }
+        GameLog.flush();
+    }
+
+    @Override
+    public void dispose() {
+        server.dispose();
+        transport.dispose();
+        levelManager.dispose();
+        GameLog.flushNow();
+    }
+}
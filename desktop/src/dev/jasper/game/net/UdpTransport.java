@@ -0,0 +1,135 @@
+package dev.jasper.game.net;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import dev.jasper.game.tools.GameLog;
+import dev.jasper.game.tools.PacketTransport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * The UdpTransport class sends and receives the game's packets as UDP datagrams, through a non-blocking
+ * DatagramChannel, so polling it never stalls a tick. Each address packets come from is given a peer id
+ * the first time it is heard from. A transport connected to a server knows only the server, as peer 0.
+ * Sending never throws: a datagram that cannot be sent is logged and lost, like one lost on the way.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class UdpTransport implements PacketTransport, Disposable {
+    private static final String TAG = "Udp";
+    private final DatagramChannel channel;
+    private final ByteBuffer buffer;
+    private final ObjectIntMap<SocketAddress> peerIds;
+    private final Array<SocketAddress> peers;
+    private int lastPeer;
+
+    private UdpTransport(final DatagramChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(MAX_PACKET_BYTES);
+        this.peerIds = new ObjectIntMap<>();
+        this.peers = new Array<>();
+        this.lastPeer = -1;
+    }
+
+    /**
+     * Opens a transport for a server, listening on a port.
+     *
+     * @param port The UDP port to listen on.
+     * @return The transport.
+     */
+    public static UdpTransport bind(final int port) {
+        try {
+            final DatagramChannel channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.bind(new InetSocketAddress(port));
+            return new UdpTransport(channel);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot listen on UDP port " + port, e);
+        }
+    }
+
+    /**
+     * Opens a transport to a server, which becomes peer 0.
+     *
+     * @param host The host name or address of the server.
+     * @param port The UDP port the server listens on.
+     * @return The transport.
+     */
+    public static UdpTransport connect(final String host, final int port) {
+        try {
+            final InetSocketAddress server = new InetSocketAddress(host, port);
+            final DatagramChannel channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            // Only the server's datagrams are let through
+            channel.connect(server);
+            final UdpTransport transport = new UdpTransport(channel);
+            transport.getPeerId(server);
+            return transport;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot reach " + host + ":" + port, e);
+        }
+    }
+
+    @Override
+    public void send(final int peer, final byte[] packet, final int length) {
+        buffer.clear();
+        buffer.put(packet, 0, length);
+        buffer.flip();
+        try {
+            channel.send(buffer, peers.get(peer));
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot send a datagram", e);
+        }
+    }
+
+    @Override
+    public int receive(final byte[] packet) {
+        buffer.clear();
+        final SocketAddress from;
+        try {
+            from = channel.receive(buffer);
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot receive a datagram", e);
+            return -1;
+        }
+        if (from == null) {
+            return -1;
+        }
+        buffer.flip();
+        final int length = Math.min(buffer.remaining(), packet.length);
+        buffer.get(packet, 0, length);
+        lastPeer = getPeerId(from);
+        return length;
+    }
+
+    @Override
+    public int getLastPeer() {
+        return lastPeer;
+    }
+
+    private int getPeerId(final SocketAddress address) {
+        int peer = peerIds.get(address, -1);
+        if (peer < 0) {
+            peer = peers.size;
+            peers.add(address);
+            peerIds.put(address, peer);
+        }
+        return peer;
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            GameLog.error(TAG, "Cannot close the channel", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.jasper.game.replay;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import dev.jasper.game.tools.ReplayReader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The MappedReplayFile class opens replays by mapping them into memory, so a ReplayReader reads them
+ * without copying, and only the parts of a long replay that are played or sought to are ever loaded.
+ * The mapping stays valid after the file is closed, for as long as the buffer is reachable.
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class MappedReplayFile {
+    private MappedReplayFile() {
+    }
+
+    /**
+     * Maps a replay file and opens it.
+     *
+     * @param path The path of the replay file.
+     * @return A ReplayReader on the mapped file.
+     * @throws GdxRuntimeException If the file cannot be mapped or is not a replay.
+     */
+    public static ReplayReader open(final String path) {
+        final Path file = Paths.get(path);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ReplayReader(buffer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot map replay " + file, e);
+        }
+    }
+}
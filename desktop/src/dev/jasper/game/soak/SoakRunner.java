@@ -0,0 +1,107 @@
+package dev.jasper.game.soak;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
+import dev.jasper.game.StubGl;
+import dev.jasper.game.tools.AutoPlayer;
+import dev.jasper.game.tools.GameLog;
+import dev.jasper.game.tools.GameStateManager;
+import dev.jasper.game.tools.InputHandler;
+import dev.jasper.game.tools.InputQueue;
+import dev.jasper.game.tools.Level;
+import dev.jasper.game.tools.LevelManager;
+import dev.jasper.game.tools.SoakMonitor;
+
+/**
+ * The SoakRunner class lets the AutoPlayer play the game headless for hours of game time, restarting it
+ * whenever it is over, and reports through a SoakMonitor once a minute of game time.
+ * Ticks run back to back instead of in real time, so hours of play take far less than hours,
+ * and the frame time reported is the time a tick takes. OpenGL calls are answered by a stub that does nothing.
+ * Usage: SoakRunner [hours of game time, 4 by default]
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class SoakRunner extends ApplicationAdapter {
+    private static final String[] LEVELS = {"mainNew"};
+    private static final float DEFAULT_HOURS = 4;
+    private static final int TICKS_PER_HOUR = 60 * 60 * 60;
+    private final long totalTicks;
+    private final SoakMonitor soakMonitor;
+    private final InputQueue inputQueue;
+    private LevelManager levelManager;
+    private GameStateManager gameStateManager;
+    private InputHandler inputHandler;
+    private long ticks;
+    private long tickEnd;
+
+    private SoakRunner(final float hours) {
+        this.totalTicks = (long) (hours * TICKS_PER_HOUR);
+        this.soakMonitor = new SoakMonitor();
+        this.inputQueue = new InputQueue();
+    }
+
+    /**
+     * Plays the game headless for the given number of hours of game time.
+     *
+     * @param args The hours of game time to play, optional.
+     */
+    public static void main(final String[] args) {
+        final float hours;
+        if (args.length > 0) {
+            hours = Float.parseFloat(args[0]);
+        } else {
+            hours = DEFAULT_HOURS;
+        }
+        final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new SoakRunner(hours), config);
+    }
+
+    @Override
+    public void create() {
+        Gdx.gl = StubGl.create();
+        Gdx.gl20 = Gdx.gl;
+        levelManager = new LevelManager(LEVELS);
+        startGame(levelManager.loadFirstLevel());
+    }
+
+    private void startGame(final Level level) {
+        gameStateManager = new GameStateManager(level, levelManager.getAtlas());
+        while (!gameStateManager.prepare()) {
+            Thread.yield();
+        }
+        inputQueue.clear();
+        inputHandler = new InputHandler(gameStateManager.getKid(), inputQueue);
+        inputHandler.setAutoPlayer(new AutoPlayer(gameStateManager, inputQueue));
+        soakMonitor.gameStarted();
+    }
+
+    @Override
+    public void render() {
+        final long tickStart = TimeUtils.nanoTime();
+        tickEnd += GameStateManager.TICK_NANOS;
+        inputHandler.handleInput(tickEnd);
+        gameStateManager.update(GameStateManager.TIME_STEP);
+        soakMonitor.frame(TimeUtils.nanoTime() - tickStart, gameStateManager.getBodyCount());
+        GameLog.flush();
+        ticks++;
+        if (ticks >= totalTicks) {
+            Gdx.app.exit();
+        } else if (gameStateManager.isGameOver()) {
+            // Restart the way the game does, so leaks around restarts show up here too
+            gameStateManager.dispose();
+            startGame(levelManager.advance());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        gameStateManager.dispose();
+        levelManager.dispose();
+        GameLog.flushNow();
+    }
+}
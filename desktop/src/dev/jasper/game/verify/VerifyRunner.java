@@ -0,0 +1,186 @@
+package dev.jasper.game.verify;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
+import dev.jasper.game.StubGl;
+import dev.jasper.game.tools.GameLog;
+import dev.jasper.game.tools.Level;
+import dev.jasper.game.tools.LevelManager;
+import dev.jasper.game.tools.RunRecorder;
+import dev.jasper.game.tools.RunVerifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The VerifyRunner class checks a folder of runs recorded for the leaderboard, and logs every run that does not
+ * play out as it claims. Runs are played again headless by RunVerifiers, one per core by default,
+ * each on a thread of its own, with ticks back to back instead of in real time.
+ * The levels and the atlas are loaded once and shared by every thread, as nothing changes them.
+ * OpenGL calls are answered by a stub that does nothing. The process exits with 1 if any run was flagged.
+ * Usage: VerifyRunner folder [threads, the number of cores by default]
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class VerifyRunner extends ApplicationAdapter {
+    private static final String TAG = "VerifyRunner";
+    private static final String[] LEVELS = {"mainNew"};
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+    private final File folder;
+    private final int threads;
+    private final StringBuilder message;
+    private LevelManager[] levelManagers;
+    private int flagged;
+
+    private VerifyRunner(final File folder, final int threads) {
+        this.folder = folder;
+        this.threads = threads;
+        this.message = new StringBuilder();
+    }
+
+    /**
+     * Checks every run in a folder and exits.
+     *
+     * @param args The folder of the runs, and optionally the number of threads to check them on.
+     */
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: VerifyRunner folder [threads]");
+            System.exit(2);
+        }
+        final int threads;
+        if (args.length > 1) {
+            threads = Integer.parseInt(args[1]);
+        } else {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        final VerifyRunner runner = new VerifyRunner(new File(args[0]).getAbsoluteFile(), threads);
+        final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(runner, config);
+    }
+
+    @Override
+    public void create() {
+        Gdx.gl = StubGl.create();
+        Gdx.gl20 = Gdx.gl;
+        // A LevelManager holds one level at a time, so each level gets its own
+        levelManagers = new LevelManager[LEVELS.length];
+        final Level[] levels = new Level[LEVELS.length];
+        for (int i = 0; i < LEVELS.length; i++) {
+            levelManagers[i] = new LevelManager(LEVELS[i]);
+            levels[i] = levelManagers[i].loadFirstLevel();
+        }
+        final File[] runs = folder.listFiles((directory, name) -> name.endsWith(RunRecorder.FILE_EXTENSION));
+        if (runs == null) {
+            GameLog.info(TAG, "No such folder: {}", folder);
+            flagged = 1;
+            Gdx.app.exit();
+            return;
+        }
+        Arrays.sort(runs);
+        verifyAll(runs, levels);
+        Gdx.app.exit();
+    }
+
+    private void verifyAll(final File[] runs, final Level[] levels) {
+        final long start = TimeUtils.nanoTime();
+        final ThreadLocal<RunVerifier> verifiers =
+                ThreadLocal.withInitial(() -> new RunVerifier(levels, levelManagers[0].getAtlas()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<Result>> results = new ArrayList<>(runs.length);
+        for (File run : runs) {
+            results.add(executor.submit(() -> verify(verifiers.get(), run)));
+        }
+        long gameTicks = 0;
+        for (int i = 0; i < runs.length; i++) {
+            final Result result;
+            try {
+                result = results.get(i).get();
+            } catch (InterruptedException | ExecutionException e) {
+                GameLog.error(TAG, "Cannot verify {}", e);
+                flagged++;
+                continue;
+            }
+            gameTicks += result.ticksPlayed;
+            if (result.verdict != RunVerifier.Verdict.VALID) {
+                flagged++;
+                logFlagged(runs[i], result);
+            }
+        }
+        executor.shutdown();
+        final long elapsedMillis = Math.max(1, (TimeUtils.nanoTime() - start) / NANOS_PER_MILLI);
+        message.setLength(0);
+        message.append("runs=").append(runs.length)
+                .append(" flagged=").append(flagged)
+                .append(" threads=").append(threads)
+                .append(" time[ms]=").append(elapsedMillis)
+                .append(" runsPerMinute=").append(runs.length * MILLIS_PER_MINUTE / elapsedMillis)
+                .append(" gameTicks=").append(gameTicks);
+        GameLog.info(TAG, message.toString());
+    }
+
+    private static Result verify(final RunVerifier verifier, final File run) throws IOException {
+        final RunVerifier.Verdict verdict = verifier.verify(ByteBuffer.wrap(Files.readAllBytes(run.toPath())));
+        return new Result(verdict, verifier);
+    }
+
+    private void logFlagged(final File run, final Result result) {
+        message.setLength(0);
+        message.append(run.getName())
+                .append(" verdict=").append(result.verdict)
+                .append(" claimedTime=").append(result.claimedWorldTimer)
+                .append(" time=").append(result.worldTimer)
+                .append(" claimedHealth=").append(result.claimedBobsHealth)
+                .append(" health=").append(result.bobsHealth)
+                .append(" ticks=").append(result.ticksPlayed);
+        GameLog.info(TAG, message.toString());
+        GameLog.flush();
+    }
+
+    @Override
+    public void dispose() {
+        for (LevelManager levelManager : levelManagers) {
+            levelManager.dispose();
+        }
+        GameLog.flushNow();
+        if (flagged > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * What checking one run found, copied out of the RunVerifier of the thread that checked it.
+     */
+    private static final class Result {
+        private final RunVerifier.Verdict verdict;
+        private final int claimedWorldTimer;
+        private final int worldTimer;
+        private final int claimedBobsHealth;
+        private final int bobsHealth;
+        private final int ticksPlayed;
+
+        Result(final RunVerifier.Verdict verdict, final RunVerifier verifier) {
+            this.verdict = verdict;
+            this.claimedWorldTimer = verifier.getClaimedWorldTimer();
+            this.worldTimer = verifier.getWorldTimer();
+            this.claimedBobsHealth = verifier.getClaimedBobsHealth();
+            this.bobsHealth = verifier.getBobsHealth();
+            this.ticksPlayed = verifier.getTicksPlayed();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package dev.jasper.game.levels;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import dev.jasper.game.tools.LevelData;
+import dev.jasper.game.tools.LevelFormat;
+import dev.jasper.game.tools.LevelLoader;
+import dev.jasper.game.tools.MapChunkStreamer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The LevelCompiler class compiles the TMX levels in a folder into the binary format read by LevelLoader.
+ * It runs at build time, so the game never parses XML, decodes base64 or resolves external tilesets at launch.
+ * Ground rectangles are merged along the way, and object coordinates are flipped to libGDX's bottom-left origin.
+ * Usage: LevelCompiler &lt;folder with .tmx files&gt; &lt;output folder&gt;
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class LevelCompiler {
+    private static final String LEVEL_EXTENSION = ".level";
+    private static final int BUFFER_SIZE = 4096;
+
+    private LevelCompiler() {
+    }
+
+    /**
+     * Compiles every .tmx file in the input folder into a .level file of the same name in the output folder.
+     *
+     * @param args The input folder and the output folder.
+     * @throws IOException If a level cannot be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: LevelCompiler <folder with .tmx files> <output folder>");
+        }
+        final Path inputDir = Paths.get(args[0]);
+        final Path outputDir = Paths.get(args[1]);
+        Files.createDirectories(outputDir);
+        try (DirectoryStream<Path> levels = Files.newDirectoryStream(inputDir, "*.tmx")) {
+            for (Path tmx : levels) {
+                final String name = tmx.getFileName().toString();
+                final Path output = outputDir.resolve(name.substring(0, name.length() - ".tmx".length())
+                        + LEVEL_EXTENSION);
+                final LevelData level = compile(tmx, inputDir);
+                final ByteBuffer buffer = ByteBuffer.allocate(LevelFormat.getEncodedSize(level));
+                LevelFormat.write(level, buffer);
+                Files.write(output, buffer.array());
+                System.out.println("Compiled " + tmx + " into " + output + " (" + buffer.capacity() + " bytes)");
+            }
+        }
+    }
+
+    /**
+     * Reads a TMX level into a LevelData.
+     *
+     * @param tmx        The TMX file.
+     * @param assetsRoot The folder the game loads its assets from, which the tileset image path is made relative to.
+     * @return The level.
+     * @throws IOException If the level or its tileset cannot be read.
+     */
+    static LevelData compile(final Path tmx, final Path assetsRoot) throws IOException {
+        final XmlReader.Element root = parse(tmx);
+        final int width = root.getIntAttribute("width");
+        final int height = root.getIntAttribute("height");
+        final int tileWidth = root.getIntAttribute("tilewidth");
+        final int tileHeight = root.getIntAttribute("tileheight");
+        final LevelData level = new LevelData(width, height, tileWidth, tileHeight,
+                readTileset(root.getChildByName("tileset"), tmx.getParent(), assetsRoot));
+
+        final float pixelHeight = height * tileHeight;
+        for (int i = 0; i < root.getChildCount(); i++) {
+            final XmlReader.Element layer = root.getChild(i);
+            if ("layer".equals(layer.getName())) {
+                level.addTileLayer(layer.getAttribute("name"),
+                        readTiles(layer.getChildByName("data"), width * height));
+            } else if ("objectgroup".equals(layer.getName())) {
+                final Array<Rectangle> target = getObjectTarget(level, layer.getAttribute("name"));
+                if (target != null) {
+                    readRectangles(layer, pixelHeight, target);
+                }
+            }
+        }
+        level.mergeGround(MapChunkStreamer.CHUNK_WIDTH);
+        return level;
+    }
+
+    private static LevelData.Tileset readTileset(final XmlReader.Element tilesetRef, final Path tmxDir,
+                                                 final Path assetsRoot) throws IOException {
+        final int firstGid = tilesetRef.getIntAttribute("firstgid", 1);
+        XmlReader.Element tileset = tilesetRef;
+        Path tilesetDir = tmxDir;
+        final String source = tilesetRef.getAttribute("source", null);
+        if (source != null) {
+            final Path tsx = tmxDir.resolve(source);
+            tileset = parse(tsx);
+            tilesetDir = tsx.getParent();
+        }
+        final XmlReader.Element image = tileset.getChildByName("image");
+        final Path imagePath = tilesetDir.resolve(image.getAttribute("source")).normalize();
+        return new LevelData.Tileset(assetsRoot.toAbsolutePath().normalize()
+                .relativize(imagePath.toAbsolutePath()).toString().replace('\\', '/'),
+                firstGid, tileset.getIntAttribute("columns"), tileset.getIntAttribute("tilecount"),
+                tileset.getIntAttribute("margin", 0), tileset.getIntAttribute("spacing", 0));
+    }
+
+    private static IntBuffer readTiles(final XmlReader.Element data, final int tileCount) throws IOException {
+        final int[] gids = new int[tileCount];
+        final String encoding = data.getAttribute("encoding", null);
+        if ("csv".equals(encoding)) {
+            final String[] values = data.getText().trim().split("\\s*,\\s*");
+            for (int i = 0; i < tileCount; i++) {
+                gids[i] = (int) Long.parseLong(values[i]);
+            }
+        } else if ("base64".equals(encoding)) {
+            final byte[] bytes = decompress(Base64.getMimeDecoder().decode(data.getText().trim()),
+                    data.getAttribute("compression", null));
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(gids);
+        } else {
+            throw new IOException("Unsupported tile layer encoding: " + encoding);
+        }
+        return IntBuffer.wrap(gids);
+    }
+
+    private static byte[] decompress(final byte[] bytes, final String compression) throws IOException {
+        if (compression == null) {
+            return bytes;
+        }
+        final InputStream in;
+        switch (compression) {
+            case "zlib":
+                in = new InflaterInputStream(new ByteArrayInputStream(bytes));
+                break;
+            case "gzip":
+                in = new GZIPInputStream(new ByteArrayInputStream(bytes));
+                break;
+            default:
+                throw new IOException("Unsupported tile layer compression: " + compression);
+        }
+        try (InputStream stream = in) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static Array<Rectangle> getObjectTarget(final LevelData level, final String layerName) {
+        switch (layerName) {
+            case LevelLoader.GROUND_LAYER:
+                return level.getGround();
+            case LevelLoader.ENEMY_BOUNDARY_LAYER:
+                return level.getEnemyBoundaries();
+            case LevelLoader.SNOWBALL_SPAWN_LAYER:
+                return level.getSnowballSpawnSpots();
+            default:
+                return null;
+        }
+    }
+
+    private static void readRectangles(final XmlReader.Element objectGroup, final float pixelHeight,
+                                       final Array<Rectangle> target) {
+        for (XmlReader.Element object : objectGroup.getChildrenByName("object")) {
+            if (!isRectangle(object)) {
+                continue;
+            }
+            final float width = object.getFloatAttribute("width", 0);
+            final float height = object.getFloatAttribute("height", 0);
+            final float x = object.getFloatAttribute("x", 0);
+            // Tiled measures y downwards from the top of the map
+            final float y = pixelHeight - object.getFloatAttribute("y", 0) - height;
+            target.add(new Rectangle(x, y, width, height));
+        }
+    }
+
+    private static boolean isRectangle(final XmlReader.Element object) {
+        // Ellipses, polygons, polylines, points and text are not used for collision in this game
+        for (int i = 0; i < object.getChildCount(); i++) {
+            if (!"properties".equals(object.getChild(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static XmlReader.Element parse(final Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new XmlReader().parse(in);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.jasper.game.packing;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.tools.texturepacker.TextureUnpacker;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.XmlReader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * The AssetPacker class packs every tileset and every character atlas in a folder into one shared atlas,
+ * so the map and the sprites are drawn from the same texture pages.
+ * Tilesets are cut into one image per tile, named after the tileset image with the tile index appended,
+ * so a tile can be found with findRegion(tileset name, tile index). Blank tiles are left out.
+ * Character atlases are unpacked first, so their regions keep their names.
+ * Every region gets padding filled with its own edge pixels, so neighbouring tiles never bleed into each other.
+ * Usage: AssetPacker &lt;assets folder&gt; &lt;output folder&gt; &lt;atlas name&gt;
+ *
+ * @author Jasper Wang
+ * @version 2024
+ */
+public final class AssetPacker {
+    private static final int PADDING = 2;
+    private static final int MAX_PAGE_SIZE = 1024;
+    private static final int ALPHA_SHIFT = 24;
+
+    private AssetPacker() {
+    }
+
+    /**
+     * Packs the tilesets and atlases of the assets folder into one atlas in the output folder.
+     *
+     * @param args The assets folder, the output folder and the name of the atlas.
+     * @throws IOException If an image cannot be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: AssetPacker <assets folder> <output folder> <atlas name>");
+        }
+        final Path assetsDir = Paths.get(args[0]);
+        final Path staging = Files.createTempDirectory("bob-is-melting-packing");
+        try {
+            final ObjectSet<String> tilesetImages = new ObjectSet<>();
+            try (DirectoryStream<Path> tilesets = Files.newDirectoryStream(assetsDir, "*.tsx")) {
+                for (Path tsx : tilesets) {
+                    sliceTileset(tsx, staging, tilesetImages);
+                }
+            }
+            try (DirectoryStream<Path> atlases = Files.newDirectoryStream(assetsDir, "*.atlas")) {
+                for (Path atlas : atlases) {
+                    unpackAtlas(atlas, staging);
+                }
+            }
+            TexturePacker.process(createSettings(), staging.toString(), args[1], args[2]);
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    /**
+     * Returns the settings the shared atlas is packed with.
+     *
+     * @return The TexturePacker settings.
+     */
+    static TexturePacker.Settings createSettings() {
+        final TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.paddingX = PADDING;
+        settings.paddingY = PADDING;
+        // Fill the padding with the edge pixels of each region, so filtering at tile edges never picks up neighbours
+        settings.duplicatePadding = true;
+        // Spread edge colours into transparent pixels, so they do not darken edges when filtered
+        settings.bleed = true;
+        settings.edgePadding = true;
+        settings.stripWhitespaceX = false;
+        settings.stripWhitespaceY = false;
+        settings.alias = false;
+        settings.ignoreBlankImages = true;
+        settings.useIndexes = true;
+        settings.filterMin = Texture.TextureFilter.Nearest;
+        settings.filterMag = Texture.TextureFilter.Nearest;
+        settings.maxWidth = MAX_PAGE_SIZE;
+        settings.maxHeight = MAX_PAGE_SIZE;
+        settings.combineSubdirectories = true;
+        settings.flattenPaths = true;
+        return settings;
+    }
+
+    private static void sliceTileset(final Path tsx, final Path staging, final ObjectSet<String> tilesetImages)
+            throws IOException {
+        final XmlReader.Element tileset;
+        try (InputStream in = Files.newInputStream(tsx)) {
+            tileset = new XmlReader().parse(in);
+        }
+        final String imageSource = tileset.getChildByName("image").getAttribute("source");
+        final String name = getBaseName(imageSource);
+        // Several tilesets may share one image, which only needs packing once
+        if (!tilesetImages.add(name)) {
+            return;
+        }
+        final BufferedImage image = ImageIO.read(tsx.resolveSibling(imageSource).toFile());
+        final int tileWidth = tileset.getIntAttribute("tilewidth");
+        final int tileHeight = tileset.getIntAttribute("tileheight");
+        final int columns = tileset.getIntAttribute("columns");
+        final int tileCount = tileset.getIntAttribute("tilecount");
+        final int margin = tileset.getIntAttribute("margin", 0);
+        final int spacing = tileset.getIntAttribute("spacing", 0);
+
+        final Path tileDir = Files.createDirectories(staging.resolve("tiles"));
+        for (int i = 0; i < tileCount; i++) {
+            final int x = margin + i % columns * (tileWidth + spacing);
+            final int y = margin + i / columns * (tileHeight + spacing);
+            final BufferedImage tile = image.getSubimage(x, y, tileWidth, tileHeight);
+            if (!isBlank(tile)) {
+                ImageIO.write(tile, "png", tileDir.resolve(name + "_" + i + ".png").toFile());
+            }
+        }
+    }
+
+    private static void unpackAtlas(final Path atlas, final Path staging) throws IOException {
+        final FileHandle packFile = new FileHandle(atlas.toFile());
+        final TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(packFile, packFile.parent(),
+                false);
+        final Path target = Files.createDirectories(staging.resolve(getBaseName(atlas.getFileName().toString())));
+        new TextureUnpacker().splitAtlas(data, target.toString());
+    }
+
+    private static boolean isBlank(final BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) >>> ALPHA_SHIFT != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String getBaseName(final String fileName) {
+        final String name = Paths.get(fileName).getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static void deleteRecursively(final Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}